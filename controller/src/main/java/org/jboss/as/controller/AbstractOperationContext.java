@@ -205,15 +205,19 @@ abstract class AbstractOperationContext implements OperationContext, AutoCloseab
         this.missingNotificationDescriptionWarnings = new ConcurrentLinkedQueue<String>();
         this.controller = controller;
         steps = new EnumMap<Stage, Deque<Step>>(Stage.class);
-        for (Stage stage : Stage.values()) {
-            if (booting && stage == Stage.VERIFY) {
-                // Use a concurrent structure as the parallel boot threads will
-                // concurrently add steps
-                steps.put(stage, new LinkedBlockingDeque<Step>());
-            } else {
-                steps.put(stage, new ArrayDeque<Step>());
+        if (booting) {
+            for (Stage stage : Stage.values()) {
+                if (stage == Stage.VERIFY) {
+                    // Use a concurrent structure as the parallel boot threads will
+                    // concurrently add steps
+                    steps.put(stage, new LinkedBlockingDeque<Step>());
+                } else {
+                    steps.put(stage, new ArrayDeque<Step>());
+                }
             }
         }
+        // Otherwise the queue for a stage is only created when a step is added to it, as most
+        // operations, particularly reads, only use one or two stages
         initiatingThread = Thread.currentThread();
         this.callEnvironment = new Environment(processState, processType);
         modifiedResourcesForModelValidation = skipModelValidation == false ?  new HashSet<PathAddress>() : null;
@@ -234,6 +238,10 @@ abstract class AbstractOperationContext implements OperationContext, AutoCloseab
      */
     abstract ModelControllerImpl.ManagementModelImpl getManagementModel();
 
+    ModelControllerImpl getModelController() {
+        return controller;
+    }
+
     /**
      * Internal helper to read a resource from a given management model.
      *
@@ -320,7 +328,16 @@ abstract class AbstractOperationContext implements OperationContext, AutoCloseab
         if (stage == Stage.DONE) {
             throw ControllerLogger.ROOT_LOGGER.invalidStepStage();
         }
-        final PathAddress stepAddress = address != null ? address : PathAddress.pathAddress(operation.get(OP_ADDR));
+        final PathAddress stepAddress;
+        if (address != null) {
+            stepAddress = address;
+        } else if (activeStep != null && operation == activeStep.operation && activeStep.addressFromOperation) {
+            // A handler adding another step for its own operation, e.g. to authorize a read; no need to parse the address again
+            stepAddress = activeStep.address;
+        } else {
+            stepAddress = PathAddress.pathAddress(operation.get(OP_ADDR));
+        }
+        final boolean addressFromOperation = address == null;
 
         // Ignore runtime ops against profile resources on an HC
         if (stage == Stage.RUNTIME && !processType.isServer() && stepAddress.size() > 1 && PROFILE.equals(stepAddress.getElement(0).getKey())) {
@@ -342,11 +359,15 @@ abstract class AbstractOperationContext implements OperationContext, AutoCloseab
             }
         }
 
-        final Deque<Step> deque = steps.get(stage);
+        Deque<Step> deque = steps.get(stage);
+        if (deque == null) {
+            deque = new ArrayDeque<Step>();
+            steps.put(stage, deque);
+        }
         if (addFirst) {
-            deque.addFirst(new Step(stepDefinition, step, response, operation, stepAddress));
+            deque.addFirst(new Step(stepDefinition, step, response, operation, stepAddress, addressFromOperation));
         } else {
-            deque.addLast(new Step(stepDefinition, step, response, operation, stepAddress));
+            deque.addLast(new Step(stepDefinition, step, response, operation, stepAddress, addressFromOperation));
         }
 
         if (!executing && stage == Stage.MODEL) {
@@ -468,10 +489,13 @@ abstract class AbstractOperationContext implements OperationContext, AutoCloseab
 
             processStages();
 
-            if (resultAction == ResultAction.KEEP) {
-                report(MessageSeverity.INFO, ControllerLogger.ROOT_LOGGER.operationSucceeded());
-            } else {
-                report(MessageSeverity.INFO, ControllerLogger.ROOT_LOGGER.operationRollingBack());
+            // Don't build messages no one will see
+            if (isReporting()) {
+                if (resultAction == ResultAction.KEEP) {
+                    report(MessageSeverity.INFO, ControllerLogger.ROOT_LOGGER.operationSucceeded());
+                } else {
+                    report(MessageSeverity.INFO, ControllerLogger.ROOT_LOGGER.operationRollingBack());
+                }
             }
         } catch (RuntimeException e) {
             handleUncaughtException(e);
@@ -631,6 +655,24 @@ abstract class AbstractOperationContext implements OperationContext, AutoCloseab
      */
     abstract boolean isReadOnly();
 
+    /**
+     * Gets whether messages passed to {@link #report(MessageSeverity, String)} are passed on to anything.
+     *
+     * @return {@code false} if reported messages are discarded
+     */
+    boolean isReporting() {
+        return true;
+    }
+
+    /**
+     * Gets whether an audit log record of this context's operations may be written.
+     *
+     * @return {@code false} if no audit log record will be written
+     */
+    boolean isAuditLogged() {
+        return true;
+    }
+
     /**
      * Gets a reference to the mutable ManagementResourceRegistration for the resource tree root.
      * <p>
@@ -655,7 +697,7 @@ abstract class AbstractOperationContext implements OperationContext, AutoCloseab
      */
     void logAuditRecord() {
         trackConfigurationChange();
-        if (!auditLogged) {
+        if (!auditLogged && isAuditLogged()) {
             try {
                 AccessAuditContext accessContext = SecurityActions.currentAccessAuditContext();
                 SecurityIdentity identity = getSecurityIdentity();
@@ -680,7 +722,8 @@ abstract class AbstractOperationContext implements OperationContext, AutoCloseab
      * @param operation the operation
      */
     private void recordControllerOperation(ModelNode operation) {
-        controllerOperations.add(operation.clone()); // clone so we don't log op nodes mutated during execution
+        // clone so we don't log op nodes mutated during execution
+        controllerOperations.add(isAuditLogged() ? operation.clone() : operation);
     }
 
     void recordWriteLock() {
@@ -728,7 +771,8 @@ abstract class AbstractOperationContext implements OperationContext, AutoCloseab
         // Locate the next step to execute.
         ModelNode primaryResponse = null;
         do {
-            Step step = steps.get(currentStage).pollFirst();
+            Deque<Step> deque = steps.get(currentStage);
+            Step step = deque == null ? null : deque.pollFirst();
             if (step == null) {
 
                 if (currentStage == Stage.MODEL && addModelValidationSteps()) {
@@ -1338,14 +1382,19 @@ abstract class AbstractOperationContext implements OperationContext, AutoCloseab
 
     private boolean hasMoreSteps() {
         Stage stage = currentStage;
-        boolean more = !steps.get(stage).isEmpty();
+        boolean more = hasSteps(stage);
         while (!more && stage.hasNext()) {
             stage = stage.next();
-            more = !steps.get(stage).isEmpty();
+            more = hasSteps(stage);
         }
         return more;
     }
 
+    private boolean hasSteps(Stage stage) {
+        Deque<Step> deque = steps.get(stage);
+        return deque != null && !deque.isEmpty();
+    }
+
     @Override
     public SecurityIdentity getSecurityIdentity() {
         // We don't cache the result as the identity could be switched mid-call.
@@ -1417,6 +1466,8 @@ abstract class AbstractOperationContext implements OperationContext, AutoCloseab
         final ModelNode response;
         final ModelNode operation;
         final PathAddress address;
+        // Whether the address was parsed from the operation's OP_ADDR rather than passed in by whoever added the step
+        final boolean addressFromOperation;
         final OperationId operationId;
         private Object restartStamp;
         private ResultHandler resultHandler;
@@ -1431,13 +1482,14 @@ abstract class AbstractOperationContext implements OperationContext, AutoCloseab
         private DoneStagePlaceholder placeholder;
 
         private Step(OperationDefinition operationDefinition, final OperationStepHandler handler, final ModelNode response, final ModelNode operation,
-                     final PathAddress address) {
+                     final PathAddress address, final boolean addressFromOperation) {
             this.operationDefinition = operationDefinition != null ? operationDefinition : (activeStep != null ? activeStep.operationDefinition : null);
             this.usesOwnDefinition = activeStep == null || this.operationDefinition != activeStep.operationDefinition;
             this.handler = handler;
             this.response = response;
             this.operation = operation;
             this.address = address;
+            this.addressFromOperation = addressFromOperation;
             String opName = operation.hasDefined(OP) ? operation.require(OP).asString() : null;
             this.operationId = new OperationId(this.address, opName);
             // Create the outcome node early so it appears at the top of the
@@ -66,6 +66,8 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
     //holds reference to parent published registry
     private final CapabilityRegistry publishedFullRegistry;
     private boolean modified = false;
+    // Lock-free view of the capabilities of a published registry, swapped on publish; null until it is rebuilt
+    private volatile Snapshot snapshot;
 
     public CapabilityRegistry(boolean forServer) {
         this(forServer, null);
@@ -145,6 +147,7 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
                 // else it was ok, and we just recorded the additional registration point
             } else {
                 capabilities.put(capabilityId, capabilityRegistration);
+                snapshot = null;
             }
 
             // Add any hard requirements
@@ -255,6 +258,7 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
                     Map<String, RuntimeRequirementRegistration> removedRequirements = null;
                     if (candidate.getRegistrationPointCount() == 0) {
                         removed = capabilities.remove(capabilityId);
+                        snapshot = null;
                         removedRequirements = requirements.remove(capabilityId);
                         runtimeOnlyRequirements.remove(capabilityId);
                     } else {
@@ -608,6 +612,10 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
 
     @Override
     public boolean hasCapability(String capabilityName, CapabilityScope scope) {
+        final Snapshot current = getSnapshot();
+        if (current != null) {
+            return findSatisfactoryCapability(current.capabilities, current.knownContexts, capabilityName, scope, !forServer) != null;
+        }
         readLock.lock();
         try {
             return findSatisfactoryCapability(capabilityName, scope, !forServer) != null;
@@ -620,17 +628,11 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
     public <T> T getCapabilityRuntimeAPI(String capabilityName, CapabilityScope scope, Class<T> apiType) {
         // Here we can't know the dependent name. So this can only be called when resolution is complete.
         assert resolutionContext.resolutionComplete;
-        readLock.lock();
-        try {
-            RuntimeCapabilityRegistration reg = getCapabilityRegistration(capabilityName, scope);
-            Object api = reg.getCapability().getRuntimeAPI();
-            if (api == null) {
-                throw ControllerLogger.MGMT_OP_LOGGER.capabilityDoesNotExposeRuntimeAPI(capabilityName);
-            }
-            return apiType.cast(api);
-        } finally {
-            readLock.unlock();
+        Object api = getRuntimeCapability(capabilityName, scope).getRuntimeAPI();
+        if (api == null) {
+            throw ControllerLogger.MGMT_OP_LOGGER.capabilityDoesNotExposeRuntimeAPI(capabilityName);
         }
+        return apiType.cast(api);
     }
 
     @Override
@@ -657,14 +659,7 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
     public ServiceName getCapabilityServiceName(String capabilityName, CapabilityScope scope, Class<?> serviceType) {
         // Here we can't know the dependent name. So this can only be called when resolution is complete.
         assert resolutionContext.resolutionComplete;
-        readLock.lock();
-        try {
-            RuntimeCapabilityRegistration reg = getCapabilityRegistration(capabilityName, scope);
-            RuntimeCapability<?> cap = reg.getCapability();
-            return cap.getCapabilityServiceName(serviceType);
-        } finally {
-            readLock.unlock();
-        }
+        return getRuntimeCapability(capabilityName, scope).getCapabilityServiceName(serviceType);
     }
 
     @Override
@@ -732,6 +727,7 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
             try {
                 publishedFullRegistry.clear(true);
                 copy(this, publishedFullRegistry);
+                publishedFullRegistry.snapshot = new Snapshot(publishedFullRegistry);
                 pendingRemoveCapabilities.clear();
                 pendingRemoveRequirements.clear();
                 modified = false;
@@ -777,6 +773,7 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
     private void copy(CapabilityRegistry source, CapabilityRegistry target) {
         assert target.writeLock.isHeldByCurrentThread();
         copyCapabilities(source.capabilities, target.capabilities);
+        target.snapshot = null;
         for (Map.Entry<CapabilityId, CapabilityRegistration<?>> entry : source.possibleCapabilities.entrySet()) {
             target.possibleCapabilities.put(entry.getKey(), new CapabilityRegistration<>(entry.getValue()));
         }
@@ -801,6 +798,7 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
         writeLock.lock();
         try {
             capabilities.clear();
+            snapshot = null;
             pendingRemoveCapabilities.clear();
             possibleCapabilities.clear();
             requirements.clear();
@@ -921,6 +919,51 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
         return result;
     }
 
+    /**
+     * Gets a capability that satisfies a requirement, without taking the lock if this is a published registry.
+     * This must be called without the read lock held.
+     */
+    private RuntimeCapability<?> getRuntimeCapability(String capabilityName, CapabilityScope scope) {
+        final Snapshot current = getSnapshot();
+        if (current != null) {
+            SatisfactoryCapability satisfactoryCapability = findSatisfactoryCapability(current.capabilities, current.knownContexts, capabilityName, scope, false);
+            if (satisfactoryCapability != null) {
+                return current.capabilities.get(satisfactoryCapability.singleCapability);
+            }
+            // else fall through to report the failure
+        }
+        readLock.lock();
+        try {
+            return getCapabilityRegistration(capabilityName, scope).getCapability();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Gets the lock-free view of this registry. A shadow copy has none, as its readers must see the changes made
+     * by the operation that owns it.
+     *
+     * @return the view, or {@code null} if this is a shadow copy
+     */
+    private Snapshot getSnapshot() {
+        if (publishedFullRegistry != null) {
+            return null;
+        }
+        Snapshot result = snapshot;
+        if (result == null) {
+            // the registry was written directly; writers are excluded while the view is rebuilt
+            readLock.lock();
+            try {
+                result = new Snapshot(this);
+                snapshot = result;
+            } finally {
+                readLock.unlock();
+            }
+        }
+        return result;
+    }
+
     private RuntimeCapabilityRegistration getCapabilityRegistration(String capabilityName, CapabilityScope capabilityScope) {
         SatisfactoryCapability satisfactoryCapability = findSatisfactoryCapability(capabilityName, capabilityScope, false);
         if (satisfactoryCapability == null) {
@@ -948,23 +991,29 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
 
     private SatisfactoryCapability findSatisfactoryCapability(String capabilityName, CapabilityScope dependentContext,
                                                               boolean requireConsistency) {
+        return findSatisfactoryCapability(capabilities, knownContexts, capabilityName, dependentContext, requireConsistency);
+    }
+
+    private SatisfactoryCapability findSatisfactoryCapability(Map<CapabilityId, ?> capabilityIds, Set<CapabilityScope> scopes,
+                                                              String capabilityName, CapabilityScope dependentContext,
+                                                              boolean requireConsistency) {
 
         // Check for a simple match
         CapabilityId requestedId = new CapabilityId(capabilityName, dependentContext);
-        if (capabilities.containsKey(requestedId)) {
+        if (capabilityIds.containsKey(requestedId)) {
             return new SatisfactoryCapability(requestedId);
         }
 
         if (!forServer) {
             // Try other contexts that satisfy the requested one
             Set<CapabilityScope> multiple = null;
-            for (CapabilityScope satisfies : knownContexts) {
+            for (CapabilityScope satisfies : scopes) {
                 if (satisfies.equals(dependentContext)) {
                     // We already know this one doesn't exist
                     continue;
                 }
                 CapabilityId satisfiesId = new CapabilityId(capabilityName, satisfies);
-                if (capabilities.containsKey(satisfiesId) && satisfies.canSatisfyRequirement(capabilityName, dependentContext, resolutionContext)) {
+                if (capabilityIds.containsKey(satisfiesId) && satisfies.canSatisfyRequirement(capabilityName, dependentContext, resolutionContext)) {
                     if (!requireConsistency || !satisfies.requiresConsistencyCheck()) {
                         return new SatisfactoryCapability(satisfiesId);
                     } else {
@@ -1057,6 +1106,23 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
         }
     }
 
+    /**
+     * Immutable copy of the capabilities of a registry, read without locking.
+     */
+    private static final class Snapshot {
+        private final Map<CapabilityId, RuntimeCapability<?>> capabilities;
+        private final Set<CapabilityScope> knownContexts;
+
+        private Snapshot(CapabilityRegistry registry) {
+            Map<CapabilityId, RuntimeCapability<?>> map = new HashMap<>(registry.capabilities.size());
+            for (Map.Entry<CapabilityId, RuntimeCapabilityRegistration> entry : registry.capabilities.entrySet()) {
+                map.put(entry.getKey(), entry.getValue().getCapability());
+            }
+            this.capabilities = map;
+            this.knownContexts = registry.forServer ? null : new HashSet<>(registry.knownContexts);
+        }
+    }
+
     private static class SatisfactoryCapability {
         final CapabilityId singleCapability;
         final Set<CapabilityScope> multipleCapabilities;
@@ -52,7 +52,6 @@ import java.util.function.Supplier;
 
 import org.jboss.as.controller.OperationContext.RollbackHandler;
 import org.jboss.as.controller.access.Authorizer;
-import org.jboss.as.controller.audit.AuditLogger;
 import org.jboss.as.controller.audit.ManagedAuditLogger;
 import org.jboss.as.controller.capability.registry.RuntimeCapabilityRegistry;
 import org.jboss.as.controller.client.ModelControllerClient;
@@ -66,6 +65,7 @@ import org.jboss.as.controller.extension.ParallelExtensionAddHandler;
 import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.as.controller.notification.NotificationSupport;
 import org.jboss.as.controller.operations.global.ReadResourceHandler;
+import org.jboss.as.controller.persistence.AbstractConfigurationPersister;
 import org.jboss.as.controller.persistence.ConfigurationExtension;
 import org.jboss.as.controller.persistence.ConfigurationPersistenceException;
 import org.jboss.as.controller.persistence.ConfigurationPersister;
@@ -83,6 +83,7 @@ import org.jboss.dmr.ModelNode;
 import org.jboss.msc.service.ServiceRegistry;
 import org.jboss.msc.service.ServiceTarget;
 import org.wildfly.security.auth.server.SecurityIdentity;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * Default {@link ModelController} implementation.
@@ -99,6 +100,13 @@ class ModelControllerImpl implements ModelController {
         EMPTY_ADDRESS.protect();
     }
 
+    /**
+     * Whether only the modified parts of the model are read again when persisting a configuration change, instead of
+     * the whole model.
+     */
+    private static final boolean INCREMENTAL_PERSISTENCE = Boolean.parseBoolean(
+            WildFlySecurityManager.getPropertyPrivileged(AbstractConfigurationPersister.INCREMENTAL_PERSISTENCE_PROPERTY, "false"));
+
     private static final PathAddress MODEL_CONTROLLER_ADDRESS = PathAddress.pathAddress(PathElement.pathElement(CORE_SERVICE, MANAGEMENT),
             PathElement.pathElement(SERVICE, MANAGEMENT_OPERATIONS));
 
@@ -136,6 +144,8 @@ class ModelControllerImpl implements ModelController {
     private final AbstractControllerService.ControllerInstabilityListener instabilityListener;
 
     private volatile ModelControllerClientFactoryImpl clientFactory;
+    /** The model as last persisted, if persisting incrementally and it matches the published model */
+    private volatile ModelNode persistedModel;
 
     private PathAddress modelControllerResourceAddress;
 
@@ -308,7 +318,8 @@ class ModelControllerImpl implements ModelController {
             }
         };
 
-        // Use a read-only context
+        // Use a read-only context. Even a single read step runs through the stages, as read handlers may add
+        // RUNTIME steps (e.g. include-runtime) and rely on the result handlers being called when the context completes
         try (ReadOnlyContext context = new ReadOnlyContext(processType, this.stability, runningModeControl.getRunningMode(), txControl, processState, false, model, delegateContext, this, operationId, securityIdentitySupplier)) {
             context.addStep(response, operation, prepareStep, OperationContext.Stage.MODEL);
             context.executeOperation();
@@ -738,18 +749,26 @@ class ModelControllerImpl implements ModelController {
                                                           final boolean resourceTreeModified, final boolean capabilityRegistryModified,
                                                           final boolean resourceRegistrationModified) throws ConfigurationPersistenceException {
         final ConfigurationPersister.PersistenceResource delegate;
+        final ModelNode newModel;
         if (resourceTreeModified) {
             // Don't do an expensive Resource.Tools.readModel if the persister isn't going to use the result
             if (persister.isPersisting()) {
                 ControllerLogger.MGMT_OP_LOGGER.tracef("persisting %s from %s", model.rootResource, model);
-                final ModelNode newModel = Resource.Tools.readModel(model.rootResource, model.resourceRegistration);
+                final ModelNode previous = persistedModel;
+                if (previous != null && !affectedAddresses.isEmpty()) {
+                    newModel = Resource.Tools.readModel(model.rootResource, model.resourceRegistration, previous, affectedAddresses);
+                } else {
+                    newModel = Resource.Tools.readModel(model.rootResource, model.resourceRegistration);
+                }
                 delegate = persister.store(newModel, affectedAddresses);
             } else {
                 ControllerLogger.MGMT_OP_LOGGER.tracef("Ignoring permanent persistence during boot");
+                newModel = null;
                 delegate = null;
             }
         } else {
             ControllerLogger.MGMT_OP_LOGGER.tracef("persisting with no resource tree changes to %s", model);
+            newModel = null;
             delegate = null;
         }
         return new ConfigurationPersister.PersistenceResource() {
@@ -770,6 +789,8 @@ class ModelControllerImpl implements ModelController {
                 }
                 if (resourceTreeModified) {
                     model.publish();
+                    // the published model no longer matches the one last persisted, unless it was just persisted
+                    persistedModel = INCREMENTAL_PERSISTENCE ? newModel : null;
                     if (delegate != null) {
                         delegate.commit();
                     }
@@ -905,6 +926,10 @@ class ModelControllerImpl implements ModelController {
         return serviceTarget;
     }
 
+    ExecutorService getExecutorService() {
+        return executorService;
+    }
+
 
     NotificationHandlerRegistration getNotificationRegistry() {
         return notificationSupport.getNotificationRegistry();
@@ -932,7 +957,7 @@ class ModelControllerImpl implements ModelController {
 
     }
 
-    AuditLogger getAuditLogger() {
+    ManagedAuditLogger getAuditLogger() {
         return auditLogger;
     }
 
@@ -1274,7 +1299,8 @@ class ModelControllerImpl implements ModelController {
                 currentResource = rootResource;
                 currentCaps = capabilityRegistry;
             }
-            Resource clone = currentResource.clone();
+            // A published tree is no longer modified, so the clone can share everything the caller doesn't touch
+            Resource clone = published ? Resource.Tools.copyOnWrite(currentResource) : currentResource.clone();
             ManagementModelImpl result = new ManagementModelImpl(mrr, clone, currentCaps);
             ControllerLogger.MGMT_OP_LOGGER.tracef("cloned to %s to create %s and %s", currentResource, clone, result);
             return result;
@@ -1299,6 +1325,8 @@ class ModelControllerImpl implements ModelController {
             }
         }
         private void publish() {
+            // The published tree is read concurrently and never modified, so stop copying the resources it shares
+            Resource.Tools.completeCopyOnWrite(rootResource);
             ModelControllerImpl.this.managementModel.set(this);
             published = true;
             ControllerLogger.MGMT_OP_LOGGER.tracef("published %s", this);
@@ -179,7 +179,8 @@ final class OperationContextImpl extends AbstractOperationContext {
     private final String operationName;
     private final ModelNode operationAddress;
     private final AccessAuditContext accessAuditContext;
-    private final ActiveOperationResource activeOperationResource;
+    /** Only created if the active operations are read, as it is not needed to execute the operation */
+    private volatile ActiveOperationResource activeOperationResource;
     private final BooleanHolder done = new BooleanHolder();
     private final boolean capabilitiesAlreadyBroken;
     private final boolean partialModel;
@@ -220,7 +221,6 @@ final class OperationContextImpl extends AbstractOperationContext {
         this.affectsModel = booting ? new ConcurrentHashMap<>(16 * 16) : new HashMap<>(1);
         this.forBoot = forBoot;
         this.hostServerGroupTracker = hostServerGroupTracker;
-        this.activeOperationResource = new ActiveOperationResource();
         this.accessAuditContext = accessAuditContext;
         this.partialModel = partialModel;
         if(runningMode == RunningMode.ADMIN_ONLY) {
@@ -797,7 +797,13 @@ final class OperationContextImpl extends AbstractOperationContext {
 
 
     Resource.ResourceEntry getActiveOperationResource() {
-        return activeOperationResource;
+        ActiveOperationResource resource = activeOperationResource;
+        if (resource == null) {
+            // Racing readers may create more than one, which is harmless as the state is held by this context
+            resource = new ActiveOperationResource();
+            activeOperationResource = resource;
+        }
+        return resource;
     }
 
     private void takeWriteLock() {
@@ -1192,6 +1198,11 @@ final class OperationContextImpl extends AbstractOperationContext {
         }
     }
 
+    @Override
+    boolean isReporting() {
+        return messageHandler != null;
+    }
+
     @Override
     void handleUncaughtException(RuntimeException e) {
         try {
@@ -0,0 +1,146 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller;
+
+import java.security.PrivilegedAction;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.as.controller.access.InVmAccess;
+import org.jboss.as.controller.logging.ControllerLogger;
+import org.jboss.dmr.ModelNode;
+import org.wildfly.security.auth.server.SecurityIdentity;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Executes read-only operations that are independent of each other in parallel, on behalf of a step that would
+ * otherwise add a step for each of them.
+ * <p>
+ * Each operation is executed on the controller's executor in its own {@link ReadOnlyContext}, which reads the model of
+ * the calling context, as the caller's security identity. The calling thread waits until all are done, and no more
+ * than the given number of operations are executed at the same time. That number is capped by the
+ * {@value #MAX_PARALLELISM_PROPERTY} system property, which defaults to the number of available processors.
+ * </p>
+ * <p>
+ * A {@link ReadOnlyContext} does not support everything an operation step handler can do, e.g. looking up capability
+ * services. Callers are expected to execute operations that did not succeed again in their own context.
+ * </p>
+ */
+public final class ParallelReadExecutor {
+
+    private static final String MAX_PARALLELISM_PROPERTY = "org.wildfly.controller.max-read-parallelism";
+    private static final int MAX_PARALLELISM = Math.max(1, readMaxParallelism());
+
+    private ParallelReadExecutor() {
+    }
+
+    private static int readMaxParallelism() {
+        final int processors = Runtime.getRuntime().availableProcessors();
+        final String value = WildFlySecurityManager.getPropertyPrivileged(MAX_PARALLELISM_PROPERTY, null);
+        if (value != null) {
+            try {
+                return Integer.parseInt(value.trim());
+            } catch (NumberFormatException e) {
+                ControllerLogger.ROOT_LOGGER.invalidSystemPropertyValue(value, MAX_PARALLELISM_PROPERTY, processors);
+            }
+        }
+        return processors;
+    }
+
+    /**
+     * Gets the maximum number of operations executed at the same time for one caller, whatever it requests.
+     *
+     * @return the maximum parallelism, at least {@code 1}
+     */
+    public static int getMaxParallelism() {
+        return MAX_PARALLELISM;
+    }
+
+    /**
+     * Executes read-only operations in parallel.
+     *
+     * @param context     the context of the calling step
+     * @param operations  the operations
+     * @param handlers    the handlers of the operations, in the same order
+     * @param parallelism the maximum number of operations to execute at the same time, capped by
+     *                    {@link #getMaxParallelism()}
+     * @return the responses to the operations in the same order, with {@code null} for operations that could not be
+     * executed, or {@code null} if operations cannot be executed in parallel from {@code context}
+     */
+    public static List<ModelNode> execute(final OperationContext context, final List<ModelNode> operations,
+                                          final List<OperationStepHandler> handlers, final int parallelism) {
+        assert operations.size() == handlers.size();
+        final int maxWorkers = Math.min(parallelism, MAX_PARALLELISM);
+        if (!(context instanceof AbstractOperationContext) || context.isBooting() || maxWorkers < 2 || operations.size() < 2) {
+            return null;
+        }
+        final AbstractOperationContext primaryContext = (AbstractOperationContext) context;
+        final ModelControllerImpl controller = primaryContext.getModelController();
+        final ExecutorService executor = controller == null ? null : controller.getExecutorService();
+        @SuppressWarnings("deprecation")
+        final Integer operationId = CurrentOperationIdHolder.getCurrentOperationID();
+        if (executor == null || operationId == null) {
+            return null;
+        }
+
+        final SecurityIdentity identity = context.getSecurityIdentity();
+        final boolean inVm = InVmAccess.isInVmCall();
+        final ModelNode[] responses = new ModelNode[operations.size()];
+        final AtomicInteger next = new AtomicInteger();
+        final AtomicBoolean cancelled = new AtomicBoolean();
+        final int workers = Math.min(maxWorkers, operations.size());
+        final CountDownLatch done = new CountDownLatch(workers);
+
+        final Runnable worker = () -> {
+            //noinspection deprecation
+            CurrentOperationIdHolder.setCurrentOperationID(operationId);
+            try {
+                int index;
+                while (!cancelled.get() && (index = next.getAndIncrement()) < responses.length) {
+                    final ModelNode operation = operations.get(index);
+                    final OperationStepHandler handler = handlers.get(index);
+                    final PrivilegedAction<ModelNode> action = () -> controller.executeReadOnlyOperation(operation,
+                            primaryContext.getManagementModel(), null, handler, primaryContext);
+                    try {
+                        responses[index] = run(identity, inVm, action);
+                    } catch (RuntimeException e) {
+                        ControllerLogger.MGMT_OP_LOGGER.tracef(e, "Parallel execution of %s failed", operation);
+                    }
+                }
+            } finally {
+                //noinspection deprecation
+                CurrentOperationIdHolder.setCurrentOperationID(null);
+                done.countDown();
+            }
+        };
+        for (int i = 0; i < workers; i++) {
+            try {
+                executor.execute(worker);
+            } catch (RejectedExecutionException e) {
+                // the other workers take over its operations, or they are executed by the caller
+                done.countDown();
+            }
+        }
+        try {
+            done.await();
+        } catch (InterruptedException e) {
+            cancelled.set(true);
+            Thread.currentThread().interrupt();
+            throw ControllerLogger.ROOT_LOGGER.operationCancelledAsynchronously();
+        }
+        return Arrays.asList(responses);
+    }
+
+    private static ModelNode run(SecurityIdentity identity, boolean inVm, PrivilegedAction<ModelNode> action) {
+        final PrivilegedAction<ModelNode> asCaller = identity == null ? action : () -> identity.runAs(action);
+        return inVm ? InVmAccess.runInVm(asCaller) : asCaller.run();
+    }
+}
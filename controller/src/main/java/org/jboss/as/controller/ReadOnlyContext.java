@@ -46,6 +46,8 @@ class ReadOnlyContext extends AbstractOperationContext {
     private final ModelControllerImpl controller;
     private final AbstractOperationContext primaryContext;
     private final ModelControllerImpl.ManagementModelImpl managementModel;
+    /** Whether the audit log records read-only operations, which are all this context executes */
+    private final boolean logReadOnly;
 
     private final ConcurrentMap<AttachmentKey<?>, Object> valueAttachments = new ConcurrentHashMap<AttachmentKey<?>, Object>();
 
@@ -59,6 +61,7 @@ class ReadOnlyContext extends AbstractOperationContext {
         this.controller = controller;
         this.operationId = operationId;
         this.managementModel = managementModel;
+        this.logReadOnly = controller.getAuditLogger().isLogReadOnly();
     }
 
     @Override
@@ -103,6 +106,16 @@ class ReadOnlyContext extends AbstractOperationContext {
         return true;
     }
 
+    @Override
+    boolean isReporting() {
+        return false;
+    }
+
+    @Override
+    boolean isAuditLogged() {
+        return logReadOnly;
+    }
+
     @Override
     ManagementResourceRegistration getRootResourceRegistrationForUpdate() {
         throw readOnlyContext();
@@ -62,6 +62,7 @@ public class AbstractSensitivity {
 
     public void setConfiguredRequiresAccessPermission(Boolean requiresAccessPermission) {
         this.configuredRequiresAccessPermission = requiresAccessPermission;
+        ConstraintConfigurationVersion.increment();
     }
 
     public boolean getRequiresReadPermission() {
@@ -75,6 +76,7 @@ public class AbstractSensitivity {
 
     public void setConfiguredRequiresReadPermission(Boolean requiresReadPermission) {
         this.configuredRequiresReadPermission = requiresReadPermission;
+        ConstraintConfigurationVersion.increment();
     }
 
     public boolean getRequiresWritePermission() {
@@ -99,6 +101,7 @@ public class AbstractSensitivity {
 
     public void setConfiguredRequiresWritePermission(Boolean requiresWritePermission) {
         this.configuredRequiresWritePermission = requiresWritePermission;
+        ConstraintConfigurationVersion.increment();
     }
 
     protected boolean isCompatibleWith(AbstractSensitivity other) {
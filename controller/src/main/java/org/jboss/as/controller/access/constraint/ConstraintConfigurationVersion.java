@@ -0,0 +1,34 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller.access.constraint;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version of the configuration of the sensitivity and application type constraints, which changes each time the
+ * configured behavior of an {@link AbstractSensitivity} or {@link ApplicationTypeConfig} is changed. Allows
+ * the constraints required for a target to be cached until the configuration changes.
+ */
+public final class ConstraintConfigurationVersion {
+
+    private static final AtomicLong VERSION = new AtomicLong();
+
+    private ConstraintConfigurationVersion() {
+    }
+
+    /**
+     * Gets the current version of the configuration.
+     *
+     * @return the version
+     */
+    public static long get() {
+        return VERSION.get();
+    }
+
+    static void increment() {
+        VERSION.incrementAndGet();
+    }
+}
@@ -16,6 +16,7 @@ import org.jboss.as.controller.access.JmxAction;
 import org.jboss.as.controller.access.JmxTarget;
 import org.jboss.as.controller.access.TargetAttribute;
 import org.jboss.as.controller.access.TargetResource;
+import org.jboss.as.controller.access.permission.ManagementPermissionAuthorizer;
 import org.jboss.as.controller.access.rbac.StandardRBACAuthorizer;
 import org.jboss.as.controller.access.rbac.SuperUserRoleMapper;
 import org.wildfly.security.auth.server.SecurityIdentity;
@@ -105,4 +106,24 @@ public final class DelegatingConfigurableAuthorizer implements JmxAuthorizer {
         return writableAuthorizerConfiguration.isNonFacadeMBeansSensitive();
     }
 
+    /**
+     * Gets the number of authorization decisions the current authorizer took from its cache.
+     *
+     * @return the number of decisions, or {@code 0} if the authorizer does not cache decisions
+     */
+    public long getDecisionCacheHitCount() {
+        Authorizer current = delegate;
+        return current instanceof ManagementPermissionAuthorizer ? ((ManagementPermissionAuthorizer) current).getDecisionCacheHitCount() : 0L;
+    }
+
+    /**
+     * Gets the number of authorization decisions the current authorizer evaluated and added to its cache.
+     *
+     * @return the number of decisions, or {@code 0} if the authorizer does not cache decisions
+     */
+    public long getDecisionCacheMissCount() {
+        Authorizer current = delegate;
+        return current instanceof ManagementPermissionAuthorizer ? ((ManagementPermissionAuthorizer) current).getDecisionCacheMissCount() : 0L;
+    }
+
 }
@@ -9,7 +9,9 @@ import java.security.Permission;
 import java.security.PermissionCollection;
 import java.util.Collections;
 import java.util.Enumeration;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.jboss.as.controller.ControlledProcessState;
 import org.jboss.as.controller.PathAddress;
@@ -33,6 +35,8 @@ import org.wildfly.security.auth.server.SecurityIdentity;
  */
 public class ManagementPermissionAuthorizer implements Authorizer {
     private final PermissionFactory permissionFactory;
+    private final LongAdder decisionCacheHits = new LongAdder();
+    private final LongAdder decisionCacheMisses = new LongAdder();
 
     public ManagementPermissionAuthorizer(PermissionFactory permissionFactory) {
         this.permissionFactory = permissionFactory;
@@ -86,16 +90,51 @@ public class ManagementPermissionAuthorizer implements Authorizer {
     }
 
     private AuthorizationResult authorize(PermissionCollection userPermissions, PermissionCollection requiredPermissions) {
+        // Required permissions shared by several targets cache the decisions for the permissions of the callers
+        final Map<PermissionCollection, Boolean> decisions = requiredPermissions instanceof ManagementPermissionCollection
+                ? ((ManagementPermissionCollection) requiredPermissions).getDecisionCache() : null;
+        Boolean permitted = decisions == null ? null : decisions.get(userPermissions);
+        if (permitted != null) {
+            decisionCacheHits.increment();
+        } else {
+            permitted = implies(userPermissions, requiredPermissions);
+            if (decisions != null) {
+                decisionCacheMisses.increment();
+                decisions.put(userPermissions, permitted);
+            }
+        }
+        return permitted ? AuthorizationResult.PERMITTED : new AuthorizationResult(AuthorizationResult.Decision.DENY,
+                new ModelNode(ControllerLogger.ROOT_LOGGER.permissionDenied()));
+    }
 
+    private static boolean implies(PermissionCollection userPermissions, PermissionCollection requiredPermissions) {
         final Enumeration<Permission> enumeration = requiredPermissions.elements();
         while (enumeration.hasMoreElements()){
             Permission requiredPermission = enumeration.nextElement();
             if (!userPermissions.implies(requiredPermission)) {
-                return new AuthorizationResult(AuthorizationResult.Decision.DENY,
-                            new ModelNode(ControllerLogger.ROOT_LOGGER.permissionDenied()));
+                return false;
             }
         }
-        return AuthorizationResult.PERMITTED;
+        return true;
+    }
+
+    /**
+     * Gets the number of authorization decisions that were taken from the cache of a set of required permissions.
+     *
+     * @return the number of decisions
+     */
+    public long getDecisionCacheHitCount() {
+        return decisionCacheHits.sum();
+    }
+
+    /**
+     * Gets the number of authorization decisions that were evaluated and added to the cache of a set of required
+     * permissions.
+     *
+     * @return the number of decisions
+     */
+    public long getDecisionCacheMissCount() {
+        return decisionCacheMisses.sum();
     }
 
     @Override
@@ -11,6 +11,7 @@ import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.as.controller.access.Action;
@@ -26,6 +27,8 @@ public class ManagementPermissionCollection extends PermissionCollection {
 
     private final String name;
     private final Map<Action.ActionEffect, ManagementPermission> permissions = new HashMap<Action.ActionEffect, ManagementPermission>();
+    /** Whether the permissions of callers imply this collection, once it is read-only and can be shared by several decisions */
+    private volatile Map<PermissionCollection, Boolean> decisions;
 
     public ManagementPermissionCollection(Class<? extends ManagementPermission> type) {
         this(null, type);
@@ -94,6 +97,24 @@ public class ManagementPermissionCollection extends PermissionCollection {
         return name;
     }
 
+    @Override
+    public void setReadOnly() {
+        if (decisions == null) {
+            decisions = new ConcurrentHashMap<>();
+        }
+        super.setReadOnly();
+    }
+
+    /**
+     * Gets the cache of the decisions whether the permissions of callers imply all the permissions in this collection.
+     * The permissions of the callers are compared by identity.
+     *
+     * @return the cache, or {@code null} if this collection is not read-only
+     */
+    Map<PermissionCollection, Boolean> getDecisionCache() {
+        return decisions;
+    }
+
     private Iterator<ManagementPermission> iterator() {
         synchronized (permissions) {
             return permissions.values().iterator();
@@ -12,19 +12,25 @@ import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.access.Action;
 import org.jboss.as.controller.access.AuthorizerConfiguration;
 import org.jboss.as.controller.access.CombinationPolicy;
 import org.jboss.as.controller.access.Environment;
 import org.jboss.as.controller.access.TargetAttribute;
 import org.jboss.as.controller.access.TargetResource;
+import org.jboss.as.controller.access.constraint.ConstraintConfigurationVersion;
 import org.jboss.as.controller.access.constraint.ConstraintFactory;
 import org.jboss.as.controller.access.constraint.ScopingConstraint;
 import org.jboss.as.controller.access.JmxAction;
@@ -38,13 +44,18 @@ import org.jboss.as.controller.access.constraint.SensitiveTargetConstraint;
 import org.jboss.as.controller.access.constraint.SensitiveVaultExpressionConstraint;
 import org.jboss.as.controller.access.constraint.ServerGroupEffectConstraint;
 import org.jboss.as.controller.access.constraint.TopRoleConstraint;
+import org.jboss.as.controller.access.management.AccessConstraintDefinition;
 import org.jboss.as.controller.access.permission.AllPermissionsCollection;
 import org.jboss.as.controller.access.permission.CombinationManagementPermission;
 import org.jboss.as.controller.access.permission.ManagementPermission;
 import org.jboss.as.controller.access.permission.ManagementPermissionCollection;
 import org.jboss.as.controller.access.permission.PermissionFactory;
 import org.jboss.as.controller.access.permission.SimpleManagementPermission;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.logging.ControllerLogger;
+import org.jboss.as.controller.registry.ImmutableManagementResourceRegistration;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
 import org.wildfly.security.auth.server.SecurityIdentity;
 
 /**
@@ -56,6 +67,10 @@ import org.wildfly.security.auth.server.SecurityIdentity;
 public class DefaultPermissionFactory implements PermissionFactory, AuthorizerConfiguration.ScopedRoleListener {
 
     private static final PermissionCollection NO_PERMISSIONS = new NoPermissionsCollection();
+    private static final Set<ConstraintFactory> STANDARD_CONSTRAINT_FACTORIES = getStandardConstraintFactories();
+    private static final PathElement MANAGEMENT_ELEMENT = PathElement.pathElement(ModelDescriptionConstants.CORE_SERVICE, ModelDescriptionConstants.MANAGEMENT);
+    /** Maximum number of cached required permissions, which are discarded once it is reached */
+    private static final int MAX_CACHED_REQUIRED_PERMISSIONS = 20000;
     private final RoleMapper roleMapper;
     private final SortedSet<ConstraintFactory> constraintFactories = new TreeSet<ConstraintFactory>();
     private final Map<String, ManagementPermissionCollection> permissionsByRole = new HashMap<String, ManagementPermissionCollection>();
@@ -173,6 +188,12 @@ public class DefaultPermissionFactory implements PermissionFactory, AuthorizerCo
     @Override
     public PermissionCollection getRequiredPermissions(Action action, TargetAttribute target) {
         PermsHolder currentPerms = configureRolePermissions();
+        RequiredPermissionsKey key = currentPerms.cacheRequiredPermissions
+                ? RequiredPermissionsKey.create(action, target.getTargetResource(), target) : null;
+        PermissionCollection cached = key == null ? null : currentPerms.getRequiredPermissions(key);
+        if (cached != null) {
+            return cached;
+        }
         ConstraintFactory[] currentFactories = currentPerms.constraintFactories;
         ManagementPermissionCollection result = new ManagementPermissionCollection(SimpleManagementPermission.class);
         for (Action.ActionEffect actionEffect : action.getActionEffects()) {
@@ -182,12 +203,21 @@ public class DefaultPermissionFactory implements PermissionFactory, AuthorizerCo
             }
             result.add(new SimpleManagementPermission(actionEffect, constraints));
         }
+        if (key != null) {
+            currentPerms.storeRequiredPermissions(key, result);
+        }
         return result;
     }
 
     @Override
     public PermissionCollection getRequiredPermissions(Action action, TargetResource target) {
         PermsHolder currentPerms = configureRolePermissions();
+        RequiredPermissionsKey key = currentPerms.cacheRequiredPermissions
+                ? RequiredPermissionsKey.create(action, target, null) : null;
+        PermissionCollection cached = key == null ? null : currentPerms.getRequiredPermissions(key);
+        if (cached != null) {
+            return cached;
+        }
         ConstraintFactory[] currentFactories = currentPerms.constraintFactories;
         ManagementPermissionCollection result = new ManagementPermissionCollection(SimpleManagementPermission.class);
         for (Action.ActionEffect actionEffect : action.getActionEffects()) {
@@ -197,6 +227,9 @@ public class DefaultPermissionFactory implements PermissionFactory, AuthorizerCo
             }
             result.add(new SimpleManagementPermission(actionEffect, constraints));
         }
+        if (key != null) {
+            currentPerms.storeRequiredPermissions(key, result);
+        }
         return result;
     }
 
@@ -263,14 +296,20 @@ public class DefaultPermissionFactory implements PermissionFactory, AuthorizerCo
     }
 
     private synchronized PermsHolder configureRolePermissions() {
+        long constraintVersion = ConstraintConfigurationVersion.get();
         if (!rolePermissionsConfigured) {
             this.permissionsByRole.clear();
             this.permissionsByRole.putAll(configureDefaultPermissions());
             for (Map.Entry<String, ScopedBase> entry : scopedBaseMap.entrySet()) {
                 addScopedRoleInternal(entry.getKey(), entry.getValue().base, entry.getValue().constraint);
             }
-            permsHolder = new PermsHolder(permissionsByRole, constraintFactories);
+            // The constraints the standard factories require only depend on the target as described in RequiredPermissionsKey
+            boolean cacheRequiredPermissions = scopedBaseMap.isEmpty() && STANDARD_CONSTRAINT_FACTORIES.containsAll(constraintFactories);
+            permsHolder = new PermsHolder(permissionsByRole, constraintFactories, cacheRequiredPermissions, constraintVersion);
             rolePermissionsConfigured = true;
+        } else if (permsHolder.constraintVersion != constraintVersion) {
+            // A sensitivity or application type was reconfigured, so the cached required permissions are stale
+            permsHolder = new PermsHolder(permissionsByRole, constraintFactories, permsHolder.cacheRequiredPermissions, constraintVersion);
         }
         return permsHolder;
     }
@@ -419,10 +458,29 @@ public class DefaultPermissionFactory implements PermissionFactory, AuthorizerCo
         private final Map<String, ManagementPermissionCollection> permsByRole =
                 new HashMap<String, ManagementPermissionCollection>();
         private final ConstraintFactory[] constraintFactories;
+        private final boolean cacheRequiredPermissions;
+        private final long constraintVersion;
+        private final Map<RequiredPermissionsKey, PermissionCollection> requiredPermissions = new ConcurrentHashMap<>();
 
-        private PermsHolder(Map<String, ManagementPermissionCollection> permsByRole, SortedSet<ConstraintFactory> constraintFactories) {
+        private PermsHolder(Map<String, ManagementPermissionCollection> permsByRole, SortedSet<ConstraintFactory> constraintFactories,
+                            boolean cacheRequiredPermissions, long constraintVersion) {
             this.permsByRole.putAll(permsByRole);
             this.constraintFactories = constraintFactories.toArray(new ConstraintFactory[constraintFactories.size()]);
+            this.cacheRequiredPermissions = cacheRequiredPermissions;
+            this.constraintVersion = constraintVersion;
+        }
+
+        private PermissionCollection getRequiredPermissions(RequiredPermissionsKey key) {
+            return requiredPermissions.get(key);
+        }
+
+        private void storeRequiredPermissions(RequiredPermissionsKey key, PermissionCollection perms) {
+            if (requiredPermissions.size() >= MAX_CACHED_REQUIRED_PERMISSIONS) {
+                requiredPermissions.clear();
+            }
+            // The collection is shared by all the targets with the same key, and caches the decisions for them
+            perms.setReadOnly();
+            requiredPermissions.put(key, perms);
         }
 
         private PermissionCollection getPermissions(Set<String> roleSet) {
@@ -434,4 +492,85 @@ public class DefaultPermissionFactory implements PermissionFactory, AuthorizerCo
         }
     }
 
+    /**
+     * Key of the permissions required for a target, for the cases where the standard constraint factories only use
+     * the action effects, the access constraints of the operation, and the registration and attribute definition of
+     * the target. These are not cached if:
+     * <ul>
+     *     <li>the target has a host or server group effect, as the required scoping constraints depend on the address,</li>
+     *     <li>the action writes, as the vault expression constraint checks the values in the operation,</li>
+     *     <li>the target is in the management resources, as the audit and top role constraints depend on the address,</li>
+     *     <li>the current value of the attribute may be a vault expression.</li>
+     * </ul>
+     */
+    private static final class RequiredPermissionsKey {
+        private final Set<Action.ActionEffect> actionEffects;
+        private final List<AccessConstraintDefinition> actionConstraints;
+        private final ImmutableManagementResourceRegistration registration;
+        private final String attributeName;
+        private final AttributeDefinition attributeDefinition;
+        private final int hash;
+
+        private RequiredPermissionsKey(Action action, ImmutableManagementResourceRegistration registration, TargetAttribute attribute) {
+            this.actionEffects = action.getActionEffects();
+            this.actionConstraints = action.getAccessConstraints();
+            this.registration = registration;
+            this.attributeName = attribute == null ? null : attribute.getAttributeName();
+            this.attributeDefinition = attribute == null ? null : attribute.getAttributeDefinition();
+            int result = actionEffects.hashCode();
+            result = 31 * result + actionConstraints.hashCode();
+            result = 31 * result + System.identityHashCode(registration);
+            result = 31 * result + (attributeName == null ? 0 : attributeName.hashCode());
+            this.hash = result;
+        }
+
+        private static RequiredPermissionsKey create(Action action, TargetResource target, TargetAttribute attribute) {
+            ImmutableManagementResourceRegistration registration = target.getResourceRegistration();
+            if (registration == null || target.getHostEffect() != null || target.getServerGroupEffect() != null) {
+                return null;
+            }
+            Set<Action.ActionEffect> actionEffects = action.getActionEffects();
+            if (actionEffects.contains(Action.ActionEffect.WRITE_CONFIG) || actionEffects.contains(Action.ActionEffect.WRITE_RUNTIME)) {
+                return null;
+            }
+            PathAddress address = target.getResourceAddress();
+            for (PathElement element : address) {
+                if (MANAGEMENT_ELEMENT.equals(element)) {
+                    return null;
+                }
+            }
+            if (attribute != null && isPossibleExpression(attribute.getCurrentValue())) {
+                return null;
+            }
+            return new RequiredPermissionsKey(action, registration, attribute);
+        }
+
+        private static boolean isPossibleExpression(ModelNode value) {
+            if (value == null) {
+                return false;
+            }
+            ModelType type = value.getType();
+            return type == ModelType.EXPRESSION || (type == ModelType.STRING && value.asString().contains("${"));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof RequiredPermissionsKey)) return false;
+
+            RequiredPermissionsKey that = (RequiredPermissionsKey) o;
+
+            return registration == that.registration
+                    && attributeDefinition == that.attributeDefinition
+                    && (attributeName == null ? that.attributeName == null : attributeName.equals(that.attributeName))
+                    && actionEffects.equals(that.actionEffects)
+                    && actionConstraints.equals(that.actionConstraints);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
 }
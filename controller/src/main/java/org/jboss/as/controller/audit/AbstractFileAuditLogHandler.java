@@ -7,6 +7,7 @@ package org.jboss.as.controller.audit;
 import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.as.controller.services.path.PathManagerService;
 import org.jboss.as.protocol.StreamUtils;
+import org.wildfly.security.manager.WildFlySecurityManager;
 import org.xnio.IoUtils;
 
 import java.io.BufferedInputStream;
@@ -26,9 +27,25 @@ import java.nio.charset.StandardCharsets;
  */
 public abstract class AbstractFileAuditLogHandler extends AuditLogHandler {
     protected static final byte[] LINE_TERMINATOR = System.lineSeparator().getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * If {@code true}, records are written and synced by a background thread in batches, rather than synced one by one
+     * by the thread logging them. See {@link AsyncAuditLogWriter}.
+     */
+    static final String ASYNC_PROPERTY = "org.wildfly.management.audit-log.file.async";
+    /**
+     * The longest time in milliseconds a record written in asynchronous mode can wait before it is synced.
+     */
+    static final String DURABILITY_WINDOW_PROPERTY = "org.wildfly.management.audit-log.file.durability-window";
+    /**
+     * The number of records that can be queued in asynchronous mode before logging has to wait for space.
+     */
+    static final String QUEUE_SIZE_PROPERTY = "org.wildfly.management.audit-log.file.queue-size";
+
     private final PathManagerService pathManager;
     private final String path;
     private final String relativeTo;
+    private final AsyncAuditLogWriter asyncWriter;
 
     private volatile File file;
 
@@ -37,6 +54,25 @@ public abstract class AbstractFileAuditLogHandler extends AuditLogHandler {
         this.pathManager = pathManager;
         this.path = path;
         this.relativeTo = relativeTo;
+        if (Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged(ASYNC_PROPERTY, "false"))) {
+            int queueSize = getIntProperty(QUEUE_SIZE_PROPERTY, 4096);
+            int durabilityWindow = getIntProperty(DURABILITY_WINDOW_PROPERTY, 100);
+            this.asyncWriter = new AsyncAuditLogWriter(name, Math.max(1, queueSize), Math.max(0, durabilityWindow));
+        } else {
+            this.asyncWriter = null;
+        }
+    }
+
+    private static int getIntProperty(String name, int defaultValue) {
+        final String value = WildFlySecurityManager.getPropertyPrivileged(name, null);
+        if (value != null) {
+            try {
+                return Integer.parseInt(value);
+            } catch (NumberFormatException e) {
+                ControllerLogger.ROOT_LOGGER.invalidSystemPropertyValue(value, name, defaultValue);
+            }
+        }
+        return defaultValue;
     }
 
     @Override
@@ -69,11 +105,51 @@ public abstract class AbstractFileAuditLogHandler extends AuditLogHandler {
 
     @Override
     void stop() {
+        flushLogFile();
         file = null;
     }
 
+    /**
+     * Writes the records that are still queued in asynchronous mode, and releases the file. Must be called before the
+     * file is rotated.
+     */
+    protected void flushLogFile() {
+        if (asyncWriter != null) {
+            asyncWriter.flush();
+        }
+    }
+
+    /**
+     * Gets the number of records waiting to be written in asynchronous mode.
+     */
+    public int getQueueDepth() {
+        return asyncWriter == null ? 0 : asyncWriter.getQueueDepth();
+    }
+
+    /**
+     * Gets the number of records whose logging had to wait for space in the queue in asynchronous mode.
+     */
+    public long getBlockedRecordCount() {
+        return asyncWriter == null ? 0 : asyncWriter.getBlockedRecordCount();
+    }
+
+    /**
+     * Gets the number of records that could not be written in asynchronous mode.
+     */
+    public long getDroppedRecordCount() {
+        return asyncWriter == null ? 0 : asyncWriter.getDroppedRecordCount();
+    }
+
     @Override
     void writeLogItem(String formattedItem) throws IOException {
+        if (asyncWriter != null) {
+            final byte[] item = formattedItem.getBytes(StandardCharsets.UTF_8);
+            final byte[] record = new byte[item.length + LINE_TERMINATOR.length];
+            System.arraycopy(item, 0, record, 0, item.length);
+            System.arraycopy(LINE_TERMINATOR, 0, record, item.length, LINE_TERMINATOR.length);
+            asyncWriter.write(file, record);
+            return;
+        }
         final FileOutputStream fos = new FileOutputStream(file, true);
         final BufferedOutputStream output = new BufferedOutputStream(fos);
         try {
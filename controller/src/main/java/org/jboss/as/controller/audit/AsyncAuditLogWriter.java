@@ -0,0 +1,265 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.controller.audit;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.security.PrivilegedAction;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jboss.as.controller.logging.ControllerLogger;
+import org.jboss.threads.JBossThreadFactory;
+import org.wildfly.security.manager.WildFlySecurityManager;
+import org.xnio.IoUtils;
+
+/**
+ * Writes the records of a file audit log handler from a background thread, so that the thread logging a management
+ * operation does not wait for the file to be synced.
+ * <p>
+ * Records are queued in a bounded queue. The writer thread appends them to a file channel that it keeps open, and
+ * syncs the file once per batch. A batch holds the records that arrive within the durability window of its first
+ * record, so no record waits longer than that window to be synced. If the queue is full the logging thread, which
+ * holds the audit logger's lock, waits a bounded time for space. A record that still does not fit is dropped, and the
+ * write fails so that it counts towards the handler's maximum failure count. Records that cannot be written are also
+ * dropped, and that failure is reported to the handler by the next {@link #write(File, byte[]) write}.
+ * </p>
+ * <p>
+ * The writer thread stops when no records arrived for a while, and is restarted by the next record. Records that are
+ * still queued when the process exits without the handler being stopped are lost.
+ * </p>
+ *
+ * @see AbstractFileAuditLogHandler
+ */
+final class AsyncAuditLogWriter implements Runnable {
+
+    private static final long IDLE_TIMEOUT_SECONDS = 60;
+    private static final long ENQUEUE_TIMEOUT_SECONDS = 5;
+
+    private final String handlerName;
+    private final long durabilityWindowNanos;
+    /** The records to write, and the {@link FlushRequest flush requests} */
+    private final ArrayBlockingQueue<Object> queue;
+    private final LongAdder blockedRecords = new LongAdder();
+    private final LongAdder droppedRecords = new LongAdder();
+    private final AtomicReference<IOException> failure = new AtomicReference<>();
+    private final ThreadFactory threadFactory;
+
+    private volatile File file;
+    // only used by the writer thread, or while there is none with this locked
+    private final ByteArrayOutputStream batch = new ByteArrayOutputStream(8192);
+    private FileChannel channel;
+    // guarded by this
+    private Thread thread;
+
+    AsyncAuditLogWriter(String handlerName, int capacity, long durabilityWindowMillis) {
+        this.handlerName = handlerName;
+        this.durabilityWindowNanos = TimeUnit.MILLISECONDS.toNanos(durabilityWindowMillis);
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.threadFactory = WildFlySecurityManager.doUnchecked(new PrivilegedAction<JBossThreadFactory>() {
+            public JBossThreadFactory run() {
+                return new JBossThreadFactory(ThreadGroupHolder.THREAD_GROUP, Boolean.TRUE, null,
+                        "%G - " + handlerName.replace("%", "%%") + " - %t", null, null);
+            }
+        });
+    }
+
+    /**
+     * Queues a record to be appended to a file.
+     *
+     * @param file the file
+     * @param record the record, including its line terminator
+     * @throws IOException if the queue stayed full or the thread was interrupted while waiting for space, in which case
+     *                     the record is dropped, or if records queued earlier could not be written
+     */
+    void write(File file, byte[] record) throws IOException {
+        this.file = file;
+        if (!queue.offer(record)) {
+            blockedRecords.increment();
+            boolean queued;
+            try {
+                queued = queue.offer(record, ENQUEUE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                droppedRecords.increment();
+                throw new IOException(e);
+            }
+            if (!queued) {
+                droppedRecords.increment();
+                throw ControllerLogger.ROOT_LOGGER.auditLogQueueFull(handlerName, ENQUEUE_TIMEOUT_SECONDS);
+            }
+        }
+        synchronized (this) {
+            if (thread == null) {
+                thread = threadFactory.newThread(this);
+                thread.start();
+            }
+        }
+        final IOException failed = failure.getAndSet(null);
+        if (failed != null) {
+            throw failed;
+        }
+    }
+
+    /**
+     * Writes and syncs all queued records, and closes the file so that it can be rotated. Waits for the writer thread
+     * to have written the records it already took from the queue. If the queue stays full, the records are left to the
+     * writer thread and the failure is logged.
+     */
+    void flush() {
+        final FlushRequest request = new FlushRequest();
+        synchronized (this) {
+            if (thread == null) {
+                writeQueued();
+                closeChannel();
+                request.countDown();
+            } else {
+                try {
+                    // the writer thread is not waiting for this lock while the queue is not empty
+                    if (!queue.offer(request, ENQUEUE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                        ControllerLogger.MGMT_OP_LOGGER.logHandlerWriteFailed(ControllerLogger.ROOT_LOGGER.auditLogQueueFull(handlerName, ENQUEUE_TIMEOUT_SECONDS), handlerName);
+                        return;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+        try {
+            request.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // the handler is not logging anything else, so report the failure here
+        final IOException failed = failure.getAndSet(null);
+        if (failed != null) {
+            ControllerLogger.MGMT_OP_LOGGER.logHandlerWriteFailed(failed, handlerName);
+        }
+    }
+
+    int getQueueDepth() {
+        return queue.size();
+    }
+
+    long getBlockedRecordCount() {
+        return blockedRecords.sum();
+    }
+
+    long getDroppedRecordCount() {
+        return droppedRecords.sum();
+    }
+
+    @Override
+    public void run() {
+        for (;;) {
+            Object next;
+            try {
+                next = queue.poll(IDLE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                next = null;
+            }
+            if (next == null) {
+                synchronized (this) {
+                    if (queue.isEmpty()) {
+                        closeChannel();
+                        thread = null;
+                        return;
+                    }
+                }
+                continue;
+            }
+            try {
+                final long deadline = System.nanoTime() + durabilityWindowNanos;
+                while (next instanceof byte[]) {
+                    final byte[] record = (byte[]) next;
+                    batch.write(record, 0, record.length);
+                    long remaining = deadline - System.nanoTime();
+                    next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                }
+            } catch (InterruptedException e) {
+                // write what we have
+                next = null;
+            }
+            writeBatch();
+            if (next instanceof FlushRequest) {
+                closeChannel();
+                ((FlushRequest) next).countDown();
+            }
+        }
+    }
+
+    private void writeQueued() {
+        Object next;
+        while ((next = queue.poll()) != null) {
+            if (next instanceof byte[]) {
+                final byte[] record = (byte[]) next;
+                batch.write(record, 0, record.length);
+            } else {
+                ((FlushRequest) next).countDown();
+            }
+        }
+        writeBatch();
+    }
+
+    private void writeBatch() {
+        if (batch.size() == 0) {
+            return;
+        }
+        try {
+            if (channel == null) {
+                channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            }
+            final ByteBuffer buffer = ByteBuffer.wrap(batch.toByteArray());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            droppedRecords.add(countRecords(batch.toByteArray()));
+            failure.set(e);
+            closeChannel();
+        } finally {
+            batch.reset();
+        }
+    }
+
+    private void closeChannel() {
+        IoUtils.safeClose(channel);
+        channel = null;
+    }
+
+    private static int countRecords(byte[] bytes) {
+        final byte terminator = AbstractFileAuditLogHandler.LINE_TERMINATOR[AbstractFileAuditLogHandler.LINE_TERMINATOR.length - 1];
+        int count = 0;
+        for (byte b : bytes) {
+            if (b == terminator) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Queued to have the writer thread write the records queued before it, and close the file.
+     */
+    private static final class FlushRequest extends CountDownLatch {
+        FlushRequest() {
+            super(1);
+        }
+    }
+
+    private static class ThreadGroupHolder {
+        private static final ThreadGroup THREAD_GROUP = new ThreadGroup("management-audit-log-writer");
+    }
+}
@@ -163,6 +163,36 @@ public interface ManagedAuditLogger extends AuditLogger {
      */
     boolean getHandlerDisabledDueToFailure(String name);
 
+    /**
+     * Get the number of records a file handler has queued for writing in asynchronous mode
+     *
+     * @param name the name of the handler
+     * @return the number of queued records, or {@code 0} if the handler does not write asynchronously
+     */
+    default int getHandlerQueueDepth(String name) {
+        return 0;
+    }
+
+    /**
+     * Get the number of records whose logging had to wait for space in the queue of a file handler in asynchronous mode
+     *
+     * @param name the name of the handler
+     * @return the number of records, or {@code 0} if the handler does not write asynchronously
+     */
+    default long getHandlerBlockedRecordCount(String name) {
+        return 0;
+    }
+
+    /**
+     * Get the number of records a file handler could not write in asynchronous mode
+     *
+     * @param name the name of the handler
+     * @return the number of records, or {@code 0} if the handler does not write asynchronously
+     */
+    default long getHandlerDroppedRecordCount(String name) {
+        return 0;
+    }
+
     /**
      * Gets a formatter by its name
      *
@@ -432,6 +432,39 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
         }
     }
 
+    @Override
+    public int getHandlerQueueDepth(String name) {
+        config.lock();
+        try {
+            AuditLogHandler handler = config.getConfiguredHandler(name);
+            return handler instanceof AbstractFileAuditLogHandler ? ((AbstractFileAuditLogHandler) handler).getQueueDepth() : 0;
+        } finally {
+            config.unlock();
+        }
+    }
+
+    @Override
+    public long getHandlerBlockedRecordCount(String name) {
+        config.lock();
+        try {
+            AuditLogHandler handler = config.getConfiguredHandler(name);
+            return handler instanceof AbstractFileAuditLogHandler ? ((AbstractFileAuditLogHandler) handler).getBlockedRecordCount() : 0;
+        } finally {
+            config.unlock();
+        }
+    }
+
+    @Override
+    public long getHandlerDroppedRecordCount(String name) {
+        config.lock();
+        try {
+            AuditLogHandler handler = config.getConfiguredHandler(name);
+            return handler instanceof AbstractFileAuditLogHandler ? ((AbstractFileAuditLogHandler) handler).getDroppedRecordCount() : 0;
+        } finally {
+            config.unlock();
+        }
+    }
+
     @Override
     public void updateSyslogHandlerFacility(String name, Facility facility) {
         config.lock();
@@ -46,6 +46,7 @@ public class PeriodicRotatingFileAuditLogHandler extends AbstractFileAuditLogHan
     protected void rotateLogFile(final File file) {
         final long now = System.currentTimeMillis();
         if (now >= nextRollover) {
+            flushLogFile();
             rollOver(file);
             calcNextRollover(now);
         }
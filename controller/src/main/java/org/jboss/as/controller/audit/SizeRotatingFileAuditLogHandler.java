@@ -37,6 +37,7 @@ public class SizeRotatingFileAuditLogHandler extends AbstractFileAuditLogHandler
     @Override
     protected void rotateLogFile(final File file) {
         if (currentSize > this.rotateSize) {
+            flushLogFile();
             // rotate
             if (maxBackupIndex > 0) {
                 // first, drop the max file (if any), then move each file to the next higher slot.
@@ -3881,4 +3881,18 @@ public interface ControllerLogger extends BasicLogger {
 
     @Message(id = 536, value = "Value for parameter '%1$s' must be less than or equal to '%3$s': '%2$s'")
     OperationFailedException inclusiveUpperBoundExceeded(String name, Object value, Object upperBound);
+
+    @LogMessage(level = WARN)
+    @Message(id = 537, value = "Could not read the boot operation cache %s; the configuration will be parsed")
+    void failedToReadBootOperationCache(@Cause Throwable cause, String file);
+
+    @LogMessage(level = WARN)
+    @Message(id = 538, value = "Could not store the boot operation cache %s")
+    void failedToStoreBootOperationCache(@Cause Throwable cause, String file);
+
+    @Message(id = 539, value = "Illegal value %d for operation header %s; value must not be negative")
+    OperationFailedException invalidReadParallelism(int parallelism, String headerName);
+
+    @Message(id = 540, value = "The queue of audit log handler '%s' stayed full for %d seconds; the record was dropped")
+    IOException auditLogQueueFull(String handlerName, long timeout);
 }
@@ -8,11 +8,15 @@ package org.jboss.as.controller.operations.global;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ACCESS_CONTROL;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILURE_DESCRIPTION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_HEADERS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_ATTRIBUTE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_PARALLELISM;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESPONSE_HEADERS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.WARNING;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.WARNINGS;
 import static org.jboss.as.controller.operations.global.GlobalOperationAttributes.INCLUDE_ALIASES;
@@ -23,12 +27,14 @@ import static org.jboss.as.controller.operations.global.GlobalOperationAttribute
 import static org.jboss.as.controller.operations.global.GlobalOperationAttributes.RECURSIVE;
 import static org.jboss.as.controller.operations.global.GlobalOperationAttributes.RECURSIVE_DEPTH;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
@@ -40,6 +46,7 @@ import org.jboss.as.controller.OperationContext.AttachmentKey;
 import org.jboss.as.controller.OperationDefinition;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.ParallelReadExecutor;
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.SimpleAttributeDefinition;
@@ -224,6 +231,17 @@ public class ReadResourceHandler extends GlobalOperationHandlers.AbstractMultiTa
         final Resource resource = nullSafeReadResource(context, registry);
 
         final Map<String, Set<String>> childrenByType = registry != null ? GlobalOperationHandlers.getChildAddresses(context, address, registry, resource, null) : Collections.<String, Set<String>>emptyMap();
+        // Child resources to read in parallel, if requested with the read-parallelism header
+        int parallelism = 0;
+        if (operation.hasDefined(OPERATION_HEADERS, READ_PARALLELISM)) {
+            parallelism = operation.get(OPERATION_HEADERS, READ_PARALLELISM).asInt();
+            if (parallelism < 0) {
+                throw ControllerLogger.MGMT_OP_LOGGER.invalidReadParallelism(parallelism, READ_PARALLELISM);
+            }
+            // the client does not get more threads than the server allows
+            parallelism = Math.min(parallelism, ParallelReadExecutor.getMaxParallelism());
+        }
+        final List<ParallelChildRead> parallelReads = recursive && parallelism > 1 ? new ArrayList<>() : null;
         if (!attributesOnly) {
             // Next, process child resources
             for (Map.Entry<String, Set<String>> entry : childrenByType.entrySet()) {
@@ -279,9 +297,13 @@ public class ReadResourceHandler extends GlobalOperationHandlers.AbstractMultiTa
                                 // not an override
                                 overrideHandler = null;
                             }
-                            OperationStepHandler rrHandler = new ReadResourceHandler(localFilteredData, overrideHandler, resolvable);
+                            if (parallelReads != null && !childReg.isRemote()) {
+                                parallelReads.add(new ParallelChildRead(rrOp, rrRsp, overrideHandler, new FilteredData(address)));
+                            } else {
+                                OperationStepHandler rrHandler = new ReadResourceHandler(localFilteredData, overrideHandler, resolvable);
 
-                            context.addStep(rrRsp, rrOp, rrHandler, OperationContext.Stage.MODEL, true);
+                                context.addStep(rrRsp, rrOp, rrHandler, OperationContext.Stage.MODEL, true);
+                            }
                         }
                     } else {
                         // Non-recursive. Just output the names of the children
@@ -308,6 +330,10 @@ public class ReadResourceHandler extends GlobalOperationHandlers.AbstractMultiTa
             }
         }
 
+        if (parallelReads != null && !parallelReads.isEmpty()) {
+            context.addStep(new ParallelChildReadHandler(parallelReads, parallelism, localFilteredData, resolvable), OperationContext.Stage.MODEL, true);
+        }
+
         // Handle registered attributes
         final Set<String> attributeNames = registry != null ? registry.getAttributeNames(PathAddress.EMPTY_ADDRESS) : Collections.<String>emptySet();
         for (final String attributeName : attributeNames) {
@@ -622,6 +648,68 @@ public class ReadResourceHandler extends GlobalOperationHandlers.AbstractMultiTa
         }
     }
 
+    /**
+     * A child resource to read in parallel with its siblings.
+     */
+    private static class ParallelChildRead {
+        private final ModelNode operation;
+        private final ModelNode response;
+        private final OperationStepHandler overrideHandler;
+        /** Used instead of the filtered data of the parent, as that is not thread safe */
+        private final FilteredData filteredData;
+
+        private ParallelChildRead(ModelNode operation, ModelNode response, OperationStepHandler overrideHandler, FilteredData filteredData) {
+            this.operation = operation;
+            this.response = response;
+            this.overrideHandler = overrideHandler;
+            this.filteredData = filteredData;
+        }
+    }
+
+    /**
+     * Reads child resources in parallel with {@link ParallelReadExecutor}. Children that could not be read that way
+     * are read by steps added to this context, as they would have been without the {@code read-parallelism} header.
+     */
+    private static class ParallelChildReadHandler implements OperationStepHandler {
+
+        private final List<ParallelChildRead> reads;
+        private final int parallelism;
+        private final FilteredData filteredData;
+        private final boolean resolvable;
+
+        private ParallelChildReadHandler(List<ParallelChildRead> reads, int parallelism, FilteredData filteredData, boolean resolvable) {
+            this.reads = reads;
+            this.parallelism = parallelism;
+            this.filteredData = filteredData;
+            this.resolvable = resolvable;
+        }
+
+        @Override
+        public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+            final List<ModelNode> operations = new ArrayList<>(reads.size());
+            final List<OperationStepHandler> handlers = new ArrayList<>(reads.size());
+            for (ParallelChildRead read : reads) {
+                operations.add(read.operation);
+                handlers.add(new ReadResourceHandler(read.filteredData, read.overrideHandler, resolvable));
+            }
+            final List<ModelNode> responses = ParallelReadExecutor.execute(context, operations, handlers, parallelism);
+            // Steps added to be executed immediately run in the reverse order of being added
+            for (int i = reads.size() - 1; i >= 0; i--) {
+                final ParallelChildRead read = reads.get(i);
+                final ModelNode response = responses == null ? null : responses.get(i);
+                if (response != null && SUCCESS.equals(response.get(OUTCOME).asString())) {
+                    read.response.set(response);
+                    if (read.filteredData.hasFilteredData()) {
+                        filteredData.populate(read.filteredData.toModelNode(), PathAddress.EMPTY_ADDRESS);
+                    }
+                } else {
+                    OperationStepHandler rrHandler = new ReadResourceHandler(filteredData, read.overrideHandler, resolvable);
+                    context.addStep(read.response, read.operation, rrHandler, OperationContext.Stage.MODEL, true);
+                }
+            }
+        }
+    }
+
     private static class Validator extends ParametersValidator {
 
         private static final Validator RESOLVABLE = new Validator(true);
@@ -28,8 +28,15 @@ import org.jboss.staxmapper.XMLMapper;
  */
 public abstract class AbstractConfigurationPersister implements ExtensibleConfigurationPersister {
 
+    /**
+     * Enables the subsystem XML cache of this persister, and reading only the modified parts of the model again when
+     * persisting a configuration change, instead of the whole model.
+     */
+    public static final String INCREMENTAL_PERSISTENCE_PROPERTY = "org.wildfly.controller.incremental-persistence";
+
     private final XMLElementWriter<ModelMarshallingContext> rootDeparser;
     private final ConcurrentHashMap<String, Supplier<XMLElementWriter<SubsystemMarshallingContext>>> subsystemWriterSuppliers = new ConcurrentHashMap<>();
+    private final SubsystemXmlCache subsystemXmlCache;
 
     /**
      * Construct a new instance.
@@ -37,7 +44,12 @@ public abstract class AbstractConfigurationPersister implements ExtensibleConfig
      * @param rootDeparser the root model deparser
      */
     public AbstractConfigurationPersister(final XMLElementWriter<ModelMarshallingContext> rootDeparser) {
+        this(rootDeparser, SubsystemXmlCache.ENABLED);
+    }
+
+    AbstractConfigurationPersister(final XMLElementWriter<ModelMarshallingContext> rootDeparser, final boolean cacheSubsystemXml) {
         this.rootDeparser = rootDeparser;
+        this.subsystemXmlCache = cacheSubsystemXml ? new SubsystemXmlCache() : null;
     }
 
     @Override
@@ -48,6 +60,9 @@ public abstract class AbstractConfigurationPersister implements ExtensibleConfig
     @Override
     public void unregisterSubsystemWriter(String name) {
         subsystemWriterSuppliers.remove(name);
+        if (subsystemXmlCache != null) {
+            subsystemXmlCache.invalidate(name);
+        }
     }
 
     /** {@inheritDoc} */
@@ -55,6 +70,7 @@ public abstract class AbstractConfigurationPersister implements ExtensibleConfig
     public void marshallAsXml(final ModelNode model, final OutputStream output) throws ConfigurationPersistenceException {
         final XMLMapper mapper = XMLMapper.Factory.create();
         final Map<String, XMLElementWriter<SubsystemMarshallingContext>> localSubsystemWriters = new HashMap<>();
+        final SubsystemXmlCache.Marshalling marshalling = subsystemXmlCache != null ? subsystemXmlCache.startMarshalling() : null;
         try {
             XMLStreamWriter streamWriter = null;
             try {
@@ -73,7 +89,8 @@ public abstract class AbstractConfigurationPersister implements ExtensibleConfig
                         if (result == null) {
                             Supplier<XMLElementWriter<SubsystemMarshallingContext>> supplier = subsystemWriterSuppliers.get(extensionName);
                             if (supplier != null) {
-                                result = supplier.get();
+                                // only subsystems whose model changed since the last marshalling are actually written
+                                result = marshalling != null ? marshalling.wrap(extensionName, supplier) : supplier.get();
                                 localSubsystemWriters.put(extensionName, result);
                             }
                         }
@@ -82,6 +99,9 @@ public abstract class AbstractConfigurationPersister implements ExtensibleConfig
                 };
                 mapper.deparseDocument(rootDeparser, extensibleModel, streamWriter);
                 streamWriter.close();
+                if (marshalling != null) {
+                    marshalling.complete();
+                }
             } finally {
                 safeClose(streamWriter);
             }
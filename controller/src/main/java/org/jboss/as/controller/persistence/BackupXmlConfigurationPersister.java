@@ -77,6 +77,7 @@ public class BackupXmlConfigurationPersister extends XmlConfigurationPersister {
     public void successfulBoot() throws ConfigurationPersistenceException {
         if(successfulBoot.compareAndSet(false, true)) {
             configurationFile.successfulBoot();
+            super.successfulBoot();
         }
     }
 
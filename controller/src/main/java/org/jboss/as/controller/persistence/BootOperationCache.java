@@ -0,0 +1,213 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller.persistence;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADD;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.EXTENSION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.controller.logging.ControllerLogger.ROOT_LOGGER;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.jboss.as.controller.HashUtil;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.Property;
+import org.jboss.modules.Module;
+import org.jboss.modules.ModuleLoadException;
+import org.jboss.modules.Version;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Caches the boot operations parsed from a configuration file in binary DMR form, so that the file does not need to be
+ * parsed again on the next boot.
+ * <p>
+ * The cache is only used if the configuration file, the system properties, the versions of the modules of the
+ * extensions it uses and of the module of the parser, and any other values that affect parsing are the same as when it
+ * was written. It is only written once the operations have booted successfully.
+ * </p>
+ *
+ * @see XmlConfigurationPersister#enableBootOperationCache(File, String...)
+ */
+final class BootOperationCache {
+
+    private static final int FORMAT_VERSION = 1;
+
+    private final File cacheFile;
+    private final File configFile;
+    private final String[] keyComponents;
+    private final Module parserModule;
+    private volatile byte[] prepared;
+
+    BootOperationCache(File cacheFile, File configFile, Class<?> parserClass, String... keyComponents) {
+        this.cacheFile = cacheFile;
+        this.configFile = configFile;
+        this.keyComponents = keyComponents;
+        this.parserModule = Module.forClass(parserClass);
+    }
+
+    /**
+     * Loads the cached boot operations.
+     *
+     * @return the operations, or {@code null} if there is no usable cache
+     */
+    List<ModelNode> load() {
+        if (!cacheFile.exists()) {
+            return null;
+        }
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(cacheFile.toPath())))) {
+            if (input.readInt() != FORMAT_VERSION || !input.readUTF().equals(computeKey())) {
+                return null;
+            }
+            int moduleCount = input.readInt();
+            for (int i = 0; i < moduleCount; i++) {
+                String module = input.readUTF();
+                String version = input.readUTF();
+                if (!version.equals(moduleVersion(module))) {
+                    return null;
+                }
+            }
+            int size = input.readInt();
+            List<ModelNode> operations = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                ModelNode operation = new ModelNode();
+                operation.readExternal((DataInput) input);
+                operations.add(operation);
+            }
+            return operations;
+        } catch (IOException | ModuleLoadException | RuntimeException e) {
+            ROOT_LOGGER.failedToReadBootOperationCache(e, cacheFile.getAbsolutePath());
+            return null;
+        }
+    }
+
+    /**
+     * Serializes operations parsed from the configuration file, to be written by {@link #store()}. Must be called before
+     * the operations are executed, as executing them can modify them.
+     *
+     * @param operations the operations
+     */
+    void prepare(List<ModelNode> operations) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream output = new DataOutputStream(bytes);
+            output.writeInt(FORMAT_VERSION);
+            output.writeUTF(computeKey());
+            Map<String, String> modules = new TreeMap<>();
+            if (parserModule != null) {
+                modules.put(parserModule.getName(), moduleVersion(parserModule.getName()));
+            }
+            for (ModelNode operation : operations) {
+                if (ADD.equals(operation.get(OP).asString()) && operation.hasDefined(OP_ADDR)) {
+                    List<Property> address = operation.get(OP_ADDR).asPropertyList();
+                    Property last = address.isEmpty() ? null : address.get(address.size() - 1);
+                    if (last != null && EXTENSION.equals(last.getName())) {
+                        String module = last.getValue().asString();
+                        modules.put(module, moduleVersion(module));
+                    }
+                }
+            }
+            output.writeInt(modules.size());
+            for (Map.Entry<String, String> module : modules.entrySet()) {
+                output.writeUTF(module.getKey());
+                output.writeUTF(module.getValue());
+            }
+            output.writeInt(operations.size());
+            for (ModelNode operation : operations) {
+                operation.writeExternal((DataOutput) output);
+            }
+            output.flush();
+            prepared = bytes.toByteArray();
+        } catch (IOException | ModuleLoadException | RuntimeException e) {
+            prepared = null;
+            ROOT_LOGGER.failedToStoreBootOperationCache(e, cacheFile.getAbsolutePath());
+        }
+    }
+
+    /**
+     * Writes the operations passed to {@link #prepare(List)}, if any.
+     */
+    void store() {
+        final byte[] bytes = prepared;
+        if (bytes == null) {
+            return;
+        }
+        prepared = null;
+        try {
+            Path target = cacheFile.toPath();
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(target.getParent(), cacheFile.getName(), ".tmp");
+            try {
+                Files.write(temp, bytes);
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            ROOT_LOGGER.failedToStoreBootOperationCache(e, cacheFile.getAbsolutePath());
+        }
+    }
+
+    private String computeKey() throws IOException {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        update(digest, configFile.getName());
+        for (String component : keyComponents) {
+            update(digest, String.valueOf(component));
+        }
+        Properties properties = WildFlySecurityManager.getSystemPropertiesPrivileged();
+        for (String name : new TreeSet<>(properties.stringPropertyNames())) {
+            update(digest, name);
+            update(digest, properties.getProperty(name));
+        }
+        byte[] buffer = new byte[8192];
+        try (InputStream input = new DigestInputStream(Files.newInputStream(configFile.toPath()), digest)) {
+            while (input.read(buffer) != -1) {
+                // digested as it is read
+            }
+        }
+        return HashUtil.bytesToHexString(digest.digest());
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        digest.update((byte) (bytes.length >>> 24));
+        digest.update((byte) (bytes.length >>> 16));
+        digest.update((byte) (bytes.length >>> 8));
+        digest.update((byte) bytes.length);
+        digest.update(bytes);
+    }
+
+    private static String moduleVersion(String name) throws ModuleLoadException {
+        Version version = Module.getBootModuleLoader().loadModule(name).getVersion();
+        return version == null ? "" : version.toString();
+    }
+}
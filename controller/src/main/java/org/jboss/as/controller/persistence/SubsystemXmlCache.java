@@ -0,0 +1,263 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller.persistence;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.jboss.dmr.ModelNode;
+import org.jboss.staxmapper.XMLElementWriter;
+import org.jboss.staxmapper.XMLExtendedStreamWriter;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Caches the XML written for subsystems, so that marshalling a configuration only runs the writers of the subsystems
+ * whose model changed since the configuration was last marshalled.
+ * <p>
+ * The calls a subsystem writer makes to the stream writer are recorded, and replayed instead of running the writer
+ * again for as long as the model of the subsystem does not change. Models are compared including the order of their
+ * keys, as writers generally write children in that order.
+ * </p>
+ * <p>
+ * This relies on the output of a writer depending only on the model it writes. A recording is not replayed if the
+ * writer supplier of the subsystem returns another writer than the one that was recorded, or, for suppliers that
+ * create a new writer each time, a writer of another class. The cache is only used if the
+ * {@value AbstractConfigurationPersister#INCREMENTAL_PERSISTENCE_PROPERTY} system property is {@code true}, and it holds no more than
+ * {@link #MAX_RECORDED_CALLS} recorded calls.
+ * </p>
+ *
+ * @see AbstractConfigurationPersister#marshallAsXml(ModelNode, java.io.OutputStream)
+ */
+final class SubsystemXmlCache {
+
+    static final boolean ENABLED = Boolean.parseBoolean(
+            WildFlySecurityManager.getPropertyPrivileged(AbstractConfigurationPersister.INCREMENTAL_PERSISTENCE_PROPERTY, "false"));
+
+    /**
+     * The maximum number of calls to the stream writer recorded for all subsystems. The recordings of subsystems
+     * written once this is reached are not kept.
+     */
+    static final int MAX_RECORDED_CALLS = 1 << 16;
+
+    private volatile Map<String, List<Recording>> recordings = Collections.emptyMap();
+
+    /**
+     * Starts marshalling a configuration. The recordings made while marshalling replace the current ones once it
+     * {@link Marshalling#complete() completes}, so recordings of subsystems that are no longer written are dropped.
+     */
+    Marshalling startMarshalling() {
+        return new Marshalling(recordings);
+    }
+
+    /**
+     * Drops the recordings of a subsystem, e.g. because its writer was unregistered.
+     */
+    void invalidate(String subsystemName) {
+        Map<String, List<Recording>> current = new HashMap<>(recordings);
+        if (current.remove(subsystemName) != null) {
+            recordings = current;
+        }
+    }
+
+    final class Marshalling {
+        private final Map<String, List<Recording>> previous;
+        private final Map<String, List<Recording>> current = new HashMap<>();
+        private int recordedCalls;
+
+        private Marshalling(Map<String, List<Recording>> previous) {
+            this.previous = previous;
+        }
+
+        XMLElementWriter<SubsystemMarshallingContext> wrap(String subsystemName, Supplier<XMLElementWriter<SubsystemMarshallingContext>> supplier) {
+            final XMLElementWriter<SubsystemMarshallingContext> writer = supplier.get();
+            return (streamWriter, context) -> {
+                Recording recording = find(previous.get(subsystemName), writer, context.getModelNode());
+                if (recording == null) {
+                    // a supplier returning the same writer again is expected to keep doing so
+                    final boolean sharedWriter = supplier.get() == writer;
+                    recording = Recording.record(writer, sharedWriter, streamWriter, context.getModelNode());
+                } else {
+                    recording.replay(streamWriter);
+                }
+                if (recordedCalls + recording.methods.size() <= MAX_RECORDED_CALLS) {
+                    recordedCalls += recording.methods.size();
+                    // a subsystem can appear in several profiles
+                    current.computeIfAbsent(subsystemName, name -> new ArrayList<>(1)).add(recording);
+                }
+            };
+        }
+
+        void complete() {
+            recordings = current;
+        }
+
+        private Recording find(List<Recording> candidates, XMLElementWriter<SubsystemMarshallingContext> writer, ModelNode model) {
+            if (candidates != null) {
+                for (Recording candidate : candidates) {
+                    if (candidate.recordedBy(writer) && sameModel(candidate.model, model)) {
+                        return candidate;
+                    }
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final class Recording {
+        private final ModelNode model;
+        private final XMLElementWriter<SubsystemMarshallingContext> writer;
+        private final boolean sharedWriter;
+        private final List<Method> methods;
+        private final List<Object[]> arguments;
+
+        private Recording(ModelNode model, XMLElementWriter<SubsystemMarshallingContext> writer, boolean sharedWriter,
+                          List<Method> methods, List<Object[]> arguments) {
+            this.model = model;
+            this.writer = writer;
+            this.sharedWriter = sharedWriter;
+            this.methods = methods;
+            this.arguments = arguments;
+        }
+
+        static Recording record(XMLElementWriter<SubsystemMarshallingContext> writer, boolean sharedWriter,
+                                XMLExtendedStreamWriter streamWriter, ModelNode model) throws XMLStreamException {
+            final List<Method> methods = new ArrayList<>();
+            final List<Object[]> arguments = new ArrayList<>();
+            XMLExtendedStreamWriter recorder = (XMLExtendedStreamWriter) Proxy.newProxyInstance(XMLExtendedStreamWriter.class.getClassLoader(),
+                    new Class<?>[] { XMLExtendedStreamWriter.class }, (proxy, method, args) -> {
+                        Object result = invoke(method, streamWriter, args);
+                        // only calls that return nothing write something or change the state of the writer
+                        if (method.getReturnType() == void.class) {
+                            methods.add(method);
+                            arguments.add(copy(args));
+                        }
+                        return result;
+                    });
+            // some writers add undefined children to the model they write, so neither the model being persisted nor the
+            // recorded copy is handed to the writer
+            final ModelNode copy = model.clone();
+            writer.writeContent(recorder, new SubsystemMarshallingContext(model.clone(), recorder));
+            return new Recording(copy, writer, sharedWriter, methods, arguments);
+        }
+
+        /**
+         * Whether the given writer would write what was recorded, given the same model.
+         */
+        boolean recordedBy(XMLElementWriter<SubsystemMarshallingContext> other) {
+            return sharedWriter ? other == writer : other.getClass() == writer.getClass();
+        }
+
+        void replay(XMLExtendedStreamWriter streamWriter) throws XMLStreamException {
+            for (int i = 0; i < methods.size(); i++) {
+                invoke(methods.get(i), streamWriter, arguments.get(i));
+            }
+        }
+
+        private static Object invoke(Method method, XMLExtendedStreamWriter target, Object[] args) throws XMLStreamException {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof XMLStreamException) {
+                    throw (XMLStreamException) cause;
+                } else if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                } else if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new XMLStreamException(cause);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private static Object[] copy(Object[] args) {
+            if (args == null) {
+                return null;
+            }
+            Object[] result = args.clone();
+            for (int i = 0; i < result.length; i++) {
+                Object arg = result[i];
+                if (arg instanceof char[]) {
+                    result[i] = ((char[]) arg).clone();
+                } else if (arg instanceof Object[]) {
+                    result[i] = ((Object[]) arg).clone();
+                } else if (arg instanceof Iterable) {
+                    List<Object> values = new ArrayList<>();
+                    for (Object value : (Iterable<?>) arg) {
+                        values.add(value);
+                    }
+                    result[i] = values;
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Compares two models, including the order of the keys of object nodes. Keys with undefined values are ignored.
+     */
+    static boolean sameModel(ModelNode a, ModelNode b) {
+        if (a.getType() != b.getType()) {
+            return false;
+        }
+        switch (a.getType()) {
+            case OBJECT: {
+                Iterator<String> aKeys = a.keys().iterator();
+                Iterator<String> bKeys = b.keys().iterator();
+                String aKey = nextDefinedKey(a, aKeys);
+                String bKey = nextDefinedKey(b, bKeys);
+                while (aKey != null) {
+                    if (!aKey.equals(bKey) || !sameModel(a.get(aKey), b.get(bKey))) {
+                        return false;
+                    }
+                    aKey = nextDefinedKey(a, aKeys);
+                    bKey = nextDefinedKey(b, bKeys);
+                }
+                return bKey == null;
+            }
+            case LIST: {
+                List<ModelNode> aList = a.asList();
+                List<ModelNode> bList = b.asList();
+                if (aList.size() != bList.size()) {
+                    return false;
+                }
+                for (int i = 0; i < aList.size(); i++) {
+                    if (!sameModel(aList.get(i), bList.get(i))) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            case PROPERTY: {
+                return a.asProperty().getName().equals(b.asProperty().getName())
+                        && sameModel(a.asProperty().getValue(), b.asProperty().getValue());
+            }
+            default:
+                return a.equals(b);
+        }
+    }
+
+    private static String nextDefinedKey(ModelNode node, Iterator<String> keys) {
+        while (keys.hasNext()) {
+            String key = keys.next();
+            if (node.get(key).isDefined()) {
+                return key;
+            }
+        }
+        return null;
+    }
+}
@@ -31,6 +31,7 @@ import org.jboss.staxmapper.XMLMapper;
 import org.projectodd.vdx.core.XMLStreamValidationException;
 import org.projectodd.vdx.wildfly.WildFlyErrorReporter;
 import org.wildfly.common.xml.XMLInputFactoryUtil;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * A configuration persister which uses an XML file for backing storage.
@@ -39,11 +40,17 @@ import org.wildfly.common.xml.XMLInputFactoryUtil;
  */
 public class XmlConfigurationPersister extends AbstractConfigurationPersister {
 
+    /**
+     * If {@code true}, {@link #enableBootOperationCache(File, String...)} enables the boot operation cache.
+     */
+    public static final String BOOT_OPERATION_CACHE_PROPERTY = "org.wildfly.controller.boot-operation-cache";
+
     private final File fileName;
     private final QName rootElement;
     private final XMLElementReader<List<ModelNode>> rootParser;
     private final Map<QName, XMLElementReader<List<ModelNode>>> additionalParsers;
     private final boolean suppressLoad;
+    private volatile BootOperationCache bootOperationCache;
     protected volatile boolean stored = false;
 
     /**
@@ -82,6 +89,22 @@ public class XmlConfigurationPersister extends AbstractConfigurationPersister {
         }
     }
 
+    /**
+     * Caches the operations parsed from the configuration file in the given directory once they booted successfully,
+     * and loads them from there instead of parsing the file on the next boot, provided the
+     * {@value #BOOT_OPERATION_CACHE_PROPERTY} system property is {@code true}.
+     *
+     * @param cacheDir the directory to store the cache in
+     * @param keyComponents values other than the configuration file, system properties and module versions that affect
+     *                      the operations the parser creates. The cache is only used if they did not change.
+     */
+    public void enableBootOperationCache(final File cacheDir, final String... keyComponents) {
+        if (Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged(BOOT_OPERATION_CACHE_PROPERTY, "false"))) {
+            File cacheFile = new File(cacheDir, fileName.getName() + ".bootops");
+            this.bootOperationCache = new BootOperationCache(cacheFile, fileName, rootParser.getClass(), keyComponents);
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public PersistenceResource store(final ModelNode model, Set<PathAddress> affectedAddresses) throws ConfigurationPersistenceException {
@@ -96,6 +119,14 @@ public class XmlConfigurationPersister extends AbstractConfigurationPersister {
             return new ArrayList<>();
         }
 
+        final BootOperationCache cache = bootOperationCache;
+        if (cache != null) {
+            final List<ModelNode> cached = cache.load();
+            if (cached != null) {
+                return cached;
+            }
+        }
+
         final XMLMapper mapper = XMLMapper.Factory.create();
         mapper.registerRootElement(rootElement, rootParser);
         synchronized (additionalParsers) {
@@ -128,6 +159,9 @@ public class XmlConfigurationPersister extends AbstractConfigurationPersister {
             safeClose(input);
         }
 
+        if (cache != null) {
+            cache.prepare(updates);
+        }
         return updates;
     }
 
@@ -159,6 +193,14 @@ public class XmlConfigurationPersister extends AbstractConfigurationPersister {
 
     }
 
+    @Override
+    public void successfulBoot() throws ConfigurationPersistenceException {
+        final BootOperationCache cache = bootOperationCache;
+        if (cache != null) {
+            cache.store();
+        }
+    }
+
     @Override
     public boolean hasStored() {
         return isPersisting() && stored;
@@ -8,6 +8,7 @@ package org.jboss.as.controller.registry;
 import static org.wildfly.common.Assert.checkNotNullParam;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -133,13 +134,31 @@ public abstract class AbstractModelResource extends ResourceProvider.ResourcePro
 
     @Override
     public Set<ResourceEntry> getChildren(final String childType) {
+        return getChildren(childType, false);
+    }
+
+    /**
+     * Gets the children of the given type without taking a private copy of any child that is still shared with
+     * the resource this one was {@link #copyOnWrite(CopyOnWriteScope) copied} from. Only for use by callers that will not modify
+     * the returned resources.
+     *
+     * @param childType the child type
+     * @return the children. Will not be {@code null}
+     */
+    Set<ResourceEntry> getChildrenForRead(final String childType) {
+        return getChildren(childType, true);
+    }
+
+    private Set<ResourceEntry> getChildren(final String childType, final boolean readOnly) {
         final ResourceProvider provider = getProvider(childType);
         if(provider == null) {
             return Collections.emptySet();
         }
         final Set<ResourceEntry> children = new LinkedHashSet<ResourceEntry>();
         for(final String name : provider.children()) {
-            final Resource resource = provider.get(name);
+            final Resource resource = readOnly && provider instanceof DefaultResourceProvider
+                    ? ((DefaultResourceProvider) provider).peek(name)
+                    : provider.get(name);
             children.add(new DelegateResource(resource) {
                 @Override
                 public String getName() {
@@ -195,6 +214,19 @@ public abstract class AbstractModelResource extends ResourceProvider.ResourcePro
         return false;
     }
 
+    @Override
+    public Resource shallowCopy() {
+        // Same as the default, but based on the child names so children shared with another tree are not copied
+        final Resource copy = Resource.Factory.create();
+        copy.writeModel(getModel());
+        for (final String childType : getChildTypes()) {
+            for (final String name : getChildrenNames(childType)) {
+                copy.registerChild(PathElement.pathElement(childType, name), PlaceholderResource.INSTANCE);
+            }
+        }
+        return copy;
+    }
+
     @Override
     public boolean isRuntime() {
         return runtimeOnly;
@@ -244,11 +276,88 @@ public abstract class AbstractModelResource extends ResourceProvider.ResourcePro
         }
     }
 
+    /**
+     * Creates a copy of this resource that initially shares all of its children with this resource. A shared child
+     * is itself copied the first time it is obtained from the copy while the copy is still
+     * {@link CopyOnWriteScope writable}, so only the resources on the paths that are navigated in the copy are ever
+     * duplicated. Unlike {@link #clone()}, this is only safe if this resource and its descendants are not modified
+     * after the copy is taken, as is the case for a published management model.
+     * <p>
+     * Subclasses that do not support sharing their children use a {@link #clone() full clone}.
+     * </p>
+     *
+     * @param scope the scope of the tree the copy belongs to
+     * @return the copy. Will not return {@code null}
+     */
+    Resource copyOnWrite(CopyOnWriteScope scope) {
+        return clone();
+    }
+
+    /**
+     * Registers with {@code copy} providers that share the children of this resource's default providers,
+     * and a {@link ResourceProvider#clone() clone} of any custom provider.
+     *
+     * @param copy the resource being created by {@link #copyOnWrite(CopyOnWriteScope)}
+     * @param scope the scope of the tree the copy belongs to
+     */
+    void shareProviders(AbstractModelResource copy, CopyOnWriteScope scope) {
+        synchronized (children) {
+            for (final Map.Entry<String, ResourceProvider> entry : children.entrySet()) {
+                final ResourceProvider provider = entry.getValue();
+                copy.registerResourceProvider(entry.getKey(), provider instanceof DefaultResourceProvider
+                        ? ((DefaultResourceProvider) provider).share(scope)
+                        : provider.clone());
+            }
+        }
+    }
+
+    static Resource copyOnWrite(final Resource resource, final CopyOnWriteScope scope) {
+        return resource instanceof AbstractModelResource ? ((AbstractModelResource) resource).copyOnWrite(scope) : resource.clone();
+    }
+
+    static void completeCopyOnWrite(final Resource resource) {
+        if (resource instanceof AbstractModelResource) {
+            // A tree may contain resources of more than one scope, e.g. if a resource copied by another tree was
+            // registered in it, so complete every provider of the part of the tree that is not shared with an
+            // original tree. The shared part was completed when its own tree was.
+            final List<Resource> owned = new ArrayList<Resource>();
+            final Map<String, ResourceProvider> children = ((AbstractModelResource) resource).children;
+            synchronized (children) {
+                for (final ResourceProvider provider : children.values()) {
+                    if (provider instanceof DefaultResourceProvider) {
+                        ((DefaultResourceProvider) provider).complete(owned);
+                    }
+                }
+            }
+            for (final Resource child : owned) {
+                completeCopyOnWrite(child);
+            }
+        }
+    }
+
+    /**
+     * The resources of a tree created by {@link Resource.Tools#copyOnWrite(Resource)}. While the tree is writable,
+     * shared children are copied when they are obtained, as the caller may modify them. Once the tree is no longer
+     * modified, e.g. because it was published, shared children are returned as they are, so reading the tree does
+     * not change it.
+     */
+    static final class CopyOnWriteScope {
+        private volatile boolean writable = true;
+    }
+
     private static class DefaultResourceProvider implements ResourceProvider {
 
         private final Map<String, Resource> children = new LinkedHashMap<String, Resource>();
+        /** Names of the children that are still shared with the provider this one was created from by {@link #share(CopyOnWriteScope)} */
+        private final Set<String> shared = new HashSet<String>();
+        private final CopyOnWriteScope scope;
 
         protected DefaultResourceProvider() {
+            this(null);
+        }
+
+        private DefaultResourceProvider(CopyOnWriteScope scope) {
+            this.scope = scope;
         }
 
         @Override
@@ -267,6 +376,18 @@ public abstract class AbstractModelResource extends ResourceProvider.ResourcePro
 
         @Override
         public Resource get(String name) {
+            synchronized (children) {
+                Resource resource = children.get(name);
+                if (resource != null && scope != null && scope.writable && shared.remove(name)) {
+                    // First access to a shared child; take our own copy before anyone can modify it
+                    resource = copyOnWrite(resource, scope);
+                    children.put(name, resource);
+                }
+                return resource;
+            }
+        }
+
+        Resource peek(String name) {
             synchronized (children) {
                 return children.get(name);
             }
@@ -323,7 +444,8 @@ public abstract class AbstractModelResource extends ResourceProvider.ResourcePro
         @Override
         public Resource remove(String name) {
             synchronized (children) {
-                return children.remove(name);
+                final Resource removed = children.remove(name);
+                return removed != null && shared.remove(name) ? copyOnWrite(removed, scope) : removed;
             }
         }
 
@@ -337,6 +459,33 @@ public abstract class AbstractModelResource extends ResourceProvider.ResourcePro
             }
             return provider;
         }
+
+        /**
+         * Stops copying shared children and collects the children that are not shared.
+         *
+         * @param owned the collection to add the children that are not shared to
+         */
+        void complete(Collection<Resource> owned) {
+            synchronized (children) {
+                if (scope != null) {
+                    scope.writable = false;
+                }
+                for (final Map.Entry<String, Resource> entry : children.entrySet()) {
+                    if (!shared.contains(entry.getKey())) {
+                        owned.add(entry.getValue());
+                    }
+                }
+            }
+        }
+
+        DefaultResourceProvider share(CopyOnWriteScope scope) {
+            final DefaultResourceProvider provider = new DefaultResourceProvider(scope);
+            synchronized (children) {
+                provider.children.putAll(children);
+                provider.shared.addAll(children.keySet());
+            }
+            return provider;
+        }
     }
 
     abstract static class DelegateResource implements ResourceEntry {
@@ -60,17 +60,29 @@ class BasicResource extends AbstractModelResource implements Resource {
     @SuppressWarnings({"CloneDoesntCallSuperClone"})
     @Override
     public Resource clone() {
-        final BasicResource clone = new BasicResource(isRuntime(), getOrderedChildTypes(), true);
+        final BasicResource clone = copyModel();
+        cloneProviders(clone);
+        return clone;
+    }
+
+    @Override
+    Resource copyOnWrite(CopyOnWriteScope scope) {
+        final BasicResource copy = copyModel();
+        shareProviders(copy, scope);
+        return copy;
+    }
+
+    private BasicResource copyModel() {
+        final BasicResource copy = new BasicResource(isRuntime(), getOrderedChildTypes(), true);
         for (;;) {
             try {
-                clone.writeModel(model);
+                copy.writeModel(model);
                 break;
             } catch (ConcurrentModificationException ignore) {
                 // TODO horrible hack :(
             }
         }
-        cloneProviders(clone);
-        return clone;
+        return copy;
     }
 
 }
@@ -344,7 +344,7 @@ public interface Resource extends Cloneable {
                         continue;
                     }
                     model.get(childType).setEmptyObject();
-                    for (final ResourceEntry entry : resource.getChildren(childType)) {
+                    for (final ResourceEntry entry : getChildrenForRead(resource, childType)) {
                         if (filter.accepts(address.append(entry.getPathElement()), resource)) {
                             ImmutableManagementResourceRegistration childMrr =
                                     mrr == null ? null : mrr.getSubModel(address.append(entry.getPathElement()));
@@ -356,6 +356,77 @@ public interface Resource extends Cloneable {
             return model;
         }
 
+        /**
+         * Recursively reads an entire resource tree like {@link #readModel(Resource, ImmutableManagementResourceRegistration)},
+         * but reuses the parts of a previous read of the tree that cannot have changed since. Only the resources at
+         * the given addresses and their descendants are read again, plus the attributes of their ancestors.
+         * <p>
+         * The returned DMR tree shares nodes with {@code previous}, so neither should be modified afterwards.
+         * </p>
+         *
+         * @param resource the root resource
+         * @param mrr the resource registration for {@code resource}, or {@code null}
+         * @param previous the DMR tree returned by a previous read of the resource tree
+         * @param modified the addresses of all resources that were modified, added or removed since {@code previous} was read
+         * @return the DMR tree
+         */
+        public static ModelNode readModel(final Resource resource, final ImmutableManagementResourceRegistration mrr,
+                                          final ModelNode previous, final Set<PathAddress> modified) {
+            final Set<PathAddress> ancestors = new HashSet<>();
+            for (PathAddress address : modified) {
+                for (int i = 0; i < address.size(); i++) {
+                    ancestors.add(address.subAddress(0, i));
+                }
+            }
+            if (!ALL_BUT_RUNTIME_AND_PROXIES_FILTER.accepts(PathAddress.EMPTY_ADDRESS, resource)) {
+                return new ModelNode();
+            }
+            return readModel(PathAddress.EMPTY_ADDRESS, resource, mrr, previous, modified, ancestors);
+        }
+
+        private static ModelNode readModel(final PathAddress address, final Resource resource, final ImmutableManagementResourceRegistration mrr,
+                                           final ModelNode previous, final Set<PathAddress> modified, final Set<PathAddress> ancestors) {
+            if (modified.contains(address) || !previous.isDefined()) {
+                return readModel(PathAddress.EMPTY_ADDRESS, resource, -1, mrr, ALL_BUT_RUNTIME_AND_PROXIES_FILTER);
+            }
+            if (!ancestors.contains(address)) {
+                return previous;
+            }
+            final ModelNode model = resource.getModel().clone();
+            Set<String> validChildTypes = mrr == null ? null : getNonIgnoredChildTypes(mrr);
+            for (final String childType : resource.getChildTypes()) {
+                if (validChildTypes != null && !validChildTypes.contains(childType)) {
+                    continue;
+                }
+                model.get(childType).setEmptyObject();
+                for (final ResourceEntry entry : getChildrenForRead(resource, childType)) {
+                    final PathElement element = entry.getPathElement();
+                    if (ALL_BUT_RUNTIME_AND_PROXIES_FILTER.accepts(PathAddress.pathAddress(element), resource)) {
+                        final ModelNode child;
+                        if (ALL_BUT_RUNTIME_AND_PROXIES_FILTER.accepts(PathAddress.EMPTY_ADDRESS, entry)) {
+                            ImmutableManagementResourceRegistration childMrr = mrr == null ? null : mrr.getSubModel(PathAddress.pathAddress(element));
+                            ModelNode previousChild = previous.hasDefined(childType, entry.getName()) ? previous.get(childType, entry.getName()) : new ModelNode();
+                            child = readModel(address.append(element), entry, childMrr, previousChild, modified, ancestors);
+                        } else {
+                            child = new ModelNode();
+                        }
+                        model.get(childType, entry.getName()).set(child);
+                    }
+                }
+            }
+            return model;
+        }
+
+        private static Set<ResourceEntry> getChildrenForRead(final Resource resource, final String childType) {
+            final Resource target = resource instanceof AbstractModelResource.DelegateResource
+                    ? ((AbstractModelResource.DelegateResource) resource).delegate
+                    : resource;
+            if (target instanceof AbstractModelResource) {
+                return ((AbstractModelResource) target).getChildrenForRead(childType);
+            }
+            return resource.getChildren(childType);
+        }
+
         private static Set<String> getNonIgnoredChildTypes(ImmutableManagementResourceRegistration mrr) {
             Set<String> result = new HashSet<>();
             for (PathElement pe : mrr.getChildAddresses(PathAddress.EMPTY_ADDRESS)) {
@@ -367,6 +438,35 @@ public interface Resource extends Cloneable {
             return result;
         }
 
+        /**
+         * Creates a copy of a resource tree that shares all unmodified descendants with the original tree.
+         * Descendants are copied lazily, the first time they are obtained from the copy until it is
+         * {@link #completeCopyOnWrite(Resource) completed}, so the cost of the copy is proportional to the part
+         * of the tree that is subsequently navigated rather than to the size of the whole tree.
+         * <p>
+         * Unlike {@link Resource#clone()} this is only safe if the original tree is not modified after the
+         * copy is taken, e.g. because it has been published as the current management model.
+         * </p>
+         *
+         * @param resource the root of the resource tree. Cannot be {@code null}
+         * @return the copy. Will not be {@code null}
+         */
+        public static Resource copyOnWrite(final Resource resource) {
+            return AbstractModelResource.copyOnWrite(resource, new AbstractModelResource.CopyOnWriteScope());
+        }
+
+        /**
+         * Signals that a resource tree created by {@link #copyOnWrite(Resource)} will no longer be modified, e.g.
+         * because it has been published as the current management model. From then on descendants it still shares
+         * with the original tree are returned as they are when navigated, instead of being copied into the tree.
+         * Only the resources of the tree that are not shared with the original tree are visited.
+         *
+         * @param resource the root of the resource tree. Cannot be {@code null}
+         */
+        public static void completeCopyOnWrite(final Resource resource) {
+            AbstractModelResource.completeCopyOnWrite(resource);
+        }
+
         /**
          * Navigate from a parent {@code resource} to the descendant resource at the given relative {@code address}.
          * <p>
@@ -963,6 +963,31 @@ public class CapabilityRegistryTestCase extends AbstractControllerTestBase {
         Assert.assertTrue(result.contains("dyn"));
     }
 
+    @Test
+    public void testPublishedReads() {
+        CapabilityRegistry reg = new CapabilityRegistry(true);
+        RegistrationPoint rp = new RegistrationPoint(PathAddress.pathAddress("subsystem", "test"), null);
+        reg.registerCapability(new RuntimeCapabilityRegistration(TEST_CAPABILITY1, CapabilityScope.GLOBAL, rp));
+        Assert.assertTrue(reg.hasCapability(TEST_CAPABILITY1.getName(), CapabilityScope.GLOBAL));
+
+        // direct writes to the published registry are seen by the following reads
+        reg.registerCapability(new RuntimeCapabilityRegistration(TEST_CAPABILITY2, CapabilityScope.GLOBAL, rp));
+        Assert.assertTrue(reg.hasCapability(TEST_CAPABILITY2.getName(), CapabilityScope.GLOBAL));
+
+        // changes of a shadow copy are only seen once published
+        CapabilityRegistry shadow = reg.createShadowCopy();
+        shadow.registerCapability(new RuntimeCapabilityRegistration(TEST_CAPABILITY3, CapabilityScope.GLOBAL, rp));
+        shadow.removeCapability(TEST_CAPABILITY1.getName(), CapabilityScope.GLOBAL, rp.getAddress());
+        Assert.assertTrue(shadow.hasCapability(TEST_CAPABILITY3.getName(), CapabilityScope.GLOBAL));
+        Assert.assertFalse(reg.hasCapability(TEST_CAPABILITY3.getName(), CapabilityScope.GLOBAL));
+        Assert.assertTrue(reg.hasCapability(TEST_CAPABILITY1.getName(), CapabilityScope.GLOBAL));
+
+        shadow.publish();
+        Assert.assertTrue(reg.hasCapability(TEST_CAPABILITY3.getName(), CapabilityScope.GLOBAL));
+        Assert.assertFalse(reg.hasCapability(TEST_CAPABILITY1.getName(), CapabilityScope.GLOBAL));
+        Assert.assertTrue(reg.hasCapability(TEST_CAPABILITY2.getName(), CapabilityScope.GLOBAL));
+    }
+
     /**
      * Tests that a runtime operation can be done when there is a circular requirements between two capabilities
      * and the server is in restart-required state by an independent capability
@@ -0,0 +1,114 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_ATTRIBUTE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.controller.operations.global.GlobalNotifications;
+import org.jboss.as.controller.operations.global.GlobalOperationHandlers;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.controller.test.AbstractControllerTestBase;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.junit.Test;
+
+/**
+ * Tests of reads executed in a {@link ReadOnlyContext} on behalf of another operation.
+ */
+public class ReadOnlyContextTestCase extends AbstractControllerTestBase {
+
+    private static final PathAddress TEST_ADDRESS = PathAddress.pathAddress("test", "t");
+    private static final AttributeDefinition ATTR = new SimpleAttributeDefinitionBuilder("attr", ModelType.STRING, true).build();
+
+    private final List<PathAddress> addresses = new ArrayList<>();
+    private final List<PathAddress> explicitAddresses = new ArrayList<>();
+    private final List<ModelNode> responses = new ArrayList<>();
+    private boolean reporting;
+    private boolean auditLogged;
+
+    @Test
+    public void testNestedRead() throws Exception {
+        final ModelNode add = Util.createAddOperation(TEST_ADDRESS);
+        add.get(ATTR.getName()).set("value");
+        executeForResult(add);
+        executeForResult(Util.createEmptyOperation("nested-read", PathAddress.EMPTY_ADDRESS));
+
+        assertEquals(2, responses.size());
+        for (ModelNode response : responses) {
+            assertEquals(response.toString(), SUCCESS, response.get(OUTCOME).asString());
+        }
+        assertEquals("value", responses.get(0).get(RESULT).asString());
+        // the audit log does not record read-only operations and no one listens to the reports
+        assertFalse(auditLogged);
+        assertFalse(reporting);
+
+        // a step added for the operation of the adding step shares its address
+        assertEquals(2, addresses.size());
+        assertEquals(TEST_ADDRESS, addresses.get(0));
+        assertSame(addresses.get(0), addresses.get(1));
+
+        // but not if the address of the adding step was not the one of its operation
+        assertEquals(2, explicitAddresses.size());
+        assertEquals(PathAddress.EMPTY_ADDRESS, explicitAddresses.get(0));
+        assertEquals(TEST_ADDRESS, explicitAddresses.get(1));
+    }
+
+    @Override
+    protected void initModel(ManagementModel managementModel) {
+        final ManagementResourceRegistration registration = managementModel.getRootResourceRegistration();
+        GlobalOperationHandlers.registerGlobalOperations(registration, processType);
+        GlobalNotifications.registerGlobalNotifications(registration, processType);
+        registration.registerOperationHandler(new SimpleOperationDefinitionBuilder("nested-read", NonResolvingResourceDescriptionResolver.INSTANCE).build(), (context, operation) -> {
+            final AbstractOperationContext primaryContext = (AbstractOperationContext) context;
+            final ModelControllerImpl controller = primaryContext.getModelController();
+            final OperationStepHandler readAttribute = context.getRootResourceRegistration().getOperationHandler(TEST_ADDRESS, READ_ATTRIBUTE_OPERATION);
+            responses.add(controller.executeReadOnlyOperation(Util.getReadAttributeOperation(TEST_ADDRESS, ATTR.getName()),
+                    primaryContext.getManagementModel(), null, readAttribute, primaryContext));
+
+            final OperationStepHandler recordAddress = (ctx, op) -> addresses.add(ctx.getCurrentAddress());
+            responses.add(controller.executeReadOnlyOperation(Util.createEmptyOperation("custom", TEST_ADDRESS),
+                    primaryContext.getManagementModel(), null, (ctx, op) -> {
+                        final AbstractOperationContext readOnlyContext = (AbstractOperationContext) ctx;
+                        assertTrue(readOnlyContext.isReadOnly());
+                        reporting = readOnlyContext.isReporting();
+                        auditLogged = readOnlyContext.isAuditLogged();
+                        recordAddress.execute(ctx, op);
+                        ctx.addStep(op, recordAddress, OperationContext.Stage.MODEL);
+                    }, primaryContext));
+
+            final OperationStepHandler recordExplicitAddress = (ctx, op) -> explicitAddresses.add(ctx.getCurrentAddress());
+            primaryContext.addStep(new ModelNode(), Util.createEmptyOperation("custom", TEST_ADDRESS), PathAddress.EMPTY_ADDRESS, (ctx, op) -> {
+                recordExplicitAddress.execute(ctx, op);
+                ctx.addStep(op, recordExplicitAddress, OperationContext.Stage.MODEL);
+            }, OperationContext.Stage.MODEL);
+        });
+        registration.registerSubModel(new SimpleResourceDefinition(TEST_ADDRESS.getLastElement(), NonResolvingResourceDescriptionResolver.INSTANCE,
+                new AbstractAddStepHandler() {
+                    @Override
+                    protected void populateModel(ModelNode operation, ModelNode model) throws OperationFailedException {
+                        ATTR.validateAndSet(operation, model);
+                    }
+                }, new AbstractRemoveStepHandler() {
+                }) {
+            @Override
+            public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+                resourceRegistration.registerReadOnlyAttribute(ATTR, null);
+            }
+        });
+    }
+}
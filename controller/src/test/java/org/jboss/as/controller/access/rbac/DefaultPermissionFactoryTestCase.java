@@ -6,6 +6,8 @@
 package org.jboss.as.controller.access.rbac;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.fail;
 
 import java.security.Permission;
@@ -31,6 +33,7 @@ import org.jboss.as.controller.access.TargetAttribute;
 import org.jboss.as.controller.access.TargetResource;
 import org.jboss.as.controller.access.constraint.Constraint;
 import org.jboss.as.controller.access.constraint.ConstraintFactory;
+import org.jboss.as.controller.access.constraint.SensitivityClassification;
 import org.jboss.as.controller.access.management.AccessConstraintDefinition;
 import org.jboss.as.controller.access.management.WritableAuthorizerConfiguration;
 import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
@@ -195,6 +198,32 @@ public class DefaultPermissionFactoryTestCase {
         }
     }
 
+    @Test
+    public void testCachedRequiredPermissions() {
+        DefaultPermissionFactory permissionFactory = new DefaultPermissionFactory(new TestRoleMapper(StandardRole.MONITOR), PERMISSIVE);
+        Action read = new Action(null, null, EnumSet.of(Action.ActionEffect.ADDRESS, Action.ActionEffect.READ_CONFIG));
+        TargetResource targetResource = TargetResource.forStandalone(PathAddress.pathAddress("subsystem", "test"), ROOT_RR, null);
+        TargetResource otherResource = TargetResource.forStandalone(PathAddress.pathAddress("subsystem", "other"), ROOT_RR, null);
+
+        PermissionCollection requiredPermissions = permissionFactory.getRequiredPermissions(read, targetResource);
+        assertSame(requiredPermissions, permissionFactory.getRequiredPermissions(read, otherResource));
+
+        // Write operations and expressions are checked by the vault expression constraint
+        ModelNode operation = new ModelNode();
+        operation.get("operation").set("write-attribute");
+        operation.get("value").set("${VAULT::a::b::c}");
+        Action write = new Action(operation, null, EnumSet.of(Action.ActionEffect.ADDRESS, Action.ActionEffect.WRITE_CONFIG));
+        assertNotSame(permissionFactory.getRequiredPermissions(write, targetResource), permissionFactory.getRequiredPermissions(write, targetResource));
+        TargetAttribute expression = new TargetAttribute("test", null, new ModelNode("${test}"), targetResource);
+        assertNotSame(permissionFactory.getRequiredPermissions(read, expression), permissionFactory.getRequiredPermissions(read, expression));
+
+        // The cache is discarded when a sensitivity is configured
+        SensitivityClassification classification = new SensitivityClassification("test", "test", false, false, false);
+        classification.setConfiguredRequiresReadPermission(Boolean.TRUE);
+        assertNotSame(requiredPermissions, permissionFactory.getRequiredPermissions(read, targetResource));
+        classification.setConfiguredRequiresReadPermission(null);
+    }
+
     @Test
     public void testRoleCombinationRejecting() {
         Action action = new Action(null, null, EnumSet.of(Action.ActionEffect.ADDRESS,
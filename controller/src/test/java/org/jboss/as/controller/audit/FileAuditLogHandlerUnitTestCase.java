@@ -7,6 +7,9 @@ package org.jboss.as.controller.audit;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
 
 import org.jboss.as.controller.services.path.PathManagerService;
 import org.junit.After;
@@ -47,6 +50,89 @@ public class FileAuditLogHandlerUnitTestCase {
         Assert.assertEquals("Log file was rotated but shouldn't have been", 1, confDir.list().length);
     }
 
+    @Test
+    public void testAsyncWrite() throws IOException {
+        System.setProperty(AbstractFileAuditLogHandler.ASYNC_PROPERTY, "true");
+        System.setProperty(AbstractFileAuditLogHandler.QUEUE_SIZE_PROPERTY, "2");
+        FileAuditLogHandler auditLogHandler;
+        try {
+            auditLogHandler = new FileAuditLogHandler("name", "formatter", 0, pathManager, logFile.getPath(), null, false);
+        } finally {
+            System.clearProperty(AbstractFileAuditLogHandler.ASYNC_PROPERTY);
+            System.clearProperty(AbstractFileAuditLogHandler.QUEUE_SIZE_PROPERTY);
+        }
+        auditLogHandler.initialize();
+        for (int i = 0; i < 10; i++) {
+            auditLogHandler.writeLogItem("item" + i);
+        }
+        auditLogHandler.stop();
+
+        List<String> lines = Files.readAllLines(logFile.toPath(), StandardCharsets.UTF_8);
+        Assert.assertEquals(10, lines.size());
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals("item" + i, lines.get(i));
+        }
+        Assert.assertEquals(0, auditLogHandler.getQueueDepth());
+        Assert.assertEquals(0, auditLogHandler.getDroppedRecordCount());
+    }
+
+    @Test
+    public void testAsyncInvalidProperty() throws IOException {
+        System.setProperty(AbstractFileAuditLogHandler.ASYNC_PROPERTY, "true");
+        System.setProperty(AbstractFileAuditLogHandler.QUEUE_SIZE_PROPERTY, "invalid");
+        FileAuditLogHandler auditLogHandler;
+        try {
+            // the default queue size is used
+            auditLogHandler = new FileAuditLogHandler("name", "formatter", 0, pathManager, logFile.getPath(), null, false);
+        } finally {
+            System.clearProperty(AbstractFileAuditLogHandler.ASYNC_PROPERTY);
+            System.clearProperty(AbstractFileAuditLogHandler.QUEUE_SIZE_PROPERTY);
+        }
+        auditLogHandler.initialize();
+        auditLogHandler.writeLogItem("item");
+        auditLogHandler.stop();
+
+        Assert.assertEquals(1, Files.readAllLines(logFile.toPath(), StandardCharsets.UTF_8).size());
+    }
+
+    @Test
+    public void testAsyncFlushWritesAllRecordsTaken() throws IOException {
+        AsyncAuditLogWriter writer = new AsyncAuditLogWriter("name", 16, 10);
+        for (int round = 0; round < 20; round++) {
+            for (int i = 0; i < 50; i++) {
+                writer.write(logFile, ("item" + i + System.lineSeparator()).getBytes(StandardCharsets.UTF_8));
+            }
+            // as on rotation, no record may be written to the file once it has been flushed
+            writer.flush();
+            File rotated = new File(confDir, "audit-log.log." + round);
+            Assert.assertTrue(logFile.renameTo(rotated));
+            Assert.assertEquals(50, Files.readAllLines(rotated.toPath(), StandardCharsets.UTF_8).size());
+            Assert.assertEquals(0, writer.getQueueDepth());
+        }
+        Assert.assertFalse(logFile.exists());
+    }
+
+    @Test
+    public void testAsyncWriteFailureReported() throws Exception {
+        AsyncAuditLogWriter writer = new AsyncAuditLogWriter("name", 16, 0);
+        // the file cannot be opened for writing
+        writer.write(confDir, ("item" + System.lineSeparator()).getBytes(StandardCharsets.UTF_8));
+        long timeout = System.currentTimeMillis() + 10000;
+        while (writer.getDroppedRecordCount() == 0 && System.currentTimeMillis() < timeout) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(1, writer.getDroppedRecordCount());
+        try {
+            writer.write(logFile, ("item" + System.lineSeparator()).getBytes(StandardCharsets.UTF_8));
+            Assert.fail("The failure to write the earlier record was not reported");
+        } catch (IOException expected) {
+        }
+        // only reported once
+        writer.write(logFile, ("item" + System.lineSeparator()).getBytes(StandardCharsets.UTF_8));
+        writer.flush();
+        Assert.assertEquals(2, Files.readAllLines(logFile.toPath(), StandardCharsets.UTF_8).size());
+    }
+
     private void initializeHandler(boolean rotateAtStartup) {
         FileAuditLogHandler auditLogHandler =
                 new FileAuditLogHandler("name", "formatter", 0, pathManager, logFile.getPath(), null, rotateAtStartup);
@@ -0,0 +1,62 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller.persistence;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ValueExpression;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests of {@link BootOperationCache}.
+ */
+public class BootOperationCacheTestCase {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void testCacheUsedUntilConfigurationChanges() throws IOException {
+        File config = temp.newFile("standalone.xml");
+        Files.write(config.toPath(), "<server/>".getBytes(StandardCharsets.UTF_8));
+        File cacheFile = new File(temp.getRoot(), "data/standalone.xml.bootops");
+
+        List<ModelNode> operations = new ArrayList<>();
+        ModelNode op = Util.createAddOperation();
+        op.get("name").set("test");
+        op.get("value").set(new ValueExpression("${test.value:1}"));
+        operations.add(op);
+
+        BootOperationCache cache = new BootOperationCache(cacheFile, config, getClass(), "a");
+        assertNull(cache.load());
+        cache.prepare(operations);
+        // executing the operations must not affect the cache
+        op.get("name").set("changed");
+        cache.store();
+
+        List<ModelNode> cached = new BootOperationCache(cacheFile, config, getClass(), "a").load();
+        assertEquals(1, cached.size());
+        assertEquals("test", cached.get(0).get("name").asString());
+        assertEquals(op.get("value"), cached.get(0).get("value"));
+
+        assertNull(new BootOperationCache(cacheFile, config, getClass(), "b").load());
+
+        Files.write(config.toPath(), "<server name=\"x\"/>".getBytes(StandardCharsets.UTF_8));
+        assertNull(new BootOperationCache(cacheFile, config, getClass(), "a").load());
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.controller.persistence;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSYSTEM;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.Property;
+import org.jboss.staxmapper.XMLElementWriter;
+import org.jboss.staxmapper.XMLExtendedStreamWriter;
+import org.junit.Test;
+
+/**
+ * Tests that the XML the {@link SubsystemXmlCache} replays is the XML the subsystem writers would write.
+ */
+public class SubsystemXmlCacheTestCase {
+
+    @Test
+    public void testReplayedXmlMatchesFreshMarshalling() throws Exception {
+        final SubsystemWriter a = new SubsystemWriter("a");
+        final SubsystemWriter b = new SubsystemWriter("b");
+        final Persister cached = new Persister(true);
+        final Persister fresh = new Persister(false);
+        for (Persister persister : new Persister[] {cached, fresh}) {
+            persister.registerSubsystemWriter("a", () -> a);
+            persister.registerSubsystemWriter("b", () -> b);
+        }
+        final ModelNode model = createModel();
+
+        final String first = marshall(cached, model);
+        assertEquals(2, a.written + b.written);
+        assertEquals(marshall(fresh, model), first);
+        a.written = b.written = 0;
+
+        // nothing changed, so both subsystems are replayed
+        assertEquals(first, marshall(cached, model));
+        assertEquals(0, a.written + b.written);
+
+        // only the changed subsystem is written again
+        model.get(SUBSYSTEM, "b", "size").set(20);
+        model.get(SUBSYSTEM, "b", "extra").set("value");
+        final String changed = marshall(cached, model);
+        assertEquals(0, a.written);
+        assertEquals(1, b.written);
+        assertEquals(marshall(fresh, model), changed);
+        assertFalse(first.equals(changed));
+    }
+
+    @Test
+    public void testChangedWriterIsNotReplayed() throws Exception {
+        final SubsystemWriter[] current = {new SubsystemWriter("first")};
+        final Persister cached = new Persister(true);
+        cached.registerSubsystemWriter("a", () -> current[0]);
+        final ModelNode model = createModel();
+        marshall(cached, model);
+
+        // the supplier returns a writer with another state
+        current[0] = new SubsystemWriter("second");
+        final String xml = marshall(cached, model);
+        assertEquals(1, current[0].written);
+        assertTrue(xml, xml.contains("second"));
+    }
+
+    @Test
+    public void testNewWriterOfSameClassIsReplayed() throws Exception {
+        final Persister cached = new Persister(true);
+        final int[] created = {0};
+        cached.registerSubsystemWriter("a", () -> {
+            created[0]++;
+            return new SubsystemWriter("a");
+        });
+        final ModelNode model = createModel();
+        final String first = marshall(cached, model);
+        final int afterFirst = created[0];
+        assertEquals(first, marshall(cached, model));
+        // only created for the marshalling, not to be run
+        assertEquals(afterFirst + 1, created[0]);
+    }
+
+    @Test
+    public void testDisabledCacheAlwaysWrites() throws Exception {
+        final SubsystemWriter a = new SubsystemWriter("a");
+        final Persister persister = new Persister(false);
+        persister.registerSubsystemWriter("a", () -> a);
+        final ModelNode model = createModel();
+        marshall(persister, model);
+        marshall(persister, model);
+        assertEquals(2, a.written);
+    }
+
+    @Test
+    public void testLargeRecordingsAreNotKept() throws Exception {
+        final SubsystemWriter a = new SubsystemWriter("a");
+        final Persister cached = new Persister(true);
+        cached.registerSubsystemWriter("a", () -> a);
+        final ModelNode model = new ModelNode();
+        for (int i = 0; i < SubsystemXmlCache.MAX_RECORDED_CALLS; i++) {
+            model.get(SUBSYSTEM, "a", "attribute" + i).set(i);
+        }
+        final String first = marshall(cached, model);
+        assertEquals(first, marshall(cached, model));
+        assertEquals(2, a.written);
+    }
+
+    private static ModelNode createModel() {
+        final ModelNode model = new ModelNode();
+        model.get(SUBSYSTEM, "a", "name").set("alpha");
+        model.get(SUBSYSTEM, "a", "enabled").set(true);
+        model.get(SUBSYSTEM, "b", "size").set(10);
+        return model;
+    }
+
+    private static String marshall(final Persister persister, final ModelNode model) throws ConfigurationPersistenceException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        persister.marshallAsXml(model, output);
+        return new String(output.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static class Persister extends AbstractConfigurationPersister {
+
+        Persister(final boolean cacheSubsystemXml) {
+            super(new RootWriter(), cacheSubsystemXml);
+        }
+
+        @Override
+        public PersistenceResource store(final ModelNode model, final Set<PathAddress> affectedAddresses) {
+            return null;
+        }
+
+        @Override
+        public List<ModelNode> load() {
+            return Collections.emptyList();
+        }
+    }
+
+    private static class RootWriter implements XMLElementWriter<ModelMarshallingContext> {
+        @Override
+        public void writeContent(final XMLExtendedStreamWriter writer, final ModelMarshallingContext context) throws XMLStreamException {
+            final ModelNode model = context.getModelNode();
+            writer.writeStartDocument();
+            writer.writeStartElement("server");
+            for (String name : model.get(SUBSYSTEM).keys()) {
+                final XMLElementWriter<SubsystemMarshallingContext> subsystemWriter = context.getSubsystemWriter(name);
+                if (subsystemWriter != null) {
+                    subsystemWriter.writeContent(writer, new SubsystemMarshallingContext(model.get(SUBSYSTEM, name), writer));
+                }
+            }
+            writer.writeEndElement();
+            writer.writeEndDocument();
+        }
+    }
+
+    private static class SubsystemWriter implements XMLElementWriter<SubsystemMarshallingContext> {
+        private final String label;
+        private int written;
+
+        SubsystemWriter(final String label) {
+            this.label = label;
+        }
+
+        @Override
+        public void writeContent(final XMLExtendedStreamWriter writer, final SubsystemMarshallingContext context) throws XMLStreamException {
+            written++;
+            writer.writeStartElement("subsystem");
+            writer.writeAttribute("label", label);
+            for (Property property : context.getModelNode().asPropertyList()) {
+                writer.writeEmptyElement("attribute");
+                writer.writeAttribute("name", property.getName());
+                writer.writeAttribute("value", property.getValue().asString());
+            }
+            writer.writeStartElement("description");
+            writer.writeCharacters("<" + label + ">");
+            writer.writeEndElement();
+            writer.writeEndElement();
+        }
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller.registry;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.dmr.ModelNode;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of {@link Resource.Tools#copyOnWrite(Resource)}.
+ */
+public class CopyOnWriteResourceUnitTestCase {
+
+    private static final PathElement SUBSYSTEM_A = PathElement.pathElement("subsystem", "a");
+    private static final PathElement SUBSYSTEM_B = PathElement.pathElement("subsystem", "b");
+    private static final PathElement CHILD = PathElement.pathElement("child", "one");
+
+    private Resource root;
+
+    @Before
+    public void setUp() {
+        root = Resource.Factory.create();
+        root.getModel().get("name").set("root");
+        Resource a = Resource.Factory.create();
+        a.getModel().get("attr").set("a");
+        Resource child = Resource.Factory.create();
+        child.getModel().get("attr").set("child");
+        a.registerChild(CHILD, child);
+        root.registerChild(SUBSYSTEM_A, a);
+        Resource b = Resource.Factory.create();
+        b.getModel().get("attr").set("b");
+        root.registerChild(SUBSYSTEM_B, b);
+    }
+
+    @Test
+    public void testModificationNotVisibleInOriginal() {
+        ModelNode original = Resource.Tools.readModel(root);
+
+        Resource copy = Resource.Tools.copyOnWrite(root);
+        copy.navigate(PathAddress.pathAddress(SUBSYSTEM_A, CHILD)).getModel().get("attr").set("changed");
+        copy.getModel().get("name").set("changed");
+
+        assertEquals(original, Resource.Tools.readModel(root));
+        assertEquals("changed", Resource.Tools.readModel(copy).get("subsystem", "a", "child", "one", "attr").asString());
+        assertEquals("changed", copy.getModel().get("name").asString());
+    }
+
+    @Test
+    public void testUnmodifiedChildrenShared() {
+        Resource copy = Resource.Tools.copyOnWrite(root);
+        AbstractModelResource copyRoot = (AbstractModelResource) copy;
+        AbstractModelResource originalRoot = (AbstractModelResource) root;
+
+        // Reading the persistent model must not copy anything
+        assertEquals(Resource.Tools.readModel(root), Resource.Tools.readModel(copy));
+        assertSame(getForRead(originalRoot, SUBSYSTEM_B), getForRead(copyRoot, SUBSYSTEM_B));
+
+        // Navigating to a child takes a private copy of it, but not of its siblings
+        Resource a = copy.requireChild(SUBSYSTEM_A);
+        assertNotSame(root.requireChild(SUBSYSTEM_A), a);
+        assertSame(a, copy.requireChild(SUBSYSTEM_A));
+        assertSame(getForRead(originalRoot, SUBSYSTEM_B), getForRead(copyRoot, SUBSYSTEM_B));
+    }
+
+    @Test
+    public void testReadsOfCompletedCopyDoNotCopy() {
+        Resource copy = Resource.Tools.copyOnWrite(root);
+        copy.requireChild(SUBSYSTEM_B).getModel().get("attr").set("changed");
+        Resource b = copy.requireChild(SUBSYSTEM_B);
+        Resource.Tools.completeCopyOnWrite(copy);
+
+        // Navigating the published tree returns the resources it shares with the original tree
+        Resource a = root.requireChild(SUBSYSTEM_A);
+        assertSame(a, copy.requireChild(SUBSYSTEM_A));
+        assertSame(a, copy.getChild(SUBSYSTEM_A));
+        assertSame(a.requireChild(CHILD), copy.navigate(PathAddress.pathAddress(SUBSYSTEM_A, CHILD)));
+        for (Resource.ResourceEntry entry : copy.getChildren(SUBSYSTEM_A.getKey())) {
+            if (entry.getName().equals(SUBSYSTEM_A.getValue())) {
+                assertSame(a.getModel(), entry.getModel());
+            }
+        }
+        assertSame(a, getForRead((AbstractModelResource) copy, SUBSYSTEM_A));
+        assertSame(b, copy.requireChild(SUBSYSTEM_B));
+        assertEquals("changed", Resource.Tools.readModel(copy).get("subsystem", "b", "attr").asString());
+
+        // A new working copy of the published tree copies what it navigates again
+        Resource next = Resource.Tools.copyOnWrite(copy);
+        next.navigate(PathAddress.pathAddress(SUBSYSTEM_A, CHILD)).getModel().get("attr").set("next");
+        assertEquals("child", copy.navigate(PathAddress.pathAddress(SUBSYSTEM_A, CHILD)).getModel().get("attr").asString());
+        assertEquals("child", root.navigate(PathAddress.pathAddress(SUBSYSTEM_A, CHILD)).getModel().get("attr").asString());
+        assertSame(a, copy.requireChild(SUBSYSTEM_A));
+    }
+
+    @Test
+    public void testCompleteCopyWithResourcesOfAnotherCopy() {
+        Resource other = Resource.Factory.create();
+        Resource otherChild = Resource.Factory.create();
+        other.registerChild(CHILD, otherChild);
+        Resource otherCopy = Resource.Tools.copyOnWrite(other);
+
+        // A resource of another copy is registered below a resource this copy has copied
+        Resource copy = Resource.Tools.copyOnWrite(root);
+        copy.requireChild(SUBSYSTEM_A).registerChild(PathElement.pathElement("other", "one"), otherCopy);
+        Resource.Tools.completeCopyOnWrite(copy);
+
+        // Both are complete, so navigating them returns what they share with their original trees
+        assertSame(root.requireChild(SUBSYSTEM_B), copy.requireChild(SUBSYSTEM_B));
+        assertSame(otherChild, copy.navigate(PathAddress.pathAddress(SUBSYSTEM_A, PathElement.pathElement("other", "one"), CHILD)));
+        assertSame(otherChild, otherCopy.requireChild(CHILD));
+    }
+
+    @Test
+    public void testAddAndRemove() {
+        Resource copy = Resource.Tools.copyOnWrite(root);
+        copy.requireChild(SUBSYSTEM_A).removeChild(CHILD);
+        Resource removed = copy.removeChild(SUBSYSTEM_B);
+        removed.getModel().get("attr").set("changed");
+        copy.registerChild(PathElement.pathElement("subsystem", "c"), Resource.Factory.create());
+
+        assertTrue(root.requireChild(SUBSYSTEM_A).hasChild(CHILD));
+        assertTrue(root.hasChild(SUBSYSTEM_B));
+        assertEquals("b", root.requireChild(SUBSYSTEM_B).getModel().get("attr").asString());
+        assertFalse(root.hasChild(PathElement.pathElement("subsystem", "c")));
+
+        assertFalse(copy.requireChild(SUBSYSTEM_A).hasChild(CHILD));
+        assertFalse(copy.hasChild(SUBSYSTEM_B));
+        assertEquals(2, copy.getChildrenNames("subsystem").size());
+    }
+
+    @Test
+    public void testCloneOfCopyIsIndependent() {
+        Resource copy = Resource.Tools.copyOnWrite(root);
+        Resource clone = copy.clone();
+        clone.navigate(PathAddress.pathAddress(SUBSYSTEM_A, CHILD)).getModel().get("attr").set("changed");
+
+        assertEquals("child", root.navigate(PathAddress.pathAddress(SUBSYSTEM_A, CHILD)).getModel().get("attr").asString());
+        assertEquals("child", copy.navigate(PathAddress.pathAddress(SUBSYSTEM_A, CHILD)).getModel().get("attr").asString());
+    }
+
+    @Test
+    public void testCopyOfCopy() {
+        Resource first = Resource.Tools.copyOnWrite(root);
+        first.requireChild(SUBSYSTEM_B).getModel().get("attr").set("first");
+        Resource second = Resource.Tools.copyOnWrite(first);
+        second.navigate(PathAddress.pathAddress(SUBSYSTEM_A, CHILD)).getModel().get("attr").set("second");
+
+        assertEquals("b", root.requireChild(SUBSYSTEM_B).getModel().get("attr").asString());
+        assertEquals("first", second.requireChild(SUBSYSTEM_B).getModel().get("attr").asString());
+        assertEquals("child", first.navigate(PathAddress.pathAddress(SUBSYSTEM_A, CHILD)).getModel().get("attr").asString());
+        assertEquals("child", root.navigate(PathAddress.pathAddress(SUBSYSTEM_A, CHILD)).getModel().get("attr").asString());
+    }
+
+    private static Resource getForRead(AbstractModelResource resource, PathElement element) {
+        for (Resource.ResourceEntry entry : resource.getChildrenForRead(element.getKey())) {
+            if (entry.getName().equals(element.getValue())) {
+                return ((AbstractModelResource.DelegateResource) entry).delegate;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller.registry;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.dmr.ModelNode;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of {@link Resource.Tools#readModel(Resource, ImmutableManagementResourceRegistration, ModelNode, Set)}.
+ */
+public class IncrementalReadModelUnitTestCase {
+
+    private static final PathElement SUBSYSTEM_A = PathElement.pathElement("subsystem", "a");
+    private static final PathElement SUBSYSTEM_B = PathElement.pathElement("subsystem", "b");
+    private static final PathElement CHILD = PathElement.pathElement("child", "one");
+
+    private Resource root;
+
+    @Before
+    public void setUp() {
+        root = Resource.Factory.create();
+        root.getModel().get("name").set("root");
+        Resource a = Resource.Factory.create();
+        a.getModel().get("attr").set("a");
+        Resource child = Resource.Factory.create();
+        child.getModel().get("attr").set("child");
+        a.registerChild(CHILD, child);
+        root.registerChild(SUBSYSTEM_A, a);
+        Resource b = Resource.Factory.create();
+        b.getModel().get("attr").set("b");
+        root.registerChild(SUBSYSTEM_B, b);
+    }
+
+    @Test
+    public void testModifiedResourcesRead() {
+        ModelNode previous = Resource.Tools.readModel(root);
+
+        root.navigate(PathAddress.pathAddress(SUBSYSTEM_A, CHILD)).getModel().get("attr").set("changed");
+        ModelNode model = readModel(previous, PathAddress.pathAddress(SUBSYSTEM_A, CHILD));
+        assertEquals(Resource.Tools.readModel(root), model);
+        assertEquals("changed", model.get("subsystem", "a", "child", "one", "attr").asString());
+
+        // changes elsewhere are not seen
+        root.requireChild(SUBSYSTEM_B).getModel().get("attr").set("changed");
+        assertEquals("b", readModel(model, PathAddress.pathAddress(SUBSYSTEM_A)).get("subsystem", "b", "attr").asString());
+    }
+
+    @Test
+    public void testAddAndRemove() {
+        ModelNode previous = Resource.Tools.readModel(root);
+
+        root.requireChild(SUBSYSTEM_A).removeChild(CHILD);
+        Resource c = Resource.Factory.create();
+        c.getModel().get("attr").set("c");
+        PathElement subsystemC = PathElement.pathElement("subsystem", "c");
+        root.registerChild(subsystemC, c);
+
+        Set<PathAddress> modified = new HashSet<>();
+        modified.add(PathAddress.pathAddress(SUBSYSTEM_A, CHILD));
+        modified.add(PathAddress.pathAddress(subsystemC));
+        assertEquals(Resource.Tools.readModel(root), Resource.Tools.readModel(root, null, previous, modified));
+    }
+
+    private ModelNode readModel(ModelNode previous, PathAddress modified) {
+        return Resource.Tools.readModel(root, null, previous, Collections.singleton(modified));
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.controller.test;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INCLUDE_RUNTIME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_HEADERS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_PARALLELISM;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RECURSIVE;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.as.controller.AbstractAddStepHandler;
+import org.jboss.as.controller.AbstractRemoveStepHandler;
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.ManagementModel;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.ParallelReadExecutor;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.ProcessType;
+import org.jboss.as.controller.RunningMode;
+import org.jboss.as.controller.RunningModeControl;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.controller.operations.global.GlobalNotifications;
+import org.jboss.as.controller.operations.global.GlobalOperationHandlers;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests of a recursive read-resource with the {@code read-parallelism} header.
+ */
+public class ParallelReadResourceTestCase extends AbstractControllerTestBase {
+
+    private static final AttributeDefinition ATTRIBUTE = new SimpleAttributeDefinitionBuilder("attr", ModelType.STRING, true)
+            .build();
+    private static final AttributeDefinition RUNTIME_ATTRIBUTE = new SimpleAttributeDefinitionBuilder("runtime-attr", ModelType.STRING, true)
+            .setStorageRuntime()
+            .build();
+
+    private static final AtomicInteger activeReads = new AtomicInteger();
+    private static final AtomicInteger maxActiveReads = new AtomicInteger();
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @After
+    public void shutdownExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testSameResultAsSerialRead() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            ModelNode op = Util.createAddOperation(PathAddress.pathAddress("test", "t" + i));
+            op.get(ATTRIBUTE.getName()).set("value" + i);
+            executeForResult(op);
+            executeForResult(Util.createAddOperation(PathAddress.pathAddress("test", "t" + i).append("child", "c")));
+        }
+
+        ModelNode op = createOperation(READ_RESOURCE_OPERATION);
+        op.get(RECURSIVE).set(true);
+        op.get(INCLUDE_RUNTIME).set(true);
+        maxActiveReads.set(0);
+        ModelNode serial = executeForResult(op);
+        Assert.assertEquals(1, maxActiveReads.get());
+
+        maxActiveReads.set(0);
+        op.get(OPERATION_HEADERS, READ_PARALLELISM).set(4);
+        ModelNode parallel = executeForResult(op);
+        if (ParallelReadExecutor.getMaxParallelism() > 1) {
+            Assert.assertTrue("Children were not read concurrently", maxActiveReads.get() > 1);
+            Assert.assertTrue(maxActiveReads.get() <= Math.min(4, ParallelReadExecutor.getMaxParallelism()));
+        } else {
+            // the parallelism is capped at 1, e.g. on a single processor host
+            Assert.assertEquals(1, maxActiveReads.get());
+        }
+
+        Assert.assertEquals(serial, parallel);
+        Assert.assertEquals("value7", parallel.get("test", "t7", ATTRIBUTE.getName()).asString());
+        Assert.assertEquals("t7", parallel.get("test", "t7", RUNTIME_ATTRIBUTE.getName()).asString());
+        Assert.assertTrue(parallel.get("test", "t7", "child").has("c"));
+    }
+
+    @Test
+    public void testParallelismCappedByServer() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            executeForResult(Util.createAddOperation(PathAddress.pathAddress("test", "t" + i)));
+        }
+        ModelNode op = createOperation(READ_RESOURCE_OPERATION);
+        op.get(RECURSIVE).set(true);
+        op.get(INCLUDE_RUNTIME).set(true);
+        ModelNode serial = executeForResult(op);
+
+        maxActiveReads.set(0);
+        op.get(OPERATION_HEADERS, READ_PARALLELISM).set(Integer.MAX_VALUE);
+        Assert.assertEquals(serial, executeForResult(op));
+        Assert.assertTrue(maxActiveReads.get() <= ParallelReadExecutor.getMaxParallelism());
+    }
+
+    @Test
+    public void testNegativeParallelismRejected() throws Exception {
+        executeForResult(Util.createAddOperation(PathAddress.pathAddress("test", "t")));
+        ModelNode op = createOperation(READ_RESOURCE_OPERATION);
+        op.get(RECURSIVE).set(true);
+        op.get(OPERATION_HEADERS, READ_PARALLELISM).set(-1);
+        executeForFailure(op);
+    }
+
+    @Override
+    protected ModelControllerService createModelControllerService(ProcessType processType) {
+        return new ModelControllerService(processType, new RunningModeControl(RunningMode.NORMAL), () -> executor);
+    }
+
+    @Override
+    protected void initModel(ManagementModel managementModel) {
+        ManagementResourceRegistration registration = managementModel.getRootResourceRegistration();
+        GlobalOperationHandlers.registerGlobalOperations(registration, processType);
+        GlobalNotifications.registerGlobalNotifications(registration, processType);
+
+        ManagementResourceRegistration test = registration.registerSubModel(new TestResource(PathElement.pathElement("test")));
+        test.registerSubModel(new TestResource(PathElement.pathElement("child")));
+    }
+
+    private static class TestResource extends SimpleResourceDefinition {
+        TestResource(PathElement pathElement) {
+            super(pathElement, NonResolvingResourceDescriptionResolver.INSTANCE, new TestResourceAddHandler(), new AbstractRemoveStepHandler() {});
+        }
+
+        @Override
+        public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+            resourceRegistration.registerReadOnlyAttribute(ATTRIBUTE, null);
+            resourceRegistration.registerReadOnlyAttribute(RUNTIME_ATTRIBUTE, (context, operation) -> {
+                maxActiveReads.accumulateAndGet(activeReads.incrementAndGet(), Math::max);
+                try {
+                    // long enough for the reads of the other children to overlap
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    activeReads.decrementAndGet();
+                }
+                context.getResult().set(context.getCurrentAddressValue());
+            });
+        }
+    }
+
+    private static class TestResourceAddHandler extends AbstractAddStepHandler {
+
+        @Override
+        protected void populateModel(ModelNode operation, ModelNode model) throws OperationFailedException {
+            ATTRIBUTE.validateAndSet(operation, model);
+        }
+    }
+}
@@ -0,0 +1,504 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.repository;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.repository.logging.DeploymentRepositoryLogger;
+
+/**
+ * Stores content as content-defined chunks, so that chunks shared by several contents, like unchanged libraries in
+ * successive builds of an application, are only stored once.
+ * <p>
+ * Chunk boundaries are found with a gear rolling hash over the content, so they only depend on the bytes close to
+ * them: inserting or removing bytes only changes the chunks around the change. Chunks are stored under their SHA-1 in
+ * a {@value #CHUNKS} directory of the repository root, and each content has a {@value #MANIFEST} file listing its
+ * chunks in place of its {@code content} file.
+ * </p>
+ */
+final class ChunkStore {
+
+    /**
+     * The name of the directory of the repository root that contains the chunks.
+     */
+    static final String CHUNKS = "chunks";
+    /**
+     * The name of the file listing the chunks of a content, stored next to where the {@code content} file would be.
+     */
+    static final String MANIFEST = "content.chunks";
+
+    private static final int MIN_CHUNK_SIZE = 16 * 1024;
+    static final int MAX_CHUNK_SIZE = 256 * 1024;
+    /**
+     * Matches on average once every 64KB, so chunks are about 80KB on average with the minimum size.
+     */
+    private static final long BOUNDARY_MASK = 0xFFFFL << 48;
+    private static final long[] GEAR = new long[256];
+    private static final int HASH_HEX_LENGTH = 40;
+    /**
+     * The maximum number of chunks of the splits kept by {@link #splitCached(Path)}, about 8MB of memory.
+     */
+    private static final int MAX_CACHED_CHUNKS = 1 << 16;
+
+    // Access ordered, guarded by itself
+    private static final Map<Path, CachedSplit> SPLIT_CACHE = new LinkedHashMap<>(16, 0.75f, true);
+    private static int cachedChunks;
+
+    static {
+        // The table must be the same everywhere, so that identical content is split identically by all processes
+        Random random = new Random(0x5eed_c0de_c4a9_1e5L);
+        for (int i = 0; i < GEAR.length; i++) {
+            GEAR[i] = random.nextLong();
+        }
+    }
+
+    private final Path root;
+
+    ChunkStore(final Path repoRoot) {
+        this.root = repoRoot.resolve(CHUNKS);
+    }
+
+    /**
+     * Gets the chunk store of a repository from the manifest of one of its contents.
+     */
+    static ChunkStore forManifest(final Path manifest) {
+        // repoRoot/xx/yyyy/content.chunks
+        return new ChunkStore(manifest.toAbsolutePath().getParent().getParent().getParent());
+    }
+
+    /**
+     * Splits content into chunks as it is read, storing those that are not already stored, so the content is never
+     * written as a whole. The chunks are touched or written before this returns, so they survive
+     * {@link #removeUnreferenced} for the grace period while the caller writes the manifest.
+     *
+     * @param content the content
+     * @param contentDigest updated with the bytes of the whole content
+     * @return the chunks of the content
+     * @throws IOException if the content cannot be read or a chunk cannot be stored
+     */
+    List<Chunk> store(final InputStream content, final MessageDigest contentDigest) throws IOException {
+        final MessageDigest digest = createMessageDigest();
+        return split(new DigestInputStream(content, contentDigest), (bytes, length) -> storeChunk(digest, bytes, length));
+    }
+
+    /**
+     * Splits content into chunks without storing them.
+     *
+     * @param content the content
+     * @return the chunks of the content
+     * @throws IOException if the content cannot be read
+     */
+    static List<Chunk> split(final Path content) throws IOException {
+        final MessageDigest digest = createMessageDigest();
+        return split(content, (bytes, length) -> {
+            digest.update(bytes, 0, length);
+            return new Chunk(HashUtil.bytesToHexString(digest.digest()), length);
+        });
+    }
+
+    /**
+     * Splits a content file into chunks without storing them, reusing the result of a recent split of the same file.
+     * Content files are immutable, so a split is reused for as long as the modification time of the file is unchanged.
+     *
+     * @param content the content
+     * @return the chunks of the content
+     * @throws IOException if the content cannot be read
+     */
+    static List<Chunk> splitCached(final Path content) throws IOException {
+        final long lastModified = Files.getLastModifiedTime(content).toMillis();
+        synchronized (SPLIT_CACHE) {
+            final CachedSplit cached = SPLIT_CACHE.get(content);
+            if (cached != null && cached.lastModified == lastModified) {
+                return cached.chunks;
+            }
+        }
+        final List<Chunk> chunks = Collections.unmodifiableList(split(content));
+        synchronized (SPLIT_CACHE) {
+            final CachedSplit previous = SPLIT_CACHE.put(content, new CachedSplit(lastModified, chunks));
+            cachedChunks += chunks.size() - (previous == null ? 0 : previous.chunks.size());
+            final Iterator<CachedSplit> eldest = SPLIT_CACHE.values().iterator();
+            while (cachedChunks > MAX_CACHED_CHUNKS) {
+                cachedChunks -= eldest.next().chunks.size();
+                eldest.remove();
+            }
+        }
+        return chunks;
+    }
+
+    private static List<Chunk> split(final Path content, final ChunkHandler handler) throws IOException {
+        try (InputStream in = Files.newInputStream(content)) {
+            return split(in, handler);
+        }
+    }
+
+    private static List<Chunk> split(final InputStream in, final ChunkHandler handler) throws IOException {
+        final List<Chunk> chunks = new ArrayList<>();
+        final byte[] chunk = new byte[MAX_CHUNK_SIZE];
+        final byte[] buffer = new byte[64 * 1024];
+        int length = 0;
+        long hash = 0;
+        int read;
+        while ((read = in.read(buffer)) > -1) {
+            for (int i = 0; i < read; i++) {
+                final byte b = buffer[i];
+                chunk[length++] = b;
+                hash = (hash << 1) + GEAR[b & 0xff];
+                if ((length >= MIN_CHUNK_SIZE && (hash & BOUNDARY_MASK) == 0) || length == MAX_CHUNK_SIZE) {
+                    chunks.add(handler.handle(chunk, length));
+                    length = 0;
+                    hash = 0;
+                }
+            }
+        }
+        if (length > 0) {
+            chunks.add(handler.handle(chunk, length));
+        }
+        return chunks;
+    }
+
+    /**
+     * Lists the hashes of the most recently stored or used chunks. Those are the most likely to be shared with new
+     * content, which typically derives from content that was added or deployed recently.
+     *
+     * @param max the maximum number of hashes to list
+     * @return the hashes of at most {@code max} stored chunks
+     */
+    Set<String> listChunks(final int max) throws IOException {
+        final Set<String> hashes = new HashSet<>();
+        if (!Files.isDirectory(root) || max <= 0) {
+            return hashes;
+        }
+        // the least recently modified of the chunks listed so far is at the head
+        final PriorityQueue<Map.Entry<Long, String>> recent = new PriorityQueue<>(Map.Entry.comparingByKey());
+        try (DirectoryStream<Path> dirs = Files.newDirectoryStream(root, Files::isDirectory)) {
+            for (Path dir : dirs) {
+                try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+                    for (Path file : files) {
+                        final String hash = dir.getFileName().toString() + file.getFileName();
+                        if (isHexHash(hash)) {
+                            final long lastModified = Files.getLastModifiedTime(file).toMillis();
+                            if (recent.size() < max) {
+                                recent.add(new AbstractMap.SimpleImmutableEntry<>(lastModified, hash));
+                            } else if (recent.peek().getKey() < lastModified) {
+                                recent.poll();
+                                recent.add(new AbstractMap.SimpleImmutableEntry<>(lastModified, hash));
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        for (Map.Entry<Long, String> entry : recent) {
+            hashes.add(entry.getValue());
+        }
+        return hashes;
+    }
+
+    /**
+     * Marks a chunk as being used, so that it is not removed as unreferenced during the grace period.
+     *
+     * @param hexHash the hash of the chunk
+     * @return {@code false} if the chunk is not stored
+     */
+    boolean touch(final String hexHash) throws IOException {
+        try {
+            Files.setLastModifiedTime(getChunkFile(hexHash), FileTime.fromMillis(System.currentTimeMillis()));
+            return true;
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Stores a chunk received from elsewhere.
+     *
+     * @param hexHash the expected hash of the chunk
+     * @param bytes the buffer holding the chunk
+     * @param length the length of the chunk
+     * @throws IOException if the chunk does not match its hash or cannot be stored
+     */
+    void storeChunk(final String hexHash, final byte[] bytes, final int length) throws IOException {
+        final Chunk chunk = storeChunk(createMessageDigest(), bytes, length);
+        if (!chunk.getHexHash().equals(hexHash)) {
+            throw DeploymentRepositoryLogger.ROOT_LOGGER.chunkHashMismatch(hexHash);
+        }
+    }
+
+    /**
+     * Reads the list of chunks of a content.
+     *
+     * @throws IOException if the manifest cannot be read or is corrupt
+     */
+    static List<Chunk> readManifest(final Path manifest) throws IOException {
+        final List<Chunk> chunks = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(manifest, UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (!line.isEmpty()) {
+                    final Chunk chunk = parseChunk(line);
+                    if (chunk == null) {
+                        throw DeploymentRepositoryLogger.ROOT_LOGGER.invalidChunkManifest(lineNumber, manifest);
+                    }
+                    chunks.add(chunk);
+                }
+            }
+        }
+        return chunks;
+    }
+
+    /**
+     * @return the chunk described by a line of a manifest, or {@code null} if the line is not valid
+     */
+    private static Chunk parseChunk(final String line) {
+        if (line.length() <= HASH_HEX_LENGTH + 1 || line.charAt(HASH_HEX_LENGTH) != ' ') {
+            return null;
+        }
+        final String hexHash = line.substring(0, HASH_HEX_LENGTH);
+        if (!isHexHash(hexHash)) {
+            return null;
+        }
+        final int length;
+        try {
+            length = Integer.parseInt(line.substring(HASH_HEX_LENGTH + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        return length > 0 && length <= MAX_CHUNK_SIZE ? new Chunk(hexHash, length) : null;
+    }
+
+    /**
+     * @return {@code true} if the string is a hexadecimal SHA-1 hash as used to name chunks
+     */
+    static boolean isHexHash(final String hexHash) {
+        if (hexHash.length() != HASH_HEX_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < hexHash.length(); i++) {
+            if (Character.digit(hexHash.charAt(i), 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the size of the content whose chunks are listed by a manifest
+     */
+    static long getContentSize(final Path manifest) throws IOException {
+        long size = 0;
+        for (Chunk chunk : readManifest(manifest)) {
+            size += chunk.getLength();
+        }
+        return size;
+    }
+
+    /**
+     * Opens a stream of the content whose chunks are listed by a manifest.
+     */
+    InputStream openContent(final Path manifest) throws IOException {
+        final Iterator<Chunk> chunks = readManifest(manifest).iterator();
+        return new SequenceInputStream(new Enumeration<InputStream>() {
+            @Override
+            public boolean hasMoreElements() {
+                return chunks.hasNext();
+            }
+
+            @Override
+            public InputStream nextElement() {
+                try {
+                    return Files.newInputStream(getChunkFile(chunks.next().getHexHash()));
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Writes the content whose chunks are listed by a manifest to a file, replacing it atomically.
+     */
+    void assemble(final Path manifest, final Path target) throws IOException {
+        final Path tmp = PathUtil.createUniqueFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            try (InputStream in = openContent(manifest)) {
+                Files.copy(in, tmp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            move(tmp, target);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * Deletes the chunks that are not listed by any of the given manifests. Chunks modified within the grace period
+     * are kept, as they may belong to content that is being added.
+     */
+    void removeUnreferenced(final Set<Path> manifests, final long gracePeriod) {
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        final Set<String> referenced = new HashSet<>();
+        try {
+            for (Path manifest : manifests) {
+                for (Chunk chunk : readManifest(manifest)) {
+                    referenced.add(chunk.getHexHash());
+                }
+            }
+        } catch (IOException ioex) {
+            // Not knowing all the chunks in use, nothing can be removed safely
+            DeploymentRepositoryLogger.ROOT_LOGGER.debugf(ioex, "Cannot read chunk manifests of %s", root);
+            return;
+        }
+        final long limit = System.currentTimeMillis() - gracePeriod;
+        try (DirectoryStream<Path> dirs = Files.newDirectoryStream(root, Files::isDirectory)) {
+            for (Path dir : dirs) {
+                try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+                    for (Path file : files) {
+                        final String hash = dir.getFileName().toString() + file.getFileName();
+                        if (!referenced.contains(hash) && Files.getLastModifiedTime(file).toMillis() < limit) {
+                            Files.deleteIfExists(file);
+                        }
+                    }
+                }
+                try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+                    if (!files.iterator().hasNext()) {
+                        Files.deleteIfExists(dir);
+                    }
+                }
+            }
+        } catch (IOException ioex) {
+            DeploymentRepositoryLogger.ROOT_LOGGER.debugf(ioex, "Cannot remove unreferenced chunks of %s", root);
+        }
+    }
+
+    Path getChunkFile(final String hexHash) {
+        return root.resolve(hexHash.substring(0, 2)).resolve(hexHash.substring(2));
+    }
+
+    private Chunk storeChunk(final MessageDigest digest, final byte[] bytes, final int length) throws IOException {
+        digest.update(bytes, 0, length);
+        final String hexHash = HashUtil.bytesToHexString(digest.digest());
+        final Path file = getChunkFile(hexHash);
+        // refresh the modification time so the chunk survives removeUnreferenced until the manifest is written
+        if (Files.exists(file) && touch(hexHash)) {
+            return new Chunk(hexHash, length);
+        }
+        Files.createDirectories(file.getParent());
+        final Path tmp = PathUtil.createUniqueFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                out.write(bytes, 0, length);
+            }
+            move(tmp, file);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+        return new Chunk(hexHash, length);
+    }
+
+    static void writeManifest(final Path manifest, final List<Chunk> chunks) throws IOException {
+        final Path tmp = PathUtil.createUniqueFile(manifest.getParent(), MANIFEST, ".tmp");
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(tmp, UTF_8)) {
+                for (Chunk chunk : chunks) {
+                    writer.write(chunk.getHexHash());
+                    writer.write(' ');
+                    writer.write(Integer.toString(chunk.getLength()));
+                    writer.newLine();
+                }
+            }
+            move(tmp, manifest);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private static void move(final Path source, final Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static MessageDigest createMessageDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw DeploymentRepositoryLogger.ROOT_LOGGER.cannotObtainSha1(e, MessageDigest.class.getSimpleName());
+        }
+    }
+
+    private static final class CachedSplit {
+        private final long lastModified;
+        private final List<Chunk> chunks;
+
+        private CachedSplit(final long lastModified, final List<Chunk> chunks) {
+            this.lastModified = lastModified;
+            this.chunks = chunks;
+        }
+    }
+
+    private interface ChunkHandler {
+        Chunk handle(byte[] bytes, int length) throws IOException;
+    }
+
+    /**
+     * A chunk of content.
+     */
+    static final class Chunk {
+        private final String hexHash;
+        private final int length;
+
+        Chunk(final String hexHash, final int length) {
+            this.hexHash = hexHash;
+            this.length = length;
+        }
+
+        String getHexHash() {
+            return hexHash;
+        }
+
+        int getLength() {
+            return length;
+        }
+    }
+
+    static long gracePeriod(final long obsolescenceTimeout) {
+        return Math.max(obsolescenceTimeout, TimeUnit.MINUTES.toMillis(1));
+    }
+}
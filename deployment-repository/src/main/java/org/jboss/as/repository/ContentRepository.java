@@ -163,12 +163,21 @@ public interface ContentRepository {
         @Deprecated
         private static final String UNSUPPORTED_PROPERTY = "org.wildfly.unsupported.content.repository.obsolescence";
 
+        /**
+         * If {@code true}, added content is split into chunks that are stored once, however many contents share them.
+         */
+        private static final String CHUNKED_STORAGE_PROPERTY = "org.wildfly.content.repository.chunked-storage";
+
+        static boolean isChunkedStorage() {
+            return getSecurityManager() == null ? Boolean.getBoolean(CHUNKED_STORAGE_PROPERTY) : doPrivileged((PrivilegedAction<Boolean>) () -> Boolean.getBoolean(CHUNKED_STORAGE_PROPERTY));
+        }
+
         public static void addService(final ServiceTarget serviceTarget, final File repoRoot) {
             addService(serviceTarget, repoRoot, repoRoot);
         }
 
         public static void addService(final ServiceTarget serviceTarget, final File repoRoot, final File tmpRoot) {
-            addService(serviceTarget, new ContentRepositoryImpl(repoRoot, tmpRoot, OBSOLETE_CONTENT_TIMEOUT, LOCK_TIMEOUT));
+            addService(serviceTarget, new ContentRepositoryImpl(repoRoot, tmpRoot, OBSOLETE_CONTENT_TIMEOUT, LOCK_TIMEOUT, isChunkedStorage()));
         }
 
         public static void addService(final ServiceTarget serviceTarget, final ContentRepository contentRepository) {
@@ -188,7 +197,7 @@ public interface ContentRepository {
         }
 
         static ContentRepository create(final File repoRoot, final File tmpRoot, long timeout, long lock) {
-            return new ContentRepositoryImpl(repoRoot, tmpRoot, timeout, lock);
+            return new ContentRepositoryImpl(repoRoot, tmpRoot, timeout, lock, isChunkedStorage());
         }
     }
 }
@@ -6,21 +6,22 @@ package org.jboss.as.repository;
 
 import static org.jboss.as.repository.PathUtil.copyRecursively;
 import static org.jboss.as.repository.PathUtil.createTempDirectory;
+import static org.jboss.as.repository.PathUtil.createUniqueFile;
 import static org.jboss.as.repository.PathUtil.deleteRecursively;
 import static org.jboss.as.repository.PathUtil.deleteSilentlyRecursively;
 import static org.jboss.as.repository.PathUtil.getFileExtension;
 import static org.jboss.as.repository.PathUtil.isArchive;
 import static org.jboss.as.repository.PathUtil.resolveSecurely;
 
-import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
-import java.security.DigestOutputStream;
+import java.nio.file.StandardOpenOption;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.HashMap;
@@ -50,6 +51,7 @@ import org.wildfly.common.Assert;
 public class ContentRepositoryImpl implements ContentRepository {
 
     protected static final String CONTENT = "content";
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
     private final File repoRoot;
     private final File tmpRoot;
     protected final AtomicReference<MessageDigest> messageDigestRef;
@@ -58,9 +60,16 @@ public class ContentRepositoryImpl implements ContentRepository {
     private final Map<String, Long> obsoleteContents = new HashMap<>();
     private final long obsolescenceTimeout;
     private final long lockTimeout;
+    // Content stored as chunks is always readable, chunkedStorage only controls how new content is stored
+    private final ChunkStore chunkStore;
+    private final boolean chunkedStorage;
     private volatile boolean readWrite = false;
 
     protected ContentRepositoryImpl(final File repoRoot, final File tmpRoot, long obsolescenceTimeout, long lockTimeout) {
+        this(repoRoot, tmpRoot, obsolescenceTimeout, lockTimeout, false);
+    }
+
+    protected ContentRepositoryImpl(final File repoRoot, final File tmpRoot, long obsolescenceTimeout, long lockTimeout, boolean chunkedStorage) {
         Assert.checkNotNullParam("repoRoot", repoRoot);
         Assert.checkNotNullParam("tmpRoot", tmpRoot);
         checkDirectory(repoRoot);
@@ -70,6 +79,8 @@ public class ContentRepositoryImpl implements ContentRepository {
         this.obsolescenceTimeout = obsolescenceTimeout;
         this.lockTimeout = lockTimeout;
         this.messageDigestRef = new AtomicReference<>(createMessageDigest());
+        this.chunkStore = new ChunkStore(repoRoot.toPath());
+        this.chunkedStorage = chunkedStorage;
     }
 
     private void checkDirectory(final File directory) {
@@ -96,20 +107,17 @@ public class ContentRepositoryImpl implements ContentRepository {
 
     @Override
     public byte[] addContent(InputStream stream) throws IOException {
+        if (chunkedStorage && stream != null) {
+            return addChunkedContent(stream);
+        }
         byte[] sha1Bytes;
-        Path tmp = File.createTempFile(CONTENT, ".tmp", repoRoot).toPath();
+        // Stage the content in the repository root so it can be renamed into place
+        Path tmp = createUniqueFile(repoRoot.toPath(), CONTENT, ".tmp");
         if (stream != null) {
-            try (OutputStream fos = Files.newOutputStream(tmp);
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE);
                  MessageDigestHandle digestHandle = new MessageDigestHandle()) {
-                DigestOutputStream dos = new DigestOutputStream(fos, digestHandle.getMessageDigest());
-                BufferedInputStream bis = new BufferedInputStream(stream);
-                byte[] bytes = new byte[8192];
-                int read;
-                while ((read = bis.read(bytes)) > -1) {
-                    dos.write(bytes, 0, read);
-                }
-                fos.flush();
-                sha1Bytes = dos.getMessageDigest().digest();
+                copyAndDigest(stream, channel, digestHandle.getMessageDigest());
+                sha1Bytes = digestHandle.getMessageDigest().digest();
             }
         } else {//create a directory instead
             Files.delete(tmp);
@@ -133,6 +141,88 @@ public class ContentRepositoryImpl implements ContentRepository {
         return sha1Bytes;
     }
 
+    /**
+     * Stores content as the list of its chunks, splitting it while it is read and hashed so that it is never written
+     * as a whole. If the content is already present the chunks just stored are left to {@link #cleanObsoleteContent()}.
+     */
+    private byte[] addChunkedContent(final InputStream stream) throws IOException {
+        final byte[] sha1Bytes;
+        final List<ChunkStore.Chunk> chunks;
+        try (MessageDigestHandle digestHandle = new MessageDigestHandle()) {
+            chunks = chunkStore.store(stream, digestHandle.getMessageDigest());
+            sha1Bytes = digestHandle.getMessageDigest().digest();
+        }
+        final Path realFile = getDeploymentContentFile(sha1Bytes, true);
+        if (hasContent(sha1Bytes)) {
+            DeploymentRepositoryLogger.ROOT_LOGGER.debugf("Content was already present in repository at location %s", realFile.toAbsolutePath().toString());
+        } else {
+            ChunkStore.writeManifest(realFile.resolveSibling(ChunkStore.MANIFEST), chunks);
+            DeploymentRepositoryLogger.ROOT_LOGGER.contentAdded(realFile.toAbsolutePath().toString());
+        }
+        return sha1Bytes;
+    }
+
+    /**
+     * Makes sure content stored as chunks is available as a file, as the content is about to be used locally.
+     * Once assembled the file is kept for as long as the content is referenced, see {@link #removeAssembledContent}.
+     */
+    private void assembleChunks(final byte[] hash) throws IOException {
+        final Path contentFile = getDeploymentContentFile(hash);
+        final Path manifest = contentFile.resolveSibling(ChunkStore.MANIFEST);
+        if (!Files.exists(contentFile) && Files.exists(manifest)) {
+            chunkStore.assemble(manifest, contentFile);
+        }
+    }
+
+    /**
+     * Gets the file of a content for a short-lived use. Content stored as chunks is assembled in the given directory
+     * rather than next to its chunks, so it is not stored twice once the caller deletes the directory.
+     */
+    private Path getContentFile(final byte[] hash, final Path tmpDir) throws IOException {
+        final Path contentFile = getDeploymentContentFile(hash);
+        final Path manifest = contentFile.resolveSibling(ChunkStore.MANIFEST);
+        if (!Files.exists(contentFile) && Files.exists(manifest)) {
+            final Path assembled = tmpDir.resolve(CONTENT);
+            chunkStore.assemble(manifest, assembled);
+            return assembled;
+        }
+        return contentFile;
+    }
+
+    /**
+     * Deletes the file assembled from the chunks of a content that is no longer referenced, so that the content is only
+     * stored once. It is assembled again if the content is used. Files assembled within the grace period are kept, as
+     * the content may be about to be referenced.
+     */
+    private void removeAssembledContent(final ContentReference reference) {
+        final Path contentFile = Paths.get(reference.getContentIdentifier()).resolve(CONTENT);
+        final Path manifest = contentFile.resolveSibling(ChunkStore.MANIFEST);
+        try {
+            if (Files.exists(manifest) && Files.isRegularFile(contentFile)
+                    && Files.getLastModifiedTime(contentFile).toMillis() + ChunkStore.gracePeriod(obsolescenceTimeout) < System.currentTimeMillis()) {
+                Files.deleteIfExists(contentFile);
+            }
+        } catch (IOException ioex) {
+            DeploymentRepositoryLogger.ROOT_LOGGER.debugf(ioex, "Cannot remove %s assembled from chunks", contentFile);
+        }
+    }
+
+    /**
+     * Copies a stream to a file, calculating the digest of the content as it goes.
+     */
+    private static void copyAndDigest(final InputStream stream, final FileChannel channel, final MessageDigest digest) throws IOException {
+        final byte[] bytes = new byte[COPY_BUFFER_SIZE];
+        final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int read;
+        while ((read = stream.read(bytes)) > -1) {
+            digest.update(bytes, 0, read);
+            buffer.clear().limit(read);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
     @Override
     public void addContentReference(ContentReference reference) {
         if(!this.readWrite) {
@@ -147,6 +237,11 @@ public class ContentRepositoryImpl implements ContentRepository {
     @Override
     public VirtualFile getContent(byte[] hash) {
         Assert.checkNotNullParam("hash", hash);
+        try {
+            assembleChunks(hash);
+        } catch (IOException ioex) {
+            DeploymentRepositoryLogger.ROOT_LOGGER.warn(ioex);
+        }
         return VFS.getChild(getDeploymentContentFile(hash, true).toUri());
     }
 
@@ -157,7 +252,8 @@ public class ContentRepositoryImpl implements ContentRepository {
 
     @Override
     public boolean hasContent(byte[] hash) {
-        return Files.exists(getDeploymentContentFile(hash));
+        final Path contentFile = getDeploymentContentFile(hash);
+        return Files.exists(contentFile) || Files.exists(contentFile.resolveSibling(ChunkStore.MANIFEST));
     }
 
     protected Path getRepoRoot() {
@@ -208,6 +304,8 @@ public class ContentRepositoryImpl implements ContentRepository {
     private void moveTempToPermanent(Path tmpFile, Path permanentFile) throws IOException {
         Path localTmp = permanentFile.resolveSibling("tmp");
         try {
+            // Content is staged in the repository root, so this is a rename within one file system. It does not
+            // replace an existing permanent file
             Files.move(tmpFile, permanentFile);
         } catch (IOException ioex) {
             // AS7-3574. Try to avoid writing the permanent file bit by bit in we crash in the middle.
@@ -323,12 +421,14 @@ public class ContentRepositoryImpl implements ContentRepository {
                         cleanedContents.get(DELETED_CONTENT).add(fsContent.getContentIdentifier());
                     } else {
                         cleanedContents.get(MARKED_CONTENT).add(fsContent.getContentIdentifier());
+                        removeAssembledContent(fsContent);
                     }
                 } else {
                     obsoleteContents.remove(fsContent.getHexHash()); //Remove existing references from obsoleteContents
                 }
             }
         }
+        chunkStore.removeUnreferenced(listManifests(), ChunkStore.gracePeriod(obsolescenceTimeout));
         return cleanedContents;
     }
 
@@ -352,12 +452,23 @@ public class ContentRepositoryImpl implements ContentRepository {
         return false;
     }
 
+    private Set<Path> listManifests() {
+        Set<Path> manifests = new HashSet<>();
+        for (ContentReference reference : listLocalContents()) {
+            Path manifest = Paths.get(reference.getContentIdentifier()).resolve(ChunkStore.MANIFEST);
+            if (Files.exists(manifest)) {
+                manifests.add(manifest);
+            }
+        }
+        return manifests;
+    }
+
     private Set<ContentReference> listLocalContents() {
         Set<ContentReference> localReferences = new HashSet<>();
         File[] rootHashes = repoRoot.listFiles();
         if (rootHashes != null) {
             for (File rootHash : rootHashes) {
-                if (rootHash.isDirectory()) {
+                if (rootHash.isDirectory() && !ChunkStore.CHUNKS.equals(rootHash.getName())) {
                     File[] complementaryHashes = rootHash.listFiles();
                     if (complementaryHashes == null || complementaryHashes.length == 0) {
                         ContentReference reference = new ContentReference(rootHash.getAbsolutePath(), rootHash.getName());
@@ -380,16 +491,19 @@ public class ContentRepositoryImpl implements ContentRepository {
     @Override
     public byte[] explodeContent(byte[] deploymentHash) throws ExplodedContentException {
         Path contentPath = getDeploymentContentFile(deploymentHash);
-        if (!Files.exists(contentPath)) {
+        if (!hasContent(deploymentHash)) {
             throw DeploymentRepositoryLogger.ROOT_LOGGER.archiveNotFound(contentPath.toString());
         }
+        Path assemblyDir = null;
         try {
-            if (Files.isDirectory(contentPath) || !isArchive(contentPath)) {
+            assemblyDir = Files.createTempDirectory(tmpRoot.toPath(), HashUtil.bytesToHexString(deploymentHash));
+            final Path archivePath = getContentFile(deploymentHash, assemblyDir);
+            if (Files.isDirectory(archivePath) || !isArchive(archivePath)) {
                 throw DeploymentRepositoryLogger.ROOT_LOGGER.notAnArchive(contentPath.toString());
             }
             Path tmp = createTempDirectory(repoRoot.toPath(), CONTENT);
             Path contentDir = Files.createDirectory(tmp.resolve(CONTENT));
-            unzip(contentPath, contentDir);
+            unzip(archivePath, contentDir);
             byte[] sha1Bytes = getSha1Bytes(contentDir);
             final Path realFile = getDeploymentContentFile(sha1Bytes, true);
             if (hasContent(sha1Bytes)) {
@@ -410,6 +524,8 @@ public class ContentRepositoryImpl implements ContentRepository {
         } catch (IOException ioex) {
             DeploymentRepositoryLogger.ROOT_LOGGER.warn(ioex);
             throw DeploymentRepositoryLogger.ROOT_LOGGER.errorExplodingContent(ioex, contentPath.toString());
+        } finally {
+            deleteSilentlyRecursively(assemblyDir);
         }
     }
 
@@ -505,7 +621,7 @@ public class ContentRepositoryImpl implements ContentRepository {
                 ReentrantLock lock = lockedContents.get(hashHex);
                 if (lock.isHeldByCurrentThread()) {
                     lock.unlock();
-                    if (!Files.exists(getDeploymentContentFile(hash))) {
+                    if (!hasContent(hash)) {
                         lockedContents.remove(hashHex);
                     }
                 }
@@ -520,8 +636,8 @@ public class ContentRepositoryImpl implements ContentRepository {
             if(!lock(deploymentHash)) {
                 throw DeploymentRepositoryLogger.ROOT_LOGGER.errorLockingDeployment();
             }
-            Path src = resolveSecurely(getDeploymentContentFile(deploymentHash), path);
             tmpDir = Files.createTempDirectory(tmpRoot.toPath(), HashUtil.bytesToHexString(deploymentHash));
+            Path src = resolveSecurely(getContentFile(deploymentHash, tmpDir), path);
             Path file = PathUtil.readFile(src, tmpDir);
             Path tmp = Files.createTempFile(tmpRoot.toPath(), CONTENT, getFileExtension(src));
             Files.copy(file, tmp, StandardCopyOption.COPY_ATTRIBUTES, StandardCopyOption.REPLACE_EXISTING);
@@ -546,7 +662,7 @@ public class ContentRepositoryImpl implements ContentRepository {
                 throw DeploymentRepositoryLogger.ROOT_LOGGER.errorLockingDeployment();
             }
             tmpDir = Files.createTempDirectory(tmpRoot.toPath(), HashUtil.bytesToHexString(deploymentHash));
-            final Path rootPath = resolveSecurely(getDeploymentContentFile(deploymentHash), path);
+            final Path rootPath = resolveSecurely(getContentFile(deploymentHash, tmpDir), path);
             return PathUtil.listFiles(rootPath, tmpDir, filter);
         } catch (InterruptedException ex) {
             Thread.currentThread().interrupt();
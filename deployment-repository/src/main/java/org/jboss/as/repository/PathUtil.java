@@ -19,6 +19,7 @@ import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.List;
+import java.util.UUID;
 import java.util.function.BiPredicate;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipException;
@@ -364,6 +365,23 @@ public class PathUtil {
         return Files.createTempDirectory(dir, prefix);
     }
 
+    /**
+     * Create a new empty file with a unique name. Unlike {@link Files#createTempFile(Path, String, String, java.nio.file.attribute.FileAttribute[])}
+     * the file gets the default permissions, so it can be moved into place as permanent content.
+     * @param   dir
+     *          the path to directory in which to create the file
+     * @param   prefix
+     *          the prefix string to be used in generating the file's name
+     * @param   suffix
+     *          the suffix string to be used in generating the file's name
+     * @return  the path to the newly created file that did not exist before
+     *          this method was invoked
+     * @throws IOException
+     */
+    public static Path createUniqueFile(Path dir, String prefix, String suffix) throws IOException {
+        return Files.createFile(dir.resolve(prefix + UUID.randomUUID() + suffix));
+    }
+
     /**
      * Unzip a file to a target directory.
      * @param zip the path to the zip file.
@@ -8,14 +8,18 @@ import static org.jboss.as.protocol.mgmt.ProtocolUtils.expectHeader;
 
 import java.io.BufferedOutputStream;
 import java.io.DataInput;
+import java.io.EOFException;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.Executor;
 
 import org.jboss.as.protocol.StreamUtils;
@@ -24,6 +28,7 @@ import org.jboss.as.protocol.mgmt.FlushableDataOutput;
 import org.jboss.as.protocol.mgmt.ManagementRequestContext;
 import org.jboss.as.protocol.mgmt.ManagementResponseHeader;
 import org.jboss.as.protocol.mgmt.RequestProcessingException;
+import org.jboss.as.repository.logging.DeploymentRepositoryLogger;
 import org.jboss.logging.BasicLogger;
 
 
@@ -34,6 +39,13 @@ import org.jboss.logging.BasicLogger;
  */
 public abstract class RemoteFileRequestAndHandler {
 
+    /**
+     * The maximum number of chunks a requester offers to the sender of a content file, which keeps the request
+     * under 100KB. The most recently used chunks are offered.
+     */
+    private static final int MAX_CHUNK_SIGNATURES = 1 << 12;
+    private static final int HASH_LENGTH = 20;
+
     private final RemoteFileProtocolIdMapper protocol;
     private final Executor asyncExecutor;
 
@@ -47,11 +59,29 @@ public abstract class RemoteFileRequestAndHandler {
     }
 
     public void sendRequest(FlushableDataOutput output, byte rootId, String filePath) throws IOException{
+        sendRequest(output, rootId, filePath, null);
+    }
+
+    /**
+     * Sends a request for a file. If the file is a deployment, the local content repository stores content as chunks
+     * and the protocol supports it, the hashes of the chunks available locally are sent along so that the content
+     * file is received as chunks, of which only the missing ones are transferred.
+     *
+     * @param localPath the local deployment root the file is received into, or {@code null} if the file is not a deployment
+     */
+    public void sendRequest(FlushableDataOutput output, byte rootId, String filePath, File localPath) throws IOException{
         output.writeByte(protocol.paramRootId());
         output.writeByte(rootId);
         output.writeByte(protocol.paramFilePath());
         output.writeUTF(filePath);
-
+        if (localPath != null && protocol.paramFileChunks() != 0 && ContentRepository.Factory.isChunkedStorage()) {
+            final Set<String> chunks = ChunkStore.forManifest(localPath.toPath().resolve(ChunkStore.MANIFEST)).listChunks(MAX_CHUNK_SIGNATURES);
+            output.writeByte(protocol.paramFileChunks());
+            output.writeInt(chunks.size());
+            for (String chunk : chunks) {
+                output.write(HashUtil.hexStringToByteArray(chunk));
+            }
+        }
     }
 
     public void handleResponse(DataInput input, File localPath, BasicLogger log, ActiveOperation.ResultHandler<File> resultHandler, ManagementRequestContext<Void> context)
@@ -74,13 +104,19 @@ public abstract class RemoteFileRequestAndHandler {
                     expectHeader(input, protocol.fileStart());
                     expectHeader(input, protocol.paramFilePath());
                     final String path = input.readUTF();
-                    expectHeader(input, protocol.paramFileSize());
-                    final long length = input.readLong();
-                    log.debugf("Received file [%s] of length %d", path, length);
                     final File file = new File(localPath, path);
                     if (!file.getParentFile().exists() && !file.getParentFile().mkdirs()) {
                         throw new CannotCreateLocalDirectoryException(localPath.getParentFile());
                     }
+                    final byte sizeHeader = input.readByte();
+                    if (protocol.paramFileChunks() != 0 && sizeHeader == protocol.paramFileChunks()) {
+                        readFileChunks(input, file, log);
+                        expectHeader(input, protocol.fileEnd());
+                        continue;
+                    }
+                    expectHeader(sizeHeader, protocol.paramFileSize());
+                    final long length = input.readLong();
+                    log.debugf("Received file [%s] of length %d", path, length);
                     if(length == 0L) {
                         file.mkdir();
                     } else {
@@ -105,6 +141,44 @@ public abstract class RemoteFileRequestAndHandler {
         resultHandler.done(localPath);
     }
 
+    /**
+     * Receives a content file as chunks, storing those that were sent and a manifest listing all of them in place of
+     * the file.
+     */
+    private void readFileChunks(final DataInput input, final File file, final BasicLogger log) throws IOException {
+        final Path manifest = file.toPath().resolveSibling(ChunkStore.MANIFEST);
+        final ChunkStore store = ChunkStore.forManifest(manifest);
+        final int count = input.readInt();
+        if (count < 0) {
+            throw DeploymentRepositoryLogger.ROOT_LOGGER.invalidChunkCount(count);
+        }
+        // the count is not trusted to size the list, it only grows with the chunks actually received
+        final List<ChunkStore.Chunk> chunks = new ArrayList<>(Math.min(count, 1024));
+        final byte[] hash = new byte[HASH_LENGTH];
+        final byte[] buffer = new byte[ChunkStore.MAX_CHUNK_SIZE];
+        long received = 0;
+        long total = 0;
+        for (int i = 0; i < count; i++) {
+            input.readFully(hash);
+            final String hexHash = HashUtil.bytesToHexString(hash);
+            final int length = input.readInt();
+            if (length <= 0 || length > ChunkStore.MAX_CHUNK_SIZE) {
+                throw DeploymentRepositoryLogger.ROOT_LOGGER.invalidChunkLength(length, hexHash);
+            }
+            if (input.readBoolean()) {
+                input.readFully(buffer, 0, length);
+                store.storeChunk(hexHash, buffer, length);
+                received += length;
+            } else if (!store.touch(hexHash)) {
+                throw DeploymentRepositoryLogger.ROOT_LOGGER.chunkNotFound(hexHash);
+            }
+            chunks.add(new ChunkStore.Chunk(hexHash, length));
+            total += length;
+        }
+        ChunkStore.writeManifest(manifest, chunks);
+        log.debugf("Received %d of the %d bytes of file [%s], the rest was available locally", received, total, file);
+    }
+
     public void handleRequest(final DataInput input, final RootFileReader reader,
                               final ActiveOperation.ResultHandler<Void> resultHandler,
                               final ManagementRequestContext<Void> context) throws IOException {
@@ -112,6 +186,7 @@ public abstract class RemoteFileRequestAndHandler {
         final byte rootId = input.readByte();
         expectHeader(input, protocol.paramFilePath());
         final String filePath = input.readUTF();
+        final Set<String> remoteChunks = readChunkSignatures(input);
 
         ManagementRequestContext.AsyncTask<Void> task = new ManagementRequestContext.AsyncTask<Void>() {
             @Override
@@ -119,7 +194,7 @@ public abstract class RemoteFileRequestAndHandler {
                 final File localPath = reader.readRootFile(rootId, filePath);
                 FlushableDataOutput output = context.writeMessage(ManagementResponseHeader.create(context.getRequestHeader()));
                 try {
-                    writeResponse(localPath, output);
+                    writeResponse(localPath, output, remoteChunks);
                     output.close();
                     resultHandler.done(null); // call stack (AsyncTaskRunner created by ManagementRequestContext) handles failures
                 } finally {
@@ -135,7 +210,30 @@ public abstract class RemoteFileRequestAndHandler {
         }
     }
 
-    private void writeResponse(final File localPath, final FlushableDataOutput output) throws IOException {
+    /**
+     * Reads the hashes of the chunks the requester has, if it sent them.
+     *
+     * @return the hashes, or {@code null} if the requester does not receive content files as chunks
+     */
+    private Set<String> readChunkSignatures(final DataInput input) throws IOException {
+        // requesters that do not send chunk signatures end the request here
+        if (protocol.paramFileChunks() == 0 || input.readByte() != protocol.paramFileChunks()) {
+            return null;
+        }
+        final int count = input.readInt();
+        if (count < 0 || count > MAX_CHUNK_SIGNATURES) {
+            throw DeploymentRepositoryLogger.ROOT_LOGGER.invalidChunkCount(count);
+        }
+        final Set<String> chunks = new HashSet<>();
+        final byte[] hash = new byte[HASH_LENGTH];
+        for (int i = 0; i < count; i++) {
+            input.readFully(hash);
+            chunks.add(HashUtil.bytesToHexString(hash));
+        }
+        return chunks;
+    }
+
+    private void writeResponse(final File localPath, final FlushableDataOutput output, final Set<String> remoteChunks) throws IOException {
         output.writeByte(protocol.paramNumFiles());
         if (localPath == null || !localPath.exists()) {
             output.writeInt(-1);
@@ -146,11 +244,20 @@ public abstract class RemoteFileRequestAndHandler {
             final List<File> childFiles = getChildFiles(localPath);
             output.writeInt(childFiles.size());
             for (File child : childFiles) {
-                writeFile(localPath, child, output);
+                if (remoteChunks != null && isContentFile(localPath, child)) {
+                    writeFileChunks(localPath, child, output, remoteChunks);
+                } else {
+                    writeFile(localPath, child, output);
+                }
             }
         }
     }
 
+    private boolean isContentFile(final File localPath, final File file) {
+        return file.isFile() && localPath.equals(file.getParentFile())
+                && (ContentRepositoryImpl.CONTENT.equals(file.getName()) || ChunkStore.MANIFEST.equals(file.getName()));
+    }
+
     private List<File> getChildFiles(final File base) {
         final List<File> childFiles = new ArrayList<>();
         getChildFiles(base, childFiles);
@@ -159,6 +266,10 @@ public abstract class RemoteFileRequestAndHandler {
 
     private void getChildFiles(final File base, final List<File> childFiles) {
         for (File child : base.listFiles()) {
+            if (ChunkStore.MANIFEST.equals(child.getName()) && new File(base, ContentRepositoryImpl.CONTENT).exists()) {
+                // the content has been assembled from its chunks already
+                continue;
+            }
             if (child.isFile() || isEmpty(child)) {
                 childFiles.add(child);
             } else {
@@ -176,6 +287,10 @@ public abstract class RemoteFileRequestAndHandler {
     }
 
     private void writeFile(final File localPath, final File file, final FlushableDataOutput output) throws IOException {
+        if (ChunkStore.MANIFEST.equals(file.getName())) {
+            writeChunkedFile(localPath, file, output);
+            return;
+        }
         output.writeByte(protocol.fileStart());
         output.writeByte(protocol.paramFilePath());
         output.writeUTF(getRelativePath(localPath, file));
@@ -206,6 +321,63 @@ public abstract class RemoteFileRequestAndHandler {
         output.writeByte(protocol.fileEnd());
     }
 
+    /**
+     * Sends content stored as chunks as the content file it replaces, so the receiver does not need to know how the
+     * content is stored.
+     */
+    private void writeChunkedFile(final File localPath, final File manifest, final FlushableDataOutput output) throws IOException {
+        final File content = new File(manifest.getParentFile(), ContentRepositoryImpl.CONTENT);
+        output.writeByte(protocol.fileStart());
+        output.writeByte(protocol.paramFilePath());
+        output.writeUTF(getRelativePath(localPath, content));
+        output.writeByte(protocol.paramFileSize());
+        output.writeLong(ChunkStore.getContentSize(manifest.toPath()));
+        try (InputStream inputStream = ChunkStore.forManifest(manifest.toPath()).openContent(manifest.toPath())) {
+            byte[] buffer = new byte[8192];
+            int len;
+            while ((len = inputStream.read(buffer)) != -1) {
+                output.write(buffer, 0, len);
+            }
+        }
+        output.writeByte(protocol.fileEnd());
+    }
+
+    /**
+     * Sends a content file as chunks, including only the bytes of those the requester does not have.
+     */
+    private void writeFileChunks(final File localPath, final File file, final FlushableDataOutput output, final Set<String> remoteChunks) throws IOException {
+        final boolean chunked = ChunkStore.MANIFEST.equals(file.getName());
+        final List<ChunkStore.Chunk> chunks = chunked ? ChunkStore.readManifest(file.toPath()) : ChunkStore.splitCached(file.toPath());
+        output.writeByte(protocol.fileStart());
+        output.writeByte(protocol.paramFilePath());
+        output.writeUTF(getRelativePath(localPath, new File(localPath, ContentRepositoryImpl.CONTENT)));
+        output.writeByte(protocol.paramFileChunks());
+        output.writeInt(chunks.size());
+        try (InputStream inputStream = chunked ? ChunkStore.forManifest(file.toPath()).openContent(file.toPath()) : new FileInputStream(file)) {
+            final byte[] buffer = new byte[8192];
+            for (ChunkStore.Chunk chunk : chunks) {
+                final boolean send = !remoteChunks.contains(chunk.getHexHash());
+                output.write(HashUtil.hexStringToByteArray(chunk.getHexHash()));
+                output.writeInt(chunk.getLength());
+                output.writeBoolean(send);
+                if (!send) {
+                    inputStream.skipNBytes(chunk.getLength());
+                    continue;
+                }
+                int remaining = chunk.getLength();
+                while (remaining > 0) {
+                    final int len = inputStream.read(buffer, 0, Math.min(remaining, buffer.length));
+                    if (len == -1) {
+                        throw new EOFException();
+                    }
+                    output.write(buffer, 0, len);
+                    remaining -= len;
+                }
+            }
+        }
+        output.writeByte(protocol.fileEnd());
+    }
+
     /**
      * Maps the expected protocol codes to the actual protocol
      */
@@ -216,6 +388,14 @@ public abstract class RemoteFileRequestAndHandler {
         byte paramFilePath();
         byte paramFileSize();
         byte fileEnd();
+
+        /**
+         * @return the header of the chunk signatures in a request and of a content file sent as chunks in a
+         *         response, or {@code 0} if the protocol does not transfer content files as chunks
+         */
+        default byte paramFileChunks() {
+            return 0;
+        }
     }
 
     /**
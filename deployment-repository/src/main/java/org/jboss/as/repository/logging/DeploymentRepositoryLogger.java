@@ -9,6 +9,7 @@ import static org.jboss.logging.Logger.Level.ERROR;
 import static org.jboss.logging.Logger.Level.INFO;
 import static org.jboss.logging.Logger.Level.WARN;
 
+import java.io.IOException;
 import java.lang.invoke.MethodHandles;
 import java.nio.file.Path;
 import org.jboss.as.repository.ExplodedContentException;
@@ -146,4 +147,19 @@ public interface DeploymentRepositoryLogger extends BasicLogger {
     @LogMessage(level = ERROR)
     @Message(id = 24, value = "Error copying file %s")
     void cannotCopyFile(@Cause Exception ex, Path path);
+
+    @Message(id = 25, value = "Received chunk does not match its hash %s")
+    IOException chunkHashMismatch(String hash);
+
+    @Message(id = 26, value = "Chunk %s is not available locally")
+    IOException chunkNotFound(String hash);
+
+    @Message(id = 27, value = "Invalid line %d of chunk manifest %s")
+    IOException invalidChunkManifest(int line, Path manifest);
+
+    @Message(id = 28, value = "Invalid number of chunks %d received")
+    IOException invalidChunkCount(int count);
+
+    @Message(id = 29, value = "Invalid length %d received for chunk %s")
+    IOException invalidChunkLength(int length, String hash);
 }
@@ -23,15 +23,19 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.attribute.FileTime;
 import java.security.AccessController;
+import java.security.MessageDigest;
 import java.security.PrivilegedAction;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Random;
 import java.util.Set;
+import java.util.stream.Stream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 import org.hamcrest.CoreMatchers;
@@ -126,6 +130,148 @@ public class ContentRepositoryTest {
         }
     }
 
+    /**
+     * Test of addContent method with content larger than the copy buffer, of class ContentRepository.
+     */
+    @Test
+    public void testAddLargeContent() throws Exception {
+        byte[] content = new byte[1024 * 1024 + 17];
+        new Random(42).nextBytes(content);
+        byte[] expectedHash = MessageDigest.getInstance("SHA-1").digest(content);
+        try (InputStream stream = new ByteArrayInputStream(content)) {
+            byte[] result = repository.addContent(stream);
+            assertThat(HashUtil.bytesToHexString(result), is(HashUtil.bytesToHexString(expectedHash)));
+            Path stored = repository.getContent(result).getPhysicalFile().toPath();
+            assertTrue(Arrays.equals(content, Files.readAllBytes(stored)));
+            if (stored.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+                // the content gets the default permissions rather than those of a temporary file
+                Path plain = Files.createFile(rootDir.toPath().resolve("plain"));
+                assertThat(Files.getPosixFilePermissions(stored), is(Files.getPosixFilePermissions(plain)));
+                Files.delete(plain);
+            }
+        }
+        // the staged file has been renamed into place
+        try (Stream<Path> files = Files.list(rootDir.toPath())) {
+            assertTrue(files.noneMatch(Files::isRegularFile));
+        }
+    }
+
+    @Test
+    public void testAddChunkedContent() throws Exception {
+        ContentRepositoryImpl chunked = new ContentRepositoryImpl(rootDir, tmpRootDir, 0L, ContentRepository.LOCK_TIMEOUT, true);
+        chunked.readWrite();
+        byte[] first = new byte[2 * 1024 * 1024];
+        new Random(42).nextBytes(first);
+        byte[] tail = new byte[1024];
+        new Random(7).nextBytes(tail);
+        byte[] second = Arrays.copyOf(first, first.length + tail.length);
+        System.arraycopy(tail, 0, second, first.length, tail.length);
+        byte[] firstHash = chunked.addContent(new ByteArrayInputStream(first));
+        long chunkCount = countChunks();
+        byte[] secondHash = chunked.addContent(new ByteArrayInputStream(second));
+        // the shared prefix is only stored once
+        assertTrue(countChunks() - chunkCount < 10);
+        Path contentFile = chunked.getDeploymentContentFile(secondHash);
+        assertFalse(Files.exists(contentFile));
+        assertTrue(Files.exists(contentFile.resolveSibling(ChunkStore.MANIFEST)));
+        assertTrue(chunked.hasContent(firstHash));
+        assertTrue(chunked.hasContent(secondHash));
+        Path stored = chunked.getContent(secondHash).getPhysicalFile().toPath();
+        assertTrue(Arrays.equals(second, Files.readAllBytes(stored)));
+    }
+
+    @Test
+    public void testChunkedContentStoredOnce() throws Exception {
+        ContentRepositoryImpl chunked = new ContentRepositoryImpl(rootDir, tmpRootDir, 0L, ContentRepository.LOCK_TIMEOUT, true);
+        chunked.readWrite();
+        byte[] data = new byte[2 * 1024 * 1024];
+        new Random(42).nextBytes(data);
+        byte[] hash = chunked.addContent(new ByteArrayInputStream(data) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                int read = super.read(b, off, len);
+                if (read < 0) {
+                    // nothing but chunks has been written while the content was read
+                    try {
+                        assertThat(storedBytes(false), is(0L));
+                    } catch (IOException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+                return read;
+            }
+        });
+        assertThat(storedBytes(true), is((long) data.length));
+        assertThat(storedBytes(false), is(Files.size(chunked.getDeploymentContentFile(hash).resolveSibling(ChunkStore.MANIFEST))));
+    }
+
+    /**
+     * @return the size of the files stored in the chunks directory, or of those stored elsewhere in the repository
+     */
+    private long storedBytes(boolean chunks) throws IOException {
+        Path chunksDir = rootDir.toPath().resolve(ChunkStore.CHUNKS);
+        long size = 0;
+        try (Stream<Path> files = Files.walk(rootDir.toPath())) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (Files.isRegularFile(file) && file.startsWith(chunksDir) == chunks) {
+                    size += Files.size(file);
+                }
+            }
+        }
+        return size;
+    }
+
+    @Test
+    public void testChunkedContentAssembledOnlyWhileInUse() throws Exception {
+        ContentRepositoryImpl chunked = new ContentRepositoryImpl(rootDir, tmpRootDir, 0L, ContentRepository.LOCK_TIMEOUT, true);
+        chunked.readWrite();
+        byte[] hash = chunked.addContent(new ByteArrayInputStream(createArchive(Collections.singletonList("testfile.xhtml"))));
+        Path contentFile = chunked.getDeploymentContentFile(hash);
+        // short-lived reads do not leave a copy of the content next to its chunks
+        try (InputStream in = chunked.readContent(hash, "testfile.xhtml")) {
+            assertThat(readFileContent(in), is(readFileContent(getResourceAsStream("testfile.xhtml"))));
+        }
+        assertFalse(chunked.listContent(hash, "", ContentFilter.Factory.createContentFilter(-1, false)).isEmpty());
+        assertFalse(Files.exists(contentFile));
+
+        // the file assembled for content that is not referenced is removed, but not the content
+        assertTrue(Files.exists(chunked.getContent(hash).getPhysicalFile().toPath()));
+        Files.setLastModifiedTime(contentFile, FileTime.fromMillis(0));
+        chunked.cleanObsoleteContent();
+        assertFalse(Files.exists(contentFile));
+        assertTrue(chunked.hasContent(hash));
+        // the file assembled for content in use is kept
+        assertTrue(Files.exists(chunked.getContent(hash).getPhysicalFile().toPath()));
+        Files.setLastModifiedTime(contentFile, FileTime.fromMillis(0));
+        chunked.addContentReference(new ContentReference("contentReferenceIdentifier", hash));
+        chunked.cleanObsoleteContent();
+        assertTrue(Files.exists(contentFile));
+    }
+
+    @Test
+    public void testCorruptChunkManifest() throws Exception {
+        Path manifest = rootDir.toPath().resolve(ChunkStore.MANIFEST);
+        String validLine = HashUtil.bytesToHexString(new byte[20]) + " 100";
+        for (String line : Arrays.asList("abc", validLine.replace(' ', '-'), validLine.replace("100", "-1"),
+                validLine.replace("100", "x"), validLine.replace("100", Integer.toString(ChunkStore.MAX_CHUNK_SIZE + 1)),
+                "g" + validLine.substring(1))) {
+            Files.write(manifest, Arrays.asList(validLine, line), StandardCharsets.UTF_8);
+            try {
+                ChunkStore.readManifest(manifest);
+                fail("Manifest line " + line + " should be rejected");
+            } catch (IOException expected) {
+            }
+        }
+        Files.write(manifest, Arrays.asList(validLine, "", validLine), StandardCharsets.UTF_8);
+        assertThat(ChunkStore.readManifest(manifest).size(), is(2));
+    }
+
+    private long countChunks() throws IOException {
+        try (Stream<Path> files = Files.walk(rootDir.toPath().resolve(ChunkStore.CHUNKS))) {
+            return files.filter(Files::isRegularFile).count();
+        }
+    }
+
     /**
      * Test of explodeContent method, of class ContentRepository.
      */
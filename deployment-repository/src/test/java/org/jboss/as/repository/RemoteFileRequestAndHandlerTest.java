@@ -0,0 +1,318 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.repository;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.Executor;
+
+import org.jboss.as.protocol.mgmt.ActiveOperation;
+import org.jboss.as.protocol.mgmt.FlushableDataOutput;
+import org.jboss.as.protocol.mgmt.ManagementProtocol;
+import org.jboss.as.protocol.mgmt.ManagementProtocolHeader;
+import org.jboss.as.protocol.mgmt.ManagementRequestContext;
+import org.jboss.as.protocol.mgmt.ManagementRequestHeader;
+import org.jboss.as.protocol.mgmt.ProtocolUtils;
+import org.jboss.logging.Logger;
+import org.jboss.remoting3.Channel;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests the transfer of deployment content between host controllers and domain controllers of the versions that do
+ * and do not transfer content as chunks.
+ */
+public class RemoteFileRequestAndHandlerTest {
+
+    private static final String CHUNKED_STORAGE_PROPERTY = "org.wildfly.content.repository.chunked-storage";
+    private static final byte ROOT_ID = 0x01;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private byte[] first;
+    private byte[] second;
+
+    @Before
+    public void createContent() {
+        first = new byte[2 * 1024 * 1024];
+        new Random(42).nextBytes(first);
+        byte[] tail = new byte[1024];
+        new Random(7).nextBytes(tail);
+        second = Arrays.copyOf(first, first.length + tail.length);
+        System.arraycopy(tail, 0, second, first.length, tail.length);
+    }
+
+    @After
+    public void clearProperty() {
+        System.clearProperty(CHUNKED_STORAGE_PROPERTY);
+    }
+
+    @Test
+    public void testChunkedHostAndChunkedDomainController() throws Exception {
+        for (boolean chunkedDomainController : new boolean[] {false, true}) {
+            final Path dcContent = addToDomainController(second, chunkedDomainController);
+            final ContentRepositoryImpl host = createRepository("host-" + chunkedDomainController, true);
+            host.addContent(new ByteArrayInputStream(first));
+            final byte[] hash = MessageDigest.getInstance("SHA-1").digest(second);
+            final Path localPath = host.getDeploymentContentFile(hash).getParent();
+
+            final int responseSize = transfer(mapper(true), mapper(true), true, localPath.toFile(), dcContent.toFile());
+            // only the chunks the host does not have are sent
+            assertTrue(responseSize < first.length / 2);
+            assertTrue(Files.exists(localPath.resolve(ChunkStore.MANIFEST)));
+            assertFalse(Files.exists(localPath.resolve(ContentRepositoryImpl.CONTENT)));
+            assertArrayEquals(second, Files.readAllBytes(host.getContent(hash).getPhysicalFile().toPath()));
+        }
+    }
+
+    @Test
+    public void testChunkedHostAndOldDomainController() throws Exception {
+        final Path dcContent = addToDomainController(second, false);
+        final ContentRepositoryImpl host = createRepository("host", true);
+        host.addContent(new ByteArrayInputStream(first));
+        final Path localPath = folder.getRoot().toPath().resolve("host").resolve("aa").resolve("bbbb");
+
+        final int responseSize = transfer(mapper(true), mapper(false), true, localPath.toFile(), dcContent.toFile());
+        // the chunk signatures are ignored and the whole file is sent
+        assertTrue(responseSize > second.length);
+        assertArrayEquals(second, Files.readAllBytes(localPath.resolve(ContentRepositoryImpl.CONTENT)));
+    }
+
+    @Test
+    public void testOldHostAndChunkedDomainController() throws Exception {
+        for (boolean chunkedDomainController : new boolean[] {false, true}) {
+            final Path dcContent = addToDomainController(second, chunkedDomainController);
+            final Path localPath = folder.getRoot().toPath().resolve("host-" + chunkedDomainController).resolve("aa").resolve("bbbb");
+
+            final int responseSize = transfer(mapper(false), mapper(true), false, localPath.toFile(), dcContent.toFile());
+            assertTrue(responseSize > second.length);
+            assertArrayEquals(second, Files.readAllBytes(localPath.resolve(ContentRepositoryImpl.CONTENT)));
+        }
+    }
+
+    @Test
+    public void testInvalidChunkSignatureCount() throws Exception {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (FlushableDataOutput output = ProtocolUtils.wrapAsDataOutput(bytes)) {
+            output.writeByte(0x10);
+            output.writeByte(ROOT_ID);
+            output.writeByte(0x11);
+            output.writeUTF("path");
+            output.writeByte(0x16);
+            output.writeInt(Integer.MAX_VALUE);
+        }
+        try {
+            new Handler(mapper(true)).handleRequest(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())),
+                    (rootId, filePath) -> null, new ResultHandler<>(), new Context(new ByteArrayOutputStream()));
+            fail("The chunk signature count should be rejected");
+        } catch (IOException expected) {
+        }
+    }
+
+    @Test
+    public void testInvalidChunkLength() throws Exception {
+        for (int length : new int[] {0, -1, ChunkStore.MAX_CHUNK_SIZE + 1}) {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (FlushableDataOutput output = ProtocolUtils.wrapAsDataOutput(bytes)) {
+                output.writeByte(0x12);
+                output.writeInt(1);
+                output.writeByte(0x13);
+                output.writeByte(0x11);
+                output.writeUTF(ContentRepositoryImpl.CONTENT);
+                output.writeByte(0x16);
+                output.writeInt(1);
+                output.write(new byte[20]);
+                output.writeInt(length);
+                output.writeBoolean(true);
+            }
+            final File localPath = folder.getRoot().toPath().resolve("host").resolve("aa").resolve("bbbb").toFile();
+            try {
+                new Handler(mapper(true)).handleResponse(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())), localPath,
+                        Logger.getLogger(RemoteFileRequestAndHandlerTest.class), new ResultHandler<>(), null);
+                fail("The chunk length " + length + " should be rejected");
+            } catch (IOException expected) {
+            }
+        }
+    }
+
+    private Path addToDomainController(final byte[] content, final boolean chunked) throws IOException {
+        final ContentRepositoryImpl dc = createRepository("dc-" + chunked, chunked);
+        final byte[] hash = dc.addContent(new ByteArrayInputStream(content));
+        return dc.getDeploymentContentFile(hash).getParent();
+    }
+
+    private ContentRepositoryImpl createRepository(final String name, final boolean chunked) throws IOException {
+        final File root = folder.newFolder(name);
+        final ContentRepositoryImpl repository = new ContentRepositoryImpl(root, folder.newFolder(name + "-tmp"), 0L, ContentRepository.LOCK_TIMEOUT, chunked);
+        repository.readWrite();
+        return repository;
+    }
+
+    /**
+     * Sends a request from a host to a domain controller and passes the response back to the host.
+     *
+     * @return the size of the response
+     */
+    private int transfer(final RemoteFileRequestAndHandler.RemoteFileProtocolIdMapper hostProtocol,
+                         final RemoteFileRequestAndHandler.RemoteFileProtocolIdMapper dcProtocol, final boolean chunkedHost,
+                         final File localPath, final File dcPath) throws Exception {
+        System.setProperty(CHUNKED_STORAGE_PROPERTY, Boolean.toString(chunkedHost));
+        final ByteArrayOutputStream request = new ByteArrayOutputStream();
+        try (FlushableDataOutput output = ProtocolUtils.wrapAsDataOutput(request)) {
+            new Handler(hostProtocol).sendRequest(output, ROOT_ID, "path", localPath);
+            output.writeByte(ManagementProtocol.REQUEST_END);
+        }
+        final ByteArrayOutputStream response = new ByteArrayOutputStream();
+        new Handler(dcProtocol).handleRequest(new DataInputStream(new ByteArrayInputStream(request.toByteArray())),
+                (rootId, filePath) -> dcPath, new ResultHandler<>(), new Context(response));
+        final ResultHandler<File> result = new ResultHandler<>();
+        new Handler(hostProtocol).handleResponse(new DataInputStream(new ByteArrayInputStream(response.toByteArray())), localPath,
+                Logger.getLogger(RemoteFileRequestAndHandlerTest.class), result, null);
+        assertTrue(result.done);
+        return response.size();
+    }
+
+    private static RemoteFileRequestAndHandler.RemoteFileProtocolIdMapper mapper(final boolean chunks) {
+        return new RemoteFileRequestAndHandler.RemoteFileProtocolIdMapper() {
+            @Override
+            public byte paramRootId() {
+                return 0x10;
+            }
+
+            @Override
+            public byte paramFilePath() {
+                return 0x11;
+            }
+
+            @Override
+            public byte paramNumFiles() {
+                return 0x12;
+            }
+
+            @Override
+            public byte fileStart() {
+                return 0x13;
+            }
+
+            @Override
+            public byte paramFileSize() {
+                return 0x14;
+            }
+
+            @Override
+            public byte fileEnd() {
+                return 0x15;
+            }
+
+            @Override
+            public byte paramFileChunks() {
+                return chunks ? (byte) 0x16 : 0;
+            }
+        };
+    }
+
+    private static class Handler extends RemoteFileRequestAndHandler {
+        Handler(final RemoteFileProtocolIdMapper protocol) {
+            super(protocol);
+        }
+    }
+
+    private static class ResultHandler<T> implements ActiveOperation.ResultHandler<T> {
+        private boolean done;
+
+        @Override
+        public boolean done(final T result) {
+            done = true;
+            return true;
+        }
+
+        @Override
+        public boolean failed(final Throwable t) {
+            throw new AssertionError(t);
+        }
+
+        @Override
+        public void cancel() {
+        }
+    }
+
+    /**
+     * Runs tasks straight away, writing their response to a stream.
+     */
+    private static class Context implements ManagementRequestContext<Void> {
+        private final ByteArrayOutputStream response;
+
+        Context(final ByteArrayOutputStream response) {
+            this.response = response;
+        }
+
+        @Override
+        public Integer getOperationId() {
+            return 1;
+        }
+
+        @Override
+        public Void getAttachment() {
+            return null;
+        }
+
+        @Override
+        public Channel getChannel() {
+            return null;
+        }
+
+        @Override
+        public ManagementProtocolHeader getRequestHeader() {
+            return new ManagementRequestHeader(ManagementProtocol.VERSION, 1, 1, (byte) 0);
+        }
+
+        @Override
+        public boolean executeAsync(final AsyncTask<Void> task) {
+            try {
+                task.execute(this);
+            } catch (Exception e) {
+                throw new AssertionError(e);
+            }
+            return true;
+        }
+
+        @Override
+        public boolean executeAsync(final AsyncTask<Void> task, final boolean cancellable) {
+            return executeAsync(task);
+        }
+
+        @Override
+        public boolean executeAsync(final AsyncTask<Void> task, final Executor executor) {
+            return executeAsync(task);
+        }
+
+        @Override
+        public boolean executeAsync(final AsyncTask<Void> task, final boolean cancellable, final Executor executor) {
+            return executeAsync(task);
+        }
+
+        @Override
+        public FlushableDataOutput writeMessage(final ManagementProtocolHeader header) {
+            return ProtocolUtils.wrapAsDataOutput(response);
+        }
+    }
+}
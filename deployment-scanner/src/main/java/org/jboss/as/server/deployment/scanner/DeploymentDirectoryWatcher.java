@@ -0,0 +1,138 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.server.deployment.scanner;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+import static org.jboss.as.server.deployment.scanner.logging.DeploymentScannerLogger.ROOT_LOGGER;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
+
+/**
+ * Watches a deployment directory, and the sub-directories the scanner looks into, for changes with a
+ * {@link WatchService}, and notifies a listener whenever something relevant changed.
+ * <p>
+ * Events are received by a daemon thread created by the scanner's thread factory. Directories created after the watcher started are watched as well. Changes
+ * within directories that are not watched, e.g. exploded deployments that are not auto-deployed, are not reported.
+ * </p>
+ *
+ * @see FileSystemDeploymentService
+ */
+final class DeploymentDirectoryWatcher implements Closeable {
+
+    private final WatchService watchService;
+    private final Predicate<Path> descendInto;
+    private final BiPredicate<WatchEvent.Kind<?>, Path> relevant;
+    private final Runnable listener;
+
+    /**
+     * Starts watching a directory.
+     *
+     * @param directory the directory
+     * @param descendInto tests whether a sub-directory should be watched
+     * @param relevant tests whether a kind of change to a file should be reported
+     * @param listener notified from the watcher thread after each batch of changes that has a relevant one
+     * @param threadFactory creates the thread that receives the events
+     * @throws IOException if the directory cannot be watched
+     */
+    DeploymentDirectoryWatcher(final Path directory, final Predicate<Path> descendInto,
+                               final BiPredicate<WatchEvent.Kind<?>, Path> relevant, final Runnable listener,
+                               final ThreadFactory threadFactory) throws IOException {
+        this.watchService = directory.getFileSystem().newWatchService();
+        this.descendInto = descendInto;
+        this.relevant = relevant;
+        this.listener = listener;
+        try {
+            register(directory);
+        } catch (IOException | RuntimeException e) {
+            watchService.close();
+            throw e;
+        }
+        final Thread thread;
+        try {
+            thread = threadFactory.newThread(this::run);
+        } catch (RuntimeException e) {
+            watchService.close();
+            throw e;
+        }
+        // the thread only waits for events, so it must not keep the process alive
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void close() {
+        try {
+            // the watcher thread exits when take() throws ClosedWatchServiceException
+            watchService.close();
+        } catch (IOException e) {
+            ROOT_LOGGER.tracef(e, "Failed to close the watch service");
+        }
+    }
+
+    private void register(final Path directory) throws IOException {
+        directory.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY);
+        try (DirectoryStream<Path> children = Files.newDirectoryStream(directory)) {
+            for (Path child : children) {
+                if (Files.isDirectory(child, LinkOption.NOFOLLOW_LINKS) && descendInto.test(child)) {
+                    register(child);
+                }
+            }
+        }
+    }
+
+    private void run() {
+        for (;;) {
+            final WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+            final Path directory = (Path) key.watchable();
+            boolean changed = false;
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == OVERFLOW) {
+                    // events were lost
+                    changed = true;
+                    continue;
+                }
+                final Path child = directory.resolve((Path) event.context());
+                changed |= relevant.test(event.kind(), child);
+                if (event.kind() == ENTRY_CREATE && Files.isDirectory(child, LinkOption.NOFOLLOW_LINKS) && descendInto.test(child)) {
+                    try {
+                        register(child);
+                    } catch (IOException | ClosedWatchServiceException e) {
+                        ROOT_LOGGER.tracef(e, "Failed to watch %s", child);
+                    }
+                }
+            }
+            // a key that is no longer valid belongs to a deleted directory
+            key.reset();
+            if (changed) {
+                try {
+                    listener.run();
+                } catch (RuntimeException e) {
+                    ROOT_LOGGER.tracef(e, "Failed to handle changes in %s", directory);
+                }
+            }
+        }
+    }
+}
@@ -40,6 +40,8 @@ import java.nio.file.DirectoryStream;
 import java.nio.file.DirectoryStream.Filter;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -49,10 +51,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.ServiceLoader;
 import java.util.Set;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.locks.Lock;
@@ -78,6 +83,7 @@ import org.jboss.as.server.deployment.scanner.logging.DeploymentScannerLogger;
 import org.jboss.as.server.deployment.transformation.DeploymentTransformer;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.Property;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * Service that monitors the filesystem for deployment content and if found deploys it.
@@ -110,6 +116,27 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
      */
     static final long DEFAULT_DEPLOYMENT_TIMEOUT = 600;
 
+    /**
+     * System property that enables scans triggered by changes to the deployment directory instead of periodic scans
+     */
+    static final String WATCH_PROPERTY = "org.wildfly.deployment.scanner.watch";
+
+    /**
+     * System property setting how long to wait, in milliseconds, for further changes before scanning. Each change
+     * restarts the wait, up to {@link #MAX_COALESCED_DELAYS} times the delay after the first change.
+     */
+    static final String WATCH_DELAY_PROPERTY = "org.wildfly.deployment.scanner.watch.coalescing-delay";
+
+    /**
+     * System property setting the interval, in milliseconds, of the full scans done while watching for changes
+     */
+    static final String RECONCILIATION_INTERVAL_PROPERTY = "org.wildfly.deployment.scanner.watch.reconciliation-interval";
+
+    /**
+     * How many coalescing delays a stream of changes, such as a large file being copied, can postpone a scan by
+     */
+    static final int MAX_COALESCED_DELAYS = 10;
+
     private File deploymentDir;
     private long scanInterval = 0;
     private volatile boolean scanEnabled = false;
@@ -129,6 +156,12 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
     private final Map<File, IncompleteDeploymentStatus> incompleteDeployments = new HashMap<File, IncompleteDeploymentStatus>();
 
     private final ScheduledExecutorService scheduledExecutor;
+    private final boolean watchEnabled;
+    private final long watchDelay;
+    private final long reconciliationInterval;
+    private DeploymentDirectoryWatcher watcher;
+    private ScheduledFuture<?> watchScanTask;
+    private long watchScanDeadline;
     private volatile ProcessStateNotifier processStateNotifier;
     private volatile DeploymentOperations.Factory deploymentOperationsFactory;
     private volatile DeploymentOperations deploymentOperations;
@@ -274,6 +307,9 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
         this.deploymentDir = deploymentDir;
         this.deploymentOperationsFactory = deploymentOperationsFactory;
         this.scheduledExecutor = scheduledExecutor;
+        this.watchEnabled = Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged(WATCH_PROPERTY, "false"));
+        this.watchDelay = getLongProperty(WATCH_DELAY_PROPERTY, 500);
+        this.reconciliationInterval = getLongProperty(RECONCILIATION_INTERVAL_PROPERTY, 300000);
         if (relativeToDir != null) {
             String fullDir = deploymentDir.getAbsolutePath();
             String relDir = relativeToDir.getAbsolutePath();
@@ -288,6 +324,18 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
         this.deploymentTransformer = loadDeploymentTransformer();
     }
 
+    private static long getLongProperty(final String name, final long defaultValue) {
+        final String value = WildFlySecurityManager.getPropertyPrivileged(name, null);
+        if (value != null) {
+            try {
+                return Long.parseLong(value.trim());
+            } catch (NumberFormatException e) {
+                ROOT_LOGGER.tracef(e, "Ignoring invalid value %s of %s", value, name);
+            }
+        }
+        return defaultValue;
+    }
+
     @Override
     public boolean isAutoDeployZippedContent() {
         return autoDeployZip;
@@ -308,7 +356,22 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
         if (autoDeployExploded && !this.autoDeployExploded) {
             ROOT_LOGGER.explodedAutoDeploymentContentWarning(DO_DEPLOY, CommonAttributes.AUTO_DEPLOY_EXPLODED);
         }
+        final boolean changed = autoDeployExploded != this.autoDeployExploded;
         this.autoDeployExploded = autoDeployExploded;
+        if (changed) {
+            synchronized (this) {
+                // exploded deployments are only watched while their changes are auto-deployed
+                if (watcher != null) {
+                    watcher.close();
+                    watcher = null;
+                    if (!startWatcher()) {
+                        // fall back to the scan interval
+                        scanTask.cancel(false);
+                        scanTask = scheduledExecutor.scheduleWithFixedDelay(scanRunnable, scanInterval, scanInterval, TimeUnit.MILLISECONDS);
+                    }
+                }
+            }
+        }
     }
 
     @Override
@@ -1280,17 +1343,102 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
     private synchronized void startScan() {
         if (scanEnabled) {
             if (scanInterval > 0) {
-                scanTask = scheduledExecutor.scheduleWithFixedDelay(scanRunnable, 0, scanInterval, TimeUnit.MILLISECONDS);
+                if (watchEnabled && startWatcher()) {
+                    // changes trigger scans, so full scans are only needed for changes the watcher cannot see, such as
+                    // those on file systems that do not report them. Exploded deployments are watched if auto-deployed,
+                    // and are otherwise only redeployed through their markers, which are watched as well.
+                    scanTask = scheduledExecutor.scheduleWithFixedDelay(scanRunnable, 0, Math.max(scanInterval, reconciliationInterval), TimeUnit.MILLISECONDS);
+                } else {
+                    scanTask = scheduledExecutor.scheduleWithFixedDelay(scanRunnable, 0, scanInterval, TimeUnit.MILLISECONDS);
+                }
             } else {
                 scanTask = scheduledExecutor.schedule(scanRunnable, scanInterval, TimeUnit.MILLISECONDS);
             }
         }
     }
 
+    /**
+     * Invoke with the object monitor held
+     */
+    private boolean startWatcher() {
+        try {
+            // The watcher blocks its thread, so it gets a thread of its own from the factory of the scanner's threads
+            final ThreadFactory threadFactory = scheduledExecutor instanceof ThreadPoolExecutor
+                    ? ((ThreadPoolExecutor) scheduledExecutor).getThreadFactory() : Executors.defaultThreadFactory();
+            watcher = new DeploymentDirectoryWatcher(deploymentDir.toPath(), this::isWatchedDirectory, FileSystemDeploymentService::isWatchedChange,
+                    this::scheduleWatchScan, threadFactory);
+            ROOT_LOGGER.debugf("Watching deployment directory %s for changes", deploymentDir.getAbsolutePath());
+            return true;
+        } catch (IOException | RuntimeException e) {
+            ROOT_LOGGER.cannotWatchDeploymentDirectory(e, deploymentDir.getAbsolutePath(), scanInterval);
+            return false;
+        }
+    }
+
+    /**
+     * Whether a directory is one that {@link #scanDirectory(File, String)} descends into, or one within an exploded
+     * deployment whose changes are auto-deployed. Exploded deployments are not watched otherwise, as the scanner
+     * ignores their content, and each watched directory uses up an inotify watch on Linux.
+     */
+    private boolean isWatchedDirectory(final Path directory) {
+        for (Path name : deploymentDir.toPath().relativize(directory)) {
+            if (isEEArchive(name.toString())) {
+                return autoDeployExploded;
+            }
+        }
+        final String fileName = directory.getFileName().toString();
+        return !WEB_INF.equalsIgnoreCase(fileName) && !META_INF.equalsIgnoreCase(fileName);
+    }
+
+    /**
+     * Whether a change is one that a scan may have to act on, and not one of the scanner's own marker files changing
+     */
+    static boolean isWatchedChange(final WatchEvent.Kind<?> kind, final Path file) {
+        final String fileName = file.getFileName().toString();
+        if (fileName.endsWith(DEPLOYING) || fileName.endsWith(UNDEPLOYING) || fileName.endsWith(PENDING)) {
+            // only ever written and removed by the scanner
+            return false;
+        }
+        // removing these markers is how users undeploy or retry, but they are only written by the scanner
+        return kind == StandardWatchEventKinds.ENTRY_DELETE
+                || !(fileName.endsWith(DEPLOYED) || fileName.endsWith(UNDEPLOYED) || fileName.endsWith(FAILED_DEPLOY));
+    }
+
+    /**
+     * Schedules a scan once changes stopped for the coalescing delay. A change made while a scan is scheduled
+     * postpones it, but not beyond {@link #MAX_COALESCED_DELAYS} delays after the change that scheduled it.
+     */
+    private synchronized void scheduleWatchScan() {
+        if (scanEnabled && watcher != null) {
+            final long now = System.nanoTime();
+            long delay = TimeUnit.MILLISECONDS.toNanos(watchDelay);
+            if (watchScanTask != null && watchScanTask.cancel(false)) {
+                delay = Math.max(0, Math.min(delay, watchScanDeadline - now));
+            } else {
+                // no scan is scheduled, or it already started and does not necessarily see this change
+                watchScanDeadline = now + delay * MAX_COALESCED_DELAYS;
+            }
+            try {
+                watchScanTask = scheduledExecutor.schedule(scanRunnable, delay, TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException e) {
+                // shutting down
+                watchScanTask = null;
+            }
+        }
+    }
+
     /**
      * Invoke with the object monitor held
      */
     private void cancelScan() {
+        if (watcher != null) {
+            watcher.close();
+            watcher = null;
+        }
+        if (watchScanTask != null) {
+            watchScanTask.cancel(true);
+            watchScanTask = null;
+        }
         if (rescanIncompleteTask != null) {
             rescanIncompleteTask.cancel(true);
             rescanIncompleteTask = null;
@@ -412,4 +412,8 @@ public interface DeploymentScannerLogger extends BasicLogger {
     @LogMessage(level = WARN)
     @Message(id = 43, value = "Deployment directory scan failed due to inaccessible deployment directory: %s")
     void scanFailed(String dir);
+
+    @LogMessage(level = WARN)
+    @Message(id = 44, value = "Cannot watch deployment directory %s for changes; it will be scanned every %d ms instead")
+    void cannotWatchDeploymentDirectory(@Cause Throwable cause, String dir, long scanInterval);
 }
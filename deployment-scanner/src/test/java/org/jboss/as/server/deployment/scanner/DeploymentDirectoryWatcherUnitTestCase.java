@@ -0,0 +1,96 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.server.deployment.scanner;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests of {@link DeploymentDirectoryWatcher}.
+ */
+public class DeploymentDirectoryWatcherUnitTestCase {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void testChangesReported() throws Exception {
+        final Path root = temp.getRoot().toPath();
+        final Path archive = Files.createDirectory(root.resolve("exploded.war"));
+        final Semaphore changes = new Semaphore(0);
+        try (DeploymentDirectoryWatcher watcher = new DeploymentDirectoryWatcher(root,
+                dir -> !dir.getFileName().toString().endsWith(".war"), (kind, file) -> true, changes::release, Executors.defaultThreadFactory())) {
+
+            Files.createFile(root.resolve("test.jar"));
+            assertTrue(changes.tryAcquire(10, TimeUnit.SECONDS));
+
+            Path subdirectory = Files.createDirectory(root.resolve("sub"));
+            assertTrue(changes.tryAcquire(10, TimeUnit.SECONDS));
+            // registration of the new directory happens before the listener is notified
+            changes.drainPermits();
+            Files.createFile(subdirectory.resolve("test.jar.dodeploy"));
+            assertTrue(changes.tryAcquire(10, TimeUnit.SECONDS));
+
+            changes.drainPermits();
+            Files.createFile(archive.resolve("index.html"));
+            assertFalse(changes.tryAcquire(2, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void testScannerMarkersNotReported() throws Exception {
+        final Path root = temp.getRoot().toPath();
+        final Semaphore changes = new Semaphore(0);
+        try (DeploymentDirectoryWatcher watcher = new DeploymentDirectoryWatcher(root, dir -> true,
+                FileSystemDeploymentService::isWatchedChange, changes::release, Executors.defaultThreadFactory())) {
+
+            Files.createFile(root.resolve("test.jar.isdeploying"));
+            Files.createFile(root.resolve("test.jar.deployed"));
+            Files.delete(root.resolve("test.jar.isdeploying"));
+            assertFalse(changes.tryAcquire(2, TimeUnit.SECONDS));
+
+            // removing the marker undeploys
+            Files.delete(root.resolve("test.jar.deployed"));
+            assertTrue(changes.tryAcquire(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void testWatchedChanges() {
+        for (String marker : new String[] {FileSystemDeploymentService.DEPLOYING, FileSystemDeploymentService.UNDEPLOYING,
+                FileSystemDeploymentService.PENDING}) {
+            final Path file = Paths.get("test.jar" + marker);
+            assertFalse(marker, FileSystemDeploymentService.isWatchedChange(ENTRY_CREATE, file));
+            assertFalse(marker, FileSystemDeploymentService.isWatchedChange(ENTRY_DELETE, file));
+        }
+        for (String marker : new String[] {FileSystemDeploymentService.DEPLOYED, FileSystemDeploymentService.UNDEPLOYED,
+                FileSystemDeploymentService.FAILED_DEPLOY}) {
+            final Path file = Paths.get("test.jar" + marker);
+            assertFalse(marker, FileSystemDeploymentService.isWatchedChange(ENTRY_CREATE, file));
+            assertFalse(marker, FileSystemDeploymentService.isWatchedChange(ENTRY_MODIFY, file));
+            assertTrue(marker, FileSystemDeploymentService.isWatchedChange(ENTRY_DELETE, file));
+        }
+        for (String name : new String[] {"test.jar", "test.jar" + FileSystemDeploymentService.DO_DEPLOY,
+                "test.jar" + FileSystemDeploymentService.SKIP_DEPLOY}) {
+            assertTrue(name, FileSystemDeploymentService.isWatchedChange(ENTRY_CREATE, Paths.get(name)));
+            assertTrue(name, FileSystemDeploymentService.isWatchedChange(ENTRY_MODIFY, Paths.get(name)));
+            assertTrue(name, FileSystemDeploymentService.isWatchedChange(ENTRY_DELETE, Paths.get(name)));
+        }
+    }
+}
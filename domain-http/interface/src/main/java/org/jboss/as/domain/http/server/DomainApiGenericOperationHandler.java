@@ -151,13 +151,13 @@ class DomainApiGenericOperationHandler implements HttpHandler {
         final OperationParameter opParam = operationParameterBuilder.build();
         final ResponseCallback callback = new ResponseCallback() {
             @Override
-            void doSendResponse(final OperationResponse operationResponse) {
+            void doSendResponse(final OperationResponse operationResponse, final boolean early) {
                 ModelNode response = operationResponse.getResponseNode();
                 if (response.hasDefined(OUTCOME) && FAILED.equals(response.get(OUTCOME).asString())) {
                     Common.sendError(exchange, opParam.isEncode(), response);
                     return;
                 }
-                writeResponse(exchange, 200, response, opParam);
+                writeResponse(exchange, 200, response, opParam, early);
             }
         };
 
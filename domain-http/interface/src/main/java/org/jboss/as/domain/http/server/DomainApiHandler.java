@@ -150,7 +150,7 @@ class DomainApiHandler implements HttpHandler {
 
         final ResponseCallback callback = new ResponseCallback() {
             @Override
-            void doSendResponse(final OperationResponse response) {
+            void doSendResponse(final OperationResponse response, final boolean early) {
                 boolean closeResponse = true;
                 try {
                     ModelNode responseNode = response.getResponseNode();
@@ -159,7 +159,7 @@ class DomainApiHandler implements HttpHandler {
                         return;
                     }
                     if (streamIndex < 0) {
-                        writeResponse(exchange, 200, responseNode, operationParameterBuilder.build());
+                        writeResponse(exchange, 200, responseNode, operationParameterBuilder.build(), early);
                     } else {
                         List<OperationResponse.StreamEntry> streamEntries = response.getInputStreams();
                         if (streamIndex >= streamEntries.size()) {
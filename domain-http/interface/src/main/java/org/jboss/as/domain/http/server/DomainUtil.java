@@ -14,6 +14,9 @@ import java.io.BufferedOutputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.Deque;
@@ -32,6 +35,7 @@ import io.undertow.util.HeaderValues;
 import io.undertow.util.Headers;
 import io.undertow.util.HttpString;
 import org.jboss.as.controller.client.OperationResponse;
+import org.jboss.as.domain.http.server.logging.HttpServerLogger;
 import org.jboss.dmr.ModelNode;
 import org.xnio.IoUtils;
 
@@ -49,9 +53,21 @@ public class DomainUtil {
     private static final String DEFAULT_RESOURCE = "/" + INDEX_HTML;
     private static final String USE_STREAM_AS_RESPONSE = "useStreamAsResponse";
     private static final HttpString USE_STREAM_AS_RESPONSE_HEADER = new HttpString("org.wildfly.useStreamAsResponse");
+    private static final int STREAM_BUFFER_SIZE = 16384;
 
     public static void writeResponse(final HttpServerExchange exchange, final int status, ModelNode response,
             OperationParameter operationParameter) {
+        writeResponse(exchange, status, response, operationParameter, exchange.isInIoThread());
+    }
+
+    /**
+     * Writes a response, either buffered and sent asynchronously, or streamed with blocking IO.
+     *
+     * @param buffered {@code true} if the calling thread must not block, as an IO thread or a thread executing an
+     *                 operation that sends an early response
+     */
+    static void writeResponse(final HttpServerExchange exchange, final int status, ModelNode response,
+            OperationParameter operationParameter, final boolean buffered) {
 
         exchange.setStatusCode(status);
 
@@ -67,14 +83,45 @@ public class DomainUtil {
             response = response.get(RESULT);
         }
         try {
-            byte[] data = getResponseBytes(response, operationParameter);
-            responseHeaders.put(Headers.CONTENT_LENGTH, data.length);
-            exchange.getResponseSender().send(ByteBuffer.wrap(data));
+            if (buffered) {
+                // we cannot block, so the response has to be buffered
+                byte[] data = getResponseBytes(response, operationParameter);
+                responseHeaders.put(Headers.CONTENT_LENGTH, data.length);
+                exchange.getResponseSender().send(ByteBuffer.wrap(data));
+            } else {
+                streamResponse(exchange, response, operationParameter);
+            }
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
     }
 
+    /**
+     * Writes the response directly to the exchange, so the response is never held in memory in serialized form as
+     * well. It is sent chunked, and compressed if the client accepts that and the handler is wrapped in an
+     * {@link io.undertow.server.handlers.encoding.EncodingHandler}.
+     */
+    private static void streamResponse(final HttpServerExchange exchange, final ModelNode modelNode,
+                                       final OperationParameter operationParameter) throws IOException {
+        exchange.startBlocking();
+        final OutputStream out = new BufferedOutputStream(exchange.getOutputStream(), STREAM_BUFFER_SIZE);
+        try {
+            if (operationParameter.isEncode()) {
+                modelNode.writeBase64(out);
+                out.flush();
+            } else {
+                final PrintWriter print = new PrintWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+                modelNode.writeJSONString(print, !operationParameter.isPretty());
+                print.flush();
+                if (print.checkError()) {
+                    throw HttpServerLogger.ROOT_LOGGER.failedToWriteResponse();
+                }
+            }
+        } finally {
+            IoUtils.safeClose(out);
+        }
+    }
+
 
     static void writeStreamResponse(final HttpServerExchange exchange,
                                      final OperationResponse operationResponse,
@@ -58,6 +58,6 @@ final class EarlyResponseTransactionControl implements ModelController.Operation
         // Fix prepared result
         preparedResult.get(OUTCOME).set(SUCCESS);
         preparedResult.get(RESULT);
-        callback.sendResponse(OperationResponse.Factory.createSimple(preparedResult));
+        callback.sendEarlyResponse(OperationResponse.Factory.createSimple(preparedResult));
     }
 }
@@ -14,12 +14,24 @@ abstract class ResponseCallback {
     private volatile boolean complete;
 
     void sendResponse(final OperationResponse response) {
+        sendResponse(response, false);
+    }
+
+    /**
+     * Sends a response from the thread executing the operation, before the operation completes. The response must not
+     * be written with blocking IO, so that the operation does not wait for the client.
+     */
+    void sendEarlyResponse(final OperationResponse response) {
+        sendResponse(response, true);
+    }
+
+    private void sendResponse(final OperationResponse response, final boolean early) {
         if (complete) {
             return;
         }
         complete = true;
-        doSendResponse(response);
+        doSendResponse(response, early);
     }
 
-    abstract void doSendResponse(OperationResponse response);
+    abstract void doSendResponse(OperationResponse response, boolean early);
 }
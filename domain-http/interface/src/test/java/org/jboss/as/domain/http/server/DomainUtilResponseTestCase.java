@@ -0,0 +1,122 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.domain.http.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPInputStream;
+
+import io.undertow.Undertow;
+import io.undertow.server.HttpHandler;
+import io.undertow.server.handlers.encoding.EncodingHandler;
+import org.jboss.dmr.ModelNode;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the responses written by {@link DomainUtil#writeResponse(io.undertow.server.HttpServerExchange, int, ModelNode, OperationParameter)},
+ * streamed or buffered, with and without compression.
+ */
+public class DomainUtilResponseTestCase {
+
+    private static final ModelNode RESPONSE = createResponse();
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private Undertow server;
+    private volatile boolean buffered;
+
+    @Before
+    public void startServer() {
+        final HttpHandler handler = exchange -> DomainUtil.writeResponse(exchange, 200, RESPONSE,
+                new OperationParameter.Builder(false).build(), buffered);
+        // as in DomainApiCheckHandler, and dispatched as by ManagementHttpServer
+        final HttpHandler encodingHandler = new EncodingHandler.Builder().build(Collections.emptyMap()).wrap(handler);
+        server = Undertow.builder()
+                .addHttpListener(0, "localhost")
+                .setHandler(InExecutorHandler.wrap(executor, encodingHandler))
+                .build();
+        server.start();
+    }
+
+    @After
+    public void stopServer() {
+        server.stop();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testStreamedResponse() throws IOException {
+        final HttpURLConnection connection = connect(false);
+        assertEquals(200, connection.getResponseCode());
+        assertEquals("chunked", connection.getHeaderField("Transfer-Encoding"));
+        assertNull(connection.getHeaderField("Content-Encoding"));
+        assertEquals(RESPONSE, ModelNode.fromJSONString(read(connection.getInputStream())));
+    }
+
+    @Test
+    public void testStreamedResponseCompressed() throws IOException {
+        final HttpURLConnection connection = connect(true);
+        assertEquals(200, connection.getResponseCode());
+        assertEquals("gzip", connection.getHeaderField("Content-Encoding"));
+        try (InputStream in = new GZIPInputStream(connection.getInputStream())) {
+            assertEquals(RESPONSE, ModelNode.fromJSONString(read(in)));
+        }
+    }
+
+    @Test
+    public void testBufferedResponse() throws IOException {
+        buffered = true;
+        for (boolean gzip : new boolean[] {false, true}) {
+            final HttpURLConnection connection = connect(gzip);
+            assertEquals(200, connection.getResponseCode());
+            assertEquals(gzip ? "gzip" : null, connection.getHeaderField("Content-Encoding"));
+            if (!gzip) {
+                assertNull(connection.getHeaderField("Transfer-Encoding"));
+            }
+            try (InputStream in = gzip ? new GZIPInputStream(connection.getInputStream()) : connection.getInputStream()) {
+                assertEquals(RESPONSE, ModelNode.fromJSONString(read(in)));
+            }
+        }
+    }
+
+    private HttpURLConnection connect(final boolean gzip) throws IOException {
+        final InetSocketAddress address = (InetSocketAddress) server.getListenerInfo().get(0).getAddress();
+        final HttpURLConnection connection = (HttpURLConnection) new URL("http", address.getHostString(), address.getPort(), "/management").openConnection();
+        if (gzip) {
+            connection.setRequestProperty("Accept-Encoding", "gzip");
+        }
+        return connection;
+    }
+
+    private static String read(final InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        in.transferTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static ModelNode createResponse() {
+        final ModelNode response = new ModelNode();
+        response.get("outcome").set("success");
+        final ModelNode result = response.get("result");
+        for (int i = 0; i < 5000; i++) {
+            result.get("resource-" + i, "value").set("value " + i);
+            result.get("resource-" + i, "count").set(i);
+        }
+        return response;
+    }
+}
@@ -11,8 +11,10 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.AUT
 import java.util.Arrays;
 import java.util.List;
 
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.ListAttributeDefinition;
+import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
@@ -81,6 +83,16 @@ public class AccessAuthorizationResourceDefinition extends SimpleResourceDefinit
             .setRuntimeServiceNotRequired()
             .build();
 
+    static final SimpleAttributeDefinition DECISION_CACHE_HIT_COUNT = new SimpleAttributeDefinitionBuilder("decision-cache-hit-count", ModelType.LONG)
+            .setStorageRuntime()
+            .setRuntimeServiceNotRequired()
+            .build();
+
+    static final SimpleAttributeDefinition DECISION_CACHE_MISS_COUNT = new SimpleAttributeDefinitionBuilder("decision-cache-miss-count", ModelType.LONG)
+            .setStorageRuntime()
+            .setRuntimeServiceNotRequired()
+            .build();
+
     public static final List<AttributeDefinition> CONFIG_ATTRIBUTES = Arrays.<AttributeDefinition>asList(PROVIDER, PERMISSION_COMBINATION_POLICY);
 
     public static AccessAuthorizationResourceDefinition forDomain(DelegatingConfigurableAuthorizer configurableAuthorizer) {
@@ -119,6 +131,10 @@ public class AccessAuthorizationResourceDefinition extends SimpleResourceDefinit
                 AccessAuthorizationRolesHandler.getStandardRolesHandler(authorizerConfiguration));
         resourceRegistration.registerReadOnlyAttribute(ALL_ROLE_NAMES,
                 AccessAuthorizationRolesHandler.getAllRolesHandler(authorizerConfiguration));
+
+        DecisionCacheMetricHandler metricHandler = new DecisionCacheMetricHandler(configurableAuthorizer);
+        resourceRegistration.registerMetric(DECISION_CACHE_HIT_COUNT, metricHandler);
+        resourceRegistration.registerMetric(DECISION_CACHE_MISS_COUNT, metricHandler);
     }
 
     @Override
@@ -152,6 +168,32 @@ public class AccessAuthorizationResourceDefinition extends SimpleResourceDefinit
         }
     }
 
+    /**
+     * Reads the statistics of the cache of authorization decisions of the current authorizer.
+     */
+    private static class DecisionCacheMetricHandler extends AbstractRuntimeOnlyHandler {
+        private final DelegatingConfigurableAuthorizer configurableAuthorizer;
+
+        DecisionCacheMetricHandler(DelegatingConfigurableAuthorizer configurableAuthorizer) {
+            this.configurableAuthorizer = configurableAuthorizer;
+        }
+
+        @Override
+        protected boolean requiresRuntime(OperationContext context) {
+            return true;
+        }
+
+        @Override
+        protected void executeRuntimeStep(OperationContext context, ModelNode operation) {
+            String attr = operation.require(ModelDescriptionConstants.NAME).asString();
+            if (attr.equals(DECISION_CACHE_HIT_COUNT.getName())) {
+                context.getResult().set(configurableAuthorizer.getDecisionCacheHitCount());
+            } else if (attr.equals(DECISION_CACHE_MISS_COUNT.getName())) {
+                context.getResult().set(configurableAuthorizer.getDecisionCacheMissCount());
+            }
+        }
+    }
+
     public static Resource createResource(AccessConstraintUtilizationRegistry registry) {
         Resource accessControlRoot =  Resource.Factory.create();
         accessControlRoot.registerChild(AccessConstraintResources.APPLICATION_PATH_ELEMENT, AccessConstraintResources.getApplicationConfigResource(registry));
@@ -7,6 +7,7 @@ package org.jboss.as.domain.management.audit;
 import java.util.Arrays;
 
 import org.jboss.as.controller.AbstractAddStepHandler;
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
@@ -45,6 +46,23 @@ public abstract class AbstractFileAuditLogHandlerResourceDefinition extends Audi
 
     protected static final AttributeDefinition[] ATTRIBUTES = new AttributeDefinition[]{FORMATTER, PATH, RELATIVE_TO, MAX_FAILURE_COUNT};
 
+    public static final SimpleAttributeDefinition QUEUE_DEPTH = new SimpleAttributeDefinitionBuilder("queue-depth", ModelType.INT)
+        .setStorageRuntime()
+        .setRuntimeServiceNotRequired()
+        .build();
+
+    public static final SimpleAttributeDefinition BLOCKED_RECORD_COUNT = new SimpleAttributeDefinitionBuilder("blocked-record-count", ModelType.LONG)
+        .setStorageRuntime()
+        .setRuntimeServiceNotRequired()
+        .build();
+
+    public static final SimpleAttributeDefinition DROPPED_RECORD_COUNT = new SimpleAttributeDefinitionBuilder("dropped-record-count", ModelType.LONG)
+        .setStorageRuntime()
+        .setRuntimeServiceNotRequired()
+        .build();
+
+    private static final AttributeDefinition[] METRICS = new AttributeDefinition[]{QUEUE_DEPTH, BLOCKED_RECORD_COUNT, DROPPED_RECORD_COUNT};
+
 
     public AbstractFileAuditLogHandlerResourceDefinition(ManagedAuditLogger auditLogger, PathManagerService pathManager, PathElement pathElement, ResourceDescriptionResolver descriptionResolver,
                                                          OperationStepHandler addHandler, OperationStepHandler removeHandler) {
@@ -58,10 +76,44 @@ public abstract class AbstractFileAuditLogHandlerResourceDefinition extends Audi
         for (AttributeDefinition def : ATTRIBUTES) {
             resourceRegistration.registerReadWriteAttribute(def, null, write);
         }
+        AsyncWriterMetricHandler metricHandler = new AsyncWriterMetricHandler(auditLogger);
+        for (AttributeDefinition def : METRICS) {
+            resourceRegistration.registerMetric(def, metricHandler);
+        }
     }
 
     protected abstract HandlerWriteAttributeHandler getWriteAttributeHandler(ManagedAuditLogger auditLogger, PathManagerService pathManager);
 
+    /**
+     * Reads the metrics of the queue the handler uses if the
+     * {@code org.wildfly.management.audit-log.file.async} system property is set.
+     */
+    private static class AsyncWriterMetricHandler extends AbstractRuntimeOnlyHandler {
+        private final ManagedAuditLogger auditLogger;
+
+        AsyncWriterMetricHandler(ManagedAuditLogger auditLogger) {
+            this.auditLogger = auditLogger;
+        }
+
+        @Override
+        protected boolean requiresRuntime(OperationContext context) {
+            return true;
+        }
+
+        @Override
+        protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+            String attr = operation.require(ModelDescriptionConstants.NAME).asString();
+            String handlerName = context.getCurrentAddressValue();
+            if (attr.equals(QUEUE_DEPTH.getName())) {
+                context.getResult().set(auditLogger.getHandlerQueueDepth(handlerName));
+            } else if (attr.equals(BLOCKED_RECORD_COUNT.getName())) {
+                context.getResult().set(auditLogger.getHandlerBlockedRecordCount(handlerName));
+            } else if (attr.equals(DROPPED_RECORD_COUNT.getName())) {
+                context.getResult().set(auditLogger.getHandlerDroppedRecordCount(handlerName));
+            }
+        }
+    }
+
     protected abstract static class AbstractFileAuditLogHandlerAddHandler extends AbstractAddStepHandler {
 
         protected final ManagedAuditLogger auditLogger;
@@ -0,0 +1,283 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.domain.controller;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.HOST;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.HOST_EXCLUDE;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.as.domain.controller.operations.ReadMasterDomainModelUtil;
+import org.jboss.dmr.ModelNode;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Journal of the changes made to the domain model of the domain controller, which allows a host controller that
+ * reconnects to receive only the resources that changed since it last read the domain model.
+ * <p>
+ * Each change persisted by the domain controller increments a revision, and the addresses of the resources it
+ * modified are kept for a bounded number of addresses, set by the {@value #CAPACITY_PROPERTY} system property. A
+ * revision is only meaningful within the epoch it belongs to, which identifies the domain controller process. A host
+ * controller that presents a revision of another epoch, or one older than the oldest kept change, reads the complete
+ * domain model.
+ * </p>
+ * <p>
+ * The host controller keeps the descriptions of the resources it last read, and replaces the ones of the changed
+ * resources with the descriptions it receives, see {@link #applyChanges(List, ModelNode, List)}. The resulting
+ * complete model is then applied as usual.
+ * </p>
+ */
+public final class DomainModelRevisions {
+
+    /** The key of the revision, in the host info sent when registering and in the response headers of the domain model */
+    public static final String DOMAIN_MODEL_REVISION = "domain-model-revision";
+
+    static final String CAPACITY_PROPERTY = "org.wildfly.host.controller.domain-model-revisions.capacity";
+
+    private static final String EPOCH = "epoch";
+    private static final String REVISION = "revision";
+    private static final String CHANGED = "changed";
+
+    private final String epoch = UUID.randomUUID().toString();
+    private final int capacity;
+    // GuardedBy this
+    private final Deque<Change> changes = new ArrayDeque<>();
+    // GuardedBy this
+    private long revision;
+    // GuardedBy this, the revision preceding the oldest kept change
+    private long oldestRevision;
+    // GuardedBy this, the number of addresses kept
+    private int size;
+
+    public DomainModelRevisions() {
+        this(Integer.parseInt(WildFlySecurityManager.getPropertyPrivileged(CAPACITY_PROPERTY, "10000")));
+    }
+
+    DomainModelRevisions(final int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Records a change of the domain model. Changes of host resources are not recorded, as they are not part of the
+     * domain model read by the host controllers.
+     *
+     * @param affectedAddresses the addresses of the resources that were changed
+     */
+    public synchronized void recordChange(final Set<PathAddress> affectedAddresses) {
+        final Set<PathAddress> addresses = new HashSet<>();
+        for (PathAddress address : affectedAddresses) {
+            if (address.size() == 0 || !HOST.equals(address.getElement(0).getKey())) {
+                addresses.add(address);
+            }
+        }
+        if (addresses.isEmpty()) {
+            return;
+        }
+        revision++;
+        if (addresses.size() > capacity) {
+            changes.clear();
+            size = 0;
+            oldestRevision = revision;
+            return;
+        }
+        changes.addLast(new Change(revision, addresses));
+        size += addresses.size();
+        while (size > capacity) {
+            final Change removed = changes.removeFirst();
+            size -= removed.addresses.size();
+            oldestRevision = removed.revision;
+        }
+    }
+
+    /**
+     * Gets the current revision of the domain model.
+     *
+     * @return the epoch and revision
+     */
+    public synchronized ModelNode getRevision() {
+        final ModelNode result = new ModelNode();
+        result.get(EPOCH).set(epoch);
+        result.get(REVISION).set(revision);
+        return result;
+    }
+
+    /**
+     * Gets the addresses of the resources that changed since a revision.
+     *
+     * @param hostRevision the revision presented by a host controller, may be {@code null} or undefined
+     * @return the addresses, or {@code null} if the changes since the revision are not known
+     */
+    public synchronized Set<PathAddress> getChangesSince(final ModelNode hostRevision) {
+        if (hostRevision == null || !hostRevision.hasDefined(EPOCH) || !hostRevision.hasDefined(REVISION)
+                || !epoch.equals(hostRevision.get(EPOCH).asString())) {
+            return null;
+        }
+        final long since = hostRevision.get(REVISION).asLong();
+        if (since < oldestRevision || since > revision) {
+            return null;
+        }
+        final Set<PathAddress> result = new HashSet<>();
+        for (Change change : changes) {
+            if (change.revision > since) {
+                result.addAll(change.addresses);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Determines the resources whose descriptions should be sent to a host controller for a set of changes. A change
+     * of a child of an ordered child type affects all its siblings, as their order is given by the order of their
+     * descriptions.
+     *
+     * @param changes the addresses of the changed resources
+     * @param root the root resource of the domain model
+     * @return the addresses of the resources whose descriptions, and those of their descendants, should be sent, or
+     *         {@code null} if the complete domain model should be
+     */
+    public static Set<PathAddress> getChangedResources(final Set<PathAddress> changes, final Resource root) {
+        final Set<PathAddress> result = new HashSet<>();
+        for (PathAddress change : changes) {
+            PathAddress address = change;
+            while (address.size() > 0 && isOrderedChild(root, address)) {
+                address = address.getParent();
+            }
+            // host excludes affect which resources are sent at all
+            if (address.size() == 0 || HOST_EXCLUDE.equals(address.getElement(0).getKey())) {
+                return null;
+            }
+            result.add(address);
+        }
+        return result;
+    }
+
+    /**
+     * Selects the descriptions of the changed resources and their descendants.
+     *
+     * @param described the descriptions of all resources, as created by {@link ReadMasterDomainModelUtil}
+     * @param changedResources the addresses returned by {@link #getChangedResources(Set, Resource)}
+     * @return the descriptions of the changed resources
+     */
+    public static List<ModelNode> getChangedDescriptions(final List<ModelNode> described, final Set<PathAddress> changedResources) {
+        final List<ModelNode> result = new ArrayList<>();
+        for (ModelNode description : described) {
+            if (isChanged(description, changedResources)) {
+                result.add(description);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Adds the revision of the domain model to the response headers, along with the changed resources if only their
+     * descriptions are sent.
+     *
+     * @param headers the response headers
+     * @param revision the revision returned by {@link #getRevision()}
+     * @param changedResources the addresses returned by {@link #getChangedResources(Set, Resource)}, or {@code null}
+     */
+    public static void addResponseHeader(final ModelNode headers, final ModelNode revision, final Set<PathAddress> changedResources) {
+        final ModelNode header = headers.get(DOMAIN_MODEL_REVISION);
+        header.set(revision);
+        if (changedResources != null) {
+            final ModelNode changed = header.get(CHANGED).setEmptyList();
+            for (PathAddress address : changedResources) {
+                changed.add(address.toModelNode());
+            }
+        }
+    }
+
+    /**
+     * Gets whether a response header only holds the changed resources.
+     *
+     * @param header the {@link #DOMAIN_MODEL_REVISION} response header
+     * @return {@code true} if the domain model in the response only holds the descriptions of the changed resources
+     */
+    public static boolean isChanges(final ModelNode header) {
+        return header.has(CHANGED);
+    }
+
+    /**
+     * Gets the revision from a response header.
+     *
+     * @param header the {@link #DOMAIN_MODEL_REVISION} response header
+     * @return the revision to present when registering again, or {@code null} if the header is not defined
+     */
+    public static ModelNode getRevision(final ModelNode header) {
+        if (!header.hasDefined(EPOCH) || !header.hasDefined(REVISION)) {
+            return null;
+        }
+        final ModelNode result = new ModelNode();
+        result.get(EPOCH).set(header.get(EPOCH));
+        result.get(REVISION).set(header.get(REVISION));
+        return result;
+    }
+
+    /**
+     * Replaces the descriptions of the changed resources in the descriptions of a domain model.
+     *
+     * @param previous the descriptions of the resources last read
+     * @param header the {@link #DOMAIN_MODEL_REVISION} response header listing the changed resources
+     * @param changedDescriptions the descriptions of the changed resources
+     * @return the descriptions of all resources
+     */
+    public static List<ModelNode> applyChanges(final List<ModelNode> previous, final ModelNode header, final List<ModelNode> changedDescriptions) {
+        final Set<PathAddress> changedResources = new HashSet<>();
+        for (ModelNode address : header.get(CHANGED).asList()) {
+            changedResources.add(PathAddress.pathAddress(address));
+        }
+        final List<ModelNode> result = new ArrayList<>(previous.size() + changedDescriptions.size());
+        for (ModelNode description : previous) {
+            if (!isChanged(description, changedResources)) {
+                result.add(description);
+            }
+        }
+        // a changed resource is described after its parent, which is either unchanged or described before it
+        result.addAll(changedDescriptions);
+        return result;
+    }
+
+    private static boolean isOrderedChild(final Resource root, final PathAddress address) {
+        Resource parent = root;
+        for (PathElement element : address.getParent()) {
+            parent = parent.getChild(element);
+            if (parent == null) {
+                // the parent was removed, and is changed as well
+                return false;
+            }
+        }
+        return parent.getOrderedChildTypes().contains(address.getLastElement().getKey());
+    }
+
+    private static boolean isChanged(final ModelNode description, final Set<PathAddress> changedResources) {
+        final PathAddress address = PathAddress.pathAddress(description.require(ReadMasterDomainModelUtil.DOMAIN_RESOURCE_ADDRESS));
+        for (int i = 1; i <= address.size(); i++) {
+            if (changedResources.contains(address.subAddress(0, i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Change {
+        private final long revision;
+        private final Set<PathAddress> addresses;
+
+        private Change(final long revision, final Set<PathAddress> addresses) {
+            this.revision = revision;
+            this.addresses = addresses;
+        }
+    }
+}
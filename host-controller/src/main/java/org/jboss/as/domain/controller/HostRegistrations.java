@@ -5,6 +5,8 @@
 
 package org.jboss.as.domain.controller;
 
+import org.jboss.as.domain.controller.operations.coordination.HostOperationStatistics;
+
 /**
  * @author Emanuel Muckenhuber
  */
@@ -26,6 +28,14 @@ public interface HostRegistrations {
      */
     HostConnectionInfo getHostInfo(String hostName);
 
+    /**
+     * Get the statistics of the operations coordinated on a host.
+     *
+     * @param hostName the host name
+     * @return the statistics, or {@code null} if no operation was coordinated on the host
+     */
+    HostOperationStatistics.Host getOperationStatistics(String hostName);
+
     /**
      * Prune all expired host info.
      */
@@ -5,10 +5,16 @@
 
 package org.jboss.as.domain.controller.operations;
 
+import java.util.List;
+import java.util.Set;
+
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.transform.Transformers;
+import org.jboss.as.domain.controller.DomainModelRevisions;
+import org.jboss.as.domain.controller.logging.DomainControllerLogger;
 import org.jboss.dmr.ModelNode;
 
 /**
@@ -21,11 +27,25 @@ class ReadDomainModelHandler implements OperationStepHandler {
     private final Transformers transformers;
     private final Transformers.ResourceIgnoredTransformationRegistry ignoredTransformationRegistry;
     private final boolean lock;
+    private final ModelNode revision;
+    private final Set<PathAddress> changes;
 
     public ReadDomainModelHandler(final Transformers.ResourceIgnoredTransformationRegistry ignoredTransformationRegistry, final Transformers transformers, final boolean lock) {
+        this(ignoredTransformationRegistry, transformers, lock, null, null);
+    }
+
+    /**
+     * @param revision the revision of the domain model to report in the response headers, or {@code null}
+     * @param changes the addresses of the resources changed since the revision the host last read, or {@code null} if
+     *                the complete domain model should be described
+     */
+    ReadDomainModelHandler(final Transformers.ResourceIgnoredTransformationRegistry ignoredTransformationRegistry, final Transformers transformers, final boolean lock,
+                           final ModelNode revision, final Set<PathAddress> changes) {
         this.transformers = transformers;
         this.ignoredTransformationRegistry = ignoredTransformationRegistry != null ? ignoredTransformationRegistry : Transformers.DEFAULT;
         this.lock = lock;
+        this.revision = revision;
+        this.changes = changes;
     }
 
     public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
@@ -38,7 +58,19 @@ class ReadDomainModelHandler implements OperationStepHandler {
         final Transformers.TransformationInputs transformationInputs = new Transformers.TransformationInputs(context);
         final ReadMasterDomainModelUtil readUtil = ReadMasterDomainModelUtil.readMasterDomainResourcesForInitialConnect(transformers,
                 transformationInputs, ignoredTransformationRegistry, transformationInputs.getRootResource());
-        context.getResult().set(readUtil.getDescribedResources());
+        final List<ModelNode> described = readUtil.getDescribedResources();
+        final Set<PathAddress> changedResources = changes == null ? null
+                : DomainModelRevisions.getChangedResources(changes, transformationInputs.getRootResource());
+        if (changedResources == null) {
+            context.getResult().set(described);
+        } else {
+            final List<ModelNode> changed = DomainModelRevisions.getChangedDescriptions(described, changedResources);
+            DomainControllerLogger.ROOT_LOGGER.debugf("Describing %d of %d domain resources, changed since the revision known to the host", changed.size(), described.size());
+            context.getResult().set(changed);
+        }
+        if (revision != null) {
+            DomainModelRevisions.addResponseHeader(context.getResponseHeaders(), revision, changedResources);
+        }
     }
 
 }
@@ -5,14 +5,21 @@
 
 package org.jboss.as.domain.controller.operations;
 
+import java.util.Map;
+import java.util.Set;
+
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.OperationStepHandler;
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.extension.ExtensionRegistry;
+import org.jboss.as.controller.extension.SubsystemInformation;
 import org.jboss.as.controller.registry.Resource;
+import org.jboss.as.controller.transform.TransformationTarget;
 import org.jboss.as.controller.transform.Transformers;
+import org.jboss.as.domain.controller.DomainModelRevisions;
 import org.jboss.as.host.controller.mgmt.HostInfo;
+import org.jboss.as.version.Version;
 import org.jboss.dmr.ModelNode;
 
 /**
@@ -32,12 +39,29 @@ public class ReadMasterDomainModelHandler implements OperationStepHandler {
     private final Transformers transformers;
     private final ExtensionRegistry extensionRegistry;
     private final boolean lock;
+    private final DomainModelRevisions revisions;
 
     public ReadMasterDomainModelHandler(final HostInfo hostInfo, final Transformers transformers, final ExtensionRegistry extensionRegistry, boolean lock) {
+        this(hostInfo, transformers, extensionRegistry, lock, null);
+    }
+
+    /**
+     * Creates a handler which only describes the resources that changed since the revision of the domain model the host
+     * presents, if these changes are known and the host reads the same domain model as the domain controller.
+     *
+     * @param hostInfo the host info
+     * @param transformers the transformers for the host
+     * @param extensionRegistry the extension registry
+     * @param lock whether the controller lock should be acquired
+     * @param revisions the journal of the domain model changes, may be {@code null}
+     */
+    public ReadMasterDomainModelHandler(final HostInfo hostInfo, final Transformers transformers, final ExtensionRegistry extensionRegistry, boolean lock,
+                                        final DomainModelRevisions revisions) {
         this.hostInfo = hostInfo;
         this.transformers = transformers;
         this.extensionRegistry = extensionRegistry;
         this.lock = lock;
+        this.revisions = revisions;
     }
 
     @Override
@@ -47,6 +71,11 @@ public class ReadMasterDomainModelHandler implements OperationStepHandler {
             context.acquireControllerLock();
         }
 
+        // The revision is read before the model, so that it never claims changes the model does not contain
+        final ModelNode revision = revisions == null ? null : revisions.getRevision();
+        final Set<PathAddress> changes = revision == null || hostInfo == null || !isSameDomainModel()
+                ? null : revisions.getChangesSince(hostInfo.getDomainModelRevision());
+
         final Transformers.ResourceIgnoredTransformationRegistry ignoredTransformationRegistry;
         final Resource resource = context.readResourceFromRoot(PathAddress.EMPTY_ADDRESS);
         // The host info is only null in the tests
@@ -57,8 +86,37 @@ public class ReadMasterDomainModelHandler implements OperationStepHandler {
             ignoredTransformationRegistry = ReadMasterDomainModelUtil.createHostIgnoredRegistry(hostInfo, rc);
         }
 
-        final OperationStepHandler handler = new ReadDomainModelHandler(ignoredTransformationRegistry, transformers, lock);
+        final OperationStepHandler handler = new ReadDomainModelHandler(ignoredTransformationRegistry, transformers, lock, revision, changes);
         context.addStep(handler, OperationContext.Stage.MODEL);
     }
 
+    /**
+     * Whether the domain model described for the host only depends on the domain model itself, and on host info that is
+     * the same whenever the host presents a revision. The resources required by hosts ignoring unused configuration
+     * also depend on the servers of the host, and transformers may change the addresses of resources, so hosts that
+     * run another version of the core management model or of any subsystem always read the complete domain model.
+     */
+    private boolean isSameDomainModel() {
+        if (hostInfo.isIgnoreUnaffectedConfig()
+                || hostInfo.getManagementMajorVersion() != Version.MANAGEMENT_MAJOR_VERSION
+                || hostInfo.getManagementMinorVersion() != Version.MANAGEMENT_MINOR_VERSION
+                || hostInfo.getManagementMicroVersion() != Version.MANAGEMENT_MICRO_VERSION) {
+            return false;
+        }
+        final TransformationTarget target = transformers.getTarget();
+        for (String moduleName : extensionRegistry.getExtensionModuleNames()) {
+            final Map<String, SubsystemInformation> subsystems = extensionRegistry.getAvailableSubsystems(moduleName);
+            if (subsystems == null) {
+                continue;
+            }
+            for (Map.Entry<String, SubsystemInformation> subsystem : subsystems.entrySet()) {
+                // a host without the subsystem has its extension excluded, which transformers handle as well
+                if (!subsystem.getValue().getManagementInterfaceVersion().equals(target.getSubsystemVersion(subsystem.getKey()))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
 }
@@ -15,12 +15,16 @@ import static org.jboss.as.domain.controller.logging.DomainControllerLogger.HOST
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
 
 import org.jboss.as.controller.BlockingTimeout;
 import org.jboss.as.controller.CurrentOperationIdHolder;
@@ -34,6 +38,7 @@ import org.jboss.as.controller.operations.OperationAttachments;
 import org.jboss.as.controller.remote.ResponseAttachmentInputStreamSupport;
 import org.jboss.as.controller.remote.TransactionalProtocolClient;
 import org.jboss.as.controller.transform.Transformers;
+import org.jboss.as.protocol.mgmt.AsyncToCompletableFutureAdapter;
 import org.jboss.dmr.ModelNode;
 import org.jboss.threads.AsyncFuture;
 import org.jboss.as.controller.operations.DomainOperationTransmuter;
@@ -47,11 +52,14 @@ public class DomainSlaveHandler implements OperationStepHandler {
 
     private final MultiphaseOverallContext multiphaseContext;
     private final Map<String, ProxyController> hostProxies;
+    private final HostOperationStatistics statistics;
 
     public DomainSlaveHandler(final Map<String, ProxyController> hostProxies,
-                              final MultiphaseOverallContext domainOperationContext) {
+                              final MultiphaseOverallContext domainOperationContext,
+                              final HostOperationStatistics statistics) {
         this.hostProxies = hostProxies;
         this.multiphaseContext = domainOperationContext;
+        this.statistics = statistics;
     }
 
     @Override
@@ -67,7 +75,7 @@ public class DomainSlaveHandler implements OperationStepHandler {
         final Set<String> outstanding = new HashSet<String>(hostProxies.keySet());
         final List<TransactionalProtocolClient.PreparedOperation<HostControllerUpdateTask.ProxyOperation>> results = new ArrayList<TransactionalProtocolClient.PreparedOperation<HostControllerUpdateTask.ProxyOperation>>();
         final Map<String, HostControllerUpdateTask.ExecutedHostRequest> finalResults = new HashMap<String, HostControllerUpdateTask.ExecutedHostRequest>();
-        final HostControllerUpdateTask.ProxyOperationListener listener = new HostControllerUpdateTask.ProxyOperationListener();
+        final HostControllerUpdateTask.ProxyOperationListener listener = new HostControllerUpdateTask.ProxyOperationListener(statistics);
         final Transformers.TransformationInputs transformationInputs = Transformers.TransformationInputs.getOrCreate(context);
         final List<DomainOperationTransmuter> transformers = context.getAttachment(OperationAttachments.SLAVE_SERVER_OPERATION_TRANSMUTERS);
         for (Map.Entry<String, ProxyController> entry : hostProxies.entrySet()) {
@@ -198,9 +206,9 @@ public class DomainSlaveHandler implements OperationStepHandler {
         }
     }
 
-    private void finalizeOp(final List<TransactionalProtocolClient.PreparedOperation<HostControllerUpdateTask.ProxyOperation>> results,
-                            final Map<String, HostControllerUpdateTask.ExecutedHostRequest> finalResults,
-                            final boolean interrupted, final OperationContext context, final BlockingTimeout blockingTimeout) {
+    void finalizeOp(final List<TransactionalProtocolClient.PreparedOperation<HostControllerUpdateTask.ProxyOperation>> results,
+                    final Map<String, HostControllerUpdateTask.ExecutedHostRequest> finalResults,
+                    final boolean interrupted, final OperationContext context, final BlockingTimeout blockingTimeout) {
 
         // If an interrupt occurred, either in our execute method or after it called completeStep,
         // we will be less patient in waiting for final responses, as the user has indicated
@@ -210,6 +218,7 @@ public class DomainSlaveHandler implements OperationStepHandler {
             // Inform the remote hosts whether to commit or roll back their updates
             // The slaves will then being doing the commit/rollback in parallel
             boolean rollback = multiphaseContext.isCompleteRollback();
+            final Map<String, Long> sentTimes = new HashMap<>();
             for (final TransactionalProtocolClient.PreparedOperation<HostControllerUpdateTask.ProxyOperation> prepared : results) {
 
                 // Clear any thread interrupted status so we know the commit/rollback message will go out
@@ -218,53 +227,72 @@ public class DomainSlaveHandler implements OperationStepHandler {
                 if (prepared.isDone()) {
                     continue;
                 }
+                sentTimes.put(prepared.getOperation().getName(), System.nanoTime());
                 if (!rollback) {
                     prepared.commit();
                 } else {
                     prepared.rollback();
                 }
             }
-            // Now get the final results from the hosts
+            // Now get the final results from the hosts, in the order in which they arrive
             // If we've been interrupted, only wait 50 ms for a final response, otherwise wait the domain blocking timeout
             // Before WFCORE-996 was analyzed, in the interrupted case we would wait 0 ms. 50 ms is a
             // workaround attempt to avoid a race
-            int patient = interruptThread ? 50 : blockingTimeout.getDomainBlockingTimeout(false);
+            final int patient = interruptThread ? 50 : blockingTimeout.getDomainBlockingTimeout(false);
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(patient);
+            final BlockingQueue<String> completed = new LinkedBlockingQueue<>();
+            final Map<String, AsyncFuture<OperationResponse>> pending = new LinkedHashMap<>();
             for (final TransactionalProtocolClient.PreparedOperation<HostControllerUpdateTask.ProxyOperation> prepared : results) {
                 final String hostName = prepared.getOperation().getName();
-                final HostControllerUpdateTask.ExecutedHostRequest request = finalResults.get(hostName);
-                final AsyncFuture<OperationResponse> future = prepared.getFinalResult();
+                final Long sent = sentTimes.get(hostName);
+                pending.put(hostName, prepared.getFinalResult());
+                AsyncToCompletableFutureAdapter.adapt(prepared.getFinalResult()).whenComplete((response, failure) -> {
+                    if (sent != null && failure == null) {
+                        statistics.recordCompleted(hostName, System.nanoTime() - sent);
+                    }
+                    completed.add(hostName);
+                });
+            }
+            while (!pending.isEmpty()) {
+                final String hostName;
                 try {
-                    final OperationResponse finalResponse = future.get(patient, TimeUnit.MILLISECONDS);
-                    final ModelNode transformedResult = request.transformResult(finalResponse.getResponseNode());
-                    multiphaseContext.addHostControllerFinalResult(hostName, transformedResult);
-
-                    // Make sure any streams associated with the remote response are properly
-                    // integrated with our response
-                    ResponseAttachmentInputStreamSupport.handleDomainOperationResponseStreams(context, transformedResult, finalResponse.getInputStreams());
-
-                    HOST_CONTROLLER_LOGGER.tracef("Final result for remote host %s is %s", hostName, finalResponse.getResponseNode());
-                    HOST_CONTROLLER_LOGGER.tracef("Transformed result from host %s is %s", hostName, transformedResult);
-
+                    hostName = completed.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
                 } catch (InterruptedException e) {
                     interruptThread = true;
-                    future.asyncCancel(true);
                     // We suppressed an interrupt, so don't block indefinitely waiting for other responses;
                     // just grab them if they are already available
-                    patient = patient == 0 ? 0 : 50; // if we were already really impatient, we still are
-                    HOST_CONTROLLER_LOGGER.interruptedAwaitingFinalResponse(hostName);
-                } catch (ExecutionException e) {
-                    HOST_CONTROLLER_LOGGER.caughtExceptionAwaitingFinalResponse(e.getCause(), hostName);
-                } catch (TimeoutException e) {
-                    future.asyncCancel(true);
-                    if (interruptThread) {
-                        HOST_CONTROLLER_LOGGER.interruptedAwaitingFinalResponse(hostName);
-                    } else {
-                        HOST_CONTROLLER_LOGGER.timedOutAwaitingFinalResponse(patient, hostName);
+                    deadline = Math.min(deadline, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(50));
+                    continue;
+                }
+                if (hostName == null) {
+                    // Out of time, but take the results that are already available before giving up on the rest,
+                    // including those whose completion has not been queued yet
+                    for (String done = completed.poll(); done != null; done = completed.poll()) {
+                        final AsyncFuture<OperationResponse> future = pending.remove(done);
+                        if (future != null) {
+                            interruptThread = processFinalResult(done, future, finalResults, context) || interruptThread;
+                        }
                     }
-                    // we already waited at least the original 'patient' value since we sent out commit/rollback msgs;
-                    // don't need to wait so long any more
-                    patient = 0;
+                    final Iterator<Map.Entry<String, AsyncFuture<OperationResponse>>> it = pending.entrySet().iterator();
+                    while (it.hasNext()) {
+                        final Map.Entry<String, AsyncFuture<OperationResponse>> entry = it.next();
+                        if (entry.getValue().getStatus() != AsyncFuture.Status.WAITING) {
+                            it.remove();
+                            interruptThread = processFinalResult(entry.getKey(), entry.getValue(), finalResults, context) || interruptThread;
+                        }
+                    }
+                    for (final Map.Entry<String, AsyncFuture<OperationResponse>> entry : pending.entrySet()) {
+                        final String outstandingHost = entry.getKey();
+                        entry.getValue().asyncCancel(true);
+                        if (interruptThread) {
+                            HOST_CONTROLLER_LOGGER.interruptedAwaitingFinalResponse(outstandingHost);
+                        } else {
+                            HOST_CONTROLLER_LOGGER.timedOutAwaitingFinalResponse(patient, outstandingHost);
+                        }
+                    }
+                    break;
                 }
+                interruptThread = processFinalResult(hostName, pending.remove(hostName), finalResults, context) || interruptThread;
             }
         } finally {
             if (interruptThread) {
@@ -273,6 +301,36 @@ public class DomainSlaveHandler implements OperationStepHandler {
         }
     }
 
+    /**
+     * Records the final result of a host whose final result future is complete.
+     *
+     * @return {@code true} if the thread was interrupted
+     */
+    private boolean processFinalResult(final String hostName, final AsyncFuture<OperationResponse> future,
+                                       final Map<String, HostControllerUpdateTask.ExecutedHostRequest> finalResults,
+                                       final OperationContext context) {
+        final HostControllerUpdateTask.ExecutedHostRequest request = finalResults.get(hostName);
+        try {
+            // Already complete, so this does not block
+            final OperationResponse finalResponse = future.get();
+            final ModelNode transformedResult = request.transformResult(finalResponse.getResponseNode());
+            multiphaseContext.addHostControllerFinalResult(hostName, transformedResult);
+
+            // Make sure any streams associated with the remote response are properly
+            // integrated with our response
+            ResponseAttachmentInputStreamSupport.handleDomainOperationResponseStreams(context, transformedResult, finalResponse.getInputStreams());
+
+            HOST_CONTROLLER_LOGGER.tracef("Final result for remote host %s is %s", hostName, finalResponse.getResponseNode());
+            HOST_CONTROLLER_LOGGER.tracef("Transformed result from host %s is %s", hostName, transformedResult);
+        } catch (InterruptedException | CancellationException e) {
+            HOST_CONTROLLER_LOGGER.interruptedAwaitingFinalResponse(hostName);
+            return e instanceof InterruptedException;
+        } catch (ExecutionException e) {
+            HOST_CONTROLLER_LOGGER.caughtExceptionAwaitingFinalResponse(e.getCause(), hostName);
+        }
+        return false;
+    }
+
     private static ModelNode getTimeoutResponse(long timeout, String hostName) {
         String msg = HOST_CONTROLLER_LOGGER.timedOutAwaitingHostPreparedResponse(timeout, hostName);
         final ModelNode response = new ModelNode();
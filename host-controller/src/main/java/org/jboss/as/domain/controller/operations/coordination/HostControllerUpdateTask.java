@@ -122,6 +122,7 @@ class HostControllerUpdateTask {
     static class ProxyOperation extends TransactionalOperationImpl {
 
         private final String name;
+        private final long startTime = System.nanoTime();
         protected ProxyOperation(final String name, final ModelNode operation, final OperationMessageHandler messageHandler, final OperationAttachments attachments) {
             super(operation, messageHandler, attachments);
             this.name = name;
@@ -130,6 +131,11 @@ class HostControllerUpdateTask {
         public String getName() {
             return name;
         }
+
+        /** @return the {@link System#nanoTime()} at which the operation was created, right before it was sent */
+        long getStartTime() {
+            return startTime;
+        }
     }
 
     static class ExecutedHostRequest implements OperationResultTransformer, OperationRejectionPolicy {
@@ -216,9 +222,16 @@ class HostControllerUpdateTask {
      */
     static class ProxyOperationListener extends BlockingQueueOperationListener<ProxyOperation> {
         final boolean trace = HOST_CONTROLLER_LOGGER.isTraceEnabled();
+        private final HostOperationStatistics statistics;
+
+        ProxyOperationListener(final HostOperationStatistics statistics) {
+            this.statistics = statistics;
+        }
 
         @Override
         public void operationPrepared(final TransactionalProtocolClient.PreparedOperation<ProxyOperation> prepared) {
+            final ProxyOperation operation = prepared.getOperation();
+            statistics.recordPrepared(operation.getName(), System.nanoTime() - operation.getStartTime());
             try {
                 super.operationPrepared(prepared);
             } finally {
@@ -0,0 +1,106 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.domain.controller.operations.coordination;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics of the operations the domain controller coordinated on each remote host controller.
+ * <p>
+ * The prepare time of an operation is the time between sending it to a host and receiving its prepared result. The
+ * completion time is the time between sending the host the instruction to commit or roll back, and receiving its final
+ * result. Both are recorded as the responses arrive, independently of the order in which they are processed.
+ * </p>
+ */
+public final class HostOperationStatistics {
+
+    private final ConcurrentMap<String, Host> hosts = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the statistics of a host.
+     *
+     * @param hostName the name of the host
+     * @return the statistics, or {@code null} if no operation was coordinated on the host
+     */
+    public Host getHost(final String hostName) {
+        return hosts.get(hostName);
+    }
+
+    /**
+     * Discards the statistics of the hosts that are no longer known.
+     *
+     * @param hostNames the names of the hosts to keep
+     */
+    public void retainHosts(final Set<String> hostNames) {
+        hosts.keySet().retainAll(hostNames);
+    }
+
+    void recordPrepared(final String hostName, final long nanos) {
+        hosts.computeIfAbsent(hostName, name -> new Host()).prepared.record(nanos);
+    }
+
+    void recordCompleted(final String hostName, final long nanos) {
+        hosts.computeIfAbsent(hostName, name -> new Host()).completed.record(nanos);
+    }
+
+    /**
+     * The statistics of a host.
+     */
+    public static final class Host {
+        private final Timer prepared = new Timer();
+        private final Timer completed = new Timer();
+
+        private Host() {
+        }
+
+        /** @return the number of prepared results received */
+        public long getPreparedCount() {
+            return prepared.count.sum();
+        }
+
+        /** @return the total prepare time, in milliseconds */
+        public long getPrepareTime() {
+            return TimeUnit.NANOSECONDS.toMillis(prepared.total.sum());
+        }
+
+        /** @return the longest prepare time, in milliseconds */
+        public long getMaxPrepareTime() {
+            return TimeUnit.NANOSECONDS.toMillis(prepared.max.get());
+        }
+
+        /** @return the number of final results received */
+        public long getCompletedCount() {
+            return completed.count.sum();
+        }
+
+        /** @return the total completion time, in milliseconds */
+        public long getCompletionTime() {
+            return TimeUnit.NANOSECONDS.toMillis(completed.total.sum());
+        }
+
+        /** @return the longest completion time, in milliseconds */
+        public long getMaxCompletionTime() {
+            return TimeUnit.NANOSECONDS.toMillis(completed.max.get());
+        }
+    }
+
+    private static final class Timer {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder total = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+        private void record(final long nanos) {
+            count.increment();
+            total.add(nanos);
+            max.accumulate(nanos);
+        }
+    }
+}
@@ -42,16 +42,19 @@ public class OperationCoordinatorStepHandler {
     private final Map<String, ProxyController> hostProxies;
     private final Map<String, ProxyController> serverProxies;
     private final OperationSlaveStepHandler localSlaveHandler;
+    private final HostOperationStatistics hostOperationStatistics;
     private volatile ExecutorService executorService;
 
     OperationCoordinatorStepHandler(final LocalHostControllerInfo localHostControllerInfo,
                                     final Map<String, ProxyController> hostProxies,
                                     final Map<String, ProxyController> serverProxies,
-                                    final OperationSlaveStepHandler localSlaveHandler) {
+                                    final OperationSlaveStepHandler localSlaveHandler,
+                                    final HostOperationStatistics hostOperationStatistics) {
         this.localHostControllerInfo = localHostControllerInfo;
         this.hostProxies = hostProxies;
         this.serverProxies = serverProxies;
         this.localSlaveHandler = localSlaveHandler;
+        this.hostOperationStatistics = hostOperationStatistics;
     }
 
     void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
@@ -192,7 +195,7 @@ public class OperationCoordinatorStepHandler {
                     }
                 }
 
-                context.addStep(slaveOp.clone(), new DomainSlaveHandler(remoteProxies, overallContext), OperationContext.Stage.DOMAIN);
+                context.addStep(slaveOp.clone(), new DomainSlaveHandler(remoteProxies, overallContext, hostOperationStatistics), OperationContext.Stage.DOMAIN);
             }
         }
 
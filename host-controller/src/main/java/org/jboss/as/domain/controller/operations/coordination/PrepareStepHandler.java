@@ -43,6 +43,7 @@ public class PrepareStepHandler  implements OperationStepHandler {
     private final LocalHostControllerInfo localHostControllerInfo;
     private final OperationCoordinatorStepHandler coordinatorHandler;
     private final OperationSlaveStepHandler slaveHandler;
+    private final HostOperationStatistics hostOperationStatistics = new HostOperationStatistics();
 
     public PrepareStepHandler(final LocalHostControllerInfo localHostControllerInfo,
                               final Map<String, ProxyController> hostProxies,
@@ -51,7 +52,8 @@ public class PrepareStepHandler  implements OperationStepHandler {
                               final ExtensionRegistry extensionRegistry) {
         this.localHostControllerInfo = localHostControllerInfo;
         this.slaveHandler = new OperationSlaveStepHandler(localHostControllerInfo, serverProxies, ignoredDomainResourceRegistry, extensionRegistry);
-        this.coordinatorHandler = new OperationCoordinatorStepHandler(localHostControllerInfo, hostProxies, serverProxies, slaveHandler);
+        this.coordinatorHandler = new OperationCoordinatorStepHandler(localHostControllerInfo, hostProxies, serverProxies, slaveHandler,
+                hostOperationStatistics);
     }
 
     @Override
@@ -83,6 +85,15 @@ public class PrepareStepHandler  implements OperationStepHandler {
         coordinatorHandler.setExecutorService(executorService);
     }
 
+    /**
+     * Gets the statistics of the operations coordinated on the remote host controllers.
+     *
+     * @return the statistics. Will not be {@code null}
+     */
+    public HostOperationStatistics getHostOperationStatistics() {
+        return hostOperationStatistics;
+    }
+
     private boolean isServerOperation(ModelNode operation) {
         PathAddress addr = PathAddress.pathAddress(operation.get(OP_ADDR));
         return addr.size() > 1
@@ -22,10 +22,12 @@ import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleOperationDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.descriptions.ResourceDescriptionResolver;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.registry.OperationEntry;
 import org.jboss.as.domain.controller.HostConnectionInfo;
 import org.jboss.as.domain.controller.HostRegistrations;
+import org.jboss.as.domain.controller.operations.coordination.HostOperationStatistics;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 
@@ -68,6 +70,13 @@ public class HostConnectionResourceDefinition extends SimpleResourceDefinition {
             .setRuntimeServiceNotRequired()
             .build();
 
+    private static final AttributeDefinition PREPARED_OPERATION_COUNT = createMetric("prepared-operation-count", null);
+    private static final AttributeDefinition PREPARE_TIME = createMetric("prepare-time", MeasurementUnit.MILLISECONDS);
+    private static final AttributeDefinition MAX_PREPARE_TIME = createMetric("max-prepare-time", MeasurementUnit.MILLISECONDS);
+    private static final AttributeDefinition COMPLETED_OPERATION_COUNT = createMetric("completed-operation-count", null);
+    private static final AttributeDefinition COMPLETION_TIME = createMetric("completion-time", MeasurementUnit.MILLISECONDS);
+    private static final AttributeDefinition MAX_COMPLETION_TIME = createMetric("max-completion-time", MeasurementUnit.MILLISECONDS);
+
     private static final OperationDefinition PRUNE_EXPIRED_DEF = new SimpleOperationDefinitionBuilder("prune-expired", RESOLVER)
             .withFlag(OperationEntry.Flag.MASTER_HOST_CONTROLLER_ONLY)
             .build();
@@ -78,6 +87,7 @@ public class HostConnectionResourceDefinition extends SimpleResourceDefinition {
 
     private final HostRegistrations slaveHosts;
     private final OperationStepHandler attributeReadHandler = new AttributeReadHandler();
+    private final OperationStepHandler metricHandler = new MetricHandler();
 
     public HostConnectionResourceDefinition(final HostRegistrations slaveHosts) {
         super(PATH, RESOLVER, null, null);
@@ -88,6 +98,12 @@ public class HostConnectionResourceDefinition extends SimpleResourceDefinition {
     public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
         resourceRegistration.registerReadOnlyAttribute(CONNECTION_DEF, attributeReadHandler);
         resourceRegistration.registerReadOnlyAttribute(EVENT_LIST, attributeReadHandler);
+        resourceRegistration.registerMetric(PREPARED_OPERATION_COUNT, metricHandler);
+        resourceRegistration.registerMetric(PREPARE_TIME, metricHandler);
+        resourceRegistration.registerMetric(MAX_PREPARE_TIME, metricHandler);
+        resourceRegistration.registerMetric(COMPLETED_OPERATION_COUNT, metricHandler);
+        resourceRegistration.registerMetric(COMPLETION_TIME, metricHandler);
+        resourceRegistration.registerMetric(MAX_COMPLETION_TIME, metricHandler);
     }
 
     @Override
@@ -130,6 +146,53 @@ public class HostConnectionResourceDefinition extends SimpleResourceDefinition {
         }
     }
 
+    /**
+     * Reads the statistics of the operations the domain controller coordinated on the host.
+     */
+    private class MetricHandler implements OperationStepHandler {
+
+        @Override
+        public void execute(final OperationContext context, final ModelNode operation) throws OperationFailedException {
+            final PathAddress address = PathAddress.pathAddress(operation.require(OP_ADDR));
+            final String metricName = operation.require(NAME).asString();
+            final HostOperationStatistics.Host statistics = slaveHosts.getOperationStatistics(address.getLastElement().getValue());
+            if (statistics == null) {
+                // reported as the undefined metric value
+                return;
+            }
+            final ModelNode result = context.getResult();
+            switch (metricName) {
+                case "prepared-operation-count":
+                    result.set(statistics.getPreparedCount());
+                    break;
+                case "prepare-time":
+                    result.set(statistics.getPrepareTime());
+                    break;
+                case "max-prepare-time":
+                    result.set(statistics.getMaxPrepareTime());
+                    break;
+                case "completed-operation-count":
+                    result.set(statistics.getCompletedCount());
+                    break;
+                case "completion-time":
+                    result.set(statistics.getCompletionTime());
+                    break;
+                case "max-completion-time":
+                    result.set(statistics.getMaxCompletionTime());
+                    break;
+            }
+        }
+    }
+
+    private static AttributeDefinition createMetric(final String name, final MeasurementUnit unit) {
+        return SimpleAttributeDefinitionBuilder.create(name, ModelType.LONG)
+                .setStorageRuntime()
+                .setRuntimeServiceNotRequired()
+                .setMeasurementUnit(unit)
+                .setUndefinedMetricValue(new ModelNode(0L))
+                .build();
+    }
+
     static void processEvents(final HostConnectionInfo info, final ModelNode list) {
         for (final HostConnectionInfo.Event event : info.getEvents()) {
             event.toModelNode(list.add());
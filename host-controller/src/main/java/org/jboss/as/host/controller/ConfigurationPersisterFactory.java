@@ -68,6 +68,8 @@ public class ConfigurationPersisterFactory {
         for (ManagementXmlSchema additionalHostSchema : hostXmlSchemas.getAdditional()) {
             persister.registerAdditionalRootElement(additionalHostSchema.getQualifiedName(), additionalHostSchema);
         }
+        persister.enableBootOperationCache(environment.getDomainDataDir(), stability.toString(), defaultHostname,
+                environment.getRunningModeControl().getRunningMode().toString(), Boolean.toString(environment.isUseCachedDc()));
         hostExtensionRegistry.setWriterRegistry(persister);
         return persister;
     }
@@ -94,6 +96,7 @@ public class ConfigurationPersisterFactory {
         for (ManagementXmlSchema additionalDomainSchema : domainXmlSchemas.getAdditional()) {
             persister.registerAdditionalRootElement(additionalDomainSchema.getQualifiedName(), additionalDomainSchema);
         }
+        persister.enableBootOperationCache(environment.getDomainDataDir(), stability.toString());
         extensionRegistry.setWriterRegistry(persister);
         return persister;
     }
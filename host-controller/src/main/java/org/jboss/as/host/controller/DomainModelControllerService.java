@@ -128,6 +128,7 @@ import org.jboss.as.domain.controller.LocalHostControllerInfo;
 import org.jboss.as.domain.controller.SlaveRegistrationException;
 import org.jboss.as.domain.controller.operations.ApplyExtensionsHandler;
 import org.jboss.as.domain.controller.operations.DomainModelIncludesValidator;
+import org.jboss.as.domain.controller.operations.coordination.HostOperationStatistics;
 import org.jboss.as.domain.controller.operations.coordination.PrepareStepHandler;
 import org.jboss.as.domain.controller.resources.DomainRootDefinition;
 import org.jboss.as.domain.http.server.ConsoleAvailability;
@@ -434,11 +435,13 @@ public class DomainModelControllerService extends AbstractControllerService impl
     @Override
     public void pruneExpired() {
         slaveHostRegistrations.pruneExpired();
+        prepareStepHandler.getHostOperationStatistics().retainHosts(slaveHostRegistrations.getHosts());
     }
 
     @Override
     public void pruneDisconnected() {
         slaveHostRegistrations.pruneDisconnected();
+        prepareStepHandler.getHostOperationStatistics().retainHosts(slaveHostRegistrations.getHosts());
     }
 
     @Override
@@ -446,6 +449,11 @@ public class DomainModelControllerService extends AbstractControllerService impl
         return slaveHostRegistrations.getRegistration(hostName);
     }
 
+    @Override
+    public HostOperationStatistics.Host getOperationStatistics(String hostName) {
+        return prepareStepHandler.getHostOperationStatistics().getHost(hostName);
+    }
+
     @Override
     public void pingRemoteHost(String id) {
         DomainSlaveHostRegistrations.DomainHostConnection reg = slaveHostRegistrations.getRegistration(id);
@@ -813,7 +821,8 @@ public class DomainModelControllerService extends AbstractControllerService impl
                                                 executor,
                                                 environment.getDomainTempDir(),
                                                 DomainModelControllerService.this,
-                                                domainHostExcludeRegistry);
+                                                domainHostExcludeRegistry,
+                                                hostControllerConfigurationPersister.getDomainModelRevisions());
                                     }
                                 },
                                 DomainModelControllerService.SERVICE_NAME, ManagementRemotingServices.DOMAIN_CHANNEL,
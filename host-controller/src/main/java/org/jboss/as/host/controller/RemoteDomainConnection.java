@@ -27,6 +27,7 @@ import javax.security.auth.callback.CallbackHandler;
 import org.jboss.as.controller.RunningMode;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.remote.TransactionalProtocolClient;
+import org.jboss.as.domain.controller.DomainModelRevisions;
 import org.jboss.as.domain.controller.SlaveRegistrationException;
 import org.jboss.as.host.controller.discovery.DiscoveryOption;
 import org.jboss.as.host.controller.discovery.RemoteDomainControllerConnectionConfiguration;
@@ -95,6 +96,8 @@ class RemoteDomainConnection extends FutureManagementChannel {
     private final List<DiscoveryOption> discoveryOptions;
     private final RunningMode runningMode;
     private URI uri;
+    /** Whether the last registration failed as the changes of the domain model the master sent could not be applied */
+    private volatile boolean changesNotApplied;
 
     RemoteDomainConnection(final String localHostName, final ProtocolConnectionConfiguration configuration, final AuthenticationContext authenticationContext,
                            final List<DiscoveryOption> discoveryOptions,
@@ -212,7 +215,17 @@ class RemoteDomainConnection extends FutureManagementChannel {
                     channelHandler.executeRequest(new FetchDomainConfigurationRequest(), null).getResult().get();
                 } else {
                     // Start the registration process
-                    channelHandler.executeRequest(new RegisterHostControllerRequest(), null).getResult().get();
+                    changesNotApplied = false;
+                    try {
+                        channelHandler.executeRequest(new RegisterHostControllerRequest(), null).getResult().get();
+                    } catch (ExecutionException e) {
+                        if (!changesNotApplied) {
+                            throw e;
+                        }
+                        // The callback no longer presents a revision, so the master sends the complete domain model
+                        HostControllerLogger.ROOT_LOGGER.debug("Registering again to read the complete domain model, as its changes could not be applied");
+                        channelHandler.executeRequest(new RegisterHostControllerRequest(), null).getResult().get();
+                    }
                 }
             } catch (Exception e) {
                 if(e.getCause() instanceof IOException) {
@@ -295,7 +308,11 @@ class RemoteDomainConnection extends FutureManagementChannel {
             return false;
         }
         final List<ModelNode> bootOperations= result.get(ModelDescriptionConstants.RESULT).asList();
-        return callback.applyDomainModel(bootOperations);
+        final ModelNode revision = result.hasDefined(ModelDescriptionConstants.RESPONSE_HEADERS, DomainModelRevisions.DOMAIN_MODEL_REVISION)
+                ? result.get(ModelDescriptionConstants.RESPONSE_HEADERS, DomainModelRevisions.DOMAIN_MODEL_REVISION) : new ModelNode();
+        final boolean applied = callback.applyDomainModel(bootOperations, revision);
+        changesNotApplied = !applied && DomainModelRevisions.isChanges(revision);
+        return applied;
     }
 
     void registered() {
@@ -321,9 +338,10 @@ class RemoteDomainConnection extends FutureManagementChannel {
          * Apply the remote domain model.
          *
          * @param result the read-domain-model operation result
+         * @param revision the revision of the domain model, undefined if the master does not report it
          * @return {@code true} if the model was applied successfully, {@code false} otherwise
          */
-        boolean applyDomainModel(List<ModelNode> result);
+        boolean applyDomainModel(List<ModelNode> result, ModelNode revision);
 
         /**
          * Event that the registration was completed.
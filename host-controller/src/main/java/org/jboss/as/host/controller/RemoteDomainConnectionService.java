@@ -63,6 +63,7 @@ import org.jboss.as.controller.remote.TransactionalProtocolClient;
 import org.jboss.as.controller.remote.TransactionalProtocolHandlers;
 import org.jboss.as.controller.remote.TransactionalProtocolOperationHandler;
 import org.jboss.as.domain.controller.DomainController;
+import org.jboss.as.domain.controller.DomainModelRevisions;
 import org.jboss.as.domain.controller.LocalHostControllerInfo;
 import org.jboss.as.domain.controller.SlaveRegistrationException;
 import org.jboss.as.domain.controller.operations.FetchMissingConfigurationHandler;
@@ -124,6 +125,9 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
     private static final int CONNECTION_TIMEOUT_DEFAULT = 30000;
     private static final String CONNECTION_TIMEOUT_PROPERTY = "jboss.host.domain.connection.timeout";
     private static final int CONNECTION_TIMEOUT = getSystemProperty(CONNECTION_TIMEOUT_PROPERTY, CONNECTION_TIMEOUT_DEFAULT);
+    /** Whether to keep the domain model last read from the master, so that only the changes are read when registering again */
+    private static final String DELTA_SYNC_PROPERTY = "org.wildfly.host.controller.delta-domain-sync";
+    private static final boolean DELTA_SYNC = Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged(DELTA_SYNC_PROPERTY, "false"));
 
     //private static final ModelNode APPLY_EXTENSIONS = new ModelNode();
     private static final ModelNode APPLY_DOMAIN_MODEL = new ModelNode();
@@ -177,6 +181,9 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
     private ManagementChannelHandler handler;
     private volatile ResponseAttachmentInputStreamSupport responseAttachmentSupport;
     private volatile RemoteDomainConnection connection;
+    private volatile SyncedDomainModel syncedDomainModel;
+    /** The domain model whose revision was presented when registering, which the changes the master sends apply to */
+    private volatile SyncedDomainModel presentedDomainModel;
 
     private RemoteDomainConnectionService(final ModelController controller,
                                           final ExtensionRegistry extensionRegistry,
@@ -506,7 +513,15 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
                  */
                 @Override
                 public ModelNode createLocalHostInfo() {
-                    return HostInfo.createLocalHostHostInfo(localHostInfo, productConfig, ignoredDomainResourceRegistry, ReadRootResourceHandler.grabDomainResource(operationExecutor).getChildren(HOST).iterator().next());
+                    final ModelNode info = createHostInfo();
+                    final SyncedDomainModel synced = syncedDomainModel;
+                    if (synced != null && synced.hostInfo.equals(info)) {
+                        info.get(DomainModelRevisions.DOMAIN_MODEL_REVISION).set(synced.revision);
+                        presentedDomainModel = synced;
+                    } else {
+                        presentedDomainModel = null;
+                    }
+                    return info;
                 }
 
                 @Override
@@ -515,10 +530,37 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
                 }
 
                 @Override
-                public boolean applyDomainModel(final List<ModelNode> bootOperations) {
+                public boolean applyDomainModel(final List<ModelNode> bootOperations, final ModelNode revision) {
+                    final SyncedDomainModel presented = presentedDomainModel;
+                    presentedDomainModel = null;
+                    // Registering again without a synced domain model reads the complete domain model,
+                    // which is what happens if the changes cannot be applied
+                    syncedDomainModel = null;
+                    ModelNode hostInfo = createHostInfo();
+                    List<ModelNode> domainModel = bootOperations;
+                    if (DomainModelRevisions.isChanges(revision)) {
+                        // The master only sent the resources changed since the revision we presented, and read them
+                        // with the host info we presented along with it
+                        if (presented == null) {
+                            HostControllerLogger.ROOT_LOGGER.debug("Cannot apply the changes of the domain model, as the domain model they apply to is not known");
+                            return false;
+                        }
+                        hostInfo = presented.hostInfo;
+                        try {
+                            domainModel = DomainModelRevisions.applyChanges(presented.domainModel, revision, bootOperations);
+                        } catch (RuntimeException e) {
+                            HostControllerLogger.ROOT_LOGGER.debug("Cannot apply the changes of the domain model", e);
+                            return false;
+                        }
+                        HostControllerLogger.ROOT_LOGGER.debugf("Applying %d changed domain resources provided by master", bootOperations.size());
+                    }
                     // Apply the model.
-                    final HostInfo info = HostInfo.fromModelNode(createLocalHostInfo(), null);
-                    return applyRemoteDomainModel(bootOperations, info);
+                    final boolean applied = applyRemoteDomainModel(domainModel, HostInfo.fromModelNode(hostInfo, null));
+                    final ModelNode appliedRevision = DomainModelRevisions.getRevision(revision);
+                    if (applied && DELTA_SYNC && appliedRevision != null) {
+                        syncedDomainModel = new SyncedDomainModel(hostInfo, appliedRevision, domainModel);
+                    }
+                    return applied;
                 }
 
                 @Override
@@ -538,6 +580,10 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
         this.handler = handler;
     }
 
+    private ModelNode createHostInfo() {
+        return HostInfo.createLocalHostHostInfo(localHostInfo, productConfig, ignoredDomainResourceRegistry, ReadRootResourceHandler.grabDomainResource(operationExecutor).getChildren(HOST).iterator().next());
+    }
+
     /**
      * Resolve the subsystem versions.
      *
@@ -691,37 +737,38 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
         protected void sendRequest(ActiveOperation.ResultHandler<File> resultHandler, ManagementRequestContext<Void> context, FlushableDataOutput output) throws IOException {
             output.write(DomainControllerProtocol.PARAM_HOST_ID);
             output.writeUTF(localHostInfo.getLocalHostName());
-            DomainRemoteFileRequestAndHandler.INSTANCE.sendRequest(output, rootId, filePath);
+            final File deploymentRoot = rootId == DomainControllerProtocol.PARAM_ROOT_ID_DEPLOYMENT ? getLocalPath() : null;
+            DomainRemoteFileRequestAndHandler.INSTANCE.sendRequest(output, rootId, filePath, deploymentRoot);
         }
 
         @Override
         public void handleRequest(DataInput input, ActiveOperation.ResultHandler<File> resultHandler, ManagementRequestContext<Void> context) throws IOException {
-            final File localPath;
+            final File localPath = getLocalPath();
+            try {
+                DomainRemoteFileRequestAndHandler.INSTANCE.handleResponse(input, localPath, ROOT_LOGGER, resultHandler, context);
+            } catch (CannotCreateLocalDirectoryException e) {
+                throw HostControllerLogger.ROOT_LOGGER.cannotCreateLocalDirectory(e.getDir());
+            } catch (DidNotReadEntireFileException e) {
+                throw HostControllerLogger.ROOT_LOGGER.didNotReadEntireFile(e.getMissing());
+            }
+        }
+
+        private File getLocalPath() {
             switch (rootId) {
                 case DomainControllerProtocol.PARAM_ROOT_ID_FILE: {
-                    localPath = localFileRepository.getFile(filePath);
-                    break;
+                    return localFileRepository.getFile(filePath);
                 }
                 case DomainControllerProtocol.PARAM_ROOT_ID_CONFIGURATION: {
-                    localPath = localFileRepository.getConfigurationFile(filePath);
-                    break;
+                    return localFileRepository.getConfigurationFile(filePath);
                 }
                 case DomainControllerProtocol.PARAM_ROOT_ID_DEPLOYMENT: {
                     byte[] hash = HashUtil.hexStringToByteArray(filePath);
-                    localPath = localFileRepository.getDeploymentRoot(new ContentReference(filePath, hash));
-                    break;
+                    return localFileRepository.getDeploymentRoot(new ContentReference(filePath, hash));
                 }
                 default: {
-                    localPath = null;
+                    return null;
                 }
             }
-            try {
-                DomainRemoteFileRequestAndHandler.INSTANCE.handleResponse(input, localPath, ROOT_LOGGER, resultHandler, context);
-            } catch (CannotCreateLocalDirectoryException e) {
-                throw HostControllerLogger.ROOT_LOGGER.cannotCreateLocalDirectory(e.getDir());
-            } catch (DidNotReadEntireFileException e) {
-                throw HostControllerLogger.ROOT_LOGGER.didNotReadEntireFile(e.getMissing());
-            }
         }
     }
 
@@ -825,6 +872,22 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
         }
     }
 
+    /**
+     * The domain model last applied, along with its revision and the host info it was read with. The domain model read
+     * with other host info may differ, even if the domain model of the master did not change.
+     */
+    private static final class SyncedDomainModel {
+        private final ModelNode hostInfo;
+        private final ModelNode revision;
+        private final List<ModelNode> domainModel;
+
+        private SyncedDomainModel(final ModelNode hostInfo, final ModelNode revision, final List<ModelNode> domainModel) {
+            this.hostInfo = hostInfo;
+            this.revision = revision;
+            this.domainModel = domainModel;
+        }
+    }
+
     private static class ReadRootResourceHandler implements OperationStepHandler {
         private Resource resource;
 
@@ -38,6 +38,11 @@ public class DomainRemoteFileRequestAndHandler extends RemoteFileRequestAndHandl
         public byte fileEnd() {
             return DomainControllerProtocol.FILE_END;
         }
+
+        @Override
+        public byte paramFileChunks() {
+            return DomainControllerProtocol.PARAM_FILE_CHUNKS;
+        }
     };
 
     public static final DomainRemoteFileRequestAndHandler INSTANCE = new DomainRemoteFileRequestAndHandler(null);
@@ -44,6 +44,7 @@ import org.jboss.as.controller.transform.TransformationTargetImpl;
 import org.jboss.as.controller.transform.TransformerRegistry;
 import org.jboss.as.controller.transform.Transformers;
 import org.jboss.as.domain.controller.DomainController;
+import org.jboss.as.domain.controller.DomainModelRevisions;
 import org.jboss.as.domain.controller.HostConnectionInfo;
 import org.jboss.as.domain.controller.HostRegistrations;
 import org.jboss.as.domain.controller.LocalHostControllerInfo;
@@ -99,16 +100,18 @@ public class HostControllerRegistrationHandler implements ManagementRequestHandl
     private final HostRegistrations slaveHostRegistrations;
     private final String address;
     private final DomainHostExcludeRegistry domainHostExcludeRegistry;
+    private final DomainModelRevisions domainModelRevisions;
 
     public HostControllerRegistrationHandler(ManagementChannelHandler handler, DomainController domainController, OperationExecutor operationExecutor,
                                              Executor registrations, HostRegistrations slaveHostRegistrations,
-                                             DomainHostExcludeRegistry domainHostExcludeRegistry) {
+                                             DomainHostExcludeRegistry domainHostExcludeRegistry, DomainModelRevisions domainModelRevisions) {
         this.handler = handler;
         this.operationExecutor = operationExecutor;
         this.domainController = domainController;
         this.registrationExecutor = registrations;
         this.slaveHostRegistrations = slaveHostRegistrations;
         this.domainHostExcludeRegistry = domainHostExcludeRegistry;
+        this.domainModelRevisions = domainModelRevisions;
         this.address = HostControllerRegistrationHandler.this.handler.getRemoteAddress().getHostAddress();
     }
 
@@ -372,7 +375,7 @@ public class HostControllerRegistrationHandler implements ManagementRequestHandl
                 // Remotely resolve the subsystem versions and create the transformation
                 registrationContext.processSubsystems(transformers, extensions);
                 // Now run the read-domain model operation
-                final ReadMasterDomainModelHandler handler = new ReadMasterDomainModelHandler(hostInfo, transformers, domainController.getExtensionRegistry(), false);
+                final ReadMasterDomainModelHandler handler = new ReadMasterDomainModelHandler(hostInfo, transformers, domainController.getExtensionRegistry(), false, domainModelRevisions);
                 context.addStep(READ_DOMAIN_MODEL.getOperation(), handler, OperationContext.Stage.MODEL);
 
                 context.completeStep(new OperationContext.ResultHandler() {
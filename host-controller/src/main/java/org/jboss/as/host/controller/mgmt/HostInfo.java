@@ -39,6 +39,7 @@ import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.extension.ExtensionRegistry;
 import org.jboss.as.controller.registry.Resource;
 import org.jboss.as.controller.transform.Transformers;
+import org.jboss.as.domain.controller.DomainModelRevisions;
 import org.jboss.as.domain.controller.LocalHostControllerInfo;
 import org.jboss.as.domain.controller.logging.DomainControllerLogger;
 import org.jboss.as.domain.controller.operations.ReadMasterDomainModelUtil;
@@ -113,6 +114,7 @@ public class HostInfo implements Transformers.ResourceIgnoredTransformationRegis
     private final String productName;
     private final String productVersion;
     private final Long remoteConnectionId;
+    private final ModelNode domainModelRevision;
     private final Transformers.ResourceIgnoredTransformationRegistry ignoredResources;
     private final boolean ignoreUnaffectedConfig;
     private final Set<ServerConfigInfo> serverConfigInfos;
@@ -133,6 +135,8 @@ public class HostInfo implements Transformers.ResourceIgnoredTransformationRegis
         productVersion = hostInfo.hasDefined(PRODUCT_VERSION) ? hostInfo.require(PRODUCT_VERSION).asString() : null;
         remoteConnectionId = hostInfo.hasDefined(RemoteDomainConnectionService.DOMAIN_CONNECTION_ID)
                 ? hostInfo.get(RemoteDomainConnectionService.DOMAIN_CONNECTION_ID).asLong() : null;
+        domainModelRevision = hostInfo.hasDefined(DomainModelRevisions.DOMAIN_MODEL_REVISION)
+                ? hostInfo.get(DomainModelRevisions.DOMAIN_MODEL_REVISION) : null;
         // Legacy hosts may return null - if so, assume default stability per our ProductConfig
         this.stability = Optional.ofNullable(hostInfo.get(ModelDescriptionConstants.STABILITY).asStringOrNull()).map(Stability::valueOf).orElse(Stability.DEFAULT);
 
@@ -213,6 +217,15 @@ public class HostInfo implements Transformers.ResourceIgnoredTransformationRegis
         return remoteConnectionId;
     }
 
+    /**
+     * Gets the revision of the domain model the host last read.
+     *
+     * @return the revision, or {@code null} if the host needs the complete domain model
+     */
+    public ModelNode getDomainModelRevision() {
+        return domainModelRevision;
+    }
+
     public boolean isResourceTransformationIgnored(final PathAddress address) {
         // This resource transformation is only used when registering the host
         // Future operations will send an updated list of ignored-resources
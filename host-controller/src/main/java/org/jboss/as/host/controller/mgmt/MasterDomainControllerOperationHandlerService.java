@@ -28,6 +28,7 @@ import org.jboss.as.controller.remote.ModelControllerClientOperationHandlerFacto
 import org.jboss.as.controller.remote.ResponseAttachmentInputStreamSupport;
 import org.jboss.as.controller.remote.TransactionalProtocolOperationHandler;
 import org.jboss.as.domain.controller.DomainController;
+import org.jboss.as.domain.controller.DomainModelRevisions;
 import org.jboss.as.domain.controller.HostRegistrations;
 import org.jboss.as.domain.controller.logging.DomainControllerLogger;
 import org.jboss.as.domain.controller.operations.FetchMissingConfigurationHandler;
@@ -61,6 +62,7 @@ public class MasterDomainControllerOperationHandlerService extends AbstractModel
     private final File tempDir;
     private final HostRegistrations slaveHostRegistrations;
     private final DomainHostExcludeRegistry domainHostExcludeRegistry;
+    private final DomainModelRevisions domainModelRevisions;
 
     public MasterDomainControllerOperationHandlerService(
             final Consumer<AbstractModelControllerOperationHandlerFactoryService> serviceConsumer,
@@ -69,7 +71,8 @@ public class MasterDomainControllerOperationHandlerService extends AbstractModel
             final Supplier<ScheduledExecutorService> scheduledExecutorSupplier,
             final DomainController domainController, final HostControllerRegistrationHandler.OperationExecutor operationExecutor,
             final TransactionalOperationExecutor txOperationExecutor,
-            final File tempDir, final HostRegistrations slaveHostRegistrations, DomainHostExcludeRegistry domainHostExcludeRegistry) {
+            final File tempDir, final HostRegistrations slaveHostRegistrations, DomainHostExcludeRegistry domainHostExcludeRegistry,
+            final DomainModelRevisions domainModelRevisions) {
         super(serviceConsumer, modelControllerSupplier, executorSupplier, scheduledExecutorSupplier);
         this.domainController = domainController;
         this.operationExecutor = operationExecutor;
@@ -77,6 +80,7 @@ public class MasterDomainControllerOperationHandlerService extends AbstractModel
         this.tempDir = tempDir;
         this.slaveHostRegistrations = slaveHostRegistrations;
         this.domainHostExcludeRegistry = domainHostExcludeRegistry;
+        this.domainModelRevisions = domainModelRevisions;
     }
 
     @Override
@@ -92,7 +96,7 @@ public class MasterDomainControllerOperationHandlerService extends AbstractModel
         handler.getAttachments().attach(ManagementChannelHandler.TEMP_DIR, tempDir);
         // Assemble the request handlers for the domain channel
         handler.addHandlerFactory(new HostControllerRegistrationHandler(handler, domainController, operationExecutor,
-                getExecutor(), slaveHostRegistrations, domainHostExcludeRegistry));
+                getExecutor(), slaveHostRegistrations, domainHostExcludeRegistry, domainModelRevisions));
         handler.addHandlerFactory(new ModelControllerClientOperationHandler(getController(), handler, getResponseAttachmentSupport(), getClientRequestExecutor()));
         handler.addHandlerFactory(new MasterDomainControllerOperationHandlerImpl(domainController, getExecutor()));
         handler.addHandlerFactory(pongRequestHandler);
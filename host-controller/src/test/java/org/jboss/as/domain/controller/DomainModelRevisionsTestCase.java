@@ -0,0 +1,160 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.domain.controller;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.HOST;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PROFILE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSYSTEM;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.as.domain.controller.operations.ReadMasterDomainModelUtil;
+import org.jboss.dmr.ModelNode;
+import org.junit.Test;
+
+/**
+ * Tests of {@link DomainModelRevisions}.
+ */
+public class DomainModelRevisionsTestCase {
+
+    private static final PathAddress PROFILE_A = PathAddress.pathAddress(PROFILE, "a");
+    private static final PathAddress PROFILE_B = PathAddress.pathAddress(PROFILE, "b");
+    private static final PathAddress SUBSYSTEM_A = PROFILE_A.append(SUBSYSTEM, "test");
+    private static final PathAddress ORDERED_A = SUBSYSTEM_A.append("ordered", "1");
+
+    @Test
+    public void testChangesSince() {
+        final DomainModelRevisions revisions = new DomainModelRevisions(3);
+        final ModelNode initial = revisions.getRevision();
+        assertEquals(Collections.emptySet(), revisions.getChangesSince(initial));
+
+        revisions.recordChange(Collections.singleton(PROFILE_A));
+        // host changes are not part of the domain model sent to the hosts
+        revisions.recordChange(Collections.singleton(PathAddress.pathAddress(HOST, "primary")));
+        final ModelNode first = revisions.getRevision();
+        assertEquals(1, first.get("revision").asLong());
+        revisions.recordChange(Collections.singleton(PROFILE_B));
+
+        assertEquals(new HashSet<>(Arrays.asList(PROFILE_A, PROFILE_B)), revisions.getChangesSince(initial));
+        assertEquals(Collections.singleton(PROFILE_B), revisions.getChangesSince(first));
+        assertEquals(Collections.emptySet(), revisions.getChangesSince(revisions.getRevision()));
+
+        // a revision of another domain controller process
+        final ModelNode other = new DomainModelRevisions(3).getRevision();
+        assertNull(revisions.getChangesSince(other));
+        assertNull(revisions.getChangesSince(null));
+        assertNull(revisions.getChangesSince(new ModelNode()));
+
+        // the oldest changes are dropped once the capacity is exceeded
+        revisions.recordChange(new HashSet<>(Arrays.asList(SUBSYSTEM_A, ORDERED_A)));
+        assertNull(revisions.getChangesSince(initial));
+        assertEquals(new HashSet<>(Arrays.asList(PROFILE_B, SUBSYSTEM_A, ORDERED_A)), revisions.getChangesSince(first));
+
+        // a change larger than the capacity drops all changes
+        final ModelNode beforeLargeChange = revisions.getRevision();
+        revisions.recordChange(new HashSet<>(Arrays.asList(PROFILE_A, PROFILE_B, SUBSYSTEM_A, ORDERED_A)));
+        assertNull(revisions.getChangesSince(beforeLargeChange));
+        assertEquals(Collections.emptySet(), revisions.getChangesSince(revisions.getRevision()));
+    }
+
+    @Test
+    public void testApplyChanges() {
+        final Resource root = createRoot();
+        final List<ModelNode> previous = describe(root);
+
+        // change the model of an ordered child, and add a profile
+        root.navigate(ORDERED_A).getModel().get("value").set(2);
+        final Resource profileB = Resource.Factory.create();
+        profileB.getModel().get("value").set(3);
+        root.registerChild(PROFILE_B.getLastElement(), profileB);
+        final List<ModelNode> current = describe(root);
+
+        final Set<PathAddress> changedResources = DomainModelRevisions.getChangedResources(
+                new HashSet<>(Arrays.asList(ORDERED_A, PROFILE_B)), root);
+        // all children of an ordered child type are sent
+        assertEquals(new HashSet<>(Arrays.asList(SUBSYSTEM_A, PROFILE_B)), changedResources);
+        final List<ModelNode> changed = DomainModelRevisions.getChangedDescriptions(current, changedResources);
+        assertEquals(4, changed.size());
+
+        final ModelNode headers = new ModelNode();
+        DomainModelRevisions.addResponseHeader(headers, new DomainModelRevisions(1).getRevision(), changedResources);
+        final ModelNode header = headers.get(DomainModelRevisions.DOMAIN_MODEL_REVISION);
+        assertTrue(DomainModelRevisions.isChanges(header));
+
+        final List<ModelNode> applied = DomainModelRevisions.applyChanges(previous, header, changed);
+        assertEquals(toSet(current), toSet(applied));
+        // the ordered children keep their order
+        final List<ModelNode> ordered = new ArrayList<>();
+        for (ModelNode description : applied) {
+            final PathAddress address = PathAddress.pathAddress(description.get(ReadMasterDomainModelUtil.DOMAIN_RESOURCE_ADDRESS));
+            if (address.size() > 0 && address.getParent().equals(SUBSYSTEM_A)) {
+                ordered.add(description.get(ReadMasterDomainModelUtil.DOMAIN_RESOURCE_ADDRESS));
+            }
+        }
+        assertEquals(Arrays.asList(ORDERED_A.toModelNode(), SUBSYSTEM_A.append("ordered", "0").toModelNode()), ordered);
+    }
+
+    @Test
+    public void testRootChange() {
+        final Resource root = createRoot();
+        assertNull(DomainModelRevisions.getChangedResources(Collections.singleton(PathAddress.EMPTY_ADDRESS), root));
+
+        final ModelNode headers = new ModelNode();
+        DomainModelRevisions.addResponseHeader(headers, new DomainModelRevisions(1).getRevision(), null);
+        final ModelNode header = headers.get(DomainModelRevisions.DOMAIN_MODEL_REVISION);
+        assertFalse(DomainModelRevisions.isChanges(header));
+        assertEquals(0, DomainModelRevisions.getRevision(header).get("revision").asLong());
+    }
+
+    private static Resource createRoot() {
+        final Resource root = Resource.Factory.create();
+        final Resource profile = Resource.Factory.create();
+        root.registerChild(PROFILE_A.getLastElement(), profile);
+        final Resource subsystem = Resource.Factory.create(false, Collections.singleton("ordered"));
+        profile.registerChild(SUBSYSTEM_A.getLastElement(), subsystem);
+        final Resource first = Resource.Factory.create();
+        first.getModel().get("value").set(1);
+        subsystem.registerChild(ORDERED_A.getLastElement(), first);
+        final Resource second = Resource.Factory.create();
+        second.getModel().get("value").set(0);
+        subsystem.registerChild(PathElement.pathElement("ordered", "0"), second);
+        return root;
+    }
+
+    private static List<ModelNode> describe(final Resource root) {
+        final List<ModelNode> result = new ArrayList<>();
+        describe(PathAddress.EMPTY_ADDRESS, root, result);
+        return result;
+    }
+
+    private static void describe(final PathAddress address, final Resource resource, final List<ModelNode> result) {
+        final ModelNode description = new ModelNode();
+        description.get(ReadMasterDomainModelUtil.DOMAIN_RESOURCE_ADDRESS).set(address.toModelNode());
+        description.get(ReadMasterDomainModelUtil.DOMAIN_RESOURCE_MODEL).set(resource.getModel());
+        result.add(description);
+        for (String type : resource.getChildTypes()) {
+            for (Resource.ResourceEntry child : resource.getChildren(type)) {
+                describe(address.append(child.getPathElement()), child, result);
+            }
+        }
+    }
+
+    private static Set<ModelNode> toSet(final List<ModelNode> descriptions) {
+        return new HashSet<>(descriptions);
+    }
+}
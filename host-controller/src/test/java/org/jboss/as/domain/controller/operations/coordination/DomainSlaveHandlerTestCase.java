@@ -0,0 +1,95 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.domain.controller.operations.coordination;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+import org.jboss.as.controller.BlockingTimeout;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.client.OperationResponse;
+import org.jboss.as.controller.remote.TransactionalProtocolClient;
+import org.jboss.as.controller.transform.OperationRejectionPolicy;
+import org.jboss.as.domain.controller.LocalHostControllerInfo;
+import org.jboss.dmr.ModelNode;
+import org.jboss.threads.AsyncFuture;
+import org.jboss.threads.AsyncFutureTask;
+import org.junit.Test;
+
+/**
+ * Tests of the collection of the final results of the hosts by {@link DomainSlaveHandler}.
+ */
+public class DomainSlaveHandlerTestCase {
+
+    @Test
+    public void testResultCompletedAtDeadlineIsCollected() {
+        final MultiphaseOverallContext multiphaseContext = new MultiphaseOverallContext(mock(LocalHostControllerInfo.class));
+        final DomainSlaveHandler handler = new DomainSlaveHandler(Collections.emptyMap(), multiphaseContext, new HostOperationStatistics());
+
+        // The listeners of the late host's result are not run, as if its result arrived when the deadline expired,
+        // before its completion was queued
+        final List<Runnable> deferred = new ArrayList<>();
+        final FinalResult late = new FinalResult(deferred::add);
+        final FinalResult slow = new FinalResult(Runnable::run);
+
+        final List<TransactionalProtocolClient.PreparedOperation<HostControllerUpdateTask.ProxyOperation>> results = new ArrayList<>();
+        final Map<String, HostControllerUpdateTask.ExecutedHostRequest> finalResults = new HashMap<>();
+        addHost("late", late, results, finalResults);
+        addHost("slow", slow, results, finalResults);
+
+        final ModelNode response = new ModelNode();
+        response.get(OUTCOME).set(SUCCESS);
+        late.complete(OperationResponse.Factory.createSimple(response));
+
+        final BlockingTimeout blockingTimeout = mock(BlockingTimeout.class);
+        when(blockingTimeout.getDomainBlockingTimeout(false)).thenReturn(100);
+        handler.finalizeOp(results, finalResults, false, mock(OperationContext.class), blockingTimeout);
+
+        final Map<String, ModelNode> hostResults = multiphaseContext.getHostControllerFinalResults();
+        assertEquals(Collections.singleton("late"), hostResults.keySet());
+        assertEquals(SUCCESS, hostResults.get("late").get(OUTCOME).asString());
+        assertEquals(AsyncFuture.Status.CANCELLED, slow.getStatus());
+        assertFalse(Thread.interrupted());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void addHost(final String name, final FinalResult finalResult,
+                                final List<TransactionalProtocolClient.PreparedOperation<HostControllerUpdateTask.ProxyOperation>> results,
+                                final Map<String, HostControllerUpdateTask.ExecutedHostRequest> finalResults) {
+        final TransactionalProtocolClient.PreparedOperation<HostControllerUpdateTask.ProxyOperation> prepared = mock(TransactionalProtocolClient.PreparedOperation.class);
+        when(prepared.getOperation()).thenReturn(new HostControllerUpdateTask.ProxyOperation(name, new ModelNode(), null, null));
+        when(prepared.getFinalResult()).thenReturn(finalResult);
+        results.add(prepared);
+        finalResults.put(name, new HostControllerUpdateTask.ExecutedHostRequest(finalResult, result -> result, mock(OperationRejectionPolicy.class)));
+    }
+
+    private static final class FinalResult extends AsyncFutureTask<OperationResponse> {
+
+        FinalResult(final Executor executor) {
+            super(executor);
+        }
+
+        void complete(final OperationResponse response) {
+            setResult(response);
+        }
+
+        @Override
+        public void asyncCancel(final boolean interruptionDesired) {
+            setCancelled();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.domain.controller.operations.coordination;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Tests of {@link HostOperationStatistics}.
+ */
+public class HostOperationStatisticsTestCase {
+
+    @Test
+    public void testRecord() {
+        final HostOperationStatistics statistics = new HostOperationStatistics();
+        assertNull(statistics.getHost("secondary"));
+
+        statistics.recordPrepared("secondary", TimeUnit.MILLISECONDS.toNanos(10));
+        statistics.recordPrepared("secondary", TimeUnit.MILLISECONDS.toNanos(30));
+        statistics.recordCompleted("secondary", TimeUnit.MILLISECONDS.toNanos(5));
+        statistics.recordPrepared("other", TimeUnit.MILLISECONDS.toNanos(1));
+
+        final HostOperationStatistics.Host host = statistics.getHost("secondary");
+        assertNotNull(host);
+        assertEquals(2, host.getPreparedCount());
+        assertEquals(40, host.getPrepareTime());
+        assertEquals(30, host.getMaxPrepareTime());
+        assertEquals(1, host.getCompletedCount());
+        assertEquals(5, host.getCompletionTime());
+        assertEquals(5, host.getMaxCompletionTime());
+
+        statistics.retainHosts(Collections.singleton("other"));
+        assertNull(statistics.getHost("secondary"));
+        assertNotNull(statistics.getHost("other"));
+    }
+}
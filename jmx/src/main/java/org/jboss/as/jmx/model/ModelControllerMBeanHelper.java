@@ -7,12 +7,17 @@ package org.jboss.as.jmx.model;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ACCESS_MECHANISM;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADD;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTRIBUTES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTRIBUTES_ONLY;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILURE_DESCRIPTION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INCLUDE_ALIASES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INCLUDE_DEFAULTS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INCLUDE_RUNTIME;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_HEADERS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_ATTRIBUTE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REPLY_PROPERTIES;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REQUEST_PROPERTIES;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
@@ -23,6 +28,8 @@ import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 
@@ -83,6 +90,7 @@ public class ModelControllerMBeanHelper {
     private final String domain;
     private final ObjectInstance rootObjectInstance;
     private final ManagementModelIntegration.ManagementModelProvider managementModelProvider;
+    private final RuntimeAttributeCache runtimeAttributeCache = RuntimeAttributeCache.create();
 
     ModelControllerMBeanHelper(TypeConverters converters, ConfiguredDomains configuredDomains, String domain,
                                ModelController controller, MutabilityChecker mutabilityChecker,
@@ -271,38 +279,134 @@ public class ModelControllerMBeanHelper {
             throw JmxLogger.ROOT_LOGGER.mbeanNotFound(name);
         }
         final ResourceAccessControl accessControl = accessControlUtil.getResourceAccessWithInstanceNotFoundExceptionIfNotAccessible(name, address, false);
-        AttributeList list = new AttributeList();
-        for (String attribute : attributes) {
-            try {
-                list.add(new Attribute(attribute, getAttribute(reg, address, attribute, accessControl)));
-            } catch (AttributeNotFoundException e) {
-                throw new ReflectionException(e);
+        final ImmutableManagementResourceRegistration registration = getMBeanRegistration(address, reg);
+        final Map<String, AttributeAccess> attributeAccess = registration.getAttributes(PathAddress.EMPTY_ADDRESS);
+        final String[] attributeNames = new String[attributes.length];
+        try {
+            for (int i = 0; i < attributes.length; i++) {
+                attributeNames[i] = findReadableAttributeName(attributeAccess, attributes[i], accessControl);
             }
+            // Read all the attributes with a single operation
+            final Map<String, ModelNode> values = readAttributeValues(address, attributeNames, attributeAccess);
+            AttributeList list = new AttributeList();
+            for (int i = 0; i < attributes.length; i++) {
+                list.add(new Attribute(attributes[i], convertAttributeValue(attributeNames[i], registration, attributeAccess, values.get(attributeNames[i]))));
+            }
+            return list;
+        } catch (AttributeNotFoundException e) {
+            throw new ReflectionException(e);
         }
-        return list;
     }
 
     private Object getAttribute(final ManagementModelIntegration.ResourceAndRegistration reg, final PathAddress address, final String attribute, final ResourceAccessControl accessControl)  throws ReflectionException, AttributeNotFoundException, InstanceNotFoundException {
         final ImmutableManagementResourceRegistration registration = getMBeanRegistration(address, reg);
         final Map<String, AttributeAccess> attributes = registration.getAttributes(PathAddress.EMPTY_ADDRESS);
-        final String attributeName = findAttributeName(attributes.keySet(), attribute);
+        final String attributeName = findReadableAttributeName(attributes, attribute, accessControl);
+        final Map<String, ModelNode> values = readAttributeValues(address, new String[] {attributeName}, attributes);
+        return convertAttributeValue(attributeName, registration, attributes, values.get(attributeName));
+    }
 
+    private String findReadableAttributeName(final Map<String, AttributeAccess> attributes, final String attribute, final ResourceAccessControl accessControl) throws AttributeNotFoundException {
+        final String attributeName = findAttributeName(attributes.keySet(), attribute);
         if (!accessControl.isReadableAttribute(attributeName)) {
             throw JmxLogger.ROOT_LOGGER.notAuthorizedToReadAttribute(attributeName);
         }
+        return attributeName;
+    }
 
+    /**
+     * Reads the values of attributes of a resource. Several attributes are read with one {@code read-resource}, so that
+     * they share a single operation context and authorization. As that computes every runtime attribute of the resource
+     * when runtime attributes are included, runtime attributes are only read with it if they make up at least half of
+     * the runtime attributes of the resource, and otherwise read one by one with {@code read-attribute}. So is a single
+     * attribute, and so are all of them if the {@code read-resource} fails, e.g. because of a failing metric. Values of
+     * runtime attributes are taken from the {@link RuntimeAttributeCache} when it is enabled.
+     */
+    private Map<String, ModelNode> readAttributeValues(final PathAddress address, final String[] attributeNames, final Map<String, AttributeAccess> attributes) throws AttributeNotFoundException {
+        final Map<String, ModelNode> values = new LinkedHashMap<>();
+        final Set<String> configToRead = new LinkedHashSet<>();
+        final Set<String> runtimeToRead = new LinkedHashSet<>();
+        for (String attributeName : attributeNames) {
+            if (values.containsKey(attributeName)) {
+                continue;
+            }
+            if (attributes.get(attributeName).getStorageType() == AttributeAccess.Storage.RUNTIME) {
+                final ModelNode cached = runtimeAttributeCache != null ? runtimeAttributeCache.get(address, attributeName) : null;
+                if (cached != null) {
+                    values.put(attributeName, cached);
+                } else {
+                    runtimeToRead.add(attributeName);
+                }
+            } else {
+                configToRead.add(attributeName);
+            }
+        }
 
-        ModelNode op = new ModelNode();
-        op.get(OP).set(READ_ATTRIBUTE_OPERATION);
-        op.get(OP_ADDR).set(address.toModelNode());
-        op.get(NAME).set(attributeName);
-        ModelNode result = execute(op);
-        String error = getFailureDescription(result);
-        if (error != null) {
-            throw new AttributeNotFoundException(error);
+        int runtimeAttributes = 0;
+        for (AttributeAccess access : attributes.values()) {
+            if (access.getStorageType() == AttributeAccess.Storage.RUNTIME) {
+                runtimeAttributes++;
+            }
         }
+        final boolean includeRuntime = !runtimeToRead.isEmpty() && runtimeToRead.size() * 2 >= runtimeAttributes;
+        final Set<String> toRead = new LinkedHashSet<>(configToRead);
+        final Set<String> toReadSingly = new LinkedHashSet<>();
+        if (includeRuntime) {
+            toRead.addAll(runtimeToRead);
+        } else {
+            toReadSingly.addAll(runtimeToRead);
+        }
+        if (toRead.size() == 1) {
+            toReadSingly.addAll(toRead);
+        } else if (!toRead.isEmpty()) {
+            ModelNode op = new ModelNode();
+            op.get(OP).set(READ_RESOURCE_OPERATION);
+            op.get(OP_ADDR).set(address.toModelNode());
+            op.get(ATTRIBUTES_ONLY).set(true);
+            op.get(INCLUDE_RUNTIME).set(includeRuntime);
+            op.get(INCLUDE_DEFAULTS).set(true);
+            op.get(INCLUDE_ALIASES).set(true);
+            ModelNode result = execute(op);
+            if (getFailureDescription(result) != null) {
+                // e.g. a failing metric; find out which attribute fails, as reading them one by one would
+                toReadSingly.addAll(toRead);
+            } else {
+                final ModelNode resourceValues = result.get(RESULT);
+                for (String attributeName : toRead) {
+                    if (resourceValues.has(attributeName)) {
+                        putAttributeValue(values, address, attributeName, resourceValues.get(attributeName), attributes);
+                    } else {
+                        // not returned by read-resource, so read-attribute reports why
+                        toReadSingly.add(attributeName);
+                    }
+                }
+            }
+        }
+        for (String attributeName : toReadSingly) {
+            ModelNode op = new ModelNode();
+            op.get(OP).set(READ_ATTRIBUTE_OPERATION);
+            op.get(OP_ADDR).set(address.toModelNode());
+            op.get(NAME).set(attributeName);
+            ModelNode result = execute(op);
+            String error = getFailureDescription(result);
+            if (error != null) {
+                throw new AttributeNotFoundException(error);
+            }
+            putAttributeValue(values, address, attributeName, result.get(RESULT), attributes);
+        }
+        return values;
+    }
+
+    private void putAttributeValue(final Map<String, ModelNode> values, final PathAddress address, final String attributeName, final ModelNode value, final Map<String, AttributeAccess> attributes) {
+        values.put(attributeName, value);
+        if (runtimeAttributeCache != null && attributes.get(attributeName).getStorageType() == AttributeAccess.Storage.RUNTIME) {
+            runtimeAttributeCache.put(address, attributeName, value);
+        }
+    }
+
+    private Object convertAttributeValue(final String attributeName, final ImmutableManagementResourceRegistration registration, final Map<String, AttributeAccess> attributes, final ModelNode value) {
         ModelNode attrDesc = getAttributeDescription(attributeName, registration, attributes);
-        return converters.fromModelNode(attributes.get(attributeName).getAttributeDefinition(), attrDesc, result.get(RESULT));
+        return converters.fromModelNode(attributes.get(attributeName).getAttributeDefinition(), attrDesc, value);
     }
 
     private ModelNode getAttributeDescription(String attributeName, ImmutableManagementResourceRegistration registration, Map<String, AttributeAccess> attributes) {
@@ -394,6 +498,9 @@ public class ModelControllerMBeanHelper {
             }
             throw new InvalidAttributeValueException(error);
         }
+        if (runtimeAttributeCache != null) {
+            runtimeAttributeCache.invalidate(address);
+        }
     }
 
     ObjectInstance getObjectInstance(ObjectName name) throws InstanceNotFoundException {
@@ -629,6 +736,7 @@ public class ModelControllerMBeanHelper {
         private final ObjectName domainOnlyName;
         private final boolean propertyListPattern;
         private final ObjectNameAddressUtil.ObjectNameCreationContext creationContext = ObjectNameAddressUtil.ObjectNameCreationContext.create();
+        private final ObjectNameKeyIndex keyIndex;
 
         ObjectNameMatchResourceAction(ObjectName baseName) {
             this.baseName = baseName;
@@ -639,6 +747,8 @@ public class ModelControllerMBeanHelper {
                 throw new IllegalStateException(e);
             }
             this.propertyListPattern = baseName != null && baseName.isPropertyListPattern();
+            this.keyIndex = properties.isEmpty() ? null
+                    : new ObjectNameKeyIndex(getRootResourceAndRegistration().getRegistration(), creationContext);
         }
 
         @Override
@@ -679,11 +789,29 @@ public class ModelControllerMBeanHelper {
                         }
                     }
                 }
+                if (matches && !canContainMissingKeys(address, toMatch)) {
+                    // Neither the address nor any of its children can match
+                    matches = false;
+                }
                 if (matches) {
                     result = toMatch;
                 }
             }
             return result;
         }
+
+        private boolean canContainMissingKeys(PathAddress address, ObjectName toMatch) {
+            Map<String, String> present = toMatch.getKeyPropertyList();
+            Set<String> missing = null;
+            for (String key : properties.keySet()) {
+                if (!present.containsKey(key)) {
+                    if (missing == null) {
+                        missing = new HashSet<>();
+                    }
+                    missing.add(key);
+                }
+            }
+            return missing == null || keyIndex.canContain(address, missing);
+        }
     }
 }
@@ -274,6 +274,18 @@ class ObjectNameAddressUtil {
         return null;
     }
 
+    /**
+     * Escapes a key of a {@link PathElement} the same way as {@link #createObjectName(String, PathAddress, ObjectNameCreationContext)}.
+     * @param key the key
+     * @param context contextual objection that allows this method to cache state across invocations. May be {@code null}
+     * @return the key as it appears in the ObjectName. Will not return {@code null}
+     */
+    static String escapeKey(final String key, ObjectNameCreationContext context) {
+        final StringBuilder sb = new StringBuilder();
+        escapeKey(ESCAPED_KEY_CHARACTERS, sb, key, context);
+        return sb.toString();
+    }
+
     private static void escapeKey(EscapedCharacter[] escapedCharacters, StringBuilder sb, String value, ObjectNameCreationContext context) {
         String escaped = context == null ? null : context.getCachedKey(value);
         if (escaped == null) {
@@ -0,0 +1,93 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.jmx.model;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.registry.ImmutableManagementResourceRegistration;
+
+/**
+ * Index of the ObjectName keys that can occur in the names of the descendants of the resources of each resource
+ * registration. A query with a pattern name can use it to skip the parts of the management model that cannot contain
+ * a resource with all the keys of the pattern, e.g. the subsystems of the server when querying
+ * {@code jboss.as:deployment=*,subsystem=undertow,*}, without visiting each resource below them.
+ * <p>
+ * The index is built lazily from the resource registrations, so it only costs a visit of the registrations of the
+ * parts of the model the query reaches. Registrations can change, e.g. when an extension is added, so an index must
+ * only be used for a single query. An index is not thread safe.
+ * </p>
+ */
+final class ObjectNameKeyIndex {
+
+    /** Marker of a registration whose descendants are unknown, so any key can occur below it */
+    private static final Set<String> ANY_KEY = Collections.unmodifiableSet(new HashSet<>());
+
+    private final ImmutableManagementResourceRegistration rootRegistration;
+    private final ObjectNameAddressUtil.ObjectNameCreationContext creationContext;
+    private final Map<ImmutableManagementResourceRegistration, Set<String>> descendantKeys = new IdentityHashMap<>();
+
+    ObjectNameKeyIndex(final ImmutableManagementResourceRegistration rootRegistration,
+                       final ObjectNameAddressUtil.ObjectNameCreationContext creationContext) {
+        this.rootRegistration = rootRegistration;
+        this.creationContext = creationContext;
+    }
+
+    /**
+     * Gets whether the names of the descendants of a resource can contain some keys.
+     *
+     * @param address the address of the resource
+     * @param keys the escaped ObjectName keys
+     * @return {@code false} if no descendant of the resource can have all the keys in its name, {@code true} otherwise
+     */
+    boolean canContain(final PathAddress address, final Set<String> keys) {
+        final ImmutableManagementResourceRegistration registration = rootRegistration.getSubModel(address);
+        if (registration == null) {
+            return true;
+        }
+        final Set<String> reachable = getDescendantKeys(registration);
+        return reachable == ANY_KEY || reachable.containsAll(keys);
+    }
+
+    private Set<String> getDescendantKeys(final ImmutableManagementResourceRegistration registration) {
+        Set<String> keys = descendantKeys.get(registration);
+        if (keys != null) {
+            return keys;
+        }
+        if (registration.isRemote()) {
+            // the descendants of a proxy are not registered here
+            descendantKeys.put(registration, ANY_KEY);
+            return ANY_KEY;
+        }
+        // guards against registrations that are reachable from their own descendants
+        descendantKeys.put(registration, ANY_KEY);
+        keys = new HashSet<>();
+        for (PathElement element : registration.getChildAddresses(PathAddress.EMPTY_ADDRESS)) {
+            final ImmutableManagementResourceRegistration child = registration.getSubModel(PathAddress.pathAddress(element));
+            if (child == null) {
+                keys = ANY_KEY;
+                break;
+            }
+            if (child.isAlias()) {
+                // aliases are not resources of the model
+                continue;
+            }
+            final Set<String> childKeys = getDescendantKeys(child);
+            if (childKeys == ANY_KEY) {
+                keys = ANY_KEY;
+                break;
+            }
+            keys.add(ObjectNameAddressUtil.escapeKey(element.getKey(), creationContext));
+            keys.addAll(childKeys);
+        }
+        descendantKeys.put(registration, keys);
+        return keys;
+    }
+}
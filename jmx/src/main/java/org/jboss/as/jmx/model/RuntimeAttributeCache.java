@@ -0,0 +1,127 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.jmx.model;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.logging.ControllerLogger;
+import org.jboss.dmr.ModelNode;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Short-lived cache of the values of runtime attributes read through JMX, so that several clients polling the same
+ * metrics within the time to live read them from the management model only once.
+ * <p>
+ * The time to live is set in milliseconds by the {@value #TTL_PROPERTY} system property. The cache is disabled by
+ * default. Values are cached after the caller has been authorized to read the attribute, and each caller is
+ * authorized before a cached value is returned.
+ * </p>
+ */
+final class RuntimeAttributeCache {
+
+    static final String TTL_PROPERTY = "org.wildfly.jmx.runtime-attribute-cache-ttl";
+
+    private final long ttl;
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    private volatile long nextPurge;
+
+    /**
+     * Creates a cache with the time to live set by the {@value #TTL_PROPERTY} system property.
+     *
+     * @return the cache, or {@code null} if caching is disabled, which includes a value that is not a number
+     */
+    static RuntimeAttributeCache create() {
+        final String value = WildFlySecurityManager.getPropertyPrivileged(TTL_PROPERTY, null);
+        long ttl = 0;
+        if (value != null) {
+            try {
+                ttl = Long.parseLong(value.trim());
+            } catch (NumberFormatException e) {
+                ControllerLogger.ROOT_LOGGER.invalidSystemPropertyValue(value, TTL_PROPERTY, 0);
+            }
+        }
+        return ttl > 0 ? new RuntimeAttributeCache(ttl, TimeUnit.MILLISECONDS) : null;
+    }
+
+    RuntimeAttributeCache(final long ttl, final TimeUnit unit) {
+        this.ttl = unit.toNanos(ttl);
+        this.nextPurge = System.nanoTime() + this.ttl;
+    }
+
+    /**
+     * Gets a value that has not expired yet.
+     *
+     * @param address the address of the resource
+     * @param attributeName the name of the attribute
+     * @return the value, or {@code null} if none is cached
+     */
+    ModelNode get(final PathAddress address, final String attributeName) {
+        final Entry entry = entries.get(new Key(address, attributeName));
+        // the value is shared by the callers, which may modify the returned node
+        return entry != null && entry.expiry - System.nanoTime() > 0 ? entry.value.clone() : null;
+    }
+
+    void put(final PathAddress address, final String attributeName, final ModelNode value) {
+        final long now = System.nanoTime();
+        entries.put(new Key(address, attributeName), new Entry(value.clone(), now + ttl));
+        if (now - nextPurge > 0) {
+            // drop the values of resources that are no longer polled, or were removed
+            nextPurge = now + ttl;
+            entries.values().removeIf(entry -> entry.expiry - now <= 0);
+        }
+    }
+
+    /**
+     * Discards the values of a resource, e.g. after one of its attributes was written.
+     *
+     * @param address the address of the resource
+     */
+    void invalidate(final PathAddress address) {
+        entries.keySet().removeIf(key -> key.address.equals(address));
+    }
+
+    private static final class Key {
+        private final PathAddress address;
+        private final String attributeName;
+        private final int hash;
+
+        private Key(final PathAddress address, final String attributeName) {
+            this.address = address;
+            this.attributeName = attributeName;
+            this.hash = Objects.hash(address, attributeName);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) obj;
+            return attributeName.equals(other.attributeName) && address.equals(other.address);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class Entry {
+        private final ModelNode value;
+        private final long expiry;
+
+        private Entry(final ModelNode value, final long expiry) {
+            this.value = value;
+            this.expiry = expiry;
+        }
+    }
+}
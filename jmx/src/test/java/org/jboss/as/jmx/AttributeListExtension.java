@@ -0,0 +1,124 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.jmx;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADD;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSYSTEM;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.VALUE;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.jboss.as.controller.AbstractAddStepHandler;
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.Extension;
+import org.jboss.as.controller.ExtensionContext;
+import org.jboss.as.controller.ModelOnlyWriteAttributeHandler;
+import org.jboss.as.controller.ModelVersion;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.ResourceBuilder;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SubsystemRegistration;
+import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
+import org.jboss.as.controller.parsing.ExtensionParsingContext;
+import org.jboss.as.controller.registry.AttributeAccess;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.staxmapper.XMLElementReader;
+import org.jboss.staxmapper.XMLExtendedStreamReader;
+
+/**
+ * A subsystem with configuration, alias and runtime attributes, for reading attribute lists. It counts how often its
+ * expensive metrics are computed, and one of its metrics fails once broken.
+ */
+class AttributeListExtension implements Extension {
+
+    static final String NAMESPACE = "urn:jboss:mbean.model.test";
+
+    static final AtomicInteger EXPENSIVE_READS = new AtomicInteger();
+    static final AtomicBoolean BROKEN = new AtomicBoolean();
+
+    private static final PathElement SUBSYSTEM_PATH = PathElement.pathElement(SUBSYSTEM, "test");
+
+    private static final AttributeDefinition CONFIGURED = new SimpleAttributeDefinitionBuilder("configured", ModelType.STRING, true)
+            .setDefaultValue(new ModelNode("default"))
+            .build();
+
+    private static final AttributeDefinition ALIASED = new SimpleAttributeDefinitionBuilder("aliased", ModelType.STRING, true)
+            .setFlags(AttributeAccess.Flag.ALIAS)
+            .build();
+
+    private static final AttributeDefinition SMALL = metric("small");
+    private static final AttributeDefinition TINY = metric("tiny");
+    private static final AttributeDefinition LARGE = metric("large");
+    private static final AttributeDefinition HUGE = metric("huge");
+    private static final AttributeDefinition FAILING = metric("failing");
+
+    private static AttributeDefinition metric(String name) {
+        return new SimpleAttributeDefinitionBuilder(name, ModelType.LONG)
+                .setUndefinedMetricValue(ModelNode.ZERO)
+                .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+                .build();
+    }
+
+    @Override
+    public void initialize(ExtensionContext context) {
+
+        final SubsystemRegistration subsystem = context.registerSubsystem("test", ModelVersion.create(1));
+
+        ResourceBuilder builder = ResourceBuilder.Factory.create(SUBSYSTEM_PATH, NonResolvingResourceDescriptionResolver.INSTANCE)
+                .setAddOperation(TestSubystemAdd.INSTANCE)
+                .addReadWriteAttribute(CONFIGURED, null, ModelOnlyWriteAttributeHandler.INSTANCE)
+                .addReadWriteAttribute(ALIASED,
+                        (ctx, operation) -> ctx.getResult().set(CONFIGURED.resolveModelAttribute(ctx, ctx.readResource(PathAddress.EMPTY_ADDRESS).getModel())),
+                        (ctx, operation) -> ctx.readResourceForUpdate(PathAddress.EMPTY_ADDRESS).getModel().get(CONFIGURED.getName()).set(operation.get(VALUE)))
+                .addMetric(SMALL, (ctx, operation) -> ctx.getResult().set(1L))
+                .addMetric(TINY, (ctx, operation) -> ctx.getResult().set(2L))
+                .addMetric(LARGE, (ctx, operation) -> ctx.getResult().set(EXPENSIVE_READS.incrementAndGet()))
+                .addMetric(HUGE, (ctx, operation) -> ctx.getResult().set(EXPENSIVE_READS.incrementAndGet()))
+                .addMetric(FAILING, (ctx, operation) -> {
+                    if (BROKEN.get()) {
+                        throw new OperationFailedException("broken");
+                    }
+                    ctx.getResult().set(3L);
+                });
+
+        subsystem.registerSubsystemModel(builder.build());
+    }
+
+    @Override
+    public void initializeParsers(ExtensionParsingContext context) {
+        context.setSubsystemXmlMapping("test", NAMESPACE, new TestExtensionParser());
+    }
+
+    static class TestExtensionParser implements XMLElementReader<List<ModelNode>> {
+        @Override
+        public void readElement(XMLExtendedStreamReader reader, List<ModelNode> list) throws XMLStreamException {
+            reader.next();
+            ModelNode add = new ModelNode();
+            add.get(OP).set(ADD);
+            add.get(OP_ADDR).set(PathAddress.pathAddress(SUBSYSTEM_PATH).toModelNode());
+            add.get(CONFIGURED.getName()).set("value");
+            list.add(add);
+        }
+    }
+
+    static class TestSubystemAdd extends AbstractAddStepHandler {
+        static final TestSubystemAdd INSTANCE = new TestSubystemAdd();
+
+        @Override
+        protected void populateModel(ModelNode operation, ModelNode model) throws OperationFailedException {
+            CONFIGURED.validateAndSet(operation, model);
+        }
+    }
+}
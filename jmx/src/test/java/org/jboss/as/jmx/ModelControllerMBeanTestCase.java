@@ -45,6 +45,7 @@ import javax.management.ObjectInstance;
 import javax.management.ObjectName;
 import javax.management.Query;
 import javax.management.QueryExp;
+import javax.management.ReflectionException;
 import javax.management.RuntimeOperationsException;
 import javax.management.openmbean.CompositeData;
 import javax.management.openmbean.CompositeDataSupport;
@@ -1421,6 +1422,77 @@ public class ModelControllerMBeanTestCase extends AbstractSubsystemTest {
         checkMapOfMapsEntry(1003, "Hello c", mapOfMaps, "C");
     }
 
+    @Test
+    public void testGetAttributes() throws Exception {
+        MBeanServerConnection connection = setupAndGetConnection(new MBeanInfoAdditionalInitialization(ProcessType.STANDALONE_SERVER, new AttributeListExtension()));
+        ObjectName name = createObjectName(LEGACY_DOMAIN + ":subsystem=test");
+        AttributeListExtension.EXPENSIVE_READS.set(0);
+        AttributeListExtension.BROKEN.set(false);
+
+        // an alias and less than half of the runtime attributes; only the configuration attributes are read with
+        // read-resource, as including runtime attributes would compute the expensive metrics
+        String[] attrNames = new String[]{"configured", "aliased", "small", "tiny"};
+        AttributeList list = connection.getAttributes(name, attrNames);
+        Assert.assertEquals(attrNames.length, list.size());
+        checkListedValues(list, attrNames, "value", "value", 1L, 2L);
+        Assert.assertEquals(0, AttributeListExtension.EXPENSIVE_READS.get());
+
+        // a single expensive metric along with configuration attributes is read on its own
+        attrNames = new String[]{"configured", "aliased", "large"};
+        list = connection.getAttributes(name, attrNames);
+        checkListedValues(list, new String[]{"configured", "aliased"}, "value", "value");
+        Assert.assertEquals(1, AttributeListExtension.EXPENSIVE_READS.get());
+
+        // at least half of the runtime attributes are read with one read-resource, which computes every metric
+        AttributeListExtension.EXPENSIVE_READS.set(0);
+        attrNames = new String[]{"small", "tiny", "large"};
+        list = connection.getAttributes(name, attrNames);
+        Assert.assertEquals(attrNames.length, list.size());
+        checkListedValues(list, new String[]{"small", "tiny"}, 1L, 2L);
+        Assert.assertEquals(2, AttributeListExtension.EXPENSIVE_READS.get());
+
+        // most of the runtime attributes, read along with the configuration attributes
+        AttributeListExtension.EXPENSIVE_READS.set(0);
+        attrNames = new String[]{"aliased", "small", "tiny", "large", "huge"};
+        list = connection.getAttributes(name, attrNames);
+        Assert.assertEquals(attrNames.length, list.size());
+        checkListedValues(list, new String[]{"aliased", "small", "tiny"}, "value", 1L, 2L);
+        Assert.assertEquals(2, AttributeListExtension.EXPENSIVE_READS.get());
+
+        AttributeListExtension.BROKEN.set(true);
+        try {
+            // the failing metric fails the read-resource although it was not requested, so the requested
+            // attributes are read one by one instead
+            AttributeListExtension.EXPENSIVE_READS.set(0);
+            attrNames = new String[]{"configured", "small", "tiny", "huge"};
+            list = connection.getAttributes(name, attrNames);
+            Assert.assertEquals(attrNames.length, list.size());
+            checkListedValues(list, new String[]{"configured", "small", "tiny"}, "value", 1L, 2L);
+            Assert.assertTrue(AttributeListExtension.EXPENSIVE_READS.get() > 0);
+
+            // a failing metric fails the read, whether it is read on its own or with the others
+            for (String[] failing : new String[][]{{"configured", "failing"}, {"small", "tiny", "large", "failing"}}) {
+                try {
+                    connection.getAttributes(name, failing);
+                    Assert.fail("Reading " + Arrays.toString(failing) + " should have failed");
+                } catch (ReflectionException expected) {
+                }
+            }
+        } finally {
+            AttributeListExtension.BROKEN.set(false);
+        }
+    }
+
+    private void checkListedValues(AttributeList list, String[] attrNames, Object... values) {
+        Map<String, Object> actual = new HashMap<>();
+        for (Attribute attribute : list.asList()) {
+            actual.put(attribute.getName(), attribute.getValue());
+        }
+        for (int i = 0; i < attrNames.length; i++) {
+            Assert.assertEquals(attrNames[i], values[i], actual.get(attrNames[i]));
+        }
+    }
+
     private void checkMapOfMapsEntry(long expectedOne, String expectedTwo, TabularData tabularData, String key) {
         CompositeData mapEntry = assertCast(CompositeData.class, tabularData.get(new Object[]{key}));
         CompositeData valueEntry = assertCast(CompositeData.class, mapEntry.get("value"));
@@ -0,0 +1,48 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.jmx.model;
+
+import static org.jboss.as.controller.PathElement.pathElement;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.ProcessType;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link ObjectNameKeyIndex}.
+ */
+public class ObjectNameKeyIndexUnitTestCase {
+
+    @Test
+    public void testCanContain() {
+        final NonResolvingResourceDescriptionResolver resolver = NonResolvingResourceDescriptionResolver.INSTANCE;
+        final ManagementResourceRegistration rootRegistration = ManagementResourceRegistration.Factory.forProcessType(ProcessType.EMBEDDED_SERVER)
+                .createRegistration(ObjectNameAddressUtilTestCase.rootResourceDef);
+        final ManagementResourceRegistration subsystem = rootRegistration.registerSubModel(new SimpleResourceDefinition(pathElement("subsystem", "web"), resolver));
+        subsystem.registerSubModel(new SimpleResourceDefinition(pathElement("server", "*"), resolver));
+        final ManagementResourceRegistration deployment = rootRegistration.registerSubModel(new SimpleResourceDefinition(pathElement("deployment", "*"), resolver));
+        deployment.registerSubModel(new SimpleResourceDefinition(pathElement("subsystem", "web"), resolver))
+                .registerSubModel(new SimpleResourceDefinition(pathElement("servlet", "*"), resolver));
+
+        final ObjectNameKeyIndex index = new ObjectNameKeyIndex(rootRegistration, ObjectNameAddressUtil.ObjectNameCreationContext.create());
+        assertTrue(index.canContain(PathAddress.EMPTY_ADDRESS, new HashSet<>(Arrays.asList("deployment", "subsystem", "servlet"))));
+        assertTrue(index.canContain(PathAddress.pathAddress("deployment", "app.war"), new HashSet<>(Arrays.asList("subsystem", "servlet"))));
+        assertFalse(index.canContain(PathAddress.pathAddress("deployment", "app.war"), Collections.singleton("server")));
+        assertTrue(index.canContain(PathAddress.pathAddress("subsystem", "web"), Collections.singleton("server")));
+        assertFalse(index.canContain(PathAddress.pathAddress("subsystem", "web"), Collections.singleton("deployment")));
+        assertFalse(index.canContain(PathAddress.pathAddress("subsystem", "web").append("server", "default"), Collections.singleton("server")));
+        // unregistered resources are never skipped
+        assertTrue(index.canContain(PathAddress.pathAddress("unknown", "one"), Collections.singleton("deployment")));
+    }
+}
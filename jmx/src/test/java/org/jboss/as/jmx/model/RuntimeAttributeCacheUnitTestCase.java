@@ -0,0 +1,70 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.jmx.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.dmr.ModelNode;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link RuntimeAttributeCache}.
+ */
+public class RuntimeAttributeCacheUnitTestCase {
+
+    private static final PathAddress ADDRESS = PathAddress.pathAddress("subsystem", "test");
+
+    @Test
+    public void testGetAndInvalidate() {
+        final RuntimeAttributeCache cache = new RuntimeAttributeCache(1, TimeUnit.MINUTES);
+        assertNull(cache.get(ADDRESS, "count"));
+
+        final ModelNode value = new ModelNode(5);
+        cache.put(ADDRESS, "count", value);
+        cache.put(ADDRESS, "other", new ModelNode(6));
+        // the cached value is not affected by changes of the nodes passed in or returned
+        value.set(7);
+        cache.get(ADDRESS, "count").set(8);
+        assertEquals(5, cache.get(ADDRESS, "count").asInt());
+        assertNull(cache.get(ADDRESS.append("child", "one"), "count"));
+
+        cache.invalidate(ADDRESS);
+        assertNull(cache.get(ADDRESS, "count"));
+        assertNull(cache.get(ADDRESS, "other"));
+    }
+
+    @Test
+    public void testExpiry() throws InterruptedException {
+        final RuntimeAttributeCache cache = new RuntimeAttributeCache(10, TimeUnit.MILLISECONDS);
+        cache.put(ADDRESS, "count", new ModelNode(5));
+        Thread.sleep(50);
+        assertNull(cache.get(ADDRESS, "count"));
+    }
+
+    @Test
+    public void testCreate() {
+        final String previous = System.getProperty(RuntimeAttributeCache.TTL_PROPERTY);
+        try {
+            System.clearProperty(RuntimeAttributeCache.TTL_PROPERTY);
+            assertNull(RuntimeAttributeCache.create());
+            System.setProperty(RuntimeAttributeCache.TTL_PROPERTY, "100");
+            assertNotNull(RuntimeAttributeCache.create());
+            // a malformed value disables the cache rather than failing attribute reads
+            System.setProperty(RuntimeAttributeCache.TTL_PROPERTY, "1s");
+            assertNull(RuntimeAttributeCache.create());
+        } finally {
+            if (previous == null) {
+                System.clearProperty(RuntimeAttributeCache.TTL_PROPERTY);
+            } else {
+                System.setProperty(RuntimeAttributeCache.TTL_PROPERTY, previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.logging;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A sparse index of the byte offsets of the lines of a log file, which allows reading a page of the file without
+ * reading the lines before it.
+ * <p>
+ * The offset of every {@value #INTERVAL}th line is recorded. The index is updated with the bytes appended to the file
+ * since the previous update, and rebuilt if the file was replaced or truncated, e.g. when it was rotated. Lines are
+ * terminated by a line feed, a carriage return or a carriage return followed by a line feed, like
+ * {@link java.io.BufferedReader#readLine()}, so the index can only be used for files in an encoding where these bytes
+ * only represent those characters.
+ * </p>
+ */
+final class LogFileLineIndex {
+
+    static final int INTERVAL = 1000;
+    private static final int HEAD_LENGTH = 64;
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Path path;
+    private Object fileKey;
+    private byte[] head;
+    // offsets[i] is the offset of line i * INTERVAL
+    private long[] offsets;
+    private int checkpoints;
+    private long length;
+    private long lines;
+    private long lastLineStart;
+    private boolean carriageReturn;
+
+    LogFileLineIndex(final Path path) {
+        this.path = path;
+        reset(null);
+    }
+
+    /**
+     * Updates the index with the current content of the file.
+     *
+     * @param channel a channel to read the file
+     *
+     * @return the number of lines of the file, including a last line that is not terminated
+     *
+     * @throws IOException if the file cannot be read
+     */
+    synchronized long update(final FileChannel channel) throws IOException {
+        final long size = channel.size();
+        final Object currentFileKey = Files.readAttributes(path, BasicFileAttributes.class).fileKey();
+        if (size < length || !Objects.equals(fileKey, currentFileKey) || !Arrays.equals(head, readHead(channel, head.length))) {
+            reset(currentFileKey);
+        }
+        if (size > length) {
+            final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            while (length < size) {
+                buffer.clear();
+                if (size - length < BUFFER_SIZE) {
+                    buffer.limit((int) (size - length));
+                }
+                final int read = channel.read(buffer, length);
+                if (read <= 0) {
+                    break;
+                }
+                final byte[] bytes = buffer.array();
+                for (int i = 0; i < read; i++) {
+                    index(bytes[i], length + i);
+                }
+                length += read;
+            }
+            if (head.length < HEAD_LENGTH && length > head.length) {
+                head = readHead(channel, (int) Math.min(HEAD_LENGTH, length));
+            }
+        }
+        return length > lastLineStart ? lines + 1 : lines;
+    }
+
+    /**
+     * Updates the index and finds the lines to read, as one step so a concurrent update for a rotated file cannot
+     * change the index in between.
+     *
+     * @param channel       a channel to read the file
+     * @param tail          {@code true} to count the lines from the end of the file
+     * @param skip          the number of lines to skip
+     * @param numberOfLines the number of lines to read, or a negative number to read all lines
+     *
+     * @return the number of the first line, the number of the line following the last line, and the offsets of
+     * these lines
+     *
+     * @throws IOException if the file cannot be read
+     */
+    synchronized long[] findRange(final FileChannel channel, final boolean tail, final long skip, final int numberOfLines) throws IOException {
+        final long total = update(channel);
+        final long first;
+        final long end;
+        if (tail) {
+            end = Math.max(0L, total - skip);
+            first = numberOfLines < 0 ? 0L : Math.max(0L, end - numberOfLines);
+        } else {
+            first = Math.min(skip, total);
+            end = numberOfLines < 0 ? total : Math.min(total, first + numberOfLines);
+        }
+        final long start = offsetOf(channel, first);
+        return new long[] {first, end, start, first == end ? start : offsetOf(channel, end)};
+    }
+
+    /**
+     * Finds the offset of a line of the file, as of the last {@linkplain #update(FileChannel) update}.
+     *
+     * @param channel a channel to read the file
+     * @param line    the zero based number of the line
+     *
+     * @return the offset of the line, or the offset of the end of the indexed content if the file has fewer lines
+     *
+     * @throws IOException if the file cannot be read
+     */
+    synchronized long offsetOf(final FileChannel channel, final long line) throws IOException {
+        if (line >= lines) {
+            return line == lines ? lastLineStart : length;
+        }
+        final int checkpoint = (int) (line / INTERVAL);
+        long offset = offsets[checkpoint];
+        long remaining = line - (long) checkpoint * INTERVAL;
+        if (remaining == 0) {
+            return offset;
+        }
+        // Scan the lines following the checkpoint
+        final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        boolean cr = false;
+        while (offset < length) {
+            buffer.clear();
+            if (length - offset < BUFFER_SIZE) {
+                buffer.limit((int) (length - offset));
+            }
+            final int read = channel.read(buffer, offset);
+            if (read <= 0) {
+                break;
+            }
+            final byte[] bytes = buffer.array();
+            for (int i = 0; i < read; i++) {
+                final byte b = bytes[i];
+                if (cr) {
+                    cr = false;
+                    if (b == '\n') {
+                        // The line feed completes the line terminated by the previous carriage return
+                        if (remaining == 0) {
+                            return offset + i + 1;
+                        }
+                        continue;
+                    }
+                    if (remaining == 0) {
+                        return offset + i;
+                    }
+                }
+                if (b == '\n') {
+                    if (--remaining == 0) {
+                        return offset + i + 1;
+                    }
+                } else if (b == '\r') {
+                    remaining--;
+                    cr = true;
+                }
+            }
+            offset += read;
+        }
+        return length;
+    }
+
+    private void index(final byte b, final long position) {
+        if (b == '\n') {
+            if (carriageReturn) {
+                // The line feed completes the line terminated by the previous carriage return
+                carriageReturn = false;
+                lastLineStart = position + 1;
+                if (lines % INTERVAL == 0 && offsets[checkpoints - 1] == position) {
+                    offsets[checkpoints - 1] = position + 1;
+                }
+            } else {
+                addLine(position + 1);
+            }
+        } else if (b == '\r') {
+            addLine(position + 1);
+            carriageReturn = true;
+        } else {
+            carriageReturn = false;
+        }
+    }
+
+    private void addLine(final long next) {
+        lines++;
+        lastLineStart = next;
+        if (lines % INTERVAL == 0) {
+            if (checkpoints == offsets.length) {
+                offsets = Arrays.copyOf(offsets, checkpoints * 2);
+            }
+            offsets[checkpoints++] = next;
+        }
+    }
+
+    private void reset(final Object fileKey) {
+        this.fileKey = fileKey;
+        head = new byte[0];
+        offsets = new long[16];
+        // Line 0 starts at the beginning of the file
+        checkpoints = 1;
+        length = 0L;
+        lines = 0L;
+        lastLineStart = 0L;
+        carriageReturn = false;
+    }
+
+    private static byte[] readHead(final FileChannel channel, final int len) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(len);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, buffer.position()) <= 0) {
+                break;
+            }
+        }
+        return buffer.position() == len ? buffer.array() : Arrays.copyOf(buffer.array(), buffer.position());
+    }
+}
@@ -8,23 +8,33 @@ package org.jboss.as.logging;
 import static org.jboss.as.logging.CommonAttributes.ENCODING;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.FileVisitOption;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.jboss.as.controller.AttributeDefinition;
@@ -107,9 +117,18 @@ class LogFileResourceDefinition extends SimpleResourceDefinition {
             .setRuntimeOnly()
             .build();
 
+    private static final SimpleOperationDefinition READ_LOG_FILE_STREAM = new SimpleOperationDefinitionBuilder("read-log-file-stream", LoggingExtension.getResourceDescriptionResolver())
+            .addAccessConstraint(VIEW_SERVER_LOGS)
+            .setParameters(ENCODING, LINES, SKIP, TAIL)
+            .setReplyType(ModelType.STRING)
+            .setReadOnly()
+            .setRuntimeOnly()
+            .build();
+
     private static final PathElement LOG_FILE_PATH = PathElement.pathElement("log-file");
 
     private final PathManager pathManager;
+    private final Map<Path, LogFileLineIndex> lineIndexes = new ConcurrentHashMap<>();
 
     LogFileResourceDefinition(final PathManager pathManager) {
         super(new Parameters(LOG_FILE_PATH, LoggingExtension.getResourceDescriptionResolver("log-file"))
@@ -121,7 +140,8 @@ class LogFileResourceDefinition extends SimpleResourceDefinition {
     @Override
     public void registerOperations(final ManagementResourceRegistration resourceRegistration) {
         super.registerOperations(resourceRegistration);
-        resourceRegistration.registerOperationHandler(READ_LOG_FILE, new ReadLogFileOperation(pathManager));
+        resourceRegistration.registerOperationHandler(READ_LOG_FILE, new ReadLogFileOperation(pathManager, lineIndexes, false));
+        resourceRegistration.registerOperationHandler(READ_LOG_FILE_STREAM, new ReadLogFileOperation(pathManager, lineIndexes, true));
 
     }
 
@@ -191,7 +211,10 @@ class LogFileResourceDefinition extends SimpleResourceDefinition {
 
 
     /**
-     * Reads a log file and returns the results.
+     * Reads a log file and returns the results, either as a list of lines or as a response attachment.
+     * <p/>
+     * Pages of the file are located with a {@link LogFileLineIndex line index} of the file, which is kept across
+     * invocations, unless the file encoding does not allow it.
      * <p/>
      * <i>Note: </i> If this operation ends up being repeatedly invoked, from the web console for instance, there could
      * be a performance impact as the model is read and processed for file names during each invocation
@@ -199,9 +222,13 @@ class LogFileResourceDefinition extends SimpleResourceDefinition {
     static class ReadLogFileOperation implements OperationStepHandler {
 
         private final PathManager pathManager;
+        private final Map<Path, LogFileLineIndex> lineIndexes;
+        private final boolean stream;
 
-        private ReadLogFileOperation(final PathManager pathManager) {
+        private ReadLogFileOperation(final PathManager pathManager, final Map<Path, LogFileLineIndex> lineIndexes, final boolean stream) {
             this.pathManager = pathManager;
+            this.lineIndexes = lineIndexes;
+            this.stream = stream;
         }
 
         @Override
@@ -227,15 +254,34 @@ class LogFileResourceDefinition extends SimpleResourceDefinition {
 
             // Read the contents of the log file
             try {
-                final List<String> lines;
-                if (numberOfLines == 0) {
-                    lines = Collections.emptyList();
+                final Charset charset = getIndexableCharset(encoding);
+                if (stream) {
+                    final InputStream content;
+                    if (charset == null) {
+                        final List<String> lines = (numberOfLines == 0 ? Collections.emptyList() : readLines(path, encoding, tail, skip, numberOfLines));
+                        final StringBuilder sb = new StringBuilder();
+                        for (String line : lines) {
+                            sb.append(line).append('\n');
+                        }
+                        content = new ByteArrayInputStream(encoding == null ? sb.toString().getBytes() : sb.toString().getBytes(encoding));
+                    } else {
+                        content = openIndexedContent(path, tail, skip, numberOfLines);
+                    }
+                    context.getResult().set(context.attachResultStream("text/plain", content));
                 } else {
-                    lines = readLines(path, encoding, tail, skip, numberOfLines);
-                }
-                final ModelNode result = context.getResult().setEmptyList();
-                for (String line : lines) {
-                    result.add(line);
+                    final List<String> lines;
+                    if (numberOfLines == 0) {
+                        lines = Collections.emptyList();
+                    } else if (charset == null || (tail && skip == 0)) {
+                        // The end of the file can be read without indexing it
+                        lines = readLines(path, encoding, tail, skip, numberOfLines);
+                    } else {
+                        lines = readIndexedLines(path, charset, tail, skip, numberOfLines);
+                    }
+                    final ModelNode result = context.getResult().setEmptyList();
+                    for (String line : lines) {
+                        result.add(line);
+                    }
                 }
             } catch (IOException e) {
                 throw LoggingLogger.ROOT_LOGGER.failedToReadLogFile(e, fileName);
@@ -243,6 +289,64 @@ class LogFileResourceDefinition extends SimpleResourceDefinition {
             context.completeStep(ResultHandler.NOOP_RESULT_HANDLER);
         }
 
+        private List<String> readIndexedLines(final File file, final Charset charset, final boolean tail, final int skip, final int numberOfLines) throws IOException {
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                final long[] range = findRange(channel, file, tail, skip, numberOfLines);
+                final List<String> lines = new ArrayList<>((int) Math.min(range[1] - range[0], 1024L));
+                channel.position(range[2]);
+                final BufferedReader reader = new BufferedReader(new InputStreamReader(Channels.newInputStream(channel), charset));
+                String line;
+                while (lines.size() < range[1] - range[0] && (line = reader.readLine()) != null) {
+                    lines.add(line);
+                }
+                return lines;
+            }
+        }
+
+        private InputStream openIndexedContent(final File file, final boolean tail, final int skip, final int numberOfLines) throws IOException {
+            final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+            try {
+                final long[] range = findRange(channel, file, tail, skip, numberOfLines);
+                return new FileRangeInputStream(channel, range[2], range[3]);
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        /**
+         * Finds the lines to read.
+         *
+         * @return the number of the first line, the number of the line following the last line, and the offsets of
+         * these lines
+         */
+        private long[] findRange(final FileChannel channel, final File file, final boolean tail, final int skip, final int numberOfLines) throws IOException {
+            final Path key = file.toPath().toAbsolutePath().normalize();
+            LogFileLineIndex index = lineIndexes.get(key);
+            if (index == null) {
+                // Discard the indexes of the files that were removed, e.g. by a rotating handler
+                lineIndexes.keySet().removeIf(Files::notExists);
+                index = lineIndexes.computeIfAbsent(key, LogFileLineIndex::new);
+            }
+            return index.findRange(channel, tail, skip, numberOfLines);
+        }
+
+        /**
+         * Gets the charset of the log file, if it allows locating lines by their line terminators.
+         *
+         * @return the charset, or {@code null} if the lines must be decoded to be located
+         */
+        private static Charset getIndexableCharset(final String encoding) {
+            final Charset charset;
+            try {
+                charset = (encoding == null ? Charset.defaultCharset() : Charset.forName(encoding));
+            } catch (IllegalArgumentException e) {
+                // Reading the lines reports the invalid encoding
+                return null;
+            }
+            return Arrays.equals("\r\n".getBytes(charset), "\r\n".getBytes(StandardCharsets.US_ASCII)) ? charset : null;
+        }
+
         private List<String> readLines(final File file, final String encoding, final boolean tail, final int skip, final int numberOfLines) throws IOException {
             final List<String> lines;
             if (numberOfLines < 0) {
@@ -338,6 +442,52 @@ class LogFileResourceDefinition extends SimpleResourceDefinition {
         }
     }
 
+    /**
+     * Reads a range of bytes of a file, and closes the channel of the file when closed.
+     */
+    static final class FileRangeInputStream extends InputStream {
+        private final FileChannel channel;
+        private final long end;
+        private long pos;
+
+        FileRangeInputStream(final FileChannel channel, final long start, final long end) {
+            this.channel = channel;
+            this.pos = start;
+            this.end = end;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final byte[] b = new byte[1];
+            return read(b, 0, 1) == -1 ? -1 : b[0] & 0xff;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (pos >= end) {
+                return -1;
+            }
+            final int read = channel.read(ByteBuffer.wrap(b, off, (int) Math.min(len, end - pos)), pos);
+            if (read > 0) {
+                pos += read;
+            }
+            return read;
+        }
+
+        @Override
+        public int available() {
+            return (int) Math.min(Integer.MAX_VALUE, end - pos);
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
     private static void validateFile(final OperationContext context, final String logDir, final String fileName) throws OperationFailedException {
         // Ensure the resource exists
         context.readResource(PathAddress.EMPTY_ADDRESS);
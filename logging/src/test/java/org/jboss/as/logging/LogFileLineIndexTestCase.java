@@ -0,0 +1,91 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.logging;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of {@link LogFileLineIndex}.
+ */
+public class LogFileLineIndexTestCase {
+
+    private Path file;
+
+    @Before
+    public void createFile() throws IOException {
+        file = Files.createTempFile("server", ".log");
+    }
+
+    @After
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void testIndexGrowingFile() throws IOException {
+        final LogFileLineIndex index = new LogFileLineIndex(file);
+        final StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 2500; i++) {
+            // Mix the line terminators
+            content.append("line").append(i).append(i % 3 == 0 ? "\r\n" : (i % 3 == 1 ? "\n" : "\r"));
+        }
+        write(content.toString(), StandardOpenOption.TRUNCATE_EXISTING);
+        try (FileChannel channel = FileChannel.open(file)) {
+            assertEquals(2500L, index.update(channel));
+            assertLine(channel, index, 0, "line0");
+            assertLine(channel, index, 999, "line999");
+            assertLine(channel, index, 1000, "line1000");
+            assertLine(channel, index, 2001, "line2001");
+            assertLine(channel, index, 2499, "line2499");
+            assertEquals(channel.size(), index.offsetOf(channel, 2500));
+        }
+
+        // An unterminated line is counted
+        write("last", StandardOpenOption.APPEND);
+        try (FileChannel channel = FileChannel.open(file)) {
+            assertEquals(2501L, index.update(channel));
+            assertLine(channel, index, 2500, "last");
+            assertLine(channel, index, 1500, "line1500");
+        }
+    }
+
+    @Test
+    public void testIndexReplacedFile() throws IOException {
+        final LogFileLineIndex index = new LogFileLineIndex(file);
+        write("first\nsecond\nthird\n", StandardOpenOption.TRUNCATE_EXISTING);
+        try (FileChannel channel = FileChannel.open(file)) {
+            assertEquals(3L, index.update(channel));
+        }
+        write("rotated\n", StandardOpenOption.TRUNCATE_EXISTING);
+        try (FileChannel channel = FileChannel.open(file)) {
+            assertEquals(1L, index.update(channel));
+            assertLine(channel, index, 0, "rotated");
+        }
+    }
+
+    private void write(final String content, final StandardOpenOption option) throws IOException {
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8), StandardOpenOption.WRITE, option);
+    }
+
+    private static void assertLine(final FileChannel channel, final LogFileLineIndex index, final long line, final String expected) throws IOException {
+        final long offset = index.offsetOf(channel, line);
+        final byte[] bytes = expected.getBytes(StandardCharsets.UTF_8);
+        final ByteBuffer buffer = ByteBuffer.allocate(bytes.length);
+        channel.read(buffer, offset);
+        assertEquals(expected, new String(buffer.array(), StandardCharsets.UTF_8));
+    }
+}
@@ -10,16 +10,27 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.attribute.PosixFileAttributeView;
 import java.nio.file.attribute.PosixFilePermission;
+import java.util.ArrayList;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Set;
 
+import org.jboss.as.controller.ModelController;
+import org.jboss.as.controller.ModelController.OperationTransactionControl;
+import org.jboss.as.controller.client.Operation;
+import org.jboss.as.controller.client.OperationMessageHandler;
+import org.jboss.as.controller.client.OperationResponse;
+import org.jboss.as.server.Services;
 import org.jboss.as.subsystem.test.AdditionalInitialization;
 import org.jboss.as.subsystem.test.KernelServices;
 import org.jboss.as.subsystem.test.SubsystemOperations;
@@ -230,6 +241,66 @@ public class RootSubsystemOperationsTestCase extends AbstractOperationsTestCase
         kernelServices.shutdown();
     }
 
+    @Test
+    public void testReadLogFileStream() throws Exception {
+        final KernelServices kernelServices = boot();
+        final Logger logger = getLogger();
+        // More lines than the interval of the line index, so pages are located from a checkpoint
+        for (int i = 0; i < LogFileLineIndex.INTERVAL + 500; i++) {
+            logger.info(msg + i);
+        }
+
+        final ModelNode address = SUBSYSTEM_ADDRESS.append("log-file", "simple.log").toModelNode();
+        final ModelNode readOp = SubsystemOperations.createOperation("read-log-file", address);
+        final ModelNode streamOp = SubsystemOperations.createOperation("read-log-file-stream", address);
+
+        // Default parameters, which read the last 10 lines
+        List<String> logLines = readLogFileStream(kernelServices, streamOp, Charset.defaultCharset());
+        assertEquals(10, logLines.size());
+        checkLogLines(logLines, LogFileLineIndex.INTERVAL + 490);
+        assertEquals(SubsystemOperations.readResultAsList(executeOperation(kernelServices, readOp)), logLines);
+
+        final int[][] pages = {
+                // tail, skip, lines
+                {0, 0, 20}, {0, 5, 20}, {0, 995, 10}, {0, 1000, 10}, {0, 1495, 10}, {0, 0, -1}, {0, 1200, -1},
+                {1, 0, 20}, {1, 5, 20}, {1, 505, 10}, {1, 1400, 200}, {1, 1600, 10}, {0, 0, 0},
+        };
+        for (int[] page : pages) {
+            final boolean tail = page[0] == 1;
+            for (ModelNode op : new ModelNode[] {readOp, streamOp}) {
+                op.get("tail").set(tail);
+                op.get("skip").set(page[1]);
+                op.get("lines").set(page[2]);
+            }
+            final List<String> expected = SubsystemOperations.readResultAsList(executeOperation(kernelServices, readOp));
+            logLines = readLogFileStream(kernelServices, streamOp, Charset.defaultCharset());
+            assertEquals(String.format("tail=%s, skip=%d, lines=%d", tail, page[1], page[2]), expected, logLines);
+        }
+
+        // An encoding where the line terminators are not single bytes cannot be indexed, so the lines are decoded
+        final Path utf16File = LoggingTestEnvironment.get().getLogDir().resolve("utf16.log");
+        final List<String> utf16Lines = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            utf16Lines.add(msg + i);
+        }
+        Files.write(utf16File, utf16Lines, StandardCharsets.UTF_16);
+        final ModelNode utf16Address = SUBSYSTEM_ADDRESS.append("log-file", "utf16.log").toModelNode();
+        final ModelNode utf16ReadOp = SubsystemOperations.createOperation("read-log-file", utf16Address);
+        final ModelNode utf16StreamOp = SubsystemOperations.createOperation("read-log-file-stream", utf16Address);
+        for (ModelNode op : new ModelNode[] {utf16ReadOp, utf16StreamOp}) {
+            op.get("encoding").set(StandardCharsets.UTF_16.name());
+            op.get("tail").set(false);
+            op.get("skip").set(5);
+            op.get("lines").set(20);
+        }
+        logLines = readLogFileStream(kernelServices, utf16StreamOp, StandardCharsets.UTF_16);
+        assertEquals(20, logLines.size());
+        checkLogLines(logLines, 5);
+        assertEquals(SubsystemOperations.readResultAsList(executeOperation(kernelServices, utf16ReadOp)), logLines);
+
+        kernelServices.shutdown();
+    }
+
     @Test
     public void testFailedLogFile() throws Exception {
         final Path configDir = LoggingTestEnvironment.get().getConfigDir();
@@ -343,6 +414,26 @@ public class RootSubsystemOperationsTestCase extends AbstractOperationsTestCase
         checkLogLines(logLines, 5);
     }
 
+    /**
+     * Executes a {@code read-log-file-stream} operation and reads the lines of the attached stream.
+     */
+    private static List<String> readLogFileStream(final KernelServices kernelServices, final ModelNode op, final Charset charset) throws IOException {
+        final ModelController controller = (ModelController) kernelServices.getContainer().getRequiredService(Services.JBOSS_SERVER_CONTROLLER).getValue();
+        try (OperationResponse response = controller.execute(Operation.Factory.create(op), OperationMessageHandler.DISCARD, OperationTransactionControl.COMMIT)) {
+            assertTrue(response.getResponseNode().toString(), SubsystemOperations.isSuccessfulOutcome(response.getResponseNode()));
+            final OperationResponse.StreamEntry entry = response.getInputStream(SubsystemOperations.readResultAsString(response.getResponseNode()));
+            assertTrue("No stream attached to " + response.getResponseNode(), entry != null);
+            final List<String> lines = new ArrayList<>();
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(entry.getStream(), charset))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    lines.add(line);
+                }
+            }
+            return lines;
+        }
+    }
+
     private void checkLogLines(final List<String> logLines, final int start) {
         int index = start;
         for (String line : logLines) {
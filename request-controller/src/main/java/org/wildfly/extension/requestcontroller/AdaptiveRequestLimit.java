@@ -0,0 +1,176 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * A request limit that adapts to the latency of the requests the {@link RequestController} allowed to run.
+ * <p/>
+ * The limit is recalculated at most every {@value #WINDOW_MILLIS}ms using a gradient algorithm: the average latency
+ * of the requests that completed in the window is compared with a long term average, and the limit is reduced in
+ * proportion when the requests got slower, as that means they are queueing for some resource. Otherwise the limit
+ * is allowed to grow by roughly its square root, unless less than half of it is in use.
+ * <p/>
+ * Requests are not tracked individually. Instead every time the number of active requests increases the current
+ * time is subtracted from a running sum, and added back when it decreases, so the sum plus the current time for each
+ * active request is the total time requests have spent in the server. By Little's law, the increase of that total
+ * over a window divided by the number of requests completed in it is their average latency.
+ */
+final class AdaptiveRequestLimit {
+
+    static final int INITIAL_LIMIT = 20;
+    /**
+     * The upper bound of the limit if {@code max-requests} is not set.
+     */
+    static final int DEFAULT_MAX_LIMIT = 1000;
+
+    private static final long WINDOW_MILLIS = 100;
+    private static final long WINDOW = TimeUnit.MILLISECONDS.toNanos(WINDOW_MILLIS);
+    private static final int MIN_WINDOW_SAMPLES = 10;
+    /**
+     * How much slower than the long term average requests can get before the limit is reduced.
+     */
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final double LONG_TERM_WEIGHT = 0.01;
+
+    private final LongSupplier nanoTime;
+    private final long base;
+    private final LongAdder requestTime = new LongAdder();
+    private final LongAdder completedRequests = new LongAdder();
+    private final AtomicBoolean updating = new AtomicBoolean();
+    private volatile long windowStart;
+    private volatile int limit;
+
+    // only accessed by the thread that holds updating
+    private int minLimit;
+    private int maxLimit;
+    private long windowRequestTime;
+    private long windowCompletedRequests;
+    private double longTermLatency;
+    private double estimatedLimit;
+
+    /**
+     * @param initialLimit the limit to start with
+     * @param minLimit     the lowest the limit can get
+     * @param maxLimit     the highest the limit can get
+     */
+    AdaptiveRequestLimit(int initialLimit, int minLimit, int maxLimit) {
+        this(initialLimit, minLimit, maxLimit, System::nanoTime);
+    }
+
+    AdaptiveRequestLimit(int initialLimit, int minLimit, int maxLimit, LongSupplier nanoTime) {
+        this.nanoTime = nanoTime;
+        this.base = nanoTime.getAsLong();
+        this.windowStart = base;
+        this.minLimit = minLimit;
+        this.maxLimit = Math.max(minLimit, maxLimit);
+        this.estimatedLimit = Math.max(this.minLimit, Math.min(this.maxLimit, initialLimit));
+        this.limit = (int) estimatedLimit;
+    }
+
+    int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Changes the bounds of the limit, keeping the latency statistics gathered so far. The limit is clamped to the new
+     * bounds straight away.
+     *
+     * @param minLimit the lowest the limit can get
+     * @param maxLimit the highest the limit can get
+     */
+    void setBounds(int minLimit, int maxLimit) {
+        while (!updating.compareAndSet(false, true)) {
+            // an update only takes a moment
+            Thread.onSpinWait();
+        }
+        try {
+            this.minLimit = minLimit;
+            this.maxLimit = Math.max(minLimit, maxLimit);
+            estimatedLimit = Math.max(this.minLimit, Math.min(this.maxLimit, estimatedLimit));
+            limit = (int) estimatedLimit;
+        } finally {
+            updating.set(false);
+        }
+    }
+
+    /**
+     * Called when the number of active requests was incremented.
+     */
+    void requestStarted() {
+        requestTime.add(base - nanoTime.getAsLong());
+    }
+
+    /**
+     * Called when the number of active requests was decremented.
+     */
+    void requestFinished() {
+        requestTime.add(nanoTime.getAsLong() - base);
+    }
+
+    /**
+     * Called when a request completed, before its permit is released or passed on to a queued task.
+     *
+     * @param activeRequests the current number of active requests
+     * @return {@code true} if the limit was increased
+     */
+    boolean requestCompleted(int activeRequests) {
+        completedRequests.increment();
+        long now = nanoTime.getAsLong();
+        if (now - windowStart < WINDOW || !updating.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            return update(now, activeRequests);
+        } finally {
+            updating.set(false);
+        }
+    }
+
+    private boolean update(long now, int activeRequests) {
+        long completed = completedRequests.sum();
+        long samples = completed - windowCompletedRequests;
+        if (samples < MIN_WINDOW_SAMPLES) {
+            return false;
+        }
+        long totalRequestTime = requestTime.sum() + activeRequests * (now - base);
+        double elapsed = now - windowStart;
+        double windowTime = totalRequestTime - windowRequestTime;
+        windowStart = now;
+        windowRequestTime = totalRequestTime;
+        windowCompletedRequests = completed;
+        if (windowTime <= 0) {
+            return false;
+        }
+
+        double latency = windowTime / samples;
+        if (longTermLatency == 0) {
+            longTermLatency = latency;
+        } else {
+            longTermLatency += (latency - longTermLatency) * LONG_TERM_WEIGHT;
+            if (longTermLatency > 2 * latency) {
+                // latency dropped a lot, let the long term average catch up faster
+                longTermLatency *= 0.95;
+            }
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longTermLatency / latency));
+        double target = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        double averageActiveRequests = windowTime / elapsed;
+        if (target > estimatedLimit && averageActiveRequests < estimatedLimit / 2) {
+            // the limit is not what holds the requests back, so there is no evidence that a higher one is safe
+            target = estimatedLimit;
+        }
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, estimatedLimit * (1 - SMOOTHING) + target * SMOOTHING));
+        int previous = limit;
+        limit = (int) estimatedLimit;
+        return limit > previous;
+    }
+}
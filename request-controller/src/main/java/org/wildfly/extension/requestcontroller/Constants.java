@@ -12,4 +12,20 @@ interface Constants {
     String MAX_REQUESTS = "max-requests";
     String ACTIVE_REQUESTS = "active-requests";
     String TRACK_INDIVIDUAL_ENDPOINTS = "track-individual-endpoints";
+    String ADAPTIVE_LIMIT = "adaptive-limit";
+    String MIN_REQUESTS = "min-requests";
+    String REQUEST_LIMIT = "request-limit";
+    String ENTRY_POINT = "entry-point";
+    String REQUEST_COUNT = "request-count";
+    String REJECTED_REQUEST_COUNT = "rejected-request-count";
+    String AVERAGE_REQUEST_TIME = "average-request-time";
+    String QUEUE_TIME = "queue-time";
+    String EXECUTION_TIME = "execution-time";
+    String REQUEST_TIME = "request-time";
+    String COUNT = "count";
+    String MEAN = "mean";
+    String MAX = "max";
+    String PERCENTILE_50 = "50th-percentile";
+    String PERCENTILE_90 = "90th-percentile";
+    String PERCENTILE_99 = "99th-percentile";
 }
@@ -34,6 +34,7 @@ public class ControlPoint {
     private final String deployment;
     private final String entryPoint;
     private final boolean trackIndividualControlPoints;
+    private final ControlPointStatistics statistics = new ControlPointStatistics();
 
     /**
      * The number of active requests that are using this entry point
@@ -125,6 +126,7 @@ public class ControlPoint {
      */
     public RunResult beginRequest() {
         if (paused) {
+            statistics.requestRejected();
             return RunResult.REJECTED;
         }
         if(trackIndividualControlPoints) {
@@ -132,7 +134,10 @@ public class ControlPoint {
         }
         RunResult runResult = controller.beginRequest(false);
         if (runResult == RunResult.REJECTED) {
+            statistics.requestRejected();
             decreaseRequestCount();
+        } else {
+            statistics.requestStarted();
         }
         return runResult;
     }
@@ -152,7 +157,13 @@ public class ControlPoint {
         if(trackIndividualControlPoints) {
             activeRequestCountUpdater.incrementAndGet(this);
         }
-        return controller.beginRequest(true);
+        RunResult runResult = controller.beginRequest(true);
+        if (runResult == RunResult.REJECTED) {
+            statistics.requestRejected();
+        } else {
+            statistics.requestStarted();
+        }
+        return runResult;
     }
 
     /**
@@ -162,6 +173,7 @@ public class ControlPoint {
         if(trackIndividualControlPoints) {
             activeRequestCountUpdater.incrementAndGet(this);
         }
+        statistics.requestStarted();
     }
 
     /**
@@ -170,6 +182,7 @@ public class ControlPoint {
      * This cannot be done automatically when the handleRequest method completes, as some
      */
     public void requestComplete() {
+        statistics.requestCompleted();
         decreaseRequestCount();
         controller.requestComplete();
     }
@@ -235,6 +248,10 @@ public class ControlPoint {
         return activeRequestCountUpdater.get(this);
     }
 
+    ControlPointStatistics getStatistics() {
+        return statistics;
+    }
+
     synchronized int increaseReferenceCount() {
         return ++referenceCount;
     }
@@ -0,0 +1,139 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runtime statistics of the requests that entered the server through a {@link ControlPoint}.
+ * <p/>
+ * The time a request takes is only known exactly for queued tasks, as the control point runs them itself. Requests
+ * started by {@link ControlPoint#beginRequest()} are completed by a separate {@link ControlPoint#requestComplete()}
+ * call that cannot be matched to the call that started it, so the total time spent by all requests is tracked: every
+ * start subtracts the current time from a running sum and every completion adds it back. The distribution of request
+ * times is recorded for requests that complete on the thread that started them, by matching each completion with the
+ * latest start of the thread. A request completed on another thread is not recorded, and may be matched with the start
+ * of another such request if its thread completes one later.
+ */
+final class ControlPointStatistics {
+
+    /**
+     * The number of starts kept per thread, the oldest are dropped as they most likely belong to requests that were
+     * completed on other threads.
+     */
+    static final int MAX_STARTS_PER_THREAD = 8;
+
+    private final long base = System.nanoTime();
+    private final LongAdder startedRequests = new LongAdder();
+    private final LongAdder completedRequests = new LongAdder();
+    private final LongAdder rejectedRequests = new LongAdder();
+    private final LongAdder totalRequestTime = new LongAdder();
+    private final LatencyHistogram queueTime = new LatencyHistogram();
+    private final LatencyHistogram executionTime = new LatencyHistogram();
+    private final LatencyHistogram requestTime = new LatencyHistogram();
+    private final ThreadLocal<Starts> threadStarts = ThreadLocal.withInitial(Starts::new);
+
+    void requestStarted() {
+        long now = System.nanoTime();
+        totalRequestTime.add(base - now);
+        startedRequests.increment();
+        threadStarts.get().push(now);
+    }
+
+    void requestCompleted() {
+        long now = System.nanoTime();
+        totalRequestTime.add(now - base);
+        completedRequests.increment();
+        Starts starts = threadStarts.get();
+        if (starts.size > 0) {
+            requestTime.record(now - starts.pop());
+        }
+    }
+
+    void requestRejected() {
+        rejectedRequests.increment();
+    }
+
+    void taskDequeued(long queuedNanos) {
+        queueTime.record(queuedNanos);
+    }
+
+    void taskExecuted(long executionNanos) {
+        executionTime.record(executionNanos);
+    }
+
+    /**
+     * @return the number of requests that were allowed to run
+     */
+    long getRequestCount() {
+        return startedRequests.sum();
+    }
+
+    /**
+     * @return the number of requests that were rejected, or whose queued task was rejected or timed out
+     */
+    long getRejectedRequestCount() {
+        return rejectedRequests.sum();
+    }
+
+    /**
+     * Gets the average time of the requests that were allowed to run. Requests that are still running contribute the
+     * time they have been running so far.
+     *
+     * @return the average time in microseconds, or {@code 0} if no request has run
+     */
+    long getAverageRequestTime() {
+        long started = startedRequests.sum();
+        if (started == 0) {
+            return 0;
+        }
+        long running = Math.max(0, started - completedRequests.sum());
+        long total = totalRequestTime.sum() + running * (System.nanoTime() - base);
+        return TimeUnit.NANOSECONDS.toMicros(Math.max(0, total)) / started;
+    }
+
+    /**
+     * @return the time queued tasks waited for a request permit
+     */
+    LatencyHistogram getQueueTime() {
+        return queueTime;
+    }
+
+    /**
+     * @return the time queued tasks took to run
+     */
+    LatencyHistogram getExecutionTime() {
+        return executionTime;
+    }
+
+    /**
+     * @return the time requests that completed on the thread that started them took to run
+     */
+    LatencyHistogram getRequestTime() {
+        return requestTime;
+    }
+
+    /**
+     * The start times of the requests of a thread that are not completed yet, the latest last.
+     */
+    private static final class Starts {
+        private final long[] times = new long[MAX_STARTS_PER_THREAD];
+        private int size;
+
+        void push(long time) {
+            if (size == times.length) {
+                System.arraycopy(times, 1, times, 0, size - 1);
+                size--;
+            }
+            times[size++] = time;
+        }
+
+        long pop() {
+            return times[--size];
+        }
+    }
+}
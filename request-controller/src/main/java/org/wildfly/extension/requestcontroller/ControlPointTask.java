@@ -24,10 +24,12 @@ public final class ControlPointTask implements Runnable {
 
     @Override
     public void run() {
+        final long start = System.nanoTime();
         try {
             controlPoint.beginExistingRequest();
             originalTask.run();
         } finally {
+            controlPoint.getStatistics().taskExecuted(System.nanoTime() - start);
             controlPoint.requestComplete();
         }
     }
@@ -0,0 +1,110 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.registry.DelegatingResource;
+import org.jboss.as.controller.registry.PlaceholderResource;
+import org.jboss.as.controller.registry.Resource;
+
+/**
+ * The request controller resource of a deployment, whose {@code entry-point} children are the deployment's
+ * current {@link ControlPoint}s.
+ */
+class DeploymentEntryPointsResource extends DelegatingResource {
+
+    private final RequestController requestController;
+    private final String deploymentName;
+
+    DeploymentEntryPointsResource(RequestController requestController, String deploymentName) {
+        this(Resource.Factory.create(true), requestController, deploymentName);
+    }
+
+    private DeploymentEntryPointsResource(Resource delegate, RequestController requestController, String deploymentName) {
+        super(delegate);
+        this.requestController = requestController;
+        this.deploymentName = deploymentName;
+    }
+
+    @Override
+    public Resource clone() {
+        return new DeploymentEntryPointsResource(super.clone(), requestController, deploymentName);
+    }
+
+    @Override
+    public boolean hasChild(PathElement element) {
+        if (Constants.ENTRY_POINT.equals(element.getKey())) {
+            return getChildrenNames(Constants.ENTRY_POINT).contains(element.getValue());
+        }
+        return super.hasChild(element);
+    }
+
+    @Override
+    public Resource getChild(PathElement element) {
+        if (Constants.ENTRY_POINT.equals(element.getKey())) {
+            return hasChild(element) ? PlaceholderResource.INSTANCE : null;
+        }
+        return super.getChild(element);
+    }
+
+    @Override
+    public Resource requireChild(PathElement element) {
+        Resource child = getChild(element);
+        if (child == null) {
+            throw new NoSuchResourceException(element);
+        }
+        return child;
+    }
+
+    @Override
+    public Resource navigate(PathAddress address) {
+        if (address.size() > 0 && Constants.ENTRY_POINT.equals(address.getElement(0).getKey())) {
+            Resource child = requireChild(address.getElement(0));
+            return address.size() == 1 ? child : child.navigate(address.subAddress(1));
+        }
+        return super.navigate(address);
+    }
+
+    @Override
+    public boolean hasChildren(String childType) {
+        if (Constants.ENTRY_POINT.equals(childType)) {
+            return !getChildrenNames(childType).isEmpty();
+        }
+        return super.hasChildren(childType);
+    }
+
+    @Override
+    public Set<String> getChildTypes() {
+        Set<String> result = new LinkedHashSet<>(super.getChildTypes());
+        result.add(Constants.ENTRY_POINT);
+        return result;
+    }
+
+    @Override
+    public Set<String> getChildrenNames(String childType) {
+        if (Constants.ENTRY_POINT.equals(childType)) {
+            return Collections.unmodifiableSet(new LinkedHashSet<>(requestController.getControlPoints(deploymentName).keySet()));
+        }
+        return super.getChildrenNames(childType);
+    }
+
+    @Override
+    public Set<ResourceEntry> getChildren(String childType) {
+        if (Constants.ENTRY_POINT.equals(childType)) {
+            Set<ResourceEntry> result = new LinkedHashSet<>();
+            for (String name : getChildrenNames(childType)) {
+                result.add(new PlaceholderResource.PlaceholderResourceEntry(Constants.ENTRY_POINT, name));
+            }
+            return result;
+        }
+        return super.getChildren(childType);
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DEPLOYMENT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+
+/**
+ * Reads the statistics of a deployment's entry point.
+ */
+class EntryPointMetricsHandler extends AbstractRuntimeOnlyHandler {
+
+    @Override
+    protected boolean requiresRuntime(OperationContext context) {
+        return true;
+    }
+
+    @Override
+    protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+        ServiceController<?> service = context.getServiceRegistry(false).getService(RequestController.SERVICE_NAME);
+        if (service == null) {
+            return;
+        }
+        RequestController requestController = (RequestController) service.getService().getValue();
+        readMetric(requestController, context.getCurrentAddress(), operation.require(NAME).asString(), context.getResult());
+    }
+
+    /**
+     * Reads a metric of the entry point at the given address, leaving the result undefined if the entry point is gone.
+     */
+    static void readMetric(RequestController requestController, PathAddress address, String name, ModelNode result) {
+        String deployment = null;
+        for (PathElement element : address) {
+            if (DEPLOYMENT.equals(element.getKey())) {
+                deployment = element.getValue();
+                break;
+            }
+        }
+        ControlPoint controlPoint = deployment == null ? null : requestController.getControlPoints(deployment).get(address.getLastElement().getValue());
+        if (controlPoint == null) {
+            return;
+        }
+        ControlPointStatistics statistics = controlPoint.getStatistics();
+        switch (name) {
+            case Constants.ACTIVE_REQUESTS:
+                result.set(controlPoint.getActiveRequestCount());
+                break;
+            case Constants.REQUEST_COUNT:
+                result.set(statistics.getRequestCount());
+                break;
+            case Constants.REJECTED_REQUEST_COUNT:
+                result.set(statistics.getRejectedRequestCount());
+                break;
+            case Constants.AVERAGE_REQUEST_TIME:
+                result.set(statistics.getAverageRequestTime());
+                break;
+            case Constants.QUEUE_TIME:
+                readHistogram(statistics.getQueueTime(), result);
+                break;
+            case Constants.EXECUTION_TIME:
+                readHistogram(statistics.getExecutionTime(), result);
+                break;
+            case Constants.REQUEST_TIME:
+                readHistogram(statistics.getRequestTime(), result);
+                break;
+            default:
+                throw new IllegalStateException(name);
+        }
+    }
+
+    private static void readHistogram(LatencyHistogram histogram, ModelNode result) {
+        result.get(Constants.COUNT).set(histogram.getCount());
+        result.get(Constants.MEAN).set(histogram.getMean());
+        result.get(Constants.MAX).set(histogram.getMax());
+        result.get(Constants.PERCENTILE_50).set(histogram.getPercentile(50));
+        result.get(Constants.PERCENTILE_90).set(histogram.getPercentile(90));
+        result.get(Constants.PERCENTILE_99).set(histogram.getPercentile(99));
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.ObjectTypeAttributeDefinition;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.dmr.ModelType;
+
+/**
+ * Runtime resource exposing the statistics of a deployment's {@link ControlPoint}.
+ */
+class EntryPointResourceDefinition extends SimpleResourceDefinition {
+
+    static final PathElement PATH = PathElement.pathElement(Constants.ENTRY_POINT);
+
+    static final SimpleAttributeDefinition ACTIVE_REQUESTS = SimpleAttributeDefinitionBuilder.create(Constants.ACTIVE_REQUESTS, ModelType.INT, true)
+            .setStorageRuntime()
+            .build();
+
+    static final SimpleAttributeDefinition REQUEST_COUNT = SimpleAttributeDefinitionBuilder.create(Constants.REQUEST_COUNT, ModelType.LONG, true)
+            .setStorageRuntime()
+            .build();
+
+    static final SimpleAttributeDefinition REJECTED_REQUEST_COUNT = SimpleAttributeDefinitionBuilder.create(Constants.REJECTED_REQUEST_COUNT, ModelType.LONG, true)
+            .setStorageRuntime()
+            .build();
+
+    static final SimpleAttributeDefinition AVERAGE_REQUEST_TIME = SimpleAttributeDefinitionBuilder.create(Constants.AVERAGE_REQUEST_TIME, ModelType.LONG, true)
+            .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+            .setStorageRuntime()
+            .build();
+
+    static final ObjectTypeAttributeDefinition QUEUE_TIME = createHistogram(Constants.QUEUE_TIME);
+
+    static final ObjectTypeAttributeDefinition EXECUTION_TIME = createHistogram(Constants.EXECUTION_TIME);
+
+    static final ObjectTypeAttributeDefinition REQUEST_TIME = createHistogram(Constants.REQUEST_TIME);
+
+    static final AttributeDefinition[] ATTRIBUTES = {ACTIVE_REQUESTS, REQUEST_COUNT, REJECTED_REQUEST_COUNT, AVERAGE_REQUEST_TIME, QUEUE_TIME, EXECUTION_TIME, REQUEST_TIME};
+
+    EntryPointResourceDefinition() {
+        super(new Parameters(PATH, RequestControllerExtension.getResolver(Constants.ENTRY_POINT)).setRuntime());
+    }
+
+    @Override
+    public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+        EntryPointMetricsHandler handler = new EntryPointMetricsHandler();
+        for (AttributeDefinition attribute : ATTRIBUTES) {
+            resourceRegistration.registerMetric(attribute, handler);
+        }
+    }
+
+    private static ObjectTypeAttributeDefinition createHistogram(String name) {
+        return ObjectTypeAttributeDefinition.Builder.of(name,
+                        createHistogramField(Constants.COUNT, null),
+                        createHistogramField(Constants.MEAN, MeasurementUnit.MICROSECONDS),
+                        createHistogramField(Constants.MAX, MeasurementUnit.MICROSECONDS),
+                        createHistogramField(Constants.PERCENTILE_50, MeasurementUnit.MICROSECONDS),
+                        createHistogramField(Constants.PERCENTILE_90, MeasurementUnit.MICROSECONDS),
+                        createHistogramField(Constants.PERCENTILE_99, MeasurementUnit.MICROSECONDS))
+                .setRequired(false)
+                .setStorageRuntime()
+                .build();
+    }
+
+    private static SimpleAttributeDefinition createHistogramField(String name, MeasurementUnit unit) {
+        SimpleAttributeDefinitionBuilder builder = SimpleAttributeDefinitionBuilder.create(name, ModelType.LONG, true)
+                .setStorageRuntime();
+        if (unit != null) {
+            builder.setMeasurementUnit(unit);
+        }
+        return builder.build();
+    }
+}
@@ -13,7 +13,7 @@ import org.jboss.dmr.ModelNode;
 import org.jboss.msc.service.ServiceController;
 
 /**
- * Write handler for the max requests attribute
+ * Write handler for the attributes that limit the number of active requests
  *
  * @author Stuart Douglas
  */
@@ -22,7 +22,7 @@ class MaxRequestsWriteHandler extends AbstractWriteAttributeHandler<Void> {
     @Override
     protected boolean applyUpdateToRuntime(OperationContext context, ModelNode operation, String attributeName,
                                            ModelNode resolvedValue, ModelNode currentValue, HandbackHolder<Void> handbackHolder) throws OperationFailedException {
-        apply(context, resolvedValue);
+        apply(context, context.readResource(PathAddress.EMPTY_ADDRESS).getModel());
         return false;
     }
 
@@ -31,16 +31,18 @@ class MaxRequestsWriteHandler extends AbstractWriteAttributeHandler<Void> {
                                          ModelNode valueToRestore, ModelNode valueToRevert, Void handback) throws OperationFailedException {
         final ModelNode restored = context.readResource(PathAddress.EMPTY_ADDRESS).getModel().clone();
         restored.get(attributeName).set(valueToRestore);
-        apply(context, valueToRestore);
+        apply(context, restored);
     }
 
-    private static void apply(final OperationContext context, ModelNode resolvedValue) throws OperationFailedException {
+    private static void apply(final OperationContext context, ModelNode model) throws OperationFailedException {
         ServiceController<?> serviceController = context.getServiceRegistry(false).getService(RequestController.SERVICE_NAME);
         if(serviceController == null) {
             return;
         }
         RequestController requestController = (RequestController) serviceController.getService().getValue();
-        requestController.setMaxRequestCount(resolvedValue.asInt(-1));
+        requestController.setMaxRequestCount(RequestControllerRootDefinition.MAX_REQUESTS.resolveModelAttribute(context, model).asInt(-1));
+        requestController.setAdaptiveLimit(RequestControllerRootDefinition.ADAPTIVE_LIMIT.resolveModelAttribute(context, model).asBoolean(),
+                RequestControllerRootDefinition.MIN_REQUESTS.resolveModelAttribute(context, model).asInt());
     }
 
 }
@@ -15,12 +15,14 @@ enum Namespace {
     // must be first
     UNKNOWN(null),
 
-    REQUEST_CONTROLLER_1_0("urn:jboss:domain:request-controller:1.0");
+    REQUEST_CONTROLLER_1_0("urn:jboss:domain:request-controller:1.0"),
+
+    REQUEST_CONTROLLER_1_1("urn:jboss:domain:request-controller:1.1");
 
     /**
      * The current namespace version.
      */
-    public static final Namespace CURRENT = REQUEST_CONTROLLER_1_0;
+    public static final Namespace CURRENT = REQUEST_CONTROLLER_1_1;
 
     private final String name;
 
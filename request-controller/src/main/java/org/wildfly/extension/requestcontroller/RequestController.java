@@ -5,16 +5,17 @@
 package org.wildfly.extension.requestcontroller;
 
 import java.util.ArrayList;
-import java.util.Deque;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executor;
-import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
@@ -54,11 +55,18 @@ public class RequestController implements Service<RequestController>, Suspendabl
 
     private volatile int maxRequestCount = -1;
 
+    private volatile int minRequestCount = 1;
+
+    /**
+     * The limit that is used instead of {@link #maxRequestCount} if the adaptive limit is enabled, otherwise {@code null}
+     */
+    private volatile AdaptiveRequestLimit adaptiveLimit = null;
+
     private volatile int activeRequestCount = 0;
 
     private volatile boolean paused = false;
 
-    private final Map<ControlPointIdentifier, ControlPoint> entryPoints = new HashMap<>();
+    private final Map<ControlPointIdentifier, ControlPoint> entryPoints = new ConcurrentHashMap<>();
 
     @SuppressWarnings("unused")
     private volatile CompletableFuture<Void> suspend = null;
@@ -73,7 +81,16 @@ public class RequestController implements Service<RequestController>, Suspendabl
 
     private Timer timer;
 
-    private final Deque<QueuedTask> taskQueue = new LinkedBlockingDeque<>();
+    /**
+     * Tasks waiting for a request permit. Every completed request polls this queue, so it must not take a lock.
+     */
+    private final Queue<QueuedTask> taskQueue = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Tasks that must run even while the container is suspended, kept apart so they can be found without
+     * searching the normal queue.
+     */
+    private final Queue<QueuedTask> forcedTaskQueue = new ConcurrentLinkedQueue<>();
 
     @Override
     public CompletionStage<Void> suspend(ServerSuspendContext context) {
@@ -97,9 +114,7 @@ public class RequestController implements Service<RequestController>, Suspendabl
             suspendUpdater.compareAndSet(this, suspend, null);
             suspend.cancel(false);
         }
-        while (!taskQueue.isEmpty() && (activeRequestCount < maxRequestCount || maxRequestCount < 0)) {
-            runQueuedTask(false);
-        }
+        runQueuedTasks();
         return SuspendableActivity.COMPLETED;
     }
 
@@ -109,7 +124,7 @@ public class RequestController implements Service<RequestController>, Suspendabl
      * @param filter a control point filter
      * @return a stage that will complete when the deployments matching the specified predicate are paused.
      */
-    private synchronized CompletionStage<Void> pause(Predicate<ControlPoint> filter) {
+    private CompletionStage<Void> pause(Predicate<ControlPoint> filter) {
         List<ControlPoint> controlPoints = this.entryPoints.values().stream().filter(filter).collect(Collectors.toUnmodifiableList());
         if (controlPoints.isEmpty()) return SuspendableActivity.COMPLETED;
         AtomicInteger count = new AtomicInteger(controlPoints.size());
@@ -155,7 +170,7 @@ public class RequestController implements Service<RequestController>, Suspendabl
      * Resumes the control points matching the specified predicate.
      * @param filter a control point filter
      */
-    private synchronized void resume(Predicate<ControlPoint> filter) {
+    private void resume(Predicate<ControlPoint> filter) {
         this.entryPoints.values().stream().filter(filter).forEach(ControlPoint::resume);
     }
 
@@ -199,7 +214,7 @@ public class RequestController implements Service<RequestController>, Suspendabl
         this.resume(new EntryPointFilter(entryPoint));
     }
 
-    public synchronized RequestControllerState getState() {
+    public RequestControllerState getState() {
         final List<RequestControllerState.EntryPointState> eps = new ArrayList<>();
         for (ControlPoint controlPoint : entryPoints.values()) {
             eps.add(new RequestControllerState.EntryPointState(controlPoint.getDeployment(), controlPoint.getEntryPoint(), controlPoint.isPaused(), controlPoint.getActiveRequestCount()));
@@ -208,7 +223,8 @@ public class RequestController implements Service<RequestController>, Suspendabl
     }
 
     RunResult beginRequest(boolean force) {
-        int maxRequests = maxRequestCount;
+        AdaptiveRequestLimit adaptive = adaptiveLimit;
+        int maxRequests = adaptive != null ? adaptive.getLimit() : maxRequestCount;
         int active = activeRequestCountUpdater.get(this);
         boolean success = false;
         while ((maxRequests <= 0 || active < maxRequests) && (!paused || force)) {
@@ -219,12 +235,15 @@ public class RequestController implements Service<RequestController>, Suspendabl
             active = activeRequestCountUpdater.get(this);
         }
         if (success) {
+            if (adaptive != null) {
+                adaptive.requestStarted();
+            }
             //re-check the paused state
             //this is necessary because there is a race between checking paused and updating active requests
-            //if this happens we just call requestComplete(), as the listener can only be invoked once it does not
-            //matter if it has already been invoked
+            //if this happens we just undo the increment, as the listener can only be invoked once it does not
+            //matter if it has already been invoked. The request never ran, so it must not count as completed.
             if(!force && paused) {
-                requestComplete();
+                decrementRequestCount();
                 return RunResult.REJECTED;
             }
             return RunResult.RUN;
@@ -234,11 +253,29 @@ public class RequestController implements Service<RequestController>, Suspendabl
     }
 
     void requestComplete() {
-        runQueuedTask(true);
+        AdaptiveRequestLimit adaptive = adaptiveLimit;
+        if (adaptive == null) {
+            runQueuedTask(true);
+            return;
+        }
+        boolean limitIncreased = adaptive.requestCompleted(activeRequestCount);
+        if (activeRequestCount > adaptive.getLimit()) {
+            // the limit was lowered, so give up the permit instead of passing it on to let the active count drop
+            decrementRequestCount();
+        } else {
+            runQueuedTask(true);
+        }
+        if (limitIncreased) {
+            runQueuedTasks();
+        }
     }
 
     private void decrementRequestCount() {
 
+        AdaptiveRequestLimit adaptive = adaptiveLimit;
+        if (adaptive != null) {
+            adaptive.requestFinished();
+        }
         int result = activeRequestCountUpdater.decrementAndGet(this);
         if (paused) {
             if (paused && result == 0) {
@@ -263,15 +300,14 @@ public class RequestController implements Service<RequestController>, Suspendabl
      * @param entryPointName The entry point name
      * @return The entry point, or null if the request controller is disabled
      */
-    public synchronized ControlPoint getControlPoint(final String deploymentName, final String entryPointName) {
+    public ControlPoint getControlPoint(final String deploymentName, final String entryPointName) {
         ControlPointIdentifier id = new ControlPointIdentifier(deploymentName, entryPointName);
-        ControlPoint ep = entryPoints.get(id);
-        if (ep == null) {
-            ep = new ControlPoint(this, deploymentName, entryPointName, trackIndividualControlPoints);
-            entryPoints.put(id, ep);
-        }
-        ep.increaseReferenceCount();
-        return ep;
+        // The reference count is updated within compute() so it cannot race with removeControlPoint
+        return entryPoints.compute(id, (key, existing) -> {
+            ControlPoint ep = existing != null ? existing : new ControlPoint(this, deploymentName, entryPointName, trackIndividualControlPoints);
+            ep.increaseReferenceCount();
+            return ep;
+        });
     }
 
     /**
@@ -279,11 +315,26 @@ public class RequestController implements Service<RequestController>, Suspendabl
      *
      * @param controlPoint The entry point
      */
-    public synchronized void removeControlPoint(ControlPoint controlPoint) {
-        if (controlPoint.decreaseReferenceCount() == 0) {
-            ControlPointIdentifier id = new ControlPointIdentifier(controlPoint.getDeployment(), controlPoint.getEntryPoint());
-            entryPoints.remove(id);
+    public void removeControlPoint(ControlPoint controlPoint) {
+        ControlPointIdentifier id = new ControlPointIdentifier(controlPoint.getDeployment(), controlPoint.getEntryPoint());
+        // The count is kept on the mapped instance, which is the one getControlPoint() handed out for this identifier
+        entryPoints.computeIfPresent(id, (key, existing) -> (existing.decreaseReferenceCount() == 0) ? null : existing);
+    }
+
+    /**
+     * Gets the control points of a deployment.
+     *
+     * @param deploymentName The top level deployment name
+     * @return the control points, keyed by entry point name
+     */
+    Map<String, ControlPoint> getControlPoints(final String deploymentName) {
+        Map<String, ControlPoint> result = new TreeMap<>();
+        for (ControlPoint controlPoint : entryPoints.values()) {
+            if (deploymentName.equals(controlPoint.getDeployment()) && controlPoint.getEntryPoint() != null) {
+                result.put(controlPoint.getEntryPoint(), controlPoint);
+            }
         }
+        return result;
     }
 
     /**
@@ -303,11 +354,42 @@ public class RequestController implements Service<RequestController>, Suspendabl
      */
     public void setMaxRequestCount(int maxRequestCount) {
         this.maxRequestCount = maxRequestCount;
-        while (!taskQueue.isEmpty() && (activeRequestCount < maxRequestCount || maxRequestCount < 0)) {
-            if(!runQueuedTask(false)) {
-                break;
+        if (adaptiveLimit != null) {
+            setAdaptiveLimit(true, minRequestCount);
+        }
+        runQueuedTasks();
+    }
+
+    /**
+     * Enables or disables the adaptive request limit. If enabled the number of requests that can be active at a time
+     * is adjusted according to the latency of the requests, between the given minimum and the max request count.
+     *
+     * @param adaptive        If the adaptive limit should be used
+     * @param minRequestCount The lowest the adaptive limit can get
+     */
+    synchronized void setAdaptiveLimit(boolean adaptive, int minRequestCount) {
+        this.minRequestCount = minRequestCount;
+        if (adaptive) {
+            AdaptiveRequestLimit current = adaptiveLimit;
+            int maxLimit = maxRequestCount > 0 ? maxRequestCount : AdaptiveRequestLimit.DEFAULT_MAX_LIMIT;
+            if (current != null) {
+                current.setBounds(minRequestCount, maxLimit);
+            } else {
+                adaptiveLimit = new AdaptiveRequestLimit(AdaptiveRequestLimit.INITIAL_LIMIT, minRequestCount, maxLimit);
             }
+        } else {
+            adaptiveLimit = null;
         }
+        runQueuedTasks();
+    }
+
+    /**
+     * @return The number of requests that can currently be active at a time, which is the max request count unless
+     * the adaptive limit is enabled
+     */
+    int getRequestLimit() {
+        AdaptiveRequestLimit adaptive = adaptiveLimit;
+        return adaptive != null ? adaptive.getLimit() : maxRequestCount;
     }
 
     /**
@@ -328,11 +410,12 @@ public class RequestController implements Service<RequestController>, Suspendabl
         this.registry.get().registerActivity(this);
         timer.cancel();
         timer = null;
-        while (!taskQueue.isEmpty()) {
-            QueuedTask t = taskQueue.poll();
-            if(t != null) {
-                t.run();
-            }
+        QueuedTask t;
+        while ((t = forcedTaskQueue.poll()) != null) {
+            t.run();
+        }
+        while ((t = taskQueue.poll()) != null) {
+            t.run();
         }
     }
 
@@ -348,12 +431,15 @@ public class RequestController implements Service<RequestController>, Suspendabl
     void queueTask(ControlPoint controlPoint, Runnable task, Executor taskExecutor, long timeout, Runnable timeoutTask, boolean rejectOnSuspend, boolean forceRun) {
         if(paused) {
             if(rejectOnSuspend && !forceRun) {
+                if (controlPoint != null) {
+                    controlPoint.getStatistics().requestRejected();
+                }
                 taskExecutor.execute(timeoutTask);
                 return;
             }
         }
-        QueuedTask queuedTask = new QueuedTask(taskExecutor, task, timeoutTask, controlPoint, forceRun);
-        taskQueue.add(queuedTask);
+        QueuedTask queuedTask = new QueuedTask(taskExecutor, task, timeoutTask, controlPoint);
+        (forceRun ? forcedTaskQueue : taskQueue).add(queuedTask);
         runQueuedTask(false);
         if(queuedTask.isQueued()) {
             if(timeout > 0) {
@@ -373,12 +459,10 @@ public class RequestController implements Service<RequestController>, Suspendabl
         if (!hasPermit && beginRequest(paused) == RunResult.REJECTED) {
             return false;
         }
-        QueuedTask task = null;
-        if (!paused) {
+        //forced tasks run first, and are the only ones that run while the container is suspended
+        QueuedTask task = forcedTaskQueue.poll();
+        if (task == null && !paused) {
             task = taskQueue.poll();
-        } else {
-            //the container is suspended, but we still need to run any force queued tasks
-            task = findForcedTask();
         }
         if (task != null) {
             if(!task.runRequest()) {
@@ -391,21 +475,20 @@ public class RequestController implements Service<RequestController>, Suspendabl
         }
     }
 
-    private QueuedTask findForcedTask() {
-        QueuedTask forcedTask = null;
-        QueuedTask task;
-        List<QueuedTask> storage = new ArrayList<>();
-        while (forcedTask == null && (task = taskQueue.poll()) != null) {
-            if (task.forceRun) {
-                forcedTask = task;
-            } else {
-                storage.add(task);
+    /**
+     * Runs queued tasks for as long as the request limit allows.
+     */
+    private void runQueuedTasks() {
+        while (hasQueuedTasks()) {
+            int limit = getRequestLimit();
+            if ((limit > 0 && activeRequestCount >= limit) || !runQueuedTask(false)) {
+                break;
             }
         }
-        // this screws the order somewhat, but the container is suspending anyway, and the order
-        // was never guarenteed. if we push them back onto the front we will need to just go through them again
-        taskQueue.addAll(storage);
-        return forcedTask;
+    }
+
+    private boolean hasQueuedTasks() {
+        return !forcedTaskQueue.isEmpty() || !taskQueue.isEmpty();
     }
 
     private static final class ControlPointIdentifier {
@@ -449,24 +532,26 @@ public class RequestController implements Service<RequestController>, Suspendabl
         private final Runnable task;
         private final Runnable cancelTask;
         private final ControlPoint controlPoint;
-        private final boolean forceRun;
+        private final long queuedTime = System.nanoTime();
 
         //0 == queued
         //1 == run
         //2 == cancelled
         private final AtomicInteger state = new AtomicInteger(0);
 
-        private QueuedTask(Executor executor, Runnable task, Runnable cancelTask, ControlPoint controlPoint, boolean forceRun) {
+        private QueuedTask(Executor executor, Runnable task, Runnable cancelTask, ControlPoint controlPoint) {
             this.executor = executor;
             this.task = task;
             this.cancelTask = cancelTask;
             this.controlPoint = controlPoint;
-            this.forceRun = forceRun;
         }
 
         @Override
         public void run() {
             if(state.compareAndSet(0, 2)) {
+                if (controlPoint != null) {
+                    controlPoint.getStatistics().requestRejected();
+                }
                 if(cancelTask != null) {
                     try {
                         executor.execute(cancelTask);
@@ -481,6 +566,9 @@ public class RequestController implements Service<RequestController>, Suspendabl
         public boolean runRequest() {
             if (state.compareAndSet(0, 1)) {
                 cancel();
+                if (controlPoint != null) {
+                    controlPoint.getStatistics().taskDequeued(System.nanoTime() - queuedTime);
+                }
                 executor.execute(new ControlPointTask(task, controlPoint));
                 return true;
             } else {
@@ -4,7 +4,10 @@
  */
 package org.wildfly.extension.requestcontroller;
 
+import org.jboss.as.server.deployment.Attachments;
 import org.jboss.as.server.deployment.DeploymentPhaseContext;
+import org.jboss.as.server.deployment.DeploymentResourceSupport;
+import org.jboss.as.server.deployment.DeploymentUnit;
 import org.jboss.as.server.deployment.DeploymentUnitProcessingException;
 import org.jboss.as.server.deployment.DeploymentUnitProcessor;
 
@@ -12,9 +15,35 @@ import org.jboss.as.server.deployment.DeploymentUnitProcessor;
  * @author Stuart Douglas
  */
 public class RequestControllerDeploymentUnitProcessor implements DeploymentUnitProcessor {
+
+    private final RequestController requestController;
+
+    /**
+     * Creates a processor that only marks deployments, without exposing the statistics of their entry points.
+     */
+    public RequestControllerDeploymentUnitProcessor() {
+        this(null);
+    }
+
+    /**
+     * @param requestController the request controller whose entry point statistics are registered for each
+     *                          deployment, or {@code null} to not register them
+     */
+    RequestControllerDeploymentUnitProcessor(RequestController requestController) {
+        this.requestController = requestController;
+    }
+
     @Override
     public void deploy(DeploymentPhaseContext phaseContext) throws DeploymentUnitProcessingException {
-        RequestControllerActivationMarker.mark(phaseContext.getDeploymentUnit());
+        DeploymentUnit deploymentUnit = phaseContext.getDeploymentUnit();
+        RequestControllerActivationMarker.mark(deploymentUnit);
+        // Control points are always created for the top level deployment
+        if (requestController != null && deploymentUnit.getParent() == null) {
+            DeploymentResourceSupport support = deploymentUnit.getAttachment(Attachments.DEPLOYMENT_RESOURCE_SUPPORT);
+            if (support != null && !support.hasDeploymentSubsystemModel(RequestControllerExtension.SUBSYSTEM_NAME)) {
+                support.registerDeploymentSubsystemResource(RequestControllerExtension.SUBSYSTEM_NAME, new DeploymentEntryPointsResource(requestController, deploymentUnit.getName()));
+            }
+        }
     }
 
 }
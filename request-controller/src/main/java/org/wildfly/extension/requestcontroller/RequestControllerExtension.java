@@ -11,6 +11,7 @@ import org.jboss.as.controller.Extension;
 import org.jboss.as.controller.ExtensionContext;
 import org.jboss.as.controller.ModelVersion;
 import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.SubsystemRegistration;
 import org.jboss.as.controller.descriptions.StandardResourceDescriptionResolver;
 import org.jboss.as.controller.operations.common.GenericSubsystemDescribeHandler;
@@ -37,17 +38,23 @@ public class RequestControllerExtension implements Extension {
 
     @Override
     public void initializeParsers(ExtensionParsingContext context) {
+        context.setSubsystemXmlMapping(SUBSYSTEM_NAME, Namespace.REQUEST_CONTROLLER_1_0.getUriString(), RequestControllerSubsystemParser_1_0::new);
         // For the current version we don't use a Supplier as we want its description initialized
-        // TODO if any new xsd versions are added, use a Supplier for the old version
-        context.setSubsystemXmlMapping(SUBSYSTEM_NAME, Namespace.REQUEST_CONTROLLER_1_0.getUriString(), new RequestControllerSubsystemParser_1_0());
+        context.setSubsystemXmlMapping(SUBSYSTEM_NAME, Namespace.REQUEST_CONTROLLER_1_1.getUriString(), new RequestControllerSubsystemParser_1_1());
     }
 
     @Override
     public void initialize(ExtensionContext context) {
-        final SubsystemRegistration subsystem = context.registerSubsystem(SUBSYSTEM_NAME, ModelVersion.create(1, 1));
+        final SubsystemRegistration subsystem = context.registerSubsystem(SUBSYSTEM_NAME, ModelVersion.create(1, 2));
         final ManagementResourceRegistration registration = subsystem.registerSubsystemModel(new RequestControllerRootDefinition(context.isRuntimeOnlyRegistrationValid()));
         registration.registerOperationHandler(GenericSubsystemDescribeHandler.DEFINITION, GenericSubsystemDescribeHandler.INSTANCE, false);
-        subsystem.registerXMLElementWriter(RequestControllerSubsystemParser_1_0::new);
+
+        if (context.isRuntimeOnlyRegistrationValid()) {
+            final ManagementResourceRegistration deployments = subsystem.registerDeploymentModel(new SimpleResourceDefinition(
+                    new SimpleResourceDefinition.Parameters(SUBSYSTEM_PATH, getResolver("deployment")).setFeature(false).setRuntime()));
+            deployments.registerSubModel(new EntryPointResourceDefinition());
+        }
+        subsystem.registerXMLElementWriter(RequestControllerSubsystemParser_1_1::new);
     }
 
 
@@ -0,0 +1,41 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import org.jboss.as.controller.ModelVersion;
+import org.jboss.as.controller.transform.ExtensionTransformerRegistration;
+import org.jboss.as.controller.transform.SubsystemTransformerRegistration;
+import org.jboss.as.controller.transform.description.DiscardAttributeChecker;
+import org.jboss.as.controller.transform.description.RejectAttributeChecker;
+import org.jboss.as.controller.transform.description.ResourceTransformationDescriptionBuilder;
+import org.jboss.as.controller.transform.description.TransformationDescription;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Registers the transformers of the request controller subsystem.
+ */
+public class RequestControllerExtensionTransformerRegistration implements ExtensionTransformerRegistration {
+
+    private static final ModelVersion VERSION_1_1_0 = ModelVersion.create(1, 1, 0);
+
+    @Override
+    public String getSubsystemName() {
+        return RequestControllerExtension.SUBSYSTEM_NAME;
+    }
+
+    @Override
+    public void registerTransformers(SubsystemTransformerRegistration subsystemRegistration) {
+        // 1.1.0 has no adaptive limit. The default of a static limit is discarded, an adaptive limit is rejected,
+        // and min-requests has no effect without it.
+        ResourceTransformationDescriptionBuilder builder = ResourceTransformationDescriptionBuilder.Factory.createSubsystemInstance();
+        builder.getAttributeBuilder()
+                .setDiscard(new DiscardAttributeChecker.DiscardAttributeValueChecker(false, true, ModelNode.FALSE), RequestControllerRootDefinition.ADAPTIVE_LIMIT)
+                .addRejectCheck(RejectAttributeChecker.DEFINED, RequestControllerRootDefinition.ADAPTIVE_LIMIT)
+                .setDiscard(DiscardAttributeChecker.ALWAYS, RequestControllerRootDefinition.MIN_REQUESTS)
+                .end();
+        TransformationDescription.Tools.register(builder.build(), subsystemRegistration, VERSION_1_1_0);
+    }
+}
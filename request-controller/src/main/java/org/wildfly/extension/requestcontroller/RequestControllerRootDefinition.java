@@ -18,6 +18,7 @@ import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.capability.RuntimeCapability;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
@@ -41,9 +42,24 @@ class RequestControllerRootDefinition extends PersistentResourceDefinition {
             .setRestartAllServices()
             .build();
 
+    public static final SimpleAttributeDefinition ADAPTIVE_LIMIT = SimpleAttributeDefinitionBuilder.create(Constants.ADAPTIVE_LIMIT, ModelType.BOOLEAN, true)
+            .setAllowExpression(true)
+            .setDefaultValue(ModelNode.FALSE)
+            .build();
+
+    public static final SimpleAttributeDefinition MIN_REQUESTS = SimpleAttributeDefinitionBuilder.create(Constants.MIN_REQUESTS, ModelType.INT, true)
+            .setAllowExpression(true)
+            .setDefaultValue(new ModelNode(1))
+            .setValidator(IntRangeValidator.POSITIVE)
+            .build();
+
     public static final SimpleAttributeDefinition ACTIVE_REQUESTS = SimpleAttributeDefinitionBuilder.create(Constants.ACTIVE_REQUESTS, ModelType.INT, true)
             .setStorageRuntime()
             .build();
+
+    public static final SimpleAttributeDefinition REQUEST_LIMIT = SimpleAttributeDefinitionBuilder.create(Constants.REQUEST_LIMIT, ModelType.INT, true)
+            .setStorageRuntime()
+            .build();
     public static final RequestControllerRootDefinition INSTANCE = new RequestControllerRootDefinition(true);
 
     static final RuntimeCapability<Void> REQUEST_CONTROLLER_CAPABILITY =
@@ -67,9 +83,9 @@ class RequestControllerRootDefinition extends PersistentResourceDefinition {
 
     private static Collection<AttributeDefinition> getAttributeDefinitions(boolean registerRuntimeOnly) {
         if(registerRuntimeOnly) {
-            return Arrays.asList(new AttributeDefinition[]{MAX_REQUESTS, TRACK_INDIVIDUAL_ENDPOINTS, ACTIVE_REQUESTS});
+            return Arrays.asList(new AttributeDefinition[]{MAX_REQUESTS, TRACK_INDIVIDUAL_ENDPOINTS, ADAPTIVE_LIMIT, MIN_REQUESTS, ACTIVE_REQUESTS, REQUEST_LIMIT});
         } else {
-            return Arrays.asList(new AttributeDefinition[]{MAX_REQUESTS, TRACK_INDIVIDUAL_ENDPOINTS});
+            return Arrays.asList(new AttributeDefinition[]{MAX_REQUESTS, TRACK_INDIVIDUAL_ENDPOINTS, ADAPTIVE_LIMIT, MIN_REQUESTS});
         }
     }
 
@@ -82,9 +98,12 @@ class RequestControllerRootDefinition extends PersistentResourceDefinition {
     public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
         MaxRequestsWriteHandler handler = new MaxRequestsWriteHandler();
         resourceRegistration.registerReadWriteAttribute(MAX_REQUESTS, null, handler);
+        resourceRegistration.registerReadWriteAttribute(ADAPTIVE_LIMIT, null, handler);
+        resourceRegistration.registerReadWriteAttribute(MIN_REQUESTS, null, handler);
         resourceRegistration.registerReadWriteAttribute(TRACK_INDIVIDUAL_ENDPOINTS, null, ReloadRequiredWriteAttributeHandler.INSTANCE);
         if(registerRuntimeOnly) {
             resourceRegistration.registerMetric(ACTIVE_REQUESTS, new ActiveRequestsReadHandler());
+            resourceRegistration.registerMetric(REQUEST_LIMIT, new RequestLimitReadHandler());
         }
     }
 }
@@ -35,23 +35,26 @@ class RequestControllerSubsystemAdd extends AbstractBoottimeAddStepHandler {
     public void performBoottime(OperationContext context, ModelNode operation, final Resource resource)
             throws OperationFailedException {
 
-        context.addStep(new AbstractDeploymentChainStep() {
-            @Override
-            protected void execute(DeploymentProcessorTarget processorTarget) {
-
-                processorTarget.addDeploymentProcessor(RequestControllerExtension.SUBSYSTEM_NAME, Phase.STRUCTURE, Phase.STRUCTURE_GLOBAL_REQUEST_CONTROLLER, new RequestControllerDeploymentUnitProcessor());
-            }
-        }, OperationContext.Stage.RUNTIME);
-
         int maxRequests = RequestControllerRootDefinition.MAX_REQUESTS.resolveModelAttribute(context, resource.getModel()).asInt();
         boolean trackIndividual = RequestControllerRootDefinition.TRACK_INDIVIDUAL_ENDPOINTS.resolveModelAttribute(context, resource.getModel()).asBoolean();
+        boolean adaptiveLimit = RequestControllerRootDefinition.ADAPTIVE_LIMIT.resolveModelAttribute(context, resource.getModel()).asBoolean();
+        int minRequests = RequestControllerRootDefinition.MIN_REQUESTS.resolveModelAttribute(context, resource.getModel()).asInt();
 
         CapabilityServiceBuilder<?> svcBuilder = context.getCapabilityServiceTarget().addCapability(REQUEST_CONTROLLER_CAPABILITY);
         Supplier<SuspendableActivityRegistry> registry = svcBuilder.requires(SuspendableActivityRegistry.SERVICE_DESCRIPTOR);
         RequestController requestController = new RequestController(trackIndividual, registry);
         requestController.setMaxRequestCount(maxRequests);
+        requestController.setAdaptiveLimit(adaptiveLimit, minRequests);
         svcBuilder.setInstance(requestController)
                 .install();
 
+        context.addStep(new AbstractDeploymentChainStep() {
+            @Override
+            protected void execute(DeploymentProcessorTarget processorTarget) {
+
+                processorTarget.addDeploymentProcessor(RequestControllerExtension.SUBSYSTEM_NAME, Phase.STRUCTURE, Phase.STRUCTURE_GLOBAL_REQUEST_CONTROLLER, new RequestControllerDeploymentUnitProcessor(requestController));
+            }
+        }, OperationContext.Stage.RUNTIME);
+
     }
 }
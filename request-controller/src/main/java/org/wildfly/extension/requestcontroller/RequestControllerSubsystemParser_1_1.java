@@ -0,0 +1,27 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import static org.jboss.as.controller.PersistentResourceXMLDescription.builder;
+
+import org.jboss.as.controller.PersistentResourceXMLDescription;
+import org.jboss.as.controller.PersistentResourceXMLParser;
+
+/**
+ * Parser and writer for the request controller subsystem 1.1 schema, which adds the adaptive limit attributes.
+ */
+class RequestControllerSubsystemParser_1_1 extends PersistentResourceXMLParser {
+
+
+    @Override
+    public PersistentResourceXMLDescription getParserDescription() {
+        return builder(RequestControllerRootDefinition.INSTANCE.getPathElement(), Namespace.REQUEST_CONTROLLER_1_1.getUriString())
+                .addAttributes(RequestControllerRootDefinition.MAX_REQUESTS, RequestControllerRootDefinition.TRACK_INDIVIDUAL_ENDPOINTS,
+                        RequestControllerRootDefinition.ADAPTIVE_LIMIT, RequestControllerRootDefinition.MIN_REQUESTS)
+                .build();
+    }
+}
+
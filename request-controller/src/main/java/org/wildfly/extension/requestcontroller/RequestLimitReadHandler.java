@@ -0,0 +1,34 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+
+/**
+ * Read handler for the number of requests that can currently be active
+ */
+class RequestLimitReadHandler extends AbstractRuntimeOnlyHandler {
+
+    @Override
+    protected boolean requiresRuntime(OperationContext context) {
+        return true;
+    }
+
+    @Override
+    protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+        ServiceController<?> service = context.getServiceRegistry(false).getService(RequestController.SERVICE_NAME);
+        if(service != null) {
+            RequestController requestController = (RequestController) service.getService().getValue();
+            context.getResult().set(requestController.getRequestLimit());
+        } else {
+            context.getResult().set(-1);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Tests of {@link AdaptiveRequestLimit}, using a simulated clock.
+ */
+public class AdaptiveRequestLimitTestCase {
+
+    private long now = 1_000_000_000L;
+
+    @Test
+    public void limitIncreasesWhileLatencyIsStable() {
+        AdaptiveRequestLimit limit = new AdaptiveRequestLimit(20, 1, 1000, () -> now);
+        int previous = limit.getLimit();
+        for (int i = 0; i < 10; i++) {
+            runWindow(limit, 10);
+            assertTrue(limit.getLimit() >= previous);
+            previous = limit.getLimit();
+        }
+        assertTrue(limit.getLimit() > 20);
+    }
+
+    @Test
+    public void limitDecreasesWhenLatencyIncreases() {
+        AdaptiveRequestLimit limit = new AdaptiveRequestLimit(100, 1, 1000, () -> now);
+        for (int i = 0; i < 5; i++) {
+            runWindow(limit, 10);
+        }
+        int stable = limit.getLimit();
+        for (int i = 0; i < 5; i++) {
+            runWindow(limit, 200);
+        }
+        assertTrue(limit.getLimit() < stable);
+    }
+
+    @Test
+    public void limitStaysWithinBounds() {
+        AdaptiveRequestLimit limit = new AdaptiveRequestLimit(5000, 10, 50, () -> now);
+        assertEquals(50, limit.getLimit());
+        for (int i = 0; i < 10; i++) {
+            runWindow(limit, 10);
+            assertTrue(limit.getLimit() <= 50);
+        }
+        assertEquals(50, limit.getLimit());
+        for (int i = 0; i < 100; i++) {
+            runWindow(limit, 1000 * (i + 1));
+            assertTrue(limit.getLimit() >= 10);
+        }
+        assertEquals(10, limit.getLimit());
+
+        // changing the bounds clamps the current limit
+        limit.setBounds(20, 40);
+        assertEquals(20, limit.getLimit());
+        limit.setBounds(1, 5);
+        assertEquals(5, limit.getLimit());
+        limit.setBounds(8, 6);
+        assertEquals(8, limit.getLimit());
+    }
+
+    /**
+     * Runs rounds of as many requests as the limit allows, each taking the given time, until the limit is updated.
+     */
+    private void runWindow(AdaptiveRequestLimit limit, long latencyMillis) {
+        long windowEnd = now + TimeUnit.MILLISECONDS.toNanos(100);
+        while (now < windowEnd) {
+            int requests = limit.getLimit();
+            for (int i = 0; i < requests; i++) {
+                limit.requestStarted();
+            }
+            now += TimeUnit.MILLISECONDS.toNanos(latencyMillis);
+            for (int i = 0; i < requests; i++) {
+                // as in the request controller, the completed request is still counted as active
+                limit.requestCompleted(requests - i);
+                limit.requestFinished();
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DEPLOYMENT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSYSTEM;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.dmr.ModelNode;
+import org.junit.Test;
+
+/**
+ * Tests of the statistics of a {@link ControlPoint}, as read through the {@code entry-point} resources of a deployment.
+ */
+public class EntryPointStatisticsTestCase {
+
+    private static final String DEPLOYMENT_NAME = "test.war";
+    private static final String ENTRY_POINT_NAME = "test-entry-point";
+    private static final PathAddress ADDRESS = PathAddress.pathAddress(DEPLOYMENT, DEPLOYMENT_NAME)
+            .append(SUBSYSTEM, RequestControllerExtension.SUBSYSTEM_NAME)
+            .append(Constants.ENTRY_POINT, ENTRY_POINT_NAME);
+
+    @Test
+    public void statisticsAreReadThroughResource() throws Exception {
+        RequestController rc = new RequestController(true, () -> null);
+        ControlPoint controlPoint = rc.getControlPoint(DEPLOYMENT_NAME, ENTRY_POINT_NAME);
+
+        // completed on another thread, so its time is not recorded
+        assertEquals(RunResult.RUN, controlPoint.beginRequest());
+        Thread completion = new Thread(controlPoint::requestComplete);
+        completion.start();
+        completion.join();
+
+        assertEquals(RunResult.RUN, controlPoint.beginRequest());
+        controlPoint.requestComplete();
+        assertEquals(RunResult.RUN, controlPoint.beginRequest());
+        Thread.sleep(5);
+        controlPoint.requestComplete();
+
+        // run by the control point, so it is both a queued task and a request
+        controlPoint.queueTask(() -> { }, Runnable::run, 0, null, false);
+
+        controlPoint.pause();
+        assertEquals(RunResult.REJECTED, controlPoint.beginRequest());
+        controlPoint.resume();
+
+        DeploymentEntryPointsResource resource = new DeploymentEntryPointsResource(rc, DEPLOYMENT_NAME);
+        assertEquals(Collections.singleton(ENTRY_POINT_NAME), resource.getChildrenNames(Constants.ENTRY_POINT));
+        assertTrue(resource.hasChild(ADDRESS.getLastElement()));
+
+        assertEquals(0, readMetric(rc, Constants.ACTIVE_REQUESTS).asInt());
+        assertEquals(4, readMetric(rc, Constants.REQUEST_COUNT).asLong());
+        assertEquals(1, readMetric(rc, Constants.REJECTED_REQUEST_COUNT).asLong());
+        assertTrue(readMetric(rc, Constants.AVERAGE_REQUEST_TIME).asLong() >= TimeUnit.MILLISECONDS.toMicros(5) / 4);
+
+        ModelNode requestTime = readMetric(rc, Constants.REQUEST_TIME);
+        assertEquals(3, requestTime.get(Constants.COUNT).asLong());
+        long max = requestTime.get(Constants.MAX).asLong();
+        assertTrue(String.valueOf(max), max >= TimeUnit.MILLISECONDS.toMicros(5));
+        assertTrue(requestTime.get(Constants.MEAN).asLong() <= max);
+        assertTrue(requestTime.get(Constants.PERCENTILE_50).asLong() <= requestTime.get(Constants.PERCENTILE_99).asLong());
+        assertEquals(max, requestTime.get(Constants.PERCENTILE_99).asLong());
+
+        assertEquals(1, readMetric(rc, Constants.QUEUE_TIME).get(Constants.COUNT).asLong());
+        assertEquals(1, readMetric(rc, Constants.EXECUTION_TIME).get(Constants.COUNT).asLong());
+
+        // the statistics are gone with the control point
+        rc.removeControlPoint(controlPoint);
+        assertFalse(resource.hasChild(ADDRESS.getLastElement()));
+        assertFalse(readMetric(rc, Constants.REQUEST_COUNT).isDefined());
+    }
+
+    @Test
+    public void startsOfRequestsCompletedElsewhereAreBounded() {
+        RequestController rc = new RequestController(false, () -> null);
+        ControlPoint controlPoint = rc.getControlPoint(DEPLOYMENT_NAME, ENTRY_POINT_NAME);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(RunResult.RUN, controlPoint.beginRequest());
+        }
+        // completions on the starting thread are matched with the latest starts, the oldest starts were dropped
+        for (int i = 0; i < 100; i++) {
+            controlPoint.requestComplete();
+        }
+        ModelNode requestTime = readMetric(rc, Constants.REQUEST_TIME);
+        assertEquals(ControlPointStatistics.MAX_STARTS_PER_THREAD, requestTime.get(Constants.COUNT).asLong());
+        assertEquals(100, readMetric(rc, Constants.REQUEST_COUNT).asLong());
+    }
+
+    private static ModelNode readMetric(RequestController rc, String name) {
+        ModelNode result = new ModelNode();
+        EntryPointMetricsHandler.readMetric(rc, ADDRESS, name, result);
+        return result;
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Tests of {@link LatencyHistogram}.
+ */
+public class LatencyHistogramTestCase {
+
+    @Test
+    public void bucketsCoverValues() {
+        for (long micros = 0; micros < 1 << 20; micros++) {
+            int index = LatencyHistogram.bucketIndex(micros);
+            assertTrue(micros <= LatencyHistogram.upperBound(index));
+            if (index > 0) {
+                assertTrue(micros > LatencyHistogram.upperBound(index - 1));
+            }
+            // relative error of the reported bound is at most 25%
+            assertTrue(LatencyHistogram.upperBound(index) - micros <= micros / 4);
+        }
+    }
+
+    @Test
+    public void percentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getPercentile(50));
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(i));
+        }
+        assertEquals(100, histogram.getCount());
+        assertEquals(50500, histogram.getMean());
+        assertEquals(100000, histogram.getMax());
+        assertInRange(50000, histogram.getPercentile(50));
+        assertInRange(90000, histogram.getPercentile(90));
+        assertInRange(99000, histogram.getPercentile(99));
+        assertEquals(100000, histogram.getPercentile(100));
+    }
+
+    private static void assertInRange(long expected, long actual) {
+        assertTrue(String.valueOf(actual), actual >= expected && actual <= expected + expected / 4);
+    }
+}
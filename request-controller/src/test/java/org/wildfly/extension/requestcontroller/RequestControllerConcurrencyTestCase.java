@@ -0,0 +1,133 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.as.server.suspend.ServerSuspendController;
+import org.junit.Test;
+
+/**
+ * Tests of the {@link RequestController} admission path under concurrent use.
+ */
+public class RequestControllerConcurrencyTestCase {
+    private static final int THREADS_QTY = 16;
+    private static final int REQUESTS_PER_THREAD = 10000;
+    private static final int MAX_REQUESTS = 4;
+
+    @Test
+    public void maxRequestCountIsNeverExceeded() throws InterruptedException {
+        RequestController rc = new RequestController(false, () -> null);
+        rc.setMaxRequestCount(MAX_REQUESTS);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        AtomicInteger completed = new AtomicInteger();
+
+        CountDownLatch latch = new CountDownLatch(THREADS_QTY);
+        List<Thread> threads = new ArrayList<>(THREADS_QTY);
+        for (int threadNo = 0; threadNo < THREADS_QTY; threadNo++) {
+            threads.add(new Thread(() -> {
+                latch.countDown();
+                try {
+                    latch.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < REQUESTS_PER_THREAD; i++) {
+                    if (rc.beginRequest(false) == RunResult.RUN) {
+                        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                        running.decrementAndGet();
+                        completed.incrementAndGet();
+                        rc.requestComplete();
+                    }
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread t : threads) {
+            t.join();
+        }
+
+        assertTrue(maxRunning.get() <= MAX_REQUESTS);
+        assertTrue(completed.get() > 0);
+        assertEquals(0, rc.getActiveRequestCount());
+    }
+
+    @Test
+    public void forcedTasksRunWhileSuspended() {
+        RequestController rc = new RequestController(false, () -> null);
+        rc.suspend(ServerSuspendController.Context.RUNNING);
+        AtomicInteger queuedExecuted = new AtomicInteger();
+        AtomicInteger forcedExecuted = new AtomicInteger();
+        Executor queuedExecutor = task -> queuedExecuted.incrementAndGet();
+        Executor forcedExecutor = task -> forcedExecuted.incrementAndGet();
+
+        for (int i = 0; i < 3; i++) {
+            rc.queueTask(null, null, queuedExecutor, 0, null, false, false);
+        }
+        rc.queueTask(null, null, forcedExecutor, -1, null, false, true);
+
+        assertEquals(1, forcedExecuted.get());
+        assertEquals(0, queuedExecuted.get());
+
+        rc.resume(ServerSuspendController.Context.RUNNING);
+        assertEquals(3, queuedExecuted.get());
+        // The mock executors never run the tasks, so every task still holds its permit
+        assertEquals(4, rc.getActiveRequestCount());
+    }
+
+    @Test
+    public void permitsAreReleasedWhenAdaptiveLimitIsLowered() {
+        RequestController rc = new RequestController(false, () -> null);
+        rc.setMaxRequestCount(4);
+        rc.setAdaptiveLimit(true, 1);
+        for (int i = 0; i < 4; i++) {
+            assertEquals(RunResult.RUN, rc.beginRequest(false));
+        }
+        AtomicInteger queuedExecuted = new AtomicInteger();
+        Executor queuedExecutor = task -> queuedExecuted.incrementAndGet();
+        rc.queueTask(null, null, queuedExecutor, 0, null, false, false);
+        rc.queueTask(null, null, queuedExecutor, 0, null, false, false);
+        assertEquals(0, queuedExecuted.get());
+
+        // lowering the bounds lowers the adaptive limit straight away
+        rc.setMaxRequestCount(2);
+        assertEquals(2, rc.getRequestLimit());
+
+        // completed requests give up their permits until the active count is within the limit
+        rc.requestComplete();
+        assertEquals(3, rc.getActiveRequestCount());
+        rc.requestComplete();
+        assertEquals(2, rc.getActiveRequestCount());
+        assertEquals(0, queuedExecuted.get());
+
+        // from then on the permits are passed on to the queued tasks
+        rc.requestComplete();
+        assertEquals(1, queuedExecuted.get());
+        assertEquals(2, rc.getActiveRequestCount());
+    }
+
+    @Test
+    public void controlPointIsRemovedByIdentifier() {
+        RequestController rc = new RequestController(false, () -> null);
+        ControlPoint first = rc.getControlPoint("deployment", "entry");
+        ControlPoint second = rc.getControlPoint("deployment", "entry");
+        assertTrue(first == second);
+
+        // an equal control point that is not the mapped instance still releases a reference
+        rc.removeControlPoint(new ControlPoint(rc, "deployment", "entry", false));
+        assertEquals(1, rc.getControlPoints("deployment").size());
+        rc.removeControlPoint(first);
+        assertTrue(rc.getControlPoints("deployment").isEmpty());
+    }
+}
@@ -32,7 +32,17 @@ public class RequestControllerSubsystemTestCase extends AbstractSubsystemBaseTes
 
     @Override
     protected String getSubsystemXml() throws IOException {
-        return readResource("request-controller-1.0.xml");
+        return readResource("request-controller-1.1.xml");
+    }
+
+    @Test
+    public void testParseVersion1_0() throws Exception {
+        KernelServices services = createKernelServicesBuilder(createAdditionalInitialization())
+                .setSubsystemXml(readResource("request-controller-1.0.xml"))
+                .build();
+        if (!services.isSuccessfulBoot()) {
+            Assert.fail(services.getBootError().toString());
+        }
     }
 
     @Test
@@ -48,6 +58,7 @@ public class RequestControllerSubsystemTestCase extends AbstractSubsystemBaseTes
         workerServiceController.awaitValue();
         RequestController controller = workerServiceController.getService().getValue();
         Assert.assertEquals(100, controller.getMaxRequestCount());
+        Assert.assertEquals(AdaptiveRequestLimit.INITIAL_LIMIT, controller.getRequestLimit());
     }
 
     @Override
@@ -7,6 +7,7 @@ package org.jboss.as.server;
 
 import static org.jboss.as.server.ServerService.EXTERNAL_MODULE_CAPABILITY;
 
+import java.io.File;
 import java.lang.management.ManagementFactory;
 import java.lang.management.RuntimeMXBean;
 import java.util.List;
@@ -25,6 +26,8 @@ import org.jboss.as.repository.ContentRepository;
 import org.jboss.as.server.controller.git.GitContentRepository;
 import org.jboss.as.server.deployment.ContentCleanerService;
 import org.jboss.as.server.deployment.DeploymentMountProvider;
+import org.jboss.as.server.deployment.annotation.AnnotationIndexExecutor;
+import org.jboss.as.server.deployment.annotation.DeploymentIndexCache;
 import org.jboss.as.server.logging.ServerLogger;
 import org.jboss.as.server.mgmt.domain.RemoteFileRepositoryService;
 import org.jboss.as.server.moduleservice.ExternalModuleService;
@@ -149,6 +152,10 @@ final class ApplicationServerService implements Service<AsyncFuture<ServiceConta
         } else {
             RemoteFileRepositoryService.addService(serviceTarget, serverEnvironment.getServerContentDir(), serverEnvironment.getServerTempDir());
         }
+        if (!standalone || !selfContained) {
+            DeploymentIndexCache.addService(serviceTarget, new File(serverEnvironment.getServerDataDir(), "annotation-index"));
+        }
+        AnnotationIndexExecutor.addService(serviceTarget);
         ContentCleanerService.addService(serviceTarget, ServerService.JBOSS_SERVER_CLIENT_FACTORY, ServerService.JBOSS_SERVER_SCHEDULED_EXECUTOR);
         DeploymentMountProvider.Factory.addService(serviceTarget);
         ServiceModuleLoader.addService(serviceTarget, configuration);
@@ -213,6 +213,7 @@ public interface Bootstrap {
                         for (ManagementXmlSchema schema : standaloneXmlSchemas.getAdditional()) {
                             persister.registerAdditionalRootElement(schema.getQualifiedName(), schema);
                         }
+                        persister.enableBootOperationCache(serverEnvironment.getServerDataDir(), stability.toString());
                         extensionRegistry.setWriterRegistry(persister);
                         return persister;
                     }
@@ -82,7 +82,9 @@ public class GitConfigurationPersister extends XmlConfigurationPersister {
 
     @Override
     public void successfulBoot() throws ConfigurationPersistenceException {
-        successfulBoot.compareAndSet(false, true);
+        if (successfulBoot.compareAndSet(false, true)) {
+            super.successfulBoot();
+        }
     }
 
     @Override
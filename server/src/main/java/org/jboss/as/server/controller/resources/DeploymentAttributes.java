@@ -352,6 +352,18 @@ public class DeploymentAttributes {
             .withFlags(Flag.READ_ONLY)
             .build();
 
+    public static final OperationDefinition READ_PROCESSOR_TIMINGS = SimpleOperationDefinitionBuilder.of("read-processor-timings", DEPLOYMENT_RESOLVER)
+            .setReplyType(ModelType.LIST)
+            .setReplyValueType(ModelType.OBJECT)
+            .withFlags(Flag.READ_ONLY, Flag.RUNTIME_ONLY)
+            .build();
+
+    public static final OperationDefinition READ_DEPLOYMENT_PROCESSOR_TIMINGS = SimpleOperationDefinitionBuilder.of("read-deployment-processor-timings", DEPLOYMENT_RESOLVER)
+            .setReplyType(ModelType.LIST)
+            .setReplyValueType(ModelType.OBJECT)
+            .withFlags(Flag.READ_ONLY, Flag.RUNTIME_ONLY)
+            .build();
+
     public static final OperationDefinition DEPLOY_DEFINITION = SimpleOperationDefinitionBuilder.of(ModelDescriptionConstants.DEPLOY, DEPLOYMENT_RESOLVER).build();
     public static final OperationDefinition UNDEPLOY_DEFINITION = SimpleOperationDefinitionBuilder.of(ModelDescriptionConstants.UNDEPLOY, DEPLOYMENT_RESOLVER).build();
     public static final OperationDefinition REDEPLOY_DEFINITION = SimpleOperationDefinitionBuilder.of(ModelDescriptionConstants.REDEPLOY, DEPLOYMENT_RESOLVER).build();
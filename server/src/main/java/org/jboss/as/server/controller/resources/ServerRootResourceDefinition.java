@@ -86,6 +86,7 @@ import org.jboss.as.server.Services;
 import org.jboss.as.server.controller.descriptions.ServerDescriptionConstants;
 import org.jboss.as.server.controller.descriptions.ServerDescriptions;
 import org.jboss.as.server.deployment.DeploymentFullReplaceHandler;
+import org.jboss.as.server.deployment.DeploymentProcessorTimingsHandler;
 import org.jboss.as.server.deployment.DeploymentReplaceHandler;
 import org.jboss.as.server.deployment.DeploymentUploadBytesHandler;
 import org.jboss.as.server.deployment.DeploymentUploadStreamAttachmentHandler;
@@ -356,6 +357,7 @@ public class ServerRootResourceDefinition extends SimpleResourceDefinition {
         DeploymentUploadStreamAttachmentHandler.register(resourceRegistration, contentRepository);
         resourceRegistration.registerOperationHandler(DeploymentAttributes.REPLACE_DEPLOYMENT_DEFINITION, DeploymentReplaceHandler.create(contentRepository));
         resourceRegistration.registerOperationHandler(DeploymentAttributes.FULL_REPLACE_DEPLOYMENT_DEFINITION, DeploymentFullReplaceHandler.create(contentRepository));
+        resourceRegistration.registerOperationHandler(DeploymentAttributes.READ_DEPLOYMENT_PROCESSOR_TIMINGS, DeploymentProcessorTimingsHandler.SERVER_INSTANCE);
 
         if (!isDomain) {
             if(serverEnvironment.useGit()) {
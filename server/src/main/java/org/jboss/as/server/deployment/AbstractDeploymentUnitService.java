@@ -60,6 +60,7 @@ public abstract class AbstractDeploymentUnitService implements Service<Deploymen
         monitor = new StabilityMonitor();
         monitor.addController(context.getController());
         deploymentUnit = createAndInitializeDeploymentUnit(context.getController().getServiceContainer());
+        deploymentUnit.putAttachment(DeploymentProcessorTimings.ATTACHMENT_KEY, new DeploymentProcessorTimings());
 
         final String managementName = deploymentUnit.getAttachment(Attachments.MANAGEMENT_NAME);
         if (deploymentUnit.getParent()==null) {
@@ -17,6 +17,8 @@ import org.jboss.as.controller.capability.CapabilityServiceSupport;
 import org.jboss.as.controller.services.path.PathManager;
 import org.jboss.as.server.deployment.annotation.AnnotationIndexSupport;
 import org.jboss.as.server.deployment.annotation.CompositeIndex;
+import org.jboss.as.server.deployment.annotation.AnnotationIndexExecutor;
+import org.jboss.as.server.deployment.annotation.DeploymentIndexCache;
 import org.jboss.as.server.deployment.module.AdditionalModuleSpecification;
 import org.jboss.as.server.deployment.module.ExtensionInfo;
 import org.jboss.as.server.deployment.module.ExtensionListEntry;
@@ -153,6 +155,24 @@ public final class Attachments {
      */
     public static final AttachmentKey<Reference<AnnotationIndexSupport>> ANNOTATION_INDEX_SUPPORT = AttachmentKey.create(Reference.class);
 
+    /**
+     * The server-wide cache of resource root annotation indexes. This is attached to a {@link DeploymentUnit} for a
+     * top-level deployment if the indexes of its content can be cached, along with {@link #DEPLOYMENT_CONTENT_HASH}.
+     */
+    public static final AttachmentKey<DeploymentIndexCache> DEPLOYMENT_INDEX_CACHE = AttachmentKey.create(DeploymentIndexCache.class);
+
+    /**
+     * The hash of the managed content of a top-level deployment, if its annotation indexes can be cached in the
+     * {@link #DEPLOYMENT_INDEX_CACHE}.
+     */
+    public static final AttachmentKey<byte[]> DEPLOYMENT_CONTENT_HASH = AttachmentKey.create(byte[].class);
+
+    /**
+     * The server-wide executor used to read the class files of large resource roots while they are indexed. This is
+     * attached to a {@link DeploymentUnit} for a top-level deployment if parallel indexing is enabled.
+     */
+    public static final AttachmentKey<AnnotationIndexExecutor> ANNOTATION_INDEX_EXECUTOR = AttachmentKey.create(AnnotationIndexExecutor.class);
+
     /**
      * The composite annotation index for this deployment.
      */
@@ -0,0 +1,133 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.server.deployment;
+
+import java.security.PrivilegedAction;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.server.logging.ServerLogger;
+import org.jboss.msc.service.StartContext;
+import org.jboss.msc.service.StartException;
+import org.jboss.threads.JBossThreadFactory;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Executes the deployment unit processor chains of the top-level deployments installed during boot on a dedicated
+ * thread pool, rather than on the threads of the service container.
+ * <p>
+ * The phase services of independent deployments are started concurrently by the service container, but each of them
+ * then occupies a container thread for as long as its processors run, which delays the start of all other services.
+ * With this scheduler a phase service starts asynchronously, and no more phases than set by the
+ * {@value #PARALLELISM_PROPERTY} system property have their processors run at the same time. Phases of
+ * sub-deployments are not scheduled, as they are ordered relative to the phases of their parent deployment.
+ * </p>
+ * <p>
+ * The scheduler is disabled unless the property is set to a positive number, as it caps the number of deployment
+ * phases running at the same time during boot, however many threads the service container has.
+ * </p>
+ * <p>
+ * Phases are started in the order their services start, and queued while all threads are busy. The scheduler is
+ * detached from a deployment unit once its last phase completed or a phase failed, so phases that run after boot, e.g.
+ * when the deployment restarts, run on container threads again.
+ * </p>
+ *
+ * @see DeploymentUnitPhaseService
+ */
+final class BootDeploymentScheduler {
+
+    static final String PARALLELISM_PROPERTY = "org.wildfly.server.deployment.boot-parallelism";
+
+    /** Attached to deployment units whose phases should be scheduled */
+    static final AttachmentKey<BootDeploymentScheduler> ATTACHMENT_KEY = AttachmentKey.create(BootDeploymentScheduler.class);
+
+    private static volatile BootDeploymentScheduler instance;
+
+    /**
+     * Work done by a phase service when it starts.
+     */
+    interface PhaseTask {
+        void run() throws StartException;
+    }
+
+    private final ThreadPoolExecutor executor;
+
+    BootDeploymentScheduler(final int parallelism) {
+        final JBossThreadFactory threadFactory = WildFlySecurityManager.doUnchecked(new PrivilegedAction<JBossThreadFactory>() {
+            public JBossThreadFactory run() {
+                return new JBossThreadFactory(ThreadGroupHolder.THREAD_GROUP, Boolean.TRUE, null, "%G - %t", null, null);
+            }
+        });
+        executor = new ThreadPoolExecutor(parallelism, parallelism, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), threadFactory);
+        // the pool is only busy during boot
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Gets the scheduler to use for deployments installed during boot.
+     *
+     * @return the scheduler, or {@code null} if it is disabled
+     */
+    static BootDeploymentScheduler getInstance() {
+        BootDeploymentScheduler result = instance;
+        if (result == null) {
+            synchronized (BootDeploymentScheduler.class) {
+                result = instance;
+                if (result == null) {
+                    final int parallelism = getParallelism();
+                    if (parallelism < 1) {
+                        return null;
+                    }
+                    result = instance = new BootDeploymentScheduler(parallelism);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Runs the work of a phase service that is starting. The start of the service completes when the task is done.
+     *
+     * @param context the start context of the service
+     * @param deploymentUnit the deployment unit of the phase
+     * @param phase the phase
+     * @param task the work to do
+     */
+    void execute(final StartContext context, final DeploymentUnit deploymentUnit, final Phase phase, final PhaseTask task) {
+        context.asynchronous();
+        // the queue is unbounded and the pool never shut down, so this is not rejected
+        executor.execute(() -> {
+            try {
+                task.run();
+                if (phase.next() == null) {
+                    deploymentUnit.removeAttachment(ATTACHMENT_KEY);
+                }
+                context.complete();
+            } catch (Throwable t) {
+                deploymentUnit.removeAttachment(ATTACHMENT_KEY);
+                context.failed(t instanceof StartException ? (StartException) t : new StartException(t));
+            }
+        });
+    }
+
+    private static int getParallelism() {
+        int parallelism = 0;
+        final String value = WildFlySecurityManager.getPropertyPrivileged(PARALLELISM_PROPERTY, null);
+        if (value != null && !value.isEmpty()) {
+            try {
+                parallelism = Integer.decode(value);
+            } catch (NumberFormatException ex) {
+                ServerLogger.ROOT_LOGGER.failedToParseCommandLineInteger(PARALLELISM_PROPERTY, value);
+            }
+        }
+        return parallelism;
+    }
+
+    private static class ThreadGroupHolder {
+        private static final ThreadGroup THREAD_GROUP = new ThreadGroup("BootDeploymentScheduler-threads");
+    }
+}
@@ -15,6 +15,7 @@ import java.util.List;
  */
 final class DeployerChains {
     private final EnumMap<Phase, List<RegisteredDeploymentUnitProcessor>> phases;
+    private final DeploymentProcessorTimings timings = new DeploymentProcessorTimings();
 
     DeployerChains(final EnumMap<Phase, List<RegisteredDeploymentUnitProcessor>> phases) {
         this.phases = phases;
@@ -23,4 +24,13 @@ final class DeployerChains {
     List<RegisteredDeploymentUnitProcessor> getChain(Phase phase) {
         return phases.get(phase);
     }
+
+    /**
+     * Gets the timings of the processors of all deployments.
+     *
+     * @return the timings
+     */
+    DeploymentProcessorTimings getTimings() {
+        return timings;
+    }
 }
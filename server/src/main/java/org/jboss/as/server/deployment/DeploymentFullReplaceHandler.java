@@ -22,6 +22,7 @@ import static org.jboss.as.server.deployment.DeploymentHandlerUtils.asString;
 import static org.jboss.as.server.deployment.DeploymentHandlerUtils.createFailureException;
 import static org.jboss.as.server.deployment.DeploymentHandlerUtils.getInputStream;
 import static org.jboss.as.server.deployment.DeploymentHandlerUtils.hasValidContentAdditionParameterDefined;
+import static org.jboss.as.server.deployment.DeploymentHandlerUtils.removeCachedIndexes;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -170,6 +171,7 @@ public class DeploymentFullReplaceHandler implements OperationStepHandler {
                     if (replacedHash != null  && (newHash == null || !Arrays.equals(replacedHash, newHash))) {
                         // The old content is no longer used; clean from repos
                         contentRepository.removeContent(ModelContentReference.fromModelAddress(address, replacedHash));
+                        removeCachedIndexes(context, replacedHash);
                     }
                     if (newHash != null) {
                         contentRepository.addContentReference(ModelContentReference.fromModelAddress(address, newHash));
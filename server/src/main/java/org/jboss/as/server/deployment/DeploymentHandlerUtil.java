@@ -45,6 +45,8 @@ import org.jboss.as.repository.ContentRepository;
 import org.jboss.as.server.ServerEnvironment;
 import org.jboss.as.server.controller.resources.DeploymentAttributes;
 import org.jboss.as.server.deployment.annotation.AnnotationIndexSupport;
+import org.jboss.as.server.deployment.annotation.AnnotationIndexExecutor;
+import org.jboss.as.server.deployment.annotation.DeploymentIndexCache;
 import org.jboss.as.server.deployment.transformation.DeploymentTransformer;
 import org.jboss.as.server.deploymentoverlay.DeploymentOverlayIndex;
 import org.jboss.as.server.logging.ServerLogger;
@@ -211,11 +213,22 @@ public class DeploymentHandlerUtil {
         final Supplier<DeploymentMountProvider> serverDeploymentRepositorySupplier = sb.requires(DeploymentMountProvider.SERVICE_NAME);
         final Supplier<PathManager> pathManagerSupplier = sb.requires(context.getCapabilityServiceName(PathManager.SERVICE_DESCRIPTOR));
         final Supplier<VirtualFile> contentsSupplier = sb.requires(contentsServiceName);
+        // Annotation indexes can be cached if the content is immutable and not modified by overlays
+        final Supplier<DeploymentIndexCache> indexCacheSupplier;
+        if (contents[0].hash != null && contents[0].isArchive && overlays.getOverlays(deploymentUnitName).isEmpty()
+                && context.getServiceRegistry(false).getService(DeploymentIndexCache.SERVICE_NAME) != null) {
+            indexCacheSupplier = sb.requires(DeploymentIndexCache.SERVICE_NAME);
+        } else {
+            indexCacheSupplier = null;
+        }
+        final Supplier<AnnotationIndexExecutor> indexExecutorSupplier = context.getServiceRegistry(false).getService(AnnotationIndexExecutor.SERVICE_NAME) != null
+                ? sb.requires(AnnotationIndexExecutor.SERVICE_NAME) : null;
         final RootDeploymentUnitService service = new RootDeploymentUnitService(deploymentUnitConsumer,
                 serverDeploymentRepositorySupplier, pathManagerSupplier, contentsSupplier,
                 deploymentUnitName, managementName, null, context.getStability(),
                 registration, mutableRegistration, deploymentResource, context.getCapabilityServiceSupport(), overlays,
-                annotationIndexSupport, isExplodedContent);
+                annotationIndexSupport, indexCacheSupplier, indexCacheSupplier == null ? null : contents[0].hash, indexExecutorSupplier, isExplodedContent,
+                context.isBooting() ? BootDeploymentScheduler.getInstance() : null);
         final ServiceController<?> deploymentUnitController = sb.setInstance(service).install();
 
         contentService.addListener(new LifecycleListener() {
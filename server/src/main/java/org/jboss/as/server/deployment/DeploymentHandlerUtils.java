@@ -24,7 +24,9 @@ import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.repository.ContentRepository;
 import org.jboss.as.server.logging.ServerLogger;
 import org.jboss.as.server.controller.resources.DeploymentAttributes;
+import org.jboss.as.server.deployment.annotation.DeploymentIndexCache;
 import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
 
 /**
  * @author <a href="mailto:cdewolf@redhat.com">Carlo de Wolf</a>
@@ -154,4 +156,19 @@ public abstract class DeploymentHandlerUtils {
             context.completeStep(handler);
         }
     }
+
+    /**
+     * Removes the annotation indexes cached for content that was removed from the content repository. Must be called
+     * after {@link ContentRepository#removeContent(org.jboss.as.repository.ContentReference)}.
+     *
+     * @param context the operation context
+     * @param contentHash the hash of the removed content
+     */
+    static void removeCachedIndexes(OperationContext context, byte[] contentHash) {
+        final ServiceController<?> controller = context.getServiceRegistry(false).getService(DeploymentIndexCache.SERVICE_NAME);
+        final DeploymentIndexCache indexCache = controller == null ? null : (DeploymentIndexCache) controller.getValue();
+        if (indexCache != null) {
+            indexCache.contentRemoved(contentHash);
+        }
+    }
 }
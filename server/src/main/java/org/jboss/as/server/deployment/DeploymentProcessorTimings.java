@@ -0,0 +1,137 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.server.deployment;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Records the time taken by, and the memory allocated by, the {@link DeploymentUnitProcessor#deploy(DeploymentPhaseContext) deploy}
+ * and {@link DeploymentUnitProcessor#undeploy(DeploymentUnit) undeploy} calls of each deployment unit processor.
+ * <p>
+ * An instance is attached to each deployment unit, and {@link DeployerChains} holds one for the whole server. Recording
+ * a call only updates a few counters, so that it can stay enabled in production. Allocated memory is measured with
+ * {@code com.sun.management.ThreadMXBean}, and is not reported if the JVM does not support that.
+ * </p>
+ */
+final class DeploymentProcessorTimings {
+
+    static final AttachmentKey<DeploymentProcessorTimings> ATTACHMENT_KEY = AttachmentKey.create(DeploymentProcessorTimings.class);
+
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN;
+
+    static {
+        final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        THREAD_MX_BEAN = bean instanceof com.sun.management.ThreadMXBean && ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()
+                ? (com.sun.management.ThreadMXBean) bean : null;
+    }
+
+    private final ConcurrentMap<RegisteredDeploymentUnitProcessor, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the number of bytes allocated so far by the current thread.
+     *
+     * @return the number of bytes, or {@code -1} if it cannot be measured
+     */
+    static long getAllocatedBytes() {
+        final com.sun.management.ThreadMXBean bean = THREAD_MX_BEAN;
+        return bean != null && bean.isThreadAllocatedMemoryEnabled() ? bean.getThreadAllocatedBytes(Thread.currentThread().getId()) : -1;
+    }
+
+    /**
+     * Records a call of a processor.
+     *
+     * @param phase the phase of the processor
+     * @param processor the processor
+     * @param deploy {@code true} for a call of {@code deploy}, {@code false} for a call of {@code undeploy}
+     * @param time the time taken, in nanoseconds
+     * @param allocatedBytes the bytes allocated, or a negative value if they were not measured
+     */
+    void record(final Phase phase, final RegisteredDeploymentUnitProcessor processor, final boolean deploy, final long time, final long allocatedBytes) {
+        Entry entry = entries.get(processor);
+        if (entry == null) {
+            final Entry created = new Entry(phase, processor);
+            entry = entries.putIfAbsent(processor, created);
+            if (entry == null) {
+                entry = created;
+            }
+        }
+        (deploy ? entry.deploy : entry.undeploy).record(time, allocatedBytes);
+    }
+
+    /**
+     * Describes the recorded calls, ordered by phase and by the priority of the processors.
+     *
+     * @param unitName the name of the deployment unit to include in each item, or {@code null} if none should be
+     * @return a list of objects, one per processor
+     */
+    ModelNode toModelNode(final String unitName) {
+        final List<Entry> sorted = new ArrayList<>(entries.values());
+        sorted.sort(Comparator.<Entry, Phase>comparing(e -> e.phase).thenComparing(e -> e.processor));
+        final ModelNode result = new ModelNode().setEmptyList();
+        for (Entry entry : sorted) {
+            final ModelNode item = new ModelNode();
+            if (unitName != null) {
+                item.get("deployment").set(unitName);
+            }
+            item.get("phase").set(entry.phase.name());
+            item.get("priority").set(entry.processor.getPriority());
+            item.get("processor").set(entry.processor.getProcessor().getClass().getName());
+            if (entry.processor.getSubsystemName() != null) {
+                item.get("subsystem").set(entry.processor.getSubsystemName());
+            }
+            entry.deploy.addTo(item, "deploy");
+            entry.undeploy.addTo(item, "undeploy");
+            result.add(item);
+        }
+        return result;
+    }
+
+    private static final class Entry {
+        private final Phase phase;
+        private final RegisteredDeploymentUnitProcessor processor;
+        private final Calls deploy = new Calls();
+        private final Calls undeploy = new Calls();
+
+        private Entry(final Phase phase, final RegisteredDeploymentUnitProcessor processor) {
+            this.phase = phase;
+            this.processor = processor;
+        }
+    }
+
+    private static final class Calls {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder time = new LongAdder();
+        private final LongAdder allocatedBytes = new LongAdder();
+        private volatile boolean allocationMeasured = true;
+
+        private void record(final long time, final long allocatedBytes) {
+            count.increment();
+            this.time.add(time);
+            if (allocatedBytes >= 0) {
+                this.allocatedBytes.add(allocatedBytes);
+            } else {
+                allocationMeasured = false;
+            }
+        }
+
+        private void addTo(final ModelNode item, final String prefix) {
+            item.get(prefix + "-count").set(count.sum());
+            item.get(prefix + "-time").set(time.sum());
+            if (allocationMeasured) {
+                item.get(prefix + "-allocated-bytes").set(allocatedBytes.sum());
+            }
+        }
+    }
+}
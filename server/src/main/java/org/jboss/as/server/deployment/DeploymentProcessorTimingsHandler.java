@@ -0,0 +1,87 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.server.deployment;
+
+import static org.jboss.as.server.controller.resources.DeploymentAttributes.ENABLED;
+import static org.jboss.as.server.controller.resources.DeploymentAttributes.RUNTIME_NAME;
+
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+import org.jboss.msc.service.ServiceRegistry;
+
+/**
+ * Handles reading the time taken by, and the memory allocated by, the deployment unit processors, either for one
+ * deployment and its sub-deployments or for all deployments of the server.
+ *
+ * @see DeploymentProcessorTimings
+ */
+public class DeploymentProcessorTimingsHandler implements OperationStepHandler {
+
+    /** Reads the timings of the deployment the operation addresses */
+    public static final DeploymentProcessorTimingsHandler DEPLOYMENT_INSTANCE = new DeploymentProcessorTimingsHandler(false);
+    /** Reads the timings of all deployments of the server */
+    public static final DeploymentProcessorTimingsHandler SERVER_INSTANCE = new DeploymentProcessorTimingsHandler(true);
+
+    private final boolean server;
+
+    private DeploymentProcessorTimingsHandler(final boolean server) {
+        this.server = server;
+    }
+
+    @Override
+    public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+        context.getResult().setEmptyList();
+        if (!context.isNormalServer()) {
+            return;
+        }
+        final String runtimeName;
+        if (server) {
+            runtimeName = null;
+        } else {
+            final ModelNode model = context.readResource(PathAddress.EMPTY_ADDRESS, false).getModel();
+            if (!ENABLED.resolveModelAttribute(context, model).asBoolean()) {
+                return;
+            }
+            runtimeName = RUNTIME_NAME.resolveModelAttribute(context, model).asString();
+        }
+        context.addStep(new OperationStepHandler() {
+            @Override
+            public void execute(OperationContext context, ModelNode operation) {
+                final ServiceRegistry sr = context.getServiceRegistry(false);
+                if (runtimeName == null) {
+                    final ServiceController<?> chainsSc = sr.getService(Services.JBOSS_DEPLOYMENT_CHAINS);
+                    final DeployerChains chains = chainsSc == null ? null : (DeployerChains) chainsSc.getValue();
+                    if (chains != null) {
+                        context.getResult().set(chains.getTimings().toModelNode(null));
+                    }
+                } else {
+                    final ServiceController<?> deploymentUnitSc = sr.getService(Services.deploymentUnitName(runtimeName));
+                    final DeploymentUnit deploymentUnit = deploymentUnitSc == null ? null : (DeploymentUnit) deploymentUnitSc.getValue();
+                    if (deploymentUnit != null) {
+                        final ModelNode result = context.getResult();
+                        addTimings(result, deploymentUnit);
+                        for (DeploymentUnit subDeployment : deploymentUnit.getAttachmentList(Attachments.SUB_DEPLOYMENTS)) {
+                            addTimings(result, subDeployment);
+                        }
+                    }
+                }
+            }
+        }, OperationContext.Stage.RUNTIME);
+    }
+
+    private static void addTimings(final ModelNode result, final DeploymentUnit deploymentUnit) {
+        final DeploymentProcessorTimings timings = deploymentUnit.getAttachment(DeploymentProcessorTimings.ATTACHMENT_KEY);
+        if (timings != null) {
+            for (ModelNode item : timings.toModelNode(deploymentUnit.getName()).asList()) {
+                result.add(item);
+            }
+        }
+    }
+}
@@ -11,6 +11,7 @@ import static org.jboss.as.server.controller.resources.DeploymentAttributes.ENAB
 import static org.jboss.as.server.controller.resources.DeploymentAttributes.RUNTIME_NAME;
 import static org.jboss.as.server.deployment.DeploymentHandlerUtils.addFlushHandler;
 import static org.jboss.as.server.deployment.DeploymentHandlerUtils.getContents;
+import static org.jboss.as.server.deployment.DeploymentHandlerUtils.removeCachedIndexes;
 
 import java.util.Collections;
 import java.util.List;
@@ -129,6 +130,7 @@ public class DeploymentRemoveHandler implements OperationStepHandler {
             try {
                 if (newHash.isEmpty() || !newHash.contains(HashUtil.bytesToHexString(hash))) {
                     contentRepository.removeContent(ModelContentReference.fromDeploymentName(name, hash));
+                    removeCachedIndexes(context, hash);
                 } else {
                     ServerLogger.ROOT_LOGGER.undeployingDeploymentHasBeenRedeployed(name);
                 }
@@ -11,6 +11,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 
@@ -97,6 +98,15 @@ final class DeploymentUnitPhaseService<T> implements Service<T> {
             return;
         }
         runOnce.set(true);
+        final BootDeploymentScheduler scheduler = deploymentUnit.getAttachment(BootDeploymentScheduler.ATTACHMENT_KEY);
+        if (scheduler != null) {
+            scheduler.execute(context, deploymentUnit, phase, () -> processPhase(context));
+        } else {
+            processPhase(context);
+        }
+    }
+
+    private void processPhase(final StartContext context) throws StartException {
         final DeployerChains chains = deployerChainsInjector.getValue();
         final DeploymentUnit deploymentUnit = this.deploymentUnit;
         final List<RegisteredDeploymentUnitProcessor> list = chains.getChain(phase);
@@ -158,20 +168,41 @@ final class DeploymentUnitPhaseService<T> implements Service<T> {
             }
         }
 
+        final long phaseStart = System.nanoTime();
+        RegisteredDeploymentUnitProcessor slowest = null;
+        long slowestTime = -1;
         while (iterator.hasNext()) {
             final RegisteredDeploymentUnitProcessor processor = iterator.next();
             try {
                 if (shouldRun(deploymentUnit, processor)) {
-                    processor.getProcessor().deploy(processorContext);
+                    final long allocated = DeploymentProcessorTimings.getAllocatedBytes();
+                    final long start = System.nanoTime();
+                    final long time;
+                    try {
+                        processor.getProcessor().deploy(processorContext);
+                    } finally {
+                        time = recordTiming(chains, deploymentUnit, phase, processor, true, start, allocated);
+                    }
+                    if (time > slowestTime) {
+                        slowest = processor;
+                        slowestTime = time;
+                    }
+                    ServerLogger.DEPLOYMENT_LOGGER.tracef("Processor %s (priority %d) of phase %s of %s took %d ms",
+                            processor.getProcessor(), processor.getPriority(), phase, deploymentUnit, TimeUnit.NANOSECONDS.toMillis(time));
                 }
             } catch (Throwable e) {
                 while (iterator.hasPrevious()) {
                     final RegisteredDeploymentUnitProcessor prev = iterator.previous();
-                    safeUndeploy(deploymentUnit, phase, prev);
+                    safeUndeploy(chains, deploymentUnit, phase, prev);
                 }
                 throw ServerLogger.ROOT_LOGGER.deploymentPhaseFailed(phase, deploymentUnit, e);
             }
         }
+        if (slowest != null) {
+            ServerLogger.DEPLOYMENT_LOGGER.debugf("Phase %s of %s took %d ms, of which processor %s took %d ms",
+                    phase, deploymentUnit, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - phaseStart),
+                    slowest.getProcessor(), TimeUnit.NANOSECONDS.toMillis(slowestTime));
+        }
 
         final Phase nextPhase = phase.next();
         if (nextPhase != null) {
@@ -226,20 +257,45 @@ final class DeploymentUnitPhaseService<T> implements Service<T> {
         final ListIterator<RegisteredDeploymentUnitProcessor> iterator = list.listIterator(list.size());
         while (iterator.hasPrevious()) {
             final RegisteredDeploymentUnitProcessor prev = iterator.previous();
-            safeUndeploy(deploymentUnitContext, phase, prev);
+            safeUndeploy(chains, deploymentUnitContext, phase, prev);
         }
     }
 
-    private static void safeUndeploy(final DeploymentUnit deploymentUnit, final Phase phase, final RegisteredDeploymentUnitProcessor prev) {
+    private static void safeUndeploy(final DeployerChains chains, final DeploymentUnit deploymentUnit, final Phase phase, final RegisteredDeploymentUnitProcessor prev) {
         try {
             if (shouldRun(deploymentUnit, prev)) {
-                prev.getProcessor().undeploy(deploymentUnit);
+                final long allocated = DeploymentProcessorTimings.getAllocatedBytes();
+                final long start = System.nanoTime();
+                try {
+                    prev.getProcessor().undeploy(deploymentUnit);
+                } finally {
+                    recordTiming(chains, deploymentUnit, phase, prev, false, start, allocated);
+                }
             }
         } catch (Throwable t) {
             ServerLogger.DEPLOYMENT_LOGGER.caughtExceptionUndeploying(t, prev.getProcessor(), phase, deploymentUnit);
         }
     }
 
+    /**
+     * Records the time taken by and the memory allocated by a call of a processor.
+     *
+     * @return the time taken, in nanoseconds
+     */
+    private static long recordTiming(final DeployerChains chains, final DeploymentUnit deploymentUnit, final Phase phase,
+                                     final RegisteredDeploymentUnitProcessor processor, final boolean deploy,
+                                     final long start, final long allocatedBefore) {
+        final long time = System.nanoTime() - start;
+        final long allocatedAfter = allocatedBefore < 0 ? -1 : DeploymentProcessorTimings.getAllocatedBytes();
+        final long allocated = allocatedAfter < 0 ? -1 : allocatedAfter - allocatedBefore;
+        final DeploymentProcessorTimings timings = deploymentUnit.getAttachment(DeploymentProcessorTimings.ATTACHMENT_KEY);
+        if (timings != null) {
+            timings.record(phase, processor, deploy, time, allocated);
+        }
+        chains.getTimings().record(phase, processor, deploy, time, allocated);
+        return time;
+    }
+
     public synchronized T getValue() throws IllegalStateException, IllegalArgumentException {
         return deploymentUnit.getAttachment(valueKey);
     }
@@ -15,6 +15,8 @@ import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.registry.Resource;
 import org.jboss.as.controller.services.path.PathManager;
 import org.jboss.as.server.deployment.annotation.AnnotationIndexSupport;
+import org.jboss.as.server.deployment.annotation.AnnotationIndexExecutor;
+import org.jboss.as.server.deployment.annotation.DeploymentIndexCache;
 import org.jboss.as.server.deploymentoverlay.DeploymentOverlayIndex;
 import org.jboss.as.version.Stability;
 import org.jboss.msc.service.ServiceRegistry;
@@ -34,8 +36,12 @@ final class RootDeploymentUnitService extends AbstractDeploymentUnitService {
     private final DeploymentUnit parent;
     private final DeploymentOverlayIndex deploymentOverlays;
     private final WeakReference<AnnotationIndexSupport> annotationIndexSupport;
+    private final Supplier<DeploymentIndexCache> indexCacheSupplier;
+    private final byte[] contentHash;
+    private final Supplier<AnnotationIndexExecutor> indexExecutorSupplier;
     private final boolean isExplodedContent;
     private final Stability stability;
+    private volatile BootDeploymentScheduler scheduler;
 
     /**
      * Construct a new instance.
@@ -47,7 +53,13 @@ final class RootDeploymentUnitService extends AbstractDeploymentUnitService {
      * @param capabilityServiceSupport support for capability integration
      * @param deploymentOverlays the deployment overlays
      * @param annotationIndexSupport operation-scoped cache of static module annotation indexes
+     * @param indexCacheSupplier supplier of the server-wide cache of resource root annotation indexes, or {@code null}
+     *                           if the indexes of this deployment's content cannot be cached
+     * @param contentHash the hash of the deployment's managed content, or {@code null} if {@code indexCacheSupplier} is {@code null}
+     * @param indexExecutorSupplier supplier of the server-wide executor used to index large resource roots, or {@code null}
+     *                              if parallel indexing is disabled
      * @param exploded the deployment has been exploded
+     * @param scheduler the scheduler of the deployment's phases, or {@code null} if they are not scheduled
      */
     public RootDeploymentUnitService(final Consumer<DeploymentUnit> deploymentUnitConsumer,
                                      final Supplier<DeploymentMountProvider> serverDeploymentRepositorySupplier,
@@ -58,7 +70,9 @@ final class RootDeploymentUnitService extends AbstractDeploymentUnitService {
                                      final Resource resource, final CapabilityServiceSupport capabilityServiceSupport,
                                      final DeploymentOverlayIndex deploymentOverlays,
                                      final AnnotationIndexSupport annotationIndexSupport,
-                                     final boolean exploded) {
+                                     final Supplier<DeploymentIndexCache> indexCacheSupplier, final byte[] contentHash,
+                                     final Supplier<AnnotationIndexExecutor> indexExecutorSupplier,
+                                     final boolean exploded, final BootDeploymentScheduler scheduler) {
         super(deploymentUnitConsumer, registration, mutableRegistration, resource, capabilityServiceSupport, name);
         assert name != null : "name is null";
         this.serverDeploymentRepositorySupplier = serverDeploymentRepositorySupplier;
@@ -72,8 +86,12 @@ final class RootDeploymentUnitService extends AbstractDeploymentUnitService {
         // can be collected, preventing holding the possibly large indices in memory after completion
         // of the related deployment operations.
         this.annotationIndexSupport = new WeakReference<>(annotationIndexSupport);
+        this.indexCacheSupplier = indexCacheSupplier;
+        this.contentHash = contentHash;
+        this.indexExecutorSupplier = indexExecutorSupplier;
         this.isExplodedContent = exploded;
         this.stability = stability;
+        this.scheduler = scheduler;
     }
 
     protected DeploymentUnit createAndInitializeDeploymentUnit(final ServiceRegistry registry) {
@@ -88,6 +106,19 @@ final class RootDeploymentUnitService extends AbstractDeploymentUnitService {
         deploymentUnit.putAttachment(Attachments.DEPLOYMENT_OVERLAY_INDEX, deploymentOverlays);
         deploymentUnit.putAttachment(Attachments.PATH_MANAGER, pathManagerSupplier.get());
         deploymentUnit.putAttachment(Attachments.ANNOTATION_INDEX_SUPPORT, annotationIndexSupport);
+        if (indexCacheSupplier != null) {
+            deploymentUnit.putAttachment(Attachments.DEPLOYMENT_INDEX_CACHE, indexCacheSupplier.get());
+            deploymentUnit.putAttachment(Attachments.DEPLOYMENT_CONTENT_HASH, contentHash);
+        }
+        if (indexExecutorSupplier != null) {
+            deploymentUnit.putAttachment(Attachments.ANNOTATION_INDEX_EXECUTOR, indexExecutorSupplier.get());
+        }
+        final BootDeploymentScheduler scheduler = this.scheduler;
+        if (scheduler != null) {
+            deploymentUnit.putAttachment(BootDeploymentScheduler.ATTACHMENT_KEY, scheduler);
+            // only the deployment unit created during boot is scheduled, not those created when it restarts
+            this.scheduler = null;
+        }
         if(this.isExplodedContent) {
             MountExplodedMarker.setMountExploded(deploymentUnit);
         }
@@ -0,0 +1,98 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.server.deployment.annotation;
+
+import java.security.PrivilegedAction;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.jboss.msc.Service;
+import org.jboss.msc.service.ServiceBuilder;
+import org.jboss.msc.service.ServiceName;
+import org.jboss.msc.service.ServiceTarget;
+import org.jboss.msc.service.StartContext;
+import org.jboss.msc.service.StopContext;
+import org.jboss.threads.JBossThreadFactory;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Server-wide pool of threads that index the class files of large resource roots, each into its own partial index.
+ * <p>
+ * The pool has no more threads than set by the {@value ResourceRootIndexer#INDEX_PARALLELISM} system property when
+ * the server starts, however many deployments are indexed at the same time. The service is only installed if that
+ * parallelism is greater than {@code 1}. Changing the property has no effect until the server is restarted.
+ * </p>
+ *
+ * @see ResourceRootIndexer
+ */
+public final class AnnotationIndexExecutor implements Service {
+
+    /**
+     * Standard ServiceName under which a service controller for the executor would be registered.
+     */
+    public static final ServiceName SERVICE_NAME = ServiceName.JBOSS.append("annotation-index-executor");
+
+    private final Consumer<AnnotationIndexExecutor> executorConsumer;
+    private final int parallelism;
+    private volatile ThreadPoolExecutor executor;
+
+    public static void addService(final ServiceTarget serviceTarget) {
+        final int parallelism = ResourceRootIndexer.getIndexParallelism();
+        if (parallelism > 1) {
+            final ServiceBuilder<?> sb = serviceTarget.addService(SERVICE_NAME);
+            final Consumer<AnnotationIndexExecutor> executorConsumer = sb.provides(SERVICE_NAME);
+            sb.setInstance(new AnnotationIndexExecutor(executorConsumer, parallelism));
+            sb.install();
+        }
+    }
+
+    AnnotationIndexExecutor(final Consumer<AnnotationIndexExecutor> executorConsumer, final int parallelism) {
+        this.executorConsumer = executorConsumer;
+        this.parallelism = parallelism;
+    }
+
+    @Override
+    public void start(final StartContext context) {
+        final JBossThreadFactory threadFactory = WildFlySecurityManager.doUnchecked(new PrivilegedAction<JBossThreadFactory>() {
+            public JBossThreadFactory run() {
+                return new JBossThreadFactory(ThreadGroupHolder.THREAD_GROUP, Boolean.TRUE, null, "%G - %t", null, null);
+            }
+        });
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(parallelism, parallelism, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), threadFactory);
+        // the pool is only busy while deployments are indexed
+        executor.allowCoreThreadTimeOut(true);
+        this.executor = executor;
+        executorConsumer.accept(this);
+    }
+
+    @Override
+    public void stop(final StopContext context) {
+        executorConsumer.accept(null);
+        executor.shutdownNow();
+        executor = null;
+    }
+
+    /**
+     * Gets the maximum number of partial indexes built at the same time.
+     *
+     * @return the number of threads in the pool
+     */
+    int getParallelism() {
+        return parallelism;
+    }
+
+    <T> Future<T> submit(final Callable<T> task) {
+        return executor.submit(task);
+    }
+
+    private static class ThreadGroupHolder {
+        private static final ThreadGroup THREAD_GROUP = new ThreadGroup("AnnotationIndexExecutor-threads");
+    }
+}
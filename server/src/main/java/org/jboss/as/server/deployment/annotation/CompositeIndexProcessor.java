@@ -70,7 +70,7 @@ public class CompositeIndexProcessor implements DeploymentUnitProcessor {
                 // or jboss-deployment-structure.xml or equivalent jboss-all.xml content. Obtain indexes from its resources.
                 final List<Index> moduleIndexes = new ArrayList<>();
                 for(ResourceRoot resource : additional.getResourceRoots()) {
-                    ResourceRootIndexer.indexResourceRoot(resource);
+                    ResourceRootIndexer.indexResourceRoot(resource, deploymentUnit);
                     Index indexAttachment = resource.getAttachment(Attachments.ANNOTATION_INDEX);
                     if(indexAttachment != null) {
                         indexes.add(indexAttachment);
@@ -0,0 +1,266 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.server.deployment.annotation;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivilegedAction;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.jboss.as.controller.HashUtil;
+import org.jboss.as.repository.ContentRepository;
+import org.jboss.as.server.logging.ServerLogger;
+import org.jboss.jandex.Index;
+import org.jboss.jandex.IndexReader;
+import org.jboss.jandex.IndexWriter;
+import org.jboss.msc.Service;
+import org.jboss.msc.service.ServiceBuilder;
+import org.jboss.msc.service.ServiceName;
+import org.jboss.msc.service.ServiceTarget;
+import org.jboss.msc.service.StartContext;
+import org.jboss.msc.service.StopContext;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Server-wide on-disk cache of the annotation indexes calculated for the resource roots of managed deployment content.
+ * <p>
+ * Managed content is immutable and identified by the hash the {@link ContentRepository} calculated for it, so an index
+ * calculated for a resource root inside it can be reused for as long as the content exists. Cached indexes are stored
+ * in a directory per content hash, in a file named after the hash of the resource root's path within the content.
+ * Directories for content that is no longer in the content repository are removed when the cache starts, and when the
+ * content is removed from the repository by undeploying or replacing a deployment.
+ * </p>
+ * <p>
+ * Each file starts with the version of Jandex that wrote it. An entry written by another version is treated as missing,
+ * as its format, or the index calculated from the same classes, may be different.
+ * </p>
+ */
+public final class DeploymentIndexCache implements Service {
+
+    /**
+     * Standard ServiceName under which a service controller for the cache would be registered.
+     */
+    public static final ServiceName SERVICE_NAME = ServiceName.JBOSS.append("deployment-index-cache");
+
+    private static final String INDEX_SUFFIX = ".idx";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final String FORMAT = "jandex:" + getJandexVersion();
+
+    private final Consumer<DeploymentIndexCache> cacheConsumer;
+    private final Supplier<ContentRepository> contentRepositorySupplier;
+    private final Path cacheDir;
+
+    public static void addService(final ServiceTarget serviceTarget, final File cacheDir) {
+        final ServiceBuilder<?> sb = serviceTarget.addService(SERVICE_NAME);
+        final Consumer<DeploymentIndexCache> cacheConsumer = sb.provides(SERVICE_NAME);
+        final Supplier<ContentRepository> contentRepositorySupplier = sb.requires(ContentRepository.SERVICE_NAME);
+        sb.setInstance(new DeploymentIndexCache(cacheConsumer, contentRepositorySupplier, cacheDir.toPath()));
+        sb.install();
+    }
+
+    DeploymentIndexCache(final Consumer<DeploymentIndexCache> cacheConsumer,
+                                 final Supplier<ContentRepository> contentRepositorySupplier, final Path cacheDir) {
+        this.cacheConsumer = cacheConsumer;
+        this.contentRepositorySupplier = contentRepositorySupplier;
+        this.cacheDir = cacheDir;
+    }
+
+    @Override
+    public void start(final StartContext context) {
+        removeObsoleteEntries(contentRepositorySupplier.get());
+        cacheConsumer.accept(this);
+    }
+
+    @Override
+    public void stop(final StopContext context) {
+        cacheConsumer.accept(null);
+    }
+
+    /**
+     * Gets a previously stored index.
+     *
+     * @param contentHash the hash of the deployment content that contains the resource root. Cannot be {@code null}
+     * @param key identifies the resource root within the content. Cannot be {@code null}
+     * @return the index, or {@code null} if there is no usable index stored for the given content and key
+     */
+    Index getIndex(final byte[] contentHash, final String key) {
+        final Path file = getIndexFile(contentHash, key);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (InputStream in = Files.newInputStream(file)) {
+            if (!FORMAT.equals(readFormat(in))) {
+                ServerLogger.DEPLOYMENT_LOGGER.debugf("Discarding cached index at %s written by another version", file);
+                deleteQuietly(file);
+                return null;
+            }
+            final Index index = new IndexReader(in).read();
+            ServerLogger.DEPLOYMENT_LOGGER.tracef("Read cached index at: %s", file);
+            return index;
+        } catch (Exception e) {
+            ServerLogger.DEPLOYMENT_LOGGER.cannotLoadAnnotationIndex(file.toString(), e.toString());
+            deleteQuietly(file);
+            return null;
+        }
+    }
+
+    /**
+     * Stores an index so it can be read by {@link #getIndex(byte[], String)} when the same content is deployed again.
+     * Failures are logged but otherwise ignored, as the only consequence is that the index will be calculated again.
+     *
+     * @param contentHash the hash of the deployment content that contains the resource root. Cannot be {@code null}
+     * @param key identifies the resource root within the content. Cannot be {@code null}
+     * @param index the index. Cannot be {@code null}
+     */
+    void putIndex(final byte[] contentHash, final String key, final Index index) {
+        final Path file = getIndexFile(contentHash, key);
+        Path temp = null;
+        try {
+            Files.createDirectories(file.getParent());
+            temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), TEMP_SUFFIX);
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                final DataOutputStream header = new DataOutputStream(out);
+                header.writeUTF(FORMAT);
+                header.flush();
+                new IndexWriter(out).write(index);
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            ServerLogger.DEPLOYMENT_LOGGER.tracef("Stored cached index at: %s", file);
+        } catch (IOException e) {
+            ServerLogger.DEPLOYMENT_LOGGER.cannotStoreAnnotationIndex(file.toString(), e.toString());
+            if (temp != null) {
+                deleteQuietly(temp);
+            }
+        }
+    }
+
+    /**
+     * Removes the indexes stored for the given content, if the content is no longer in the content repository.
+     *
+     * @param contentHash the hash of the deployment content. Cannot be {@code null}
+     */
+    public void contentRemoved(final byte[] contentHash) {
+        if (contentRepositorySupplier.get().hasContent(contentHash)) {
+            // still used by another deployment
+            return;
+        }
+        final Path dir = cacheDir.resolve(HashUtil.bytesToHexString(contentHash));
+        try {
+            deleteRecursively(dir);
+            ServerLogger.DEPLOYMENT_LOGGER.debugf("Removed cached indexes for content %s", dir.getFileName());
+        } catch (IOException e) {
+            ServerLogger.DEPLOYMENT_LOGGER.debugf(e, "Failed to remove cached indexes %s", dir);
+        }
+    }
+
+    private Path getIndexFile(final byte[] contentHash, final String key) {
+        final String fileName;
+        try {
+            fileName = HashUtil.bytesToHexString(MessageDigest.getInstance("SHA-1").digest(key.getBytes(UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        return cacheDir.resolve(HashUtil.bytesToHexString(contentHash)).resolve(fileName + INDEX_SUFFIX);
+    }
+
+    private void removeObsoleteEntries(final ContentRepository contentRepository) {
+        if (!Files.isDirectory(cacheDir)) {
+            return;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(cacheDir)) {
+            for (Path dir : stream) {
+                final String name = dir.getFileName().toString();
+                if (!isHexHash(name) || !contentRepository.hasContent(HashUtil.hexStringToByteArray(name))) {
+                    ServerLogger.DEPLOYMENT_LOGGER.debugf("Removing cached indexes for content %s", name);
+                    deleteRecursively(dir);
+                }
+            }
+        } catch (IOException e) {
+            ServerLogger.DEPLOYMENT_LOGGER.debugf(e, "Failed to clean up deployment index cache %s", cacheDir);
+        }
+    }
+
+    /**
+     * Reads the version a cached index was written by.
+     *
+     * @return the version, or {@code null} if the file does not start with one, e.g. as it was written before the
+     * version was recorded
+     */
+    private static String readFormat(final InputStream in) {
+        try {
+            // DataInputStream does not read ahead, so the index follows in the same stream
+            return new DataInputStream(in).readUTF();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static String getJandexVersion() {
+        final Package jandexPackage = Index.class.getPackage();
+        final String version = jandexPackage == null ? null : jandexPackage.getImplementationVersion();
+        if (version != null) {
+            return version;
+        }
+        // the jar the classes come from is named after the version
+        final CodeSource codeSource = WildFlySecurityManager.doUnchecked(new PrivilegedAction<CodeSource>() {
+            public CodeSource run() {
+                return Index.class.getProtectionDomain().getCodeSource();
+            }
+        });
+        return codeSource == null || codeSource.getLocation() == null ? "unknown" : codeSource.getLocation().toString();
+    }
+
+    private static boolean isHexHash(final String name) {
+        if (name.isEmpty() || (name.length() & 1) != 0) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            final char c = name.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f') && (c < 'A' || c > 'F')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void deleteRecursively(final Path path) throws IOException {
+        if (Files.isDirectory(path)) {
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(path)) {
+                for (Path child : stream) {
+                    deleteRecursively(child);
+                }
+            }
+        }
+        Files.deleteIfExists(path);
+    }
+
+    private static void deleteQuietly(final Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // nothing more we can do
+        }
+    }
+}
@@ -0,0 +1,246 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.server.deployment.annotation;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jboss.jandex.AnnotationInstance;
+import org.jboss.jandex.ClassInfo;
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.FieldInfo;
+import org.jboss.jandex.Index;
+import org.jboss.jandex.Indexer;
+import org.jboss.jandex.MethodInfo;
+import org.jboss.jandex.ModuleInfo;
+import org.jboss.jandex.RecordComponentInfo;
+import org.jboss.jandex.Type;
+
+/**
+ * Merges the indexes built by separate {@link Indexer}s from disjoint sets of class files into a single {@link Index},
+ * equivalent to the index of a single indexer fed with all the class files in the order the partial indexes are added.
+ * <p>
+ * An {@link Index} cannot list the annotations, super types or used classes it knows about, so each partial index is
+ * queried for the names its classes refer to: the annotations, super types and signature types of its
+ * {@link ClassInfo}s, and the classes they use as collected by {@link #addReferencedNames} and
+ * {@link #addSignatureNames}. Collecting those is left to the threads that build the partial indexes.
+ * </p>
+ */
+final class IndexMerger {
+
+    private static final int CLASS_FILE_MAGIC = 0xCAFEBABE;
+
+    private final Map<DotName, List<AnnotationInstance>> annotations = new HashMap<>();
+    private final Map<DotName, List<ClassInfo>> subclasses = new HashMap<>();
+    private final Map<DotName, List<ClassInfo>> subinterfaces = new HashMap<>();
+    private final Map<DotName, List<ClassInfo>> implementors = new HashMap<>();
+    private final Map<DotName, ClassInfo> classes = new HashMap<>();
+    private final Map<DotName, ModuleInfo> modules = new HashMap<>();
+    private final Map<DotName, List<ClassInfo>> users = new HashMap<>();
+
+    /**
+     * Adds a partial index.
+     *
+     * @param index the partial index
+     * @param usedNames the names collected by {@link #addReferencedNames} and {@link #addSignatureNames} for the
+     *                  partial index
+     */
+    void add(final Index index, final Set<DotName> usedNames) {
+        final Set<DotName> annotationNames = new HashSet<>();
+        final Set<DotName> superNames = new HashSet<>();
+        for (ClassInfo classInfo : index.getKnownClasses()) {
+            classes.put(classInfo.name(), classInfo);
+            annotationNames.addAll(classInfo.annotationsMap().keySet());
+            if (classInfo.superName() != null) {
+                superNames.add(classInfo.superName());
+            }
+            superNames.addAll(classInfo.interfaceNames());
+        }
+        for (ModuleInfo moduleInfo : index.getKnownModules()) {
+            modules.put(moduleInfo.name(), moduleInfo);
+            for (AnnotationInstance annotation : moduleInfo.annotations()) {
+                annotationNames.add(annotation.name());
+            }
+        }
+        for (DotName name : annotationNames) {
+            append(annotations, name, index.getAnnotations(name));
+        }
+        for (DotName name : superNames) {
+            append(subclasses, name, index.getKnownDirectSubclasses(name));
+            append(subinterfaces, name, index.getKnownDirectSubinterfaces(name));
+            append(implementors, name, index.getKnownDirectImplementors(name));
+        }
+        for (DotName name : usedNames) {
+            append(users, name, index.getKnownUsers(name));
+        }
+    }
+
+    /**
+     * @return the index of the classes of all the partial indexes
+     */
+    Index complete() {
+        return Index.create(annotations, subclasses, subinterfaces, implementors, classes, modules, users);
+    }
+
+    /**
+     * Collects the names of the classes referenced by the constant pool of a class file, which an {@link Indexer}
+     * records the class as a user of.
+     *
+     * @param classFile the content of the class file
+     * @param names the set to add the names to
+     */
+    static void addReferencedNames(final byte[] classFile, final Set<DotName> names) throws IOException {
+        if (classFile.length < 10 || readInt(classFile, 0) != CLASS_FILE_MAGIC) {
+            return;
+        }
+        final int count = readUnsignedShort(classFile, 8);
+        // offsets of the Utf8 constants, and the indexes of the Utf8 constants naming classes
+        final int[] utf8Offsets = new int[count];
+        final int[] classNameIndexes = new int[count];
+        int classCount = 0;
+        int offset = 10;
+        for (int i = 1; i < count; i++) {
+            switch (classFile[offset] & 0xff) {
+                case 1: // Utf8
+                    utf8Offsets[i] = offset + 1;
+                    offset += 3 + readUnsignedShort(classFile, offset + 1);
+                    break;
+                case 7: // Class
+                    classNameIndexes[classCount++] = readUnsignedShort(classFile, offset + 1);
+                    offset += 3;
+                    break;
+                case 8: // String
+                case 16: // MethodType
+                case 19: // Module
+                case 20: // Package
+                    offset += 3;
+                    break;
+                case 15: // MethodHandle
+                    offset += 4;
+                    break;
+                case 5: // Long
+                case 6: // Double
+                    offset += 9;
+                    i++;
+                    break;
+                default: // the other constants take 4 bytes, unknown ones were rejected by the indexer
+                    offset += 5;
+            }
+        }
+        for (int i = 0; i < classCount; i++) {
+            final int utf8Offset = utf8Offsets[classNameIndexes[i]];
+            if (utf8Offset > 0) {
+                names.add(DotName.createSimple(readUtf8(classFile, utf8Offset).replace('/', '.')));
+            }
+        }
+    }
+
+    private static String readUtf8(final byte[] classFile, final int offset) throws IOException {
+        final int length = readUnsignedShort(classFile, offset);
+        for (int i = offset + 2; i < offset + 2 + length; i++) {
+            if (classFile[i] < 0) {
+                // not ASCII, use the decoder of the modified UTF-8 of class files
+                return new DataInputStream(new ByteArrayInputStream(classFile, offset, length + 2)).readUTF();
+            }
+        }
+        return new String(classFile, offset + 2, length, StandardCharsets.ISO_8859_1);
+    }
+
+    private static int readUnsignedShort(final byte[] bytes, final int offset) {
+        return (bytes[offset] & 0xff) << 8 | bytes[offset + 1] & 0xff;
+    }
+
+    private static int readInt(final byte[] bytes, final int offset) {
+        return readUnsignedShort(bytes, offset) << 16 | readUnsignedShort(bytes, offset + 2);
+    }
+
+    /**
+     * Collects the names of the types of the signatures of the classes of an index, which an {@link Indexer} also
+     * records the classes as users of. Names of classes that are not used may be collected too, they are just not
+     * found in the index.
+     *
+     * @param index the partial index
+     * @param names the set to add the names to
+     */
+    static void addSignatureNames(final Index index, final Set<DotName> names) {
+        for (ClassInfo classInfo : index.getKnownClasses()) {
+            addTypeNames(classInfo, names);
+        }
+    }
+
+    private static void addTypeNames(final ClassInfo classInfo, final Set<DotName> names) {
+        for (Type type : classInfo.typeParameters()) {
+            addTypeNames(type, names);
+        }
+        addTypeNames(classInfo.superClassType(), names);
+        for (Type type : classInfo.interfaceTypes()) {
+            addTypeNames(type, names);
+        }
+        names.addAll(classInfo.permittedSubclasses());
+        for (FieldInfo field : classInfo.unsortedFields()) {
+            addTypeNames(field.type(), names);
+        }
+        for (MethodInfo method : classInfo.methods()) {
+            for (Type type : method.typeParameters()) {
+                addTypeNames(type, names);
+            }
+            addTypeNames(method.returnType(), names);
+            for (Type type : method.parameterTypes()) {
+                addTypeNames(type, names);
+            }
+            for (Type type : method.exceptions()) {
+                addTypeNames(type, names);
+            }
+        }
+        for (RecordComponentInfo recordComponent : classInfo.recordComponents()) {
+            addTypeNames(recordComponent.type(), names);
+        }
+    }
+
+    private static void addTypeNames(final Type type, final Set<DotName> names) {
+        if (type == null) {
+            return;
+        }
+        names.add(type.name());
+        switch (type.kind()) {
+            case ARRAY:
+                addTypeNames(type.asArrayType().constituent(), names);
+                break;
+            case PARAMETERIZED_TYPE:
+                addTypeNames(type.asParameterizedType().owner(), names);
+                for (Type argument : type.asParameterizedType().arguments()) {
+                    addTypeNames(argument, names);
+                }
+                break;
+            case WILDCARD_TYPE:
+                addTypeNames(type.asWildcardType().extendsBound(), names);
+                addTypeNames(type.asWildcardType().superBound(), names);
+                break;
+            case TYPE_VARIABLE:
+                for (Type bound : type.asTypeVariable().bounds()) {
+                    addTypeNames(bound, names);
+                }
+                break;
+            default:
+                // type variable references are not followed, as their bounds may refer back to them
+                break;
+        }
+    }
+
+    private static <T> void append(final Map<DotName, List<T>> map, final DotName name, final List<T> values) {
+        if (!values.isEmpty()) {
+            map.computeIfAbsent(name, k -> new ArrayList<>()).addAll(values);
+        }
+    }
+}
@@ -5,16 +5,26 @@
 
 package org.jboss.as.server.deployment.annotation;
 
+import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.util.AbstractMap;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
+import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.as.server.logging.ServerLogger;
 import org.jboss.as.server.deployment.Attachments;
+import org.jboss.as.server.deployment.DeploymentUnit;
 import org.jboss.as.server.deployment.DeploymentUnitProcessingException;
 import org.jboss.as.server.deployment.module.ResourceRoot;
 import org.jboss.as.server.moduleservice.ModuleIndexBuilder;
+import org.jboss.jandex.DotName;
 import org.jboss.jandex.Index;
 import org.jboss.jandex.IndexReader;
 import org.jboss.jandex.Indexer;
@@ -23,16 +33,45 @@ import org.jboss.vfs.VirtualFile;
 import org.jboss.vfs.VirtualFileFilter;
 import org.jboss.vfs.VisitorAttributes;
 import org.jboss.vfs.util.SuffixMatchFilter;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * Utility class for indexing a resource root
  */
 public class ResourceRootIndexer {
 
+    /**
+     * System property giving the number of threads of the server-wide {@link AnnotationIndexExecutor} that index the
+     * class files of large resource roots. The default of {@code 1} indexes on the deployment thread only.
+     * <p>
+     * The property is read once, when the server starts and installs the executor. It is not a management attribute:
+     * the executor is installed by the server service before the boot operations run, so no attribute value is known
+     * yet, and an attribute of the server root resource would need a new model version and schema, and transformers
+     * discarding it for older hosts. Changing the property requires a restart of the server, not just a redeployment.
+     * </p>
+     */
+    public static final String INDEX_PARALLELISM = "org.jboss.as.server.annotation_index_parallelism";
+
+    /** Resource roots with fewer class files than this are always indexed by the calling thread */
+    private static final int PARALLEL_INDEXING_THRESHOLD = 256;
+    private static final int PARTITIONS_PER_WORKER = 4;
+
     /**
      * Creates and attaches the annotation index to a resource root, if it has not already been attached
      */
     public static void indexResourceRoot(final ResourceRoot resourceRoot) throws DeploymentUnitProcessingException {
+        indexResourceRoot(resourceRoot, null);
+    }
+
+    /**
+     * Creates and attaches the annotation index to a resource root, if it has not already been attached. If the
+     * resource root is part of the managed content of the given deployment, a previously calculated index is read
+     * from the {@link DeploymentIndexCache} if available, and a newly calculated index is stored in it.
+     *
+     * @param resourceRoot the resource root
+     * @param deploymentUnit the deployment unit the resource root belongs to, or {@code null} if not known
+     */
+    public static void indexResourceRoot(final ResourceRoot resourceRoot, final DeploymentUnit deploymentUnit) throws DeploymentUnitProcessingException {
         if (resourceRoot.getAttachment(Attachments.ANNOTATION_INDEX) != null) {
             return;
         }
@@ -64,7 +103,20 @@ public class ResourceRootIndexer {
         }
 
         final VirtualFile virtualFile = resourceRoot.getRoot();
-        final Indexer indexer = new Indexer();
+
+        final DeploymentUnit topLevelDeployment = deploymentUnit == null || deploymentUnit.getParent() == null ? deploymentUnit : deploymentUnit.getParent();
+        final DeploymentIndexCache indexCache = topLevelDeployment == null ? null : topLevelDeployment.getAttachment(Attachments.DEPLOYMENT_INDEX_CACHE);
+        final byte[] contentHash = topLevelDeployment == null ? null : topLevelDeployment.getAttachment(Attachments.DEPLOYMENT_CONTENT_HASH);
+        final String cacheKey = indexCache == null || contentHash == null ? null : getCacheKey(topLevelDeployment, virtualFile, indexIgnorePathList);
+        if (cacheKey != null) {
+            final Index cached = indexCache.getIndex(contentHash, cacheKey);
+            if (cached != null) {
+                resourceRoot.putAttachment(Attachments.ANNOTATION_INDEX, cached);
+                ServerLogger.DEPLOYMENT_LOGGER.tracef("Using cached index for archive %s", virtualFile);
+                return;
+            }
+        }
+
         try {
             final VisitorAttributes visitorAttributes = new VisitorAttributes();
             visitorAttributes.setLeavesOnly(true);
@@ -75,22 +127,126 @@ public class ResourceRootIndexer {
             });
 
             final List<VirtualFile> classChildren = virtualFile.getChildren(new SuffixMatchFilter(".class", visitorAttributes));
-            for (VirtualFile classFile : classChildren) {
-                InputStream inputStream = null;
-                try {
-                    inputStream = classFile.openStream();
-                    indexer.index(inputStream);
-                } catch (Exception e) {
-                    ServerLogger.DEPLOYMENT_LOGGER.cannotIndexClass(classFile.getPathNameRelativeTo(virtualFile), virtualFile.getPathName(), e);
-                } finally {
-                    VFSUtils.safeClose(inputStream);
+            final AnnotationIndexExecutor executor = topLevelDeployment == null ? null : topLevelDeployment.getAttachment(Attachments.ANNOTATION_INDEX_EXECUTOR);
+            final Index index;
+            if (executor != null && classChildren.size() >= PARALLEL_INDEXING_THRESHOLD) {
+                index = indexInParallel(classChildren, virtualFile, executor);
+            } else {
+                final Indexer indexer = new Indexer();
+                for (VirtualFile classFile : classChildren) {
+                    InputStream inputStream = null;
+                    try {
+                        inputStream = classFile.openStream();
+                        indexer.index(inputStream);
+                    } catch (Exception e) {
+                        ServerLogger.DEPLOYMENT_LOGGER.cannotIndexClass(classFile.getPathNameRelativeTo(virtualFile), virtualFile.getPathName(), e);
+                    } finally {
+                        VFSUtils.safeClose(inputStream);
+                    }
                 }
+                index = indexer.complete();
             }
-            final Index index = indexer.complete();
             resourceRoot.putAttachment(Attachments.ANNOTATION_INDEX, index);
             ServerLogger.DEPLOYMENT_LOGGER.tracef("Generated index for archive %s", virtualFile);
+            if (cacheKey != null) {
+                indexCache.putIndex(contentHash, cacheKey, index);
+            }
         } catch (Throwable t) {
             throw ServerLogger.ROOT_LOGGER.deploymentIndexingFailed(t);
         }
     }
+
+    /**
+     * Indexes the class files using the threads of the shared executor. The class files are split in contiguous
+     * partitions, a few per worker so that they are evenly loaded, and each partition is indexed by its own
+     * {@link Indexer}. The partial indexes are merged in the order of the partitions, so the result is the same as if
+     * the class files had been indexed by the calling thread.
+     */
+    static Index indexInParallel(final List<VirtualFile> classChildren, final VirtualFile virtualFile,
+                                 final AnnotationIndexExecutor executor) throws InterruptedException, ExecutionException {
+        final int size = classChildren.size();
+        final int partitions = Math.min(size, executor.getParallelism() * PARTITIONS_PER_WORKER);
+        final List<Future<Map.Entry<Index, Set<DotName>>>> futures = new ArrayList<>(partitions);
+        try {
+            for (int i = 0; i < partitions; i++) {
+                final List<VirtualFile> partition = classChildren.subList((int) ((long) i * size / partitions), (int) ((long) (i + 1) * size / partitions));
+                futures.add(executor.submit(() -> indexPartition(partition, virtualFile)));
+            }
+            final IndexMerger merger = new IndexMerger();
+            for (Future<Map.Entry<Index, Set<DotName>>> future : futures) {
+                final Map.Entry<Index, Set<DotName>> partialIndex = future.get();
+                merger.add(partialIndex.getKey(), partialIndex.getValue());
+            }
+            return merger.complete();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw e;
+        } finally {
+            // only left running if indexing failed
+            for (Future<?> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * @return the index of the class files, and the names of the classes they may use
+     */
+    private static Map.Entry<Index, Set<DotName>> indexPartition(final List<VirtualFile> classFiles, final VirtualFile virtualFile) {
+        final Indexer indexer = new Indexer();
+        final Set<DotName> usedNames = new HashSet<>();
+        for (VirtualFile classFile : classFiles) {
+            try {
+                final byte[] bytes;
+                try (InputStream inputStream = classFile.openStream()) {
+                    bytes = inputStream.readAllBytes();
+                }
+                indexer.index(new ByteArrayInputStream(bytes));
+                IndexMerger.addReferencedNames(bytes, usedNames);
+            } catch (Exception e) {
+                ServerLogger.DEPLOYMENT_LOGGER.cannotIndexClass(classFile.getPathNameRelativeTo(virtualFile), virtualFile.getPathName(), e);
+            }
+        }
+        final Index index = indexer.complete();
+        IndexMerger.addSignatureNames(index, usedNames);
+        return new AbstractMap.SimpleImmutableEntry<>(index, usedNames);
+    }
+
+    static int getIndexParallelism() {
+        final String value = WildFlySecurityManager.getPropertyPrivileged(INDEX_PARALLELISM, "1");
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            ControllerLogger.ROOT_LOGGER.invalidSystemPropertyValue(value, INDEX_PARALLELISM, 1);
+            return 1;
+        }
+    }
+
+    /**
+     * Identifies a resource root within the content of a top level deployment. The ignored paths are part of the
+     * key as they affect the index but may come from outside the deployment content.
+     *
+     * @return the key, or {@code null} if the resource root is not part of the deployment content
+     */
+    private static String getCacheKey(final DeploymentUnit topLevelDeployment, final VirtualFile virtualFile, final List<String> indexIgnorePaths) {
+        final ResourceRoot deploymentRoot = topLevelDeployment.getAttachment(Attachments.DEPLOYMENT_ROOT);
+        if (deploymentRoot == null) {
+            return null;
+        }
+        final StringBuilder key = new StringBuilder();
+        if (!virtualFile.equals(deploymentRoot.getRoot())) {
+            try {
+                key.append(virtualFile.getPathNameRelativeTo(deploymentRoot.getRoot()));
+            } catch (IllegalArgumentException e) {
+                // Not inside the deployment, e.g. an external Class-Path entry
+                return null;
+            }
+        }
+        if (indexIgnorePaths != null) {
+            for (String path : new TreeSet<>(indexIgnorePaths)) {
+                key.append('\0').append(path);
+            }
+        }
+        return key.toString();
+    }
 }
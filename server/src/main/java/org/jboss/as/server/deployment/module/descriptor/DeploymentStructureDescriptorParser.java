@@ -178,7 +178,7 @@ public class DeploymentStructureDescriptorParser implements DeploymentUnitProces
                 additionalModules.put(additional.getModuleName(), additional);
                 deploymentUnit.addToAttachmentList(Attachments.ADDITIONAL_MODULES, additional);
                 for (final ResourceRoot root : additionalModuleResourceRoots) {
-                    ResourceRootIndexer.indexResourceRoot(root);
+                    ResourceRootIndexer.indexResourceRoot(root, deploymentUnit);
                 }
             }
 
@@ -288,7 +288,7 @@ public class DeploymentStructureDescriptorParser implements DeploymentUnitProces
             } else {
                 deploymentUnit.addToAttachmentList(Attachments.RESOURCE_ROOTS, additionalResourceRoot);
                 //compute the annotation index for the root
-                ResourceRootIndexer.indexResourceRoot(additionalResourceRoot);
+                ResourceRootIndexer.indexResourceRoot(additionalResourceRoot, deploymentUnit);
                 ModuleRootMarker.mark(additionalResourceRoot);
             }
         }
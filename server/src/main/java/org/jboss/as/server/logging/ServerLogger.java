@@ -1500,6 +1500,10 @@ public interface ServerLogger extends BasicLogger {
     @Message(id = 316, value = "Server started as %s. If this user has elevated privileges, it is discouraged to run the server under this account, as it can compromise system security. You can dismiss this warning by starting the server with: -Djboss.ignore.root.username.warning=true")
     void startedWithRootUser(String userName);
 
+    @LogMessage(level = WARN)
+    @Message(id = 317, value = "Could not store annotation index cache file %s -- Cause: %s")
+    void cannotStoreAnnotationIndex(String index, String cause);
+
     ////////////////////////////////////////////////
     //Messages without IDs
 
@@ -0,0 +1,110 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.server.deployment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.as.version.Stability;
+import org.jboss.msc.service.StartContext;
+import org.jboss.msc.service.StartException;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+/**
+ * Tests of {@link BootDeploymentScheduler}.
+ */
+public class BootDeploymentSchedulerTestCase {
+
+    @Test
+    public void testPhasesRunInOrderOfStart() throws Exception {
+        final BootDeploymentScheduler scheduler = new BootDeploymentScheduler(1);
+        final List<Integer> order = new CopyOnWriteArrayList<>();
+        final CountDownLatch done = new CountDownLatch(20);
+        for (int i = 0; i < 20; i++) {
+            final int index = i;
+            scheduler.execute(startContext(done, null), deploymentUnit(scheduler), Phase.STRUCTURE, () -> order.add(index));
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        for (int i = 0; i < 20; i++) {
+            assertEquals(i, order.get(i).intValue());
+        }
+    }
+
+    @Test
+    public void testParallelismIsBounded() throws Exception {
+        final BootDeploymentScheduler scheduler = new BootDeploymentScheduler(3);
+        final AtomicInteger active = new AtomicInteger();
+        final AtomicInteger maxActive = new AtomicInteger();
+        final CountDownLatch done = new CountDownLatch(12);
+        for (int i = 0; i < 12; i++) {
+            scheduler.execute(startContext(done, null), deploymentUnit(scheduler), Phase.STRUCTURE, () -> {
+                maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    active.decrementAndGet();
+                }
+            });
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(3, maxActive.get());
+    }
+
+    @Test
+    public void testDetachedAfterLastPhaseOrFailure() throws Exception {
+        final BootDeploymentScheduler scheduler = new BootDeploymentScheduler(2);
+
+        final DeploymentUnit completed = deploymentUnit(scheduler);
+        final CountDownLatch phaseDone = new CountDownLatch(1);
+        scheduler.execute(startContext(phaseDone, null), completed, Phase.STRUCTURE, () -> { });
+        assertTrue(phaseDone.await(10, TimeUnit.SECONDS));
+        assertTrue(completed.hasAttachment(BootDeploymentScheduler.ATTACHMENT_KEY));
+        final CountDownLatch lastPhaseDone = new CountDownLatch(1);
+        scheduler.execute(startContext(lastPhaseDone, null), completed, Phase.CLEANUP, () -> { });
+        assertTrue(lastPhaseDone.await(10, TimeUnit.SECONDS));
+        assertFalse(completed.hasAttachment(BootDeploymentScheduler.ATTACHMENT_KEY));
+
+        final DeploymentUnit failed = deploymentUnit(scheduler);
+        final CountDownLatch phaseFailed = new CountDownLatch(1);
+        scheduler.execute(startContext(null, phaseFailed), failed, Phase.STRUCTURE, () -> {
+            throw new StartException("failed");
+        });
+        assertTrue(phaseFailed.await(10, TimeUnit.SECONDS));
+        assertFalse(failed.hasAttachment(BootDeploymentScheduler.ATTACHMENT_KEY));
+    }
+
+    private static DeploymentUnit deploymentUnit(final BootDeploymentScheduler scheduler) {
+        final DeploymentUnit deploymentUnit = new DeploymentUnitImpl(null, "test.war", null, Stability.DEFAULT);
+        deploymentUnit.putAttachment(BootDeploymentScheduler.ATTACHMENT_KEY, scheduler);
+        return deploymentUnit;
+    }
+
+    private static StartContext startContext(final CountDownLatch completed, final CountDownLatch failed) {
+        final StartContext context = Mockito.mock(StartContext.class);
+        Mockito.doAnswer(invocation -> {
+            if (completed != null) {
+                completed.countDown();
+            }
+            return null;
+        }).when(context).complete();
+        Mockito.doAnswer(invocation -> {
+            if (failed != null) {
+                failed.countDown();
+            }
+            return null;
+        }).when(context).failed(Mockito.any(StartException.class));
+        return context;
+    }
+}
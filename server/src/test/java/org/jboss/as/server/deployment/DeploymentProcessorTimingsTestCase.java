@@ -0,0 +1,185 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.server.deployment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.EnumMap;
+import java.util.List;
+
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.as.version.Stability;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+import org.jboss.msc.service.ServiceRegistry;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+/**
+ * Tests of {@link DeploymentProcessorTimings} and of the operations reading them.
+ */
+public class DeploymentProcessorTimingsTestCase {
+
+    private static final RegisteredDeploymentUnitProcessor PARSE_PROCESSOR = new RegisteredDeploymentUnitProcessor(10, new ParseProcessor(), "ee");
+    private static final RegisteredDeploymentUnitProcessor LATE_STRUCTURE_PROCESSOR = new RegisteredDeploymentUnitProcessor(20, new StructureProcessor(), null);
+    private static final RegisteredDeploymentUnitProcessor EARLY_STRUCTURE_PROCESSOR = new RegisteredDeploymentUnitProcessor(5, new ParseProcessor(), null);
+
+    @Test
+    public void testCallsAreSummed() {
+        final DeploymentProcessorTimings timings = new DeploymentProcessorTimings();
+        timings.record(Phase.PARSE, PARSE_PROCESSOR, true, 100, 1000);
+        timings.record(Phase.PARSE, PARSE_PROCESSOR, true, 50, 500);
+        timings.record(Phase.PARSE, PARSE_PROCESSOR, false, 7, 70);
+
+        final List<ModelNode> items = timings.toModelNode(null).asList();
+        assertEquals(1, items.size());
+        final ModelNode item = items.get(0);
+        assertFalse(item.has("deployment"));
+        assertEquals(Phase.PARSE.name(), item.get("phase").asString());
+        assertEquals(10, item.get("priority").asInt());
+        assertEquals(ParseProcessor.class.getName(), item.get("processor").asString());
+        assertEquals("ee", item.get("subsystem").asString());
+        assertEquals(2, item.get("deploy-count").asLong());
+        assertEquals(150, item.get("deploy-time").asLong());
+        assertEquals(1500, item.get("deploy-allocated-bytes").asLong());
+        assertEquals(1, item.get("undeploy-count").asLong());
+        assertEquals(7, item.get("undeploy-time").asLong());
+        assertEquals(70, item.get("undeploy-allocated-bytes").asLong());
+    }
+
+    @Test
+    public void testItemsOrderedByPhaseAndPriority() {
+        final DeploymentProcessorTimings timings = new DeploymentProcessorTimings();
+        timings.record(Phase.PARSE, PARSE_PROCESSOR, true, 1, 1);
+        timings.record(Phase.STRUCTURE, LATE_STRUCTURE_PROCESSOR, true, 1, 1);
+        timings.record(Phase.STRUCTURE, EARLY_STRUCTURE_PROCESSOR, true, 1, 1);
+
+        final List<ModelNode> items = timings.toModelNode("test.war").asList();
+        assertEquals(3, items.size());
+        assertItem(items.get(0), Phase.STRUCTURE, 5);
+        assertItem(items.get(1), Phase.STRUCTURE, 20);
+        assertItem(items.get(2), Phase.PARSE, 10);
+        for (ModelNode item : items) {
+            assertEquals("test.war", item.get("deployment").asString());
+        }
+        assertFalse(items.get(0).has("subsystem"));
+    }
+
+    @Test
+    public void testUnmeasuredAllocationIsNotReported() {
+        final DeploymentProcessorTimings timings = new DeploymentProcessorTimings();
+        timings.record(Phase.PARSE, PARSE_PROCESSOR, true, 10, 100);
+        timings.record(Phase.PARSE, PARSE_PROCESSOR, true, 10, -1);
+        timings.record(Phase.PARSE, PARSE_PROCESSOR, false, 10, 100);
+
+        final ModelNode item = timings.toModelNode(null).get(0);
+        assertEquals(20, item.get("deploy-time").asLong());
+        // a partial sum would be misleading
+        assertFalse(item.has("deploy-allocated-bytes"));
+        assertTrue(item.has("undeploy-allocated-bytes"));
+    }
+
+    @Test
+    public void testReadServerTimings() throws Exception {
+        final DeployerChains chains = new DeployerChains(new EnumMap<>(Phase.class));
+        chains.getTimings().record(Phase.PARSE, PARSE_PROCESSOR, true, 100, 1000);
+        final ServiceRegistry registry = Mockito.mock(ServiceRegistry.class);
+        Mockito.doReturn(serviceController(chains)).when(registry).getService(Services.JBOSS_DEPLOYMENT_CHAINS);
+
+        final ModelNode result = execute(DeploymentProcessorTimingsHandler.SERVER_INSTANCE, null, registry);
+        assertEquals(chains.getTimings().toModelNode(null), result);
+        assertEquals(1, result.asList().size());
+    }
+
+    @Test
+    public void testReadDeploymentTimings() throws Exception {
+        final DeploymentUnit deploymentUnit = deploymentUnit(null, "test.ear");
+        deploymentUnit.getAttachment(DeploymentProcessorTimings.ATTACHMENT_KEY).record(Phase.STRUCTURE, EARLY_STRUCTURE_PROCESSOR, true, 10, 100);
+        final DeploymentUnit subDeployment = deploymentUnit(deploymentUnit, "test.war");
+        subDeployment.getAttachment(DeploymentProcessorTimings.ATTACHMENT_KEY).record(Phase.PARSE, PARSE_PROCESSOR, true, 20, 200);
+        deploymentUnit.addToAttachmentList(Attachments.SUB_DEPLOYMENTS, subDeployment);
+        final ServiceRegistry registry = Mockito.mock(ServiceRegistry.class);
+        Mockito.doReturn(serviceController(deploymentUnit)).when(registry).getService(Services.deploymentUnitName("test.ear"));
+
+        final ModelNode model = new ModelNode();
+        model.get(ModelDescriptionConstants.ENABLED).set(true);
+        model.get(ModelDescriptionConstants.RUNTIME_NAME).set("test.ear");
+        final List<ModelNode> items = execute(DeploymentProcessorTimingsHandler.DEPLOYMENT_INSTANCE, model, registry).asList();
+        assertEquals(2, items.size());
+        assertEquals("test.ear", items.get(0).get("deployment").asString());
+        assertItem(items.get(0), Phase.STRUCTURE, 5);
+        assertEquals("test.war", items.get(1).get("deployment").asString());
+        assertItem(items.get(1), Phase.PARSE, 10);
+
+        // a disabled deployment has no deployment unit
+        model.get(ModelDescriptionConstants.ENABLED).set(false);
+        assertEquals(new ModelNode().setEmptyList(), execute(DeploymentProcessorTimingsHandler.DEPLOYMENT_INSTANCE, model, registry));
+    }
+
+    private static void assertItem(final ModelNode item, final Phase phase, final int priority) {
+        assertEquals(phase.name(), item.get("phase").asString());
+        assertEquals(priority, item.get("priority").asInt());
+    }
+
+    private static DeploymentUnit deploymentUnit(final DeploymentUnit parent, final String name) {
+        final DeploymentUnit deploymentUnit = new DeploymentUnitImpl(parent, name, null, Stability.DEFAULT);
+        deploymentUnit.putAttachment(DeploymentProcessorTimings.ATTACHMENT_KEY, new DeploymentProcessorTimings());
+        return deploymentUnit;
+    }
+
+    private static ServiceController<?> serviceController(final Object value) {
+        final ServiceController<?> controller = Mockito.mock(ServiceController.class);
+        Mockito.doReturn(value).when(controller).getValue();
+        return controller;
+    }
+
+    /**
+     * Executes an operation handler and the runtime step it adds.
+     *
+     * @param model the model of the addressed resource, or {@code null} if the handler does not read it
+     * @return the result of the operation
+     */
+    private static ModelNode execute(final OperationStepHandler handler, final ModelNode model, final ServiceRegistry registry) throws Exception {
+        final ModelNode result = new ModelNode();
+        final OperationContext context = Mockito.mock(OperationContext.class);
+        Mockito.when(context.isNormalServer()).thenReturn(true);
+        Mockito.when(context.getResult()).thenReturn(result);
+        Mockito.when(context.resolveExpressions(Mockito.any(ModelNode.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        Mockito.when(context.getServiceRegistry(false)).thenReturn(registry);
+        if (model != null) {
+            final Resource resource = Resource.Factory.create();
+            resource.writeModel(model);
+            Mockito.when(context.readResource(PathAddress.EMPTY_ADDRESS, false)).thenReturn(resource);
+        }
+
+        final ModelNode operation = new ModelNode();
+        handler.execute(context, operation);
+        final ArgumentCaptor<OperationStepHandler> step = ArgumentCaptor.forClass(OperationStepHandler.class);
+        Mockito.verify(context, Mockito.atMost(1)).addStep(step.capture(), Mockito.eq(OperationContext.Stage.RUNTIME));
+        for (OperationStepHandler runtimeStep : step.getAllValues()) {
+            runtimeStep.execute(context, operation);
+        }
+        return result;
+    }
+
+    private static class ParseProcessor implements DeploymentUnitProcessor {
+        @Override
+        public void deploy(final DeploymentPhaseContext phaseContext) {
+        }
+    }
+
+    private static class StructureProcessor implements DeploymentUnitProcessor {
+        @Override
+        public void deploy(final DeploymentPhaseContext phaseContext) {
+        }
+    }
+}
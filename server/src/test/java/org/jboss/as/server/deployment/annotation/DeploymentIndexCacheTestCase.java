@@ -0,0 +1,181 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.server.deployment.annotation;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.jboss.as.controller.HashUtil;
+import org.jboss.as.repository.ContentRepository;
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.Index;
+import org.jboss.jandex.IndexWriter;
+import org.jboss.jandex.Indexer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+/**
+ * Tests of {@link DeploymentIndexCache}.
+ */
+public class DeploymentIndexCacheTestCase {
+
+    private static final byte[] HASH = {0x01, 0x23, 0x45, 0x67, (byte) 0x89, (byte) 0xab, (byte) 0xcd, (byte) 0xef};
+    private static final byte[] OTHER_HASH = {0x0f, 0x1e, 0x2d, 0x3c};
+
+    private Path cacheDir;
+
+    @Before
+    public void createCacheDir() throws IOException {
+        cacheDir = Files.createTempDirectory("annotation-index");
+    }
+
+    @After
+    public void deleteCacheDir() throws IOException {
+        deleteRecursively(cacheDir);
+    }
+
+    @Test
+    public void testStoreAndRead() throws IOException {
+        final DeploymentIndexCache cache = startCache(repository(HASH));
+        assertNull(cache.getIndex(HASH, "lib/a.jar"));
+
+        cache.putIndex(HASH, "lib/a.jar", createIndex());
+        final Index index = cache.getIndex(HASH, "lib/a.jar");
+        assertNotNull(index);
+        assertNotNull(index.getClassByName(DotName.createSimple(DeploymentIndexCacheTestCase.class.getName())));
+        // Other resource roots and other content do not share the entry
+        assertNull(cache.getIndex(HASH, "lib/b.jar"));
+        assertNull(cache.getIndex(OTHER_HASH, "lib/a.jar"));
+    }
+
+    @Test
+    public void testCorruptEntryIsDiscarded() throws IOException {
+        final DeploymentIndexCache cache = startCache(repository(HASH));
+        cache.putIndex(HASH, "", createIndex());
+        final Path file = singleFile(cacheDir.resolve(HashUtil.bytesToHexString(HASH)));
+        Files.write(file, new byte[] {1, 2, 3});
+
+        assertNull(cache.getIndex(HASH, ""));
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    public void testEntryOfOtherVersionIsDiscarded() throws IOException {
+        final DeploymentIndexCache cache = startCache(repository(HASH));
+        cache.putIndex(HASH, "", createIndex());
+        final Path file = singleFile(cacheDir.resolve(HashUtil.bytesToHexString(HASH)));
+        try (OutputStream out = Files.newOutputStream(file)) {
+            final DataOutputStream header = new DataOutputStream(out);
+            header.writeUTF("jandex:0.0.0");
+            header.flush();
+            new IndexWriter(out).write(createIndex());
+        }
+
+        assertNull(cache.getIndex(HASH, ""));
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    public void testEntriesRemovedWithContent() throws IOException {
+        final byte[][] hashes = {HASH, OTHER_HASH};
+        final ContentRepository repository = Mockito.mock(ContentRepository.class);
+        Mockito.when(repository.hasContent(Mockito.any(byte[].class))).thenAnswer(invocation -> {
+            final byte[] hash = invocation.getArgument(0);
+            return Arrays.stream(hashes).anyMatch(existing -> Arrays.equals(existing, hash));
+        });
+        final DeploymentIndexCache cache = startCache(repository);
+        cache.putIndex(HASH, "", createIndex());
+        cache.putIndex(OTHER_HASH, "", createIndex());
+
+        // content still in the repository is used by another deployment
+        cache.contentRemoved(HASH);
+        assertNotNull(cache.getIndex(HASH, ""));
+
+        hashes[0] = OTHER_HASH;
+        cache.contentRemoved(HASH);
+        assertNull(cache.getIndex(HASH, ""));
+        assertFalse(Files.exists(cacheDir.resolve(HashUtil.bytesToHexString(HASH))));
+        assertNotNull(cache.getIndex(OTHER_HASH, ""));
+    }
+
+    @Test
+    public void testObsoleteEntriesRemovedOnStart() throws IOException {
+        final DeploymentIndexCache cache = startCache(repository(HASH, OTHER_HASH));
+        cache.putIndex(HASH, "", createIndex());
+        cache.putIndex(OTHER_HASH, "", createIndex());
+        Files.createDirectories(cacheDir.resolve("not-a-hash"));
+        Files.createDirectories(cacheDir.resolve("abc"));
+
+        // OTHER_HASH has been removed from the content repository
+        final DeploymentIndexCache restarted = startCache(repository(HASH));
+        assertNotNull(restarted.getIndex(HASH, ""));
+        assertFalse(Files.exists(cacheDir.resolve(HashUtil.bytesToHexString(OTHER_HASH))));
+        assertFalse(Files.exists(cacheDir.resolve("not-a-hash")));
+        assertFalse(Files.exists(cacheDir.resolve("abc")));
+        assertTrue(Files.isDirectory(cacheDir.resolve(HashUtil.bytesToHexString(HASH))));
+    }
+
+    private DeploymentIndexCache startCache(final ContentRepository repository) {
+        final DeploymentIndexCache cache = new DeploymentIndexCache(c -> { }, () -> repository, cacheDir);
+        cache.start(null);
+        return cache;
+    }
+
+    private static ContentRepository repository(final byte[]... hashes) {
+        final ContentRepository repository = Mockito.mock(ContentRepository.class);
+        Mockito.when(repository.hasContent(Mockito.any(byte[].class))).thenAnswer(invocation -> {
+            final byte[] hash = invocation.getArgument(0);
+            for (byte[] existing : hashes) {
+                if (Arrays.equals(existing, hash)) {
+                    return true;
+                }
+            }
+            return false;
+        });
+        return repository;
+    }
+
+    private static Index createIndex() throws IOException {
+        final Indexer indexer = new Indexer();
+        final String resource = DeploymentIndexCacheTestCase.class.getName().replace('.', '/') + ".class";
+        indexer.index(DeploymentIndexCacheTestCase.class.getClassLoader().getResourceAsStream(resource));
+        return indexer.complete();
+    }
+
+    private static Path singleFile(final Path dir) throws IOException {
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+            Path result = null;
+            for (Path file : stream) {
+                assertNull(result);
+                result = file;
+            }
+            assertNotNull(result);
+            return result;
+        }
+    }
+
+    private static void deleteRecursively(final Path path) throws IOException {
+        if (Files.isDirectory(path)) {
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(path)) {
+                for (Path child : stream) {
+                    deleteRecursively(child);
+                }
+            }
+        }
+        Files.deleteIfExists(path);
+    }
+}
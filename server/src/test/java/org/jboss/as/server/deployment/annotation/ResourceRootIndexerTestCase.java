@@ -0,0 +1,96 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.server.deployment.annotation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.jboss.jandex.AnnotationInstance;
+import org.jboss.jandex.ClassInfo;
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.Index;
+import org.jboss.jandex.Indexer;
+import org.jboss.vfs.VFS;
+import org.jboss.vfs.VirtualFile;
+import org.jboss.vfs.util.SuffixMatchFilter;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of {@link ResourceRootIndexer}.
+ */
+public class ResourceRootIndexerTestCase {
+
+    private AnnotationIndexExecutor executor;
+
+    @Before
+    public void startExecutor() {
+        executor = new AnnotationIndexExecutor(e -> { }, 4);
+        executor.start(null);
+    }
+
+    @After
+    public void stopExecutor() {
+        executor.stop(null);
+    }
+
+    @Test
+    public void testParallelIndexMatchesSerialIndex() throws Exception {
+        // the compiled classes of the server's deployment package
+        final File dir = new File(ResourceRootIndexer.class.getResource("ResourceRootIndexer.class").toURI()).getParentFile().getParentFile();
+        final VirtualFile root = VFS.getChild(dir.toURI());
+        final List<VirtualFile> classFiles = root.getChildrenRecursively(new SuffixMatchFilter(".class"));
+        assertTrue(classFiles.size() > executor.getParallelism() * 4);
+
+        final Indexer serial = new Indexer();
+        for (VirtualFile classFile : classFiles) {
+            try (InputStream in = classFile.openStream()) {
+                serial.index(in);
+            }
+        }
+        final Index expected = serial.complete();
+
+        final Index actual = ResourceRootIndexer.indexInParallel(classFiles, root, executor);
+
+        assertEquals(classFiles.size(), actual.getKnownClasses().size());
+        final Set<DotName> names = new HashSet<>();
+        for (ClassInfo classInfo : expected.getKnownClasses()) {
+            final ClassInfo other = actual.getClassByName(classInfo.name());
+            assertEquals(classInfo.toString(), classInfo.annotationsMap().keySet(), other.annotationsMap().keySet());
+            names.add(classInfo.name());
+            names.addAll(classInfo.annotationsMap().keySet());
+            names.add(classInfo.superName());
+            names.addAll(classInfo.interfaceNames());
+        }
+        names.remove(null);
+        for (DotName name : names) {
+            assertEquals(name.toString(), describe(expected.getAnnotations(name)), describe(actual.getAnnotations(name)));
+            assertEquals(name.toString(), describe(expected.getKnownDirectSubclasses(name)), describe(actual.getKnownDirectSubclasses(name)));
+            assertEquals(name.toString(), describe(expected.getKnownDirectSubinterfaces(name)), describe(actual.getKnownDirectSubinterfaces(name)));
+            assertEquals(name.toString(), describe(expected.getKnownDirectImplementors(name)), describe(actual.getKnownDirectImplementors(name)));
+            assertEquals(name.toString(), describe(expected.getKnownUsers(name)), describe(actual.getKnownUsers(name)));
+        }
+    }
+
+    /**
+     * Describes annotations or classes of different indexes so that they can be compared, in the order of the index.
+     */
+    private static List<String> describe(final Collection<?> values) {
+        final List<String> result = new ArrayList<>();
+        for (Object value : values) {
+            result.add(value instanceof AnnotationInstance ? value + " on " + ((AnnotationInstance) value).target() : value.toString());
+        }
+        return result;
+    }
+}